@@ -0,0 +1,89 @@
+package com.gwtt.dagachi.config;
+
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.Role;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.core.Authentication;
+
+/**
+ * 요청 한 건의 토큰 검증 비용. 운영 코드의 {@link JwtTokenProvider#getAuthentication(String)} 를 그대로 호출한다.
+ *
+ * <ul>
+ *   <li>{@code uncachedVerification}: 검증 결과 캐시를 끈 설정({@code jwt.verified-cache-size: 0}). 매번 서명 검증과
+ *       파싱을 한다.
+ *   <li>{@code cachedVerification}: 기본 설정에서 캐시에 적중할 때의 비용 (SHA-256 + 캐시 조회 + 무효화 확인).
+ * </ul>
+ *
+ * <p>Redis 없이 돌도록 무효화 저장소만 항상 "무효화되지 않음" 을 답하게 바꾼다. {@code ./gradlew jmh} 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtVerificationBenchmark {
+  private static final String SECRET_KEY =
+      "YmVuY2htYXJrU2VjcmV0S2V5Rm9ySnd0VmVyaWZpY2F0aW9uMDEyMzQ1Njc4OQ==";
+
+  private JwtTokenProvider uncachedProvider;
+  private JwtTokenProvider cachedProvider;
+  private String token;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    uncachedProvider = provider(0);
+    cachedProvider = provider(10_000);
+    token = cachedProvider.generateToken(CustomUserDetails.of(1L, "benchmark", "벤치마크", Role.USER));
+    cachedProvider.getAuthentication(token);
+  }
+
+  @Benchmark
+  public Authentication uncachedVerification() {
+    return uncachedProvider.getAuthentication(token);
+  }
+
+  @Benchmark
+  public Authentication cachedVerification() {
+    return cachedProvider.getAuthentication(token);
+  }
+
+  private static JwtTokenProvider provider(long verifiedCacheSize)
+      throws ReflectiveOperationException {
+    JwtTokenProvider provider = new JwtTokenProvider(null, new NeverRevokedRegistry());
+    set(provider, "secretKey", SECRET_KEY);
+    set(provider, "expirationTime", 3_600_000L);
+    set(provider, "claimsAuthentication", true);
+    set(provider, "verifiedCacheSize", verifiedCacheSize);
+    provider.init();
+    return provider;
+  }
+
+  private static void set(Object target, String name, Object value)
+      throws ReflectiveOperationException {
+    Field field = target.getClass().getDeclaredField(name);
+    field.setAccessible(true);
+    field.set(target, value);
+  }
+
+  private static class NeverRevokedRegistry extends TokenRevocationRegistry {
+    NeverRevokedRegistry() {
+      super(null);
+    }
+
+    @Override
+    public boolean isRevoked(Long userId, long issuedAtMillis) {
+      return false;
+    }
+
+    @Override
+    public boolean isTokenRevoked(String tokenId) {
+      return false;
+    }
+  }
+}
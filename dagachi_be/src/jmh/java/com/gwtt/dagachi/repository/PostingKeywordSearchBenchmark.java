@@ -0,0 +1,168 @@
+package com.gwtt.dagachi.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 게시글 검색어 조회 비용 비교 (MySQL).
+ *
+ * <ul>
+ *   <li>{@code like}: 이전 방식. {@code title LIKE '%x%' OR description LIKE '%x%'} 로 테이블 전체를 읽는다.
+ *   <li>{@code fullText}: ngram FULLTEXT 인덱스의 {@code MATCH ... AGAINST} 로 찾고 relevance 순으로 정렬한다.
+ * </ul>
+ *
+ * <p>별도 테이블 {@code postings_keyword_bench} 를 만들어 채운 뒤 끝나면 지운다. 접속 정보는 시스템 프로퍼티 {@code
+ * bench.jdbc.url / bench.jdbc.username / bench.jdbc.password} 로 넘긴다.
+ *
+ * <p>{@code ./gradlew jmh} 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PostingKeywordSearchBenchmark {
+  private static final String TABLE = "postings_keyword_bench";
+  private static final String[] WORDS = {
+    "자바", "스프링", "리액트", "알고리즘", "코딩테스트", "사이드", "프로젝트", "스터디", "모집", "백엔드", "프론트엔드", "디자이너", "주말",
+    "평일", "저녁", "온라인", "오프라인", "강남", "판교", "신촌", "면접", "포트폴리오", "함께", "초보"
+  };
+
+  @Param({"100000"})
+  private int rows;
+
+  @Param({"코딩테스트", "스프링 스터디"})
+  private String keyword;
+
+  private Connection connection;
+  private PreparedStatement likeStatement;
+  private PreparedStatement fullTextStatement;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection =
+        DriverManager.getConnection(
+            System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/dagachi_bench"),
+            System.getProperty("bench.jdbc.username", "root"),
+            System.getProperty("bench.jdbc.password", ""));
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + TABLE);
+      statement.execute(
+          "CREATE TABLE "
+              + TABLE
+              + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(100) NOT NULL, "
+              + "description TEXT NOT NULL, created_at DATETIME(6) NOT NULL, "
+              + "deleted_at DATETIME(6) NULL, "
+              + "INDEX idx_active_recent (deleted_at, created_at DESC)) ENGINE=InnoDB");
+    }
+    insertRows();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute(
+          "CREATE FULLTEXT INDEX ft_bench ON " + TABLE + " (title, description) WITH PARSER ngram");
+      statement.execute("ANALYZE TABLE " + TABLE);
+    }
+
+    likeStatement =
+        connection.prepareStatement(
+            "SELECT id FROM "
+                + TABLE
+                + " WHERE deleted_at IS NULL AND (title LIKE ? OR description LIKE ?) "
+                + "ORDER BY created_at DESC LIMIT 20");
+    fullTextStatement =
+        connection.prepareStatement(
+            "SELECT id FROM "
+                + TABLE
+                + " WHERE deleted_at IS NULL"
+                + " AND MATCH(title, description) AGAINST (? IN BOOLEAN MODE) > 0"
+                + " ORDER BY MATCH(title, description) AGAINST (? IN BOOLEAN MODE) DESC,"
+                + " created_at DESC LIMIT 20");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP TABLE IF EXISTS " + TABLE);
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public List<Long> like() throws SQLException {
+    String pattern = "%" + keyword + "%";
+    likeStatement.setString(1, pattern);
+    likeStatement.setString(2, pattern);
+    return fetchIds(likeStatement);
+  }
+
+  @Benchmark
+  public List<Long> fullText() throws SQLException {
+    String phrase = PostingFullTextSearch.toPhrase(keyword);
+    fullTextStatement.setString(1, phrase);
+    fullTextStatement.setString(2, phrase);
+    return fetchIds(fullTextStatement);
+  }
+
+  private void insertRows() throws SQLException {
+    Random random = new Random(42);
+    LocalDateTime start = LocalDateTime.now().minusDays(365);
+    connection.setAutoCommit(false);
+    try (PreparedStatement insert =
+        connection.prepareStatement(
+            "INSERT INTO "
+                + TABLE
+                + " (title, description, created_at, deleted_at) VALUES (?, ?, ?, ?)")) {
+      for (int i = 0; i < rows; i++) {
+        insert.setString(1, sentence(random, 4));
+        insert.setString(2, sentence(random, 40));
+        insert.setTimestamp(3, Timestamp.valueOf(start.plusSeconds(i * 300L)));
+        insert.setTimestamp(4, i % 20 == 0 ? Timestamp.valueOf(start) : null);
+        insert.addBatch();
+        if (i % 1000 == 999) {
+          insert.executeBatch();
+        }
+      }
+      insert.executeBatch();
+    }
+    connection.commit();
+    connection.setAutoCommit(true);
+  }
+
+  private static String sentence(Random random, int words) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      if (i > 0) {
+        builder.append(' ');
+      }
+      builder.append(WORDS[random.nextInt(WORDS.length)]);
+    }
+    return builder.toString();
+  }
+
+  private static List<Long> fetchIds(PreparedStatement statement) throws SQLException {
+    List<Long> ids = new ArrayList<>();
+    try (ResultSet resultSet = statement.executeQuery()) {
+      while (resultSet.next()) {
+        ids.add(resultSet.getLong(1));
+      }
+    }
+    return ids;
+  }
+}
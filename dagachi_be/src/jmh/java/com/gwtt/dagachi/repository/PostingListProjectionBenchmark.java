@@ -0,0 +1,193 @@
+package com.gwtt.dagachi.repository;
+
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
+import com.gwtt.dagachi.entity.Comment;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.entity.Participation;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * 게시글 목록 한 페이지를 읽는 비용 비교 (MySQL).
+ *
+ * <ul>
+ *   <li>{@code entities}: 이전 방식. {@code Posting} 엔티티를 읽어 영속성 컨텍스트에 올린 뒤 {@link
+ *       PostingSimpleResponseDto#of(Posting)} 로 옮긴다. {@code description} TEXT 컬럼까지 읽는다.
+ *   <li>{@code projection}: {@link PostingRepository#SIMPLE_SELECT} 로 DTO 에 필요한 컬럼만 바로 생성자에 넣는다.
+ * </ul>
+ *
+ * <p>할당량은 build.gradle 의 {@code jmh} 블록에 {@code profilers = ['gc']} 를 넣고 {@code gc.alloc.rate.norm}
+ * 을 본다. 한 페이지당 서버가 보낸 바이트 수(MySQL {@code Bytes_sent})는 준비 단계에서 한 번 재서 출력한다.
+ *
+ * <p>Spring 없이 Hibernate 만 띄워 {@code bench.jdbc.url} 의 스키마에 엔티티 테이블을 만들고 끝나면 지운다. 접속 정보는 {@code
+ * bench.jdbc.url / bench.jdbc.username / bench.jdbc.password} 로 넘긴다.
+ *
+ * <p>{@code ./gradlew jmh} 로 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostingListProjectionBenchmark {
+  private static final String FROM_ACTIVE =
+      "FROM Posting p WHERE p.deletedAt IS NULL ORDER BY p.createdAt DESC";
+
+  @Param({"10000"})
+  private int rows;
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private SessionFactory sessionFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    sessionFactory =
+        new Configuration()
+            .addAnnotatedClass(User.class)
+            .addAnnotatedClass(Posting.class)
+            .addAnnotatedClass(Participation.class)
+            .addAnnotatedClass(Comment.class)
+            .setProperty(
+                "hibernate.connection.url",
+                System.getProperty("bench.jdbc.url", "jdbc:mysql://localhost:3306/dagachi_bench"))
+            .setProperty(
+                "hibernate.connection.username", System.getProperty("bench.jdbc.username", "root"))
+            .setProperty(
+                "hibernate.connection.password", System.getProperty("bench.jdbc.password", ""))
+            .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+            .setProperty(
+                "hibernate.physical_naming_strategy",
+                CamelCaseToUnderscoresNamingStrategy.class.getName())
+            .buildSessionFactory();
+    insertRows();
+
+    long entityBytes = bytesSentBy(session -> entities(session));
+    long projectionBytes = bytesSentBy(session -> projection(session));
+    System.out.printf(
+        "%nBytes_sent per page of %d: entities=%d, projection=%d%n",
+        pageSize, entityBytes, projectionBytes);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sessionFactory.close();
+  }
+
+  @Benchmark
+  public List<PostingSimpleResponseDto> entities() {
+    try (Session session = sessionFactory.openSession()) {
+      return entities(session);
+    }
+  }
+
+  @Benchmark
+  public List<PostingSimpleResponseDto> projection() {
+    try (Session session = sessionFactory.openSession()) {
+      return projection(session);
+    }
+  }
+
+  private List<PostingSimpleResponseDto> entities(Session session) {
+    return session
+        .createSelectionQuery("SELECT p " + FROM_ACTIVE, Posting.class)
+        .setMaxResults(pageSize)
+        .getResultList()
+        .stream()
+        .map(PostingSimpleResponseDto::of)
+        .toList();
+  }
+
+  private List<PostingSimpleResponseDto> projection(Session session) {
+    return session
+        .createSelectionQuery(
+            PostingRepository.SIMPLE_SELECT + FROM_ACTIVE, PostingSimpleResponseDto.class)
+        .setMaxResults(pageSize)
+        .getResultList();
+  }
+
+  private void insertRows() {
+    Random random = new Random(42);
+    String description = "함께 공부할 분을 찾습니다. ".repeat(80);
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      session.beginTransaction();
+      User[] authors = new User[50];
+      for (int i = 0; i < authors.length; i++) {
+        authors[i] =
+            User.builder()
+                .username("bench" + i)
+                .password("password")
+                .nickname("작성자" + i)
+                .role(Role.USER)
+                .build();
+        session.insert(authors[i]);
+      }
+      for (int i = 0; i < rows; i++) {
+        session.insert(
+            Posting.builder()
+                .title("스터디 모집 " + i)
+                .description(description)
+                .type(i % 2 == 0 ? PostingType.STUDY : PostingType.PROJECT)
+                .maxCapacity(5)
+                .author(authors[random.nextInt(authors.length)])
+                .location(
+                    Location.of(
+                        37.4 + random.nextDouble() * 0.3, 126.8 + random.nextDouble() * 0.4))
+                .build());
+      }
+      // Spring 의 auditing 없이 넣었으므로 생성/수정 시각을 직접 채운다.
+      session.doWork(
+          connection -> {
+            try (Statement statement = connection.createStatement()) {
+              statement.executeUpdate(
+                  "UPDATE postings SET created_at = NOW() - INTERVAL id SECOND, "
+                      + "updated_at = NOW() - INTERVAL id SECOND");
+            }
+          });
+      session.getTransaction().commit();
+    }
+  }
+
+  private long bytesSentBy(Consumer<Session> work) {
+    try (Session session = sessionFactory.openSession()) {
+      session.beginTransaction();
+      long before = session.doReturningWork(PostingListProjectionBenchmark::bytesSent);
+      work.accept(session);
+      long after = session.doReturningWork(PostingListProjectionBenchmark::bytesSent);
+      session.getTransaction().commit();
+      return after - before;
+    }
+  }
+
+  private static long bytesSent(Connection connection) throws SQLException {
+    try (Statement statement = connection.createStatement();
+        ResultSet resultSet = statement.executeQuery("SHOW SESSION STATUS LIKE 'Bytes_sent'")) {
+      resultSet.next();
+      return resultSet.getLong(2);
+    }
+  }
+}
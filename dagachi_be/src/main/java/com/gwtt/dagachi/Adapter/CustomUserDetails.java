@@ -4,40 +4,54 @@ import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.entity.User;
 import java.util.Collection;
 import java.util.List;
+import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class CustomUserDetails implements UserDetails {
-  private final User user;
+  private final Long userId;
+  private final String username;
+  private final String password;
+  private final String nickname;
+  private final Role role;
+
+  public CustomUserDetails(User user) {
+    this(user.getId(), user.getUsername(), user.getPassword(), user.getNickname(), user.getRole());
+  }
+
+  // 토큰 클레임만으로 구성하는 principal. 비밀번호는 들고 있지 않는다.
+  public static CustomUserDetails of(Long userId, String username, String nickname, Role role) {
+    return new CustomUserDetails(userId, username, null, nickname, role);
+  }
 
   @Override
   public Collection<? extends GrantedAuthority> getAuthorities() {
-    return List.of(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()));
+    return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
   }
 
   public Long getUserId() {
-    return user.getId();
+    return userId;
   }
 
   public String getNickname() {
-    return user.getNickname();
+    return nickname;
   }
 
   public Role getRole() {
-    return user.getRole();
+    return role;
   }
 
   @Override
   public String getUsername() {
-    return user.getUsername();
+    return username;
   }
 
   @Override
   public String getPassword() {
-    return user.getPassword();
+    return password;
   }
 
   @Override
@@ -0,0 +1,177 @@
+package com.gwtt.dagachi.config;
+
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.util.AdaptiveConcurrencyLimit;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 과부하 시 요청을 Tomcat/Hikari 대기열에 쌓지 않고 바로 503 으로 돌려보내는 필터.
+ *
+ * <p>조회와 쓰기 요청은 각자 {@link AdaptiveConcurrencyLimit} 를 가지며, 한도는 응답 시간에 따라 자동으로 조절된다. 초기값과 범위는 {@code
+ * concurrency-limit.<pool>.initial-limit / min-limit / max-limit} 으로 설정한다. 보안 필터보다 앞에서 동작해 거절되는 요청은
+ * 토큰 검증 비용도 쓰지 않는다.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ConcurrencyLimitFilter extends OncePerRequestFilter implements MeterBinder {
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  private final FilterErrorResponseWriter errorResponseWriter;
+  private final Environment environment;
+
+  @Value("${concurrency-limit.enabled:true}")
+  private boolean enabled;
+
+  @Value("${concurrency-limit.retry-after-seconds:1}")
+  private long retryAfterSeconds;
+
+  private final Map<Pool, AdaptiveConcurrencyLimit> limits = new EnumMap<>(Pool.class);
+
+  @PostConstruct
+  public void init() {
+    for (Pool pool : Pool.values()) {
+      String prefix = "concurrency-limit." + pool.getName() + ".";
+      limits.put(
+          pool,
+          new AdaptiveConcurrencyLimit(
+              environment.getProperty(prefix + "initial-limit", Integer.class, pool.initialLimit),
+              environment.getProperty(prefix + "min-limit", Integer.class, pool.minLimit),
+              environment.getProperty(prefix + "max-limit", Integer.class, pool.maxLimit)));
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Pool pool = Pool.match(request);
+    if (pool == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    AdaptiveConcurrencyLimit limit = limits.get(pool);
+    if (!limit.tryAcquire()) {
+      errorResponseWriter.write(response, ErrorCode.SERVER_OVERLOADED, retryAfterSeconds);
+      return;
+    }
+
+    long startedAt = System.nanoTime();
+    boolean overloaded = true;
+    try {
+      filterChain.doFilter(request, response);
+      overloaded = response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+    } finally {
+      limit.release(System.nanoTime() - startedAt, overloaded);
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    limits.forEach(
+        (pool, limit) -> {
+          Gauge.builder("http.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+              .tag("pool", pool.getName())
+              .register(registry);
+          Gauge.builder("http.concurrency.in_flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+              .tag("pool", pool.getName())
+              .register(registry);
+          Gauge.builder(
+                  "http.concurrency.latency", limit, AdaptiveConcurrencyLimit::getShortRttMillis)
+              .tag("pool", pool.getName())
+              .tag("window", "short")
+              .baseUnit("milliseconds")
+              .register(registry);
+          Gauge.builder(
+                  "http.concurrency.latency", limit, AdaptiveConcurrencyLimit::getLongRttMillis)
+              .tag("pool", pool.getName())
+              .tag("window", "long")
+              .baseUnit("milliseconds")
+              .register(registry);
+          FunctionCounter.builder(
+                  "http.concurrency.rejected", limit, AdaptiveConcurrencyLimit::getRejected)
+              .tag("pool", pool.getName())
+              .register(registry);
+        });
+  }
+
+  enum Pool {
+    READ("read", List.of(HttpMethod.GET), List.of("/api/postings", "/api/postings/*"), 50, 10, 200),
+    WRITE(
+        "write",
+        List.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.DELETE),
+        List.of("/api/participation/**", "/api/postings/*/comment/**"),
+        20,
+        5,
+        100);
+
+    private final String name;
+    private final List<HttpMethod> methods;
+    private final List<String> patterns;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+
+    Pool(
+        String name,
+        List<HttpMethod> methods,
+        List<String> patterns,
+        int initialLimit,
+        int minLimit,
+        int maxLimit) {
+      this.name = name;
+      this.methods = methods;
+      this.patterns = patterns;
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+    }
+
+    static Pool match(HttpServletRequest request) {
+      String path = request.getRequestURI().substring(request.getContextPath().length());
+      for (Pool pool : values()) {
+        if (pool.methods.stream().noneMatch(method -> method.matches(request.getMethod()))) {
+          continue;
+        }
+        for (String pattern : pool.patterns) {
+          if (PATH_MATCHER.match(pattern, path)) {
+            return pool;
+          }
+        }
+      }
+      return null;
+    }
+
+    String getName() {
+      return name;
+    }
+  }
+}
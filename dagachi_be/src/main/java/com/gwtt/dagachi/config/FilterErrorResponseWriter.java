@@ -0,0 +1,31 @@
+package com.gwtt.dagachi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.exception.ErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/** 컨트롤러에 도달하기 전 필터에서 거절할 때 {@code GlobalExceptionHandler} 와 같은 형태로 응답을 쓴다. */
+@Component
+@RequiredArgsConstructor
+public class FilterErrorResponseWriter {
+  private final ObjectMapper objectMapper;
+
+  public void write(HttpServletResponse response, ErrorCode errorCode, Long retryAfterSeconds)
+      throws IOException {
+    response.setStatus(errorCode.getStatus().value());
+    if (retryAfterSeconds != null) {
+      response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+    }
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding("UTF-8");
+    objectMapper.writeValue(
+        response.getWriter(),
+        ErrorResponse.builder().code(errorCode.name()).message(errorCode.getMessage()).build());
+  }
+}
@@ -0,0 +1,28 @@
+package com.gwtt.dagachi.config;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * HQL/QueryDSL 에서 MySQL {@code MATCH ... AGAINST} 를 쓰기 위한 함수 등록.
+ *
+ * <p>{@code function('match_against', col1, col2, keyword)} 는 boolean mode 검색의 relevance 를 돌려준다.
+ * MySQL 에서만 동작하므로 호출하는 쪽에서 DB 를 확인해야 한다.
+ */
+public class FullTextFunctionContributor implements FunctionContributor {
+  public static final String MATCH_AGAINST = "match_against";
+
+  @Override
+  public void contributeFunctions(FunctionContributions functionContributions) {
+    functionContributions
+        .getFunctionRegistry()
+        .registerPattern(
+            MATCH_AGAINST,
+            "match(?1, ?2) against (?3 in boolean mode)",
+            functionContributions
+                .getTypeConfiguration()
+                .getBasicTypeRegistry()
+                .resolve(StandardBasicTypes.DOUBLE));
+  }
+}
@@ -0,0 +1,313 @@
+package com.gwtt.dagachi.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.util.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * 게시글/참여/댓글 생성 요청의 {@code Idempotency-Key} 처리.
+ *
+ * <p>같은 사용자가 같은 키로 다시 보낸 요청은 컨트롤러까지 가지 않고 Redis 에 저장된 첫 응답을 그대로 돌려준다. 첫 요청이 아직 처리 중이면 결과가 나올 때까지
+ * 기다렸다가 같은 응답을 준다. 같은 인스턴스의 요청은 메모리에서, 다른 인스턴스의 요청은 Redis 를 짧은 간격으로 확인하며 기다린다.
+ *
+ * <p>5xx 응답이나 예외로 끝난 요청은 저장하지 않아 다시 시도할 수 있다. 같은 키로 본문이 다른 요청이 오면 422 로 거절한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final String KEY_PREFIX = "idempotency:";
+  private static final int MAX_KEY_LENGTH = 255;
+  private static final long MAX_POLL_INTERVAL_MILLIS = 200;
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+  private static final List<String> PATTERNS =
+      List.of("/api/postings", "/api/participation/*", "/api/postings/*/comment");
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+  private final FilterErrorResponseWriter errorResponseWriter;
+  private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+  @Value("${idempotency.ttl:24h}")
+  private Duration ttl;
+
+  @Value("${idempotency.lock-ttl:30s}")
+  private Duration lockTtl;
+
+  @Value("${idempotency.wait-timeout:10s}")
+  private Duration waitTimeout;
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    Long userId = currentUserId();
+    if (idempotencyKey == null || userId == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+      errorResponseWriter.write(response, ErrorCode.INVALID_IDEMPOTENCY_KEY, null);
+      return;
+    }
+
+    CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+    String fingerprint =
+        HashUtils.sha256Hex(
+            cachedRequest.getRequestURI()
+                + "\n"
+                + new String(cachedRequest.body, StandardCharsets.UTF_8));
+    String redisKey = KEY_PREFIX + userId + ":" + idempotencyKey;
+
+    boolean acquired;
+    try {
+      acquired =
+          Boolean.TRUE.equals(
+              redisTemplate
+                  .opsForValue()
+                  .setIfAbsent(redisKey, toJson(StoredResponse.processing(fingerprint)), lockTtl));
+    } catch (DataAccessException e) {
+      log.warn("Idempotency store unavailable, processing without it: {}", e.getMessage());
+      filterChain.doFilter(cachedRequest, response);
+      return;
+    }
+
+    if (acquired) {
+      executeAndStore(redisKey, fingerprint, cachedRequest, response, filterChain);
+      return;
+    }
+
+    StoredResponse stored = awaitCompletion(redisKey, fingerprint);
+    if (stored == null) {
+      errorResponseWriter.write(response, ErrorCode.IDEMPOTENCY_REQUEST_IN_PROGRESS, 1L);
+    } else if (!stored.fingerprint().equals(fingerprint)) {
+      errorResponseWriter.write(response, ErrorCode.IDEMPOTENCY_KEY_REUSED, null);
+    } else {
+      replay(stored, response);
+    }
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (!HttpMethod.POST.matches(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    return PATTERNS.stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+  }
+
+  private void executeAndStore(
+      String redisKey,
+      String fingerprint,
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain)
+      throws ServletException, IOException {
+    CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+    inFlight.put(redisKey, future);
+    ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+    StoredResponse completed = null;
+    try {
+      filterChain.doFilter(request, wrappedResponse);
+      if (wrappedResponse.getStatus() < 500) {
+        completed =
+            StoredResponse.finished(
+                fingerprint,
+                wrappedResponse.getStatus(),
+                wrappedResponse.getContentType(),
+                wrappedResponse.getContentAsByteArray());
+      }
+    } finally {
+      storeOrRelease(redisKey, completed);
+      inFlight.remove(redisKey);
+      future.complete(completed);
+      wrappedResponse.copyBodyToResponse();
+    }
+  }
+
+  // 완료된 응답을 저장하고, 저장할 응답이 없으면 처리 중 표시를 지워 다시 시도할 수 있게 한다. 핸들러는 이미 커밋했으므로
+  // Redis 오류는 기록만 하고 실제 응답은 그대로 돌려준다.
+  private void storeOrRelease(String redisKey, StoredResponse completed) {
+    try {
+      if (completed != null) {
+        redisTemplate.opsForValue().set(redisKey, toJson(completed), ttl);
+      } else {
+        redisTemplate.delete(redisKey);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Failed to record idempotent response for {}: {}", redisKey, e.getMessage());
+    }
+  }
+
+  // 처리 중인 요청의 결과를 기다린다. 결과 없이 끝났거나 시간 안에 끝나지 않으면 null 을 돌려준다.
+  private StoredResponse awaitCompletion(String redisKey, String fingerprint) throws IOException {
+    long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+    CompletableFuture<StoredResponse> local = inFlight.get(redisKey);
+    if (local != null) {
+      try {
+        return local.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+      } catch (TimeoutException | ExecutionException e) {
+        return null;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+    }
+
+    long interval = 20;
+    while (true) {
+      String value = redisTemplate.opsForValue().get(redisKey);
+      if (value == null) {
+        return null;
+      }
+      StoredResponse stored = objectMapper.readValue(value, StoredResponse.class);
+      if (stored.completed() || !stored.fingerprint().equals(fingerprint)) {
+        return stored;
+      }
+      if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(interval) > deadline) {
+        return null;
+      }
+      try {
+        Thread.sleep(interval);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      interval = Math.min(MAX_POLL_INTERVAL_MILLIS, interval * 2);
+    }
+  }
+
+  private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+    response.setStatus(stored.status());
+    response.setHeader(REPLAYED_HEADER, "true");
+    if (stored.contentType() != null) {
+      response.setContentType(stored.contentType());
+    }
+    if (stored.body() != null && stored.body().length > 0) {
+      response.setContentLength(stored.body().length);
+      response.getOutputStream().write(stored.body());
+    }
+  }
+
+  private Long currentUserId() {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+      return userDetails.getUserId();
+    }
+    return null;
+  }
+
+  private String toJson(StoredResponse stored) {
+    try {
+      return objectMapper.writeValueAsString(stored);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  record StoredResponse(
+      boolean completed, String fingerprint, int status, String contentType, byte[] body) {
+    static StoredResponse processing(String fingerprint) {
+      return new StoredResponse(false, fingerprint, 0, null, null);
+    }
+
+    static StoredResponse finished(
+        String fingerprint, int status, String contentType, byte[] body) {
+      return new StoredResponse(true, fingerprint, status, contentType, body);
+    }
+  }
+
+  // 본문으로 fingerprint 를 만든 뒤에도 컨트롤러가 본문을 다시 읽을 수 있도록 미리 읽어 둔다.
+  private static class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    CachedBodyRequest(HttpServletRequest request) throws IOException {
+      super(request);
+      this.body = request.getInputStream().readAllBytes();
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+      ByteArrayInputStream input = new ByteArrayInputStream(body);
+      return new ServletInputStream() {
+        @Override
+        public boolean isFinished() {
+          return input.available() == 0;
+        }
+
+        @Override
+        public boolean isReady() {
+          return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+          // 본문은 이미 메모리에 있으므로 기다릴 것 없이 바로 읽을 수 있다고 알린다.
+          try {
+            if (!isFinished()) {
+              readListener.onDataAvailable();
+            }
+            readListener.onAllDataRead();
+          } catch (IOException e) {
+            readListener.onError(e);
+          }
+        }
+
+        @Override
+        public int read() {
+          return input.read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+          return input.read(buffer, offset, length);
+        }
+      };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+      return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+    }
+  }
+}
@@ -6,14 +6,18 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
   private final JwtTokenProvider jwtTokenProvider;
 
   @Override
@@ -22,14 +26,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     String token = resolveToken(request);
 
-    if (token != null && jwtTokenProvider.validateToken(token)) {
+    if (token != null) {
       Authentication authentication = jwtTokenProvider.getAuthentication(token);
-      SecurityContextHolder.getContext().setAuthentication(authentication);
+      if (authentication != null) {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+      }
     }
 
     filterChain.doFilter(request, response);
   }
 
+  // 인증 없이 열려 있는 경로는 토큰을 검증할 필요가 없다.
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+      return true;
+    }
+    String path = request.getRequestURI().substring(request.getContextPath().length());
+    for (String pattern : SecurityConfig.PERMIT_ALL_PATTERNS) {
+      if (PATH_MATCHER.match(pattern, path)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private String resolveToken(HttpServletRequest request) {
     String bearerToken = request.getHeader("Authorization");
     if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
@@ -1,7 +1,14 @@
 package com.gwtt.dagachi.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.util.HashUtils;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
@@ -9,8 +16,11 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,62 +28,173 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtTokenProvider {
+  private static final String CLAIM_USER_ID = "uid";
+  private static final String CLAIM_NICKNAME = "nickname";
+  private static final String CLAIM_ROLE = "role";
+  private static final String CLAIM_VERSION = "ver";
+
   @Value("${jwt.secret-key}")
   private String secretKey;
 
   @Value("${jwt.expiration-time}")
   private long expirationTime;
 
+  // true 면 토큰 클레임만으로 principal 을 만들고, false 면 매 요청마다 DB 에서 사용자를 다시 읽는다.
+  @Value("${jwt.claims-authentication:true}")
+  private boolean claimsAuthentication;
+
+  @Value("${jwt.verified-cache-size:10000}")
+  private long verifiedCacheSize;
+
   private SecretKey key;
+  private JwtParser jwtParser;
+  private Cache<String, VerifiedToken> verifiedTokens;
   private final UserDetailsService userDetailsService;
+  private final TokenRevocationRegistry tokenRevocationRegistry;
 
   @PostConstruct
   public void init() {
     byte[] keyBytes = Decoders.BASE64.decode(secretKey);
     this.key = Keys.hmacShaKeyFor(keyBytes);
+    // JwtParser 는 불변이고 thread-safe 하므로 한 번만 만든다.
+    this.jwtParser = Jwts.parser().verifyWith(key).build();
+    this.verifiedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(verifiedCacheSize)
+            .expireAfter(new VerifiedTokenExpiry())
+            .build();
   }
 
   public String generateToken(Authentication authentication) {
-    CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+    return generateToken((CustomUserDetails) authentication.getPrincipal());
+  }
+
+  public String generateToken(CustomUserDetails userDetails) {
     String nickname = userDetails.getNickname();
     String username = userDetails.getUsername();
     Date now = new Date();
     Date expiration = new Date(now.getTime() + expirationTime);
 
     return Jwts.builder()
-        .id(username)
+        .id(UUID.randomUUID().toString())
+        .subject(username)
         .issuedAt(now)
-        .claim("nickname", nickname)
+        .claim(CLAIM_USER_ID, userDetails.getUserId())
+        .claim(CLAIM_NICKNAME, nickname)
+        .claim(CLAIM_ROLE, userDetails.getRole().name())
+        // iat 는 초 단위로 잘리므로 무효화 비교에는 밀리초 단위 발급 시각을 따로 싣는다.
+        .claim(CLAIM_VERSION, now.getTime())
         .expiration(expiration)
         .signWith(key)
         .compact();
   }
 
+  // 로그아웃한 access token 이 만료 전까지 다시 쓰이지 않도록 jti 를 무효화 목록에 올린다.
+  public void revoke(String token) {
+    VerifiedToken verified = verify(token);
+    if (verified != null && verified.tokenId() != null) {
+      tokenRevocationRegistry.revokeToken(verified.tokenId(), verified.expiresAtMillis());
+    }
+  }
+
+  /**
+   * 토큰을 검증하고 인증 정보를 만든다. 유효하지 않거나 무효화된 토큰이면 {@code null} 을 반환한다.
+   *
+   * <p>서명 검증과 파싱은 토큰당 한 번만 수행하고, 결과는 토큰 만료 시각까지 캐시한다. 무효화 여부는 캐시 적중 시에도 매번 확인한다.
+   */
   public Authentication getAuthentication(String token) {
-    String username =
-        Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload().getId();
+    String cacheKey = HashUtils.sha256Hex(token);
+    VerifiedToken verified = verifiedTokens.getIfPresent(cacheKey);
+    if (verified == null) {
+      verified = verify(token);
+      if (verified == null) {
+        return null;
+      }
+      verifiedTokens.put(cacheKey, verified);
+    }
 
-    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+    if (verified.isRevoked(tokenRevocationRegistry)) {
+      log.debug("Rejected revoked token of {}", verified.username());
+      return null;
+    }
+
+    UserDetails userDetails;
+    if (claimsAuthentication && verified.userId() != null) {
+      userDetails =
+          CustomUserDetails.of(
+              verified.userId(), verified.username(), verified.nickname(), verified.role());
+    } else {
+      // 클레임이 없는 이전 형식의 토큰은 DB 에서 사용자를 읽는다.
+      userDetails = userDetailsService.loadUserByUsername(verified.username());
+    }
 
     return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
   }
 
-  public boolean validateToken(String token) {
+  private VerifiedToken verify(String token) {
     try {
-      Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
-      return true;
+      Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+      String role = claims.get(CLAIM_ROLE, String.class);
+      // 이전 형식의 토큰은 jti 에 사용자 ID 를 담고 있었다.
+      boolean legacy = claims.getSubject() == null;
+      return new VerifiedToken(
+          legacy ? null : claims.getId(),
+          legacy ? claims.getId() : claims.getSubject(),
+          claims.get(CLAIM_USER_ID, Long.class),
+          claims.get(CLAIM_NICKNAME, String.class),
+          role != null ? Role.valueOf(role) : null,
+          claims.get(CLAIM_VERSION, Long.class),
+          claims.getExpiration().getTime());
     } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
-      System.out.println("검증되지 않은 토큰입니다. : " + e.getMessage());
+      log.debug("Rejected unverifiable token: {}", e.getMessage());
     } catch (ExpiredJwtException e) {
-      System.out.println("만료된 토큰입니다. : " + e.getMessage());
+      log.debug("Rejected expired token: {}", e.getMessage());
     } catch (UnsupportedJwtException e) {
-      System.out.println("지원하지 않는 토큰입니다. : " + e.getMessage());
+      log.debug("Rejected unsupported token: {}", e.getMessage());
     } catch (IllegalArgumentException e) {
-      System.out.println("잘못된 토큰입니다. : " + e.getMessage());
+      log.debug("Rejected malformed token: {}", e.getMessage());
+    }
+    return null;
+  }
+
+  private record VerifiedToken(
+      String tokenId,
+      String username,
+      Long userId,
+      String nickname,
+      Role role,
+      Long version,
+      long expiresAtMillis) {
+
+    boolean isRevoked(TokenRevocationRegistry registry) {
+      if (tokenId != null && registry.isTokenRevoked(tokenId)) {
+        return true;
+      }
+      return userId != null && version != null && registry.isRevoked(userId, version);
+    }
+  }
+
+  private static class VerifiedTokenExpiry implements Expiry<String, VerifiedToken> {
+    @Override
+    public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+      long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+      return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        String key, VerifiedToken value, long currentTime, long currentDuration) {
+      return currentDuration;
     }
-    return false;
   }
 }
@@ -0,0 +1,53 @@
+package com.gwtt.dagachi.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * 행 잠금 계측과 재시도를 건다.
+ *
+ * <p>둘 다 다른 빈보다 먼저 만들어지므로 지표와 설정을 가진 빈은 처음 호출될 때 꺼낸다.
+ */
+@Configuration
+public class LockConfig {
+
+  // 트랜잭션 advisor 보다 바깥에서 돌아야 시도마다 새 트랜잭션이 열린다.
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor lockRetryAdvisor(ObjectProvider<LockRetryInterceptor> lockRetryInterceptor) {
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(
+            AnnotationMatchingPointcut.forMethodAnnotation(RetryOnLockFailure.class),
+            (MethodInterceptor) invocation -> lockRetryInterceptor.getObject().invoke(invocation));
+    advisor.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
+    return advisor;
+  }
+
+  // Spring Data 저장소 프록시마다 @Lock 조회를 재는 advice 를 붙인다.
+  @Bean
+  static BeanPostProcessor lockWaitRepositoryCustomizer(ObjectProvider<LockMetrics> lockMetrics) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+          factoryBean.addRepositoryFactoryCustomizer(
+              factory ->
+                  factory.addRepositoryProxyPostProcessor(
+                      (proxyFactory, repositoryInformation) ->
+                          proxyFactory.addAdvice(new LockWaitInterceptor(lockMetrics))));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,55 @@
+package com.gwtt.dagachi.config;
+
+import jakarta.persistence.LockTimeoutException;
+import jakarta.persistence.PessimisticLockException;
+import java.sql.SQLException;
+import org.springframework.dao.PessimisticLockingFailureException;
+
+/** 잠금 때문에 실패한 경우의 종류. */
+public enum LockFailure {
+  DEADLOCK("deadlock"),
+  TIMEOUT("timeout");
+
+  // MySQL: 1213 데드락, 1205 잠금 대기 시간 초과, 3572 NOWAIT. H2: 50200 잠금 대기 시간 초과.
+  private static final int MYSQL_DEADLOCK = 1213;
+  private static final int MYSQL_LOCK_WAIT_TIMEOUT = 1205;
+  private static final int MYSQL_LOCK_NOWAIT = 3572;
+  private static final int H2_LOCK_TIMEOUT = 50200;
+  private static final String SERIALIZATION_FAILURE = "40001";
+
+  private final String tag;
+
+  LockFailure(String tag) {
+    this.tag = tag;
+  }
+
+  public String getTag() {
+    return tag;
+  }
+
+  /**
+   * 예외가 잠금 때문이면 그 종류를, 아니면 null 을 돌려준다. 번역 단계마다 예외 타입이 달라지므로 원인의 SQL 오류 코드를 먼저 보고, 없으면 잠금 관련 예외
+   * 타입으로 판단한다.
+   */
+  public static LockFailure classify(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof SQLException sqlException) {
+        int code = sqlException.getErrorCode();
+        if (code == MYSQL_LOCK_WAIT_TIMEOUT
+            || code == MYSQL_LOCK_NOWAIT
+            || code == H2_LOCK_TIMEOUT) {
+          return TIMEOUT;
+        }
+        if (code == MYSQL_DEADLOCK || SERIALIZATION_FAILURE.equals(sqlException.getSQLState())) {
+          return DEADLOCK;
+        }
+      }
+    }
+    if (e instanceof PessimisticLockingFailureException
+        || e instanceof PessimisticLockException
+        || e instanceof LockTimeoutException) {
+      return TIMEOUT;
+    }
+    return null;
+  }
+}
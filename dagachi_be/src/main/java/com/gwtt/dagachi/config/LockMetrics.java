@@ -0,0 +1,51 @@
+package com.gwtt.dagachi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * 행 잠금 관련 지표.
+ *
+ * <ul>
+ *   <li>{@code db.lock.wait}: {@code @Lock} 조회 한 번에 걸린 시간. {@code query} 는 {@code 저장소.메서드}, {@code
+ *       outcome} 은 acquired/deadlock/timeout/failed. 잠금을 기다린 시간과 조회 시간이 함께 잡힌다.
+ *   <li>{@code db.lock.deadlocks}, {@code db.lock.timeouts}: {@link RetryOnLockFailure} 를 붙인 메서드의
+ *       시도가 잠금 때문에 실패한 횟수. 잠금 조회뿐 아니라 이후의 UPDATE 나 커밋에서 난 데드락도 센다.
+ *   <li>{@code db.lock.retries}: 그 실패 뒤에 다시 시도한 횟수.
+ * </ul>
+ */
+@Component
+@RequiredArgsConstructor
+public class LockMetrics {
+  private final MeterRegistry meterRegistry;
+
+  public void recordWait(String query, long nanos, String outcome) {
+    Timer.builder("db.lock.wait")
+        .description("잠금 조회 소요 시간")
+        .tag("query", query)
+        .tag("outcome", outcome)
+        .publishPercentiles(0.5, 0.99)
+        .register(meterRegistry)
+        .record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordFailure(String operation, LockFailure failure, boolean retrying) {
+    Counter.builder(failure == LockFailure.DEADLOCK ? "db.lock.deadlocks" : "db.lock.timeouts")
+        .description("잠금 때문에 실패한 시도 수")
+        .tag("operation", operation)
+        .register(meterRegistry)
+        .increment();
+    if (retrying) {
+      Counter.builder("db.lock.retries")
+          .description("잠금 실패 뒤 다시 시도한 횟수")
+          .tag("operation", operation)
+          .tag("cause", failure.getTag())
+          .register(meterRegistry)
+          .increment();
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package com.gwtt.dagachi.config;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link RetryOnLockFailure} 를 붙인 메서드가 잠금 때문에 실패하면 다시 실행한다.
+ *
+ * <p>시도 사이에는 0 부터 {@code initial-backoff * 2^(시도-1)} ({@code max-backoff} 이하) 사이에서 무작위로 기다린다. 같은 행을
+ * 두고 부딪힌 요청들이 같은 순간에 다시 부딪히지 않도록 대기 시간을 흩뜨린다.
+ */
+@Component
+public class LockRetryInterceptor implements MethodInterceptor {
+  private final LockMetrics lockMetrics;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long maxBackoffMillis;
+
+  public LockRetryInterceptor(
+      LockMetrics lockMetrics,
+      @Value("${lock.retry.max-attempts:3}") int maxAttempts,
+      @Value("${lock.retry.initial-backoff:20ms}") Duration initialBackoff,
+      @Value("${lock.retry.max-backoff:200ms}") Duration maxBackoff) {
+    this.lockMetrics = lockMetrics;
+    this.maxAttempts = Math.max(1, maxAttempts);
+    this.initialBackoffMillis = initialBackoff.toMillis();
+    this.maxBackoffMillis = maxBackoff.toMillis();
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    // 바깥 트랜잭션 안이면 그 트랜잭션이 이미 롤백되었으므로 이 메서드만 다시 실행해도 소용이 없다. 바깥에 맡긴다.
+    if (!(invocation instanceof ProxyMethodInvocation proxyInvocation)
+        || TransactionSynchronizationManager.isActualTransactionActive()) {
+      return invocation.proceed();
+    }
+    Method method = invocation.getMethod();
+    String operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+
+    for (int attempt = 1; ; attempt++) {
+      try {
+        // 같은 MethodInvocation 은 한 번만 진행할 수 있으므로 시도마다 복제한다.
+        return proxyInvocation.invocableClone().proceed();
+      } catch (RuntimeException e) {
+        LockFailure failure = LockFailure.classify(e);
+        if (failure == null) {
+          throw e;
+        }
+        boolean retrying = attempt < maxAttempts;
+        lockMetrics.recordFailure(operation, failure, retrying);
+        if (!retrying) {
+          throw e;
+        }
+        try {
+          Thread.sleep(backoffMillis(attempt));
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+
+  private long backoffMillis(int attempt) {
+    long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+    return ThreadLocalRandom.current().nextLong(ceiling + 1);
+  }
+}
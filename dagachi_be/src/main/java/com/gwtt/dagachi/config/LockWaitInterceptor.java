@@ -0,0 +1,39 @@
+package com.gwtt.dagachi.config;
+
+import java.lang.reflect.Method;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.jpa.repository.Lock;
+
+/** 저장소의 {@code @Lock} 조회에 걸린 시간을 조회 이름과 결과별로 기록한다. 다른 메서드는 그대로 통과시킨다. */
+class LockWaitInterceptor implements MethodInterceptor {
+  private final ObjectProvider<LockMetrics> lockMetrics;
+
+  LockWaitInterceptor(ObjectProvider<LockMetrics> lockMetrics) {
+    this.lockMetrics = lockMetrics;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    Method method = invocation.getMethod();
+    LockMetrics metrics = lockMetrics.getIfAvailable();
+    if (metrics == null || !method.isAnnotationPresent(Lock.class)) {
+      return invocation.proceed();
+    }
+    String outcome = "acquired";
+    long start = System.nanoTime();
+    try {
+      return invocation.proceed();
+    } catch (RuntimeException e) {
+      LockFailure failure = LockFailure.classify(e);
+      outcome = failure != null ? failure.getTag() : "failed";
+      throw e;
+    } finally {
+      metrics.recordWait(
+          method.getDeclaringClass().getSimpleName() + "." + method.getName(),
+          System.nanoTime() - start,
+          outcome);
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package com.gwtt.dagachi.config;
+
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * BCrypt 해싱/검증 전용 실행기.
+ *
+ * <p>BCrypt 는 의도적으로 CPU 를 오래 쓰기 때문에 로그인이 몰리면 Tomcat 스레드가 모두 CPU 에 묶여 가벼운 조회 요청까지 밀린다. 해싱은 크기가 제한된
+ * 별도 풀에서만 수행하고, 대기열이 가득 차면 기다리지 않고 바로 503 으로 거절한다.
+ */
+@Component
+public class PasswordHashingExecutor {
+  private final ThreadPoolExecutor executor;
+  private final Timer hashTimer;
+  private final Counter rejectedCounter;
+  private final long retryAfterSeconds;
+
+  public PasswordHashingExecutor(
+      MeterRegistry meterRegistry,
+      @Value("${security.password-hashing.pool-size:0}") int poolSize,
+      @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+      @Value("${security.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+    int threads =
+        poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    this.retryAfterSeconds = retryAfterSeconds;
+
+    Gauge.builder("auth.password_hashing.queue.size", executor, e -> e.getQueue().size())
+        .description("해싱 대기 중인 작업 수")
+        .register(meterRegistry);
+    Gauge.builder("auth.password_hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+        .description("해싱 중인 스레드 수")
+        .register(meterRegistry);
+    this.hashTimer =
+        Timer.builder("auth.password_hashing.duration")
+            .description("BCrypt 해싱/검증 소요 시간")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.rejectedCounter =
+        Counter.builder("auth.password_hashing.rejected")
+            .description("대기열 초과로 거절된 요청 수")
+            .register(meterRegistry);
+  }
+
+  public <T> T execute(Supplier<T> task) {
+    Callable<T> timedTask = () -> hashTimer.record(task);
+    Future<T> future;
+    try {
+      future = executor.submit(timedTask);
+    } catch (RejectedExecutionException e) {
+      rejectedCounter.increment();
+      throw new DagachiException(ErrorCode.AUTH_SERVER_BUSY, retryAfterSeconds);
+    }
+
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      future.cancel(true);
+      throw new DagachiException(ErrorCode.INTERNAL_SERVER_ERROR);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
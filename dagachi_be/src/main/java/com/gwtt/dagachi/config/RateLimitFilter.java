@@ -0,0 +1,256 @@
+package com.gwtt.dagachi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.util.TokenBucket;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * 검색과 쓰기 요청에 대한 token bucket 기반 요청 수 제한.
+ *
+ * <p>인증된 요청은 userId, 그 외에는 nginx 가 넘겨주는 X-Real-IP 로 bucket 을 나눈다. 먼저 인스턴스 내부 bucket 을 확인해 이미 한도를 넘은
+ * 요청은 Redis 없이 바로 거절하고, 통과한 요청만 Redis 의 공유 bucket 으로 전체 인스턴스 기준 한도를 확인한다. Redis 에 접근할 수 없으면 내부
+ * bucket 결과만으로 판단한다.
+ *
+ * <p>한도는 {@code rate-limit.<group>.capacity} 와 {@code rate-limit.<group>.refill-per-minute} 로 경로
+ * 그룹마다 설정한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+  public static final String LIMIT_HEADER = "RateLimit-Limit";
+  public static final String REMAINING_HEADER = "RateLimit-Remaining";
+  public static final String RESET_HEADER = "RateLimit-Reset";
+
+  private static final String KEY_PREFIX = "rate-limit:";
+  private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+  // Redis 서버 시각을 기준으로 토큰을 채워 인스턴스 간 시계 차이의 영향을 받지 않는다.
+  // 반환값: {허용 여부(1/0), 남은 토큰 수, 다음 토큰까지 남은 밀리초}
+  private static final RedisScript<List> TOKEN_BUCKET_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          local capacity = tonumber(ARGV[1])
+          local refill_per_ms = tonumber(ARGV[2])
+          local time = redis.call('TIME')
+          local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+          local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+          local tokens = tonumber(bucket[1])
+          local ts = tonumber(bucket[2])
+          if tokens == nil then
+            tokens = capacity
+            ts = now
+          end
+          tokens = math.min(capacity, tokens + math.max(0, now - ts) * refill_per_ms)
+          local allowed = 0
+          if tokens >= 1 then
+            tokens = tokens - 1
+            allowed = 1
+          end
+          redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+          redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / refill_per_ms))
+          local wait = 0
+          if tokens < 1 then
+            wait = math.ceil((1 - tokens) / refill_per_ms)
+          end
+          return {allowed, math.floor(tokens), wait}
+          """,
+          List.class);
+
+  private final StringRedisTemplate redisTemplate;
+  private final FilterErrorResponseWriter errorResponseWriter;
+  private final Environment environment;
+
+  @Value("${rate-limit.enabled:true}")
+  private boolean enabled;
+
+  @Value("${rate-limit.shared:true}")
+  private boolean shared;
+
+  @Value("${rate-limit.local-buckets:100000}")
+  private long maxLocalBuckets;
+
+  private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+  private Cache<String, TokenBucket> localBuckets;
+
+  @PostConstruct
+  public void init() {
+    for (RouteGroup group : RouteGroup.values()) {
+      String prefix = "rate-limit." + group.getName() + ".";
+      long capacity =
+          environment.getProperty(prefix + "capacity", Long.class, group.getDefaultCapacity());
+      long refillPerMinute =
+          environment.getProperty(
+              prefix + "refill-per-minute", Long.class, group.getDefaultRefillPerMinute());
+      limits.put(group, new Limit(capacity, refillPerMinute / 60d));
+    }
+    localBuckets =
+        Caffeine.newBuilder()
+            .maximumSize(maxLocalBuckets)
+            .expireAfterAccess(Duration.ofMinutes(10))
+            .build();
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    RouteGroup group = RouteGroup.match(request);
+    if (group == null) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Limit limit = limits.get(group);
+    String key = group.getName() + ":" + resolveClientKey(request);
+    Decision decision = decide(key, limit);
+
+    response.setHeader(LIMIT_HEADER, String.valueOf(limit.capacity()));
+    response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+    response.setHeader(RESET_HEADER, String.valueOf(limit.secondsUntilFull(decision.remaining())));
+
+    if (!decision.allowed()) {
+      errorResponseWriter.write(
+          response, ErrorCode.TOO_MANY_REQUESTS, decision.retryAfterSeconds());
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !enabled;
+  }
+
+  private Decision decide(String key, Limit limit) {
+    TokenBucket local =
+        localBuckets.get(key, k -> new TokenBucket(limit.capacity(), limit.refillPerSecond()));
+    if (!local.tryConsume()) {
+      return Decision.rejected(limit.secondsPerToken());
+    }
+    if (!shared) {
+      return Decision.allowed(local.getRemaining());
+    }
+
+    try {
+      List<?> result =
+          redisTemplate.execute(
+              TOKEN_BUCKET_SCRIPT,
+              List.of(KEY_PREFIX + key),
+              String.valueOf(limit.capacity()),
+              String.valueOf(limit.refillPerSecond() / 1000d));
+      boolean allowed = ((Number) result.get(0)).longValue() == 1;
+      long remaining = ((Number) result.get(1)).longValue();
+      long waitMillis = ((Number) result.get(2)).longValue();
+      return allowed
+          ? Decision.allowed(remaining)
+          : Decision.rejected(Math.max(1, (waitMillis + 999) / 1000));
+    } catch (DataAccessException e) {
+      log.warn("Shared rate limit unavailable, falling back to local bucket: {}", e.getMessage());
+      return Decision.allowed(local.getRemaining());
+    }
+  }
+
+  private String resolveClientKey(HttpServletRequest request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication != null
+        && authentication.getPrincipal() instanceof CustomUserDetails userDetails) {
+      return "user:" + userDetails.getUserId();
+    }
+    String realIp = request.getHeader("X-Real-IP");
+    return "ip:" + (realIp != null && !realIp.isBlank() ? realIp : request.getRemoteAddr());
+  }
+
+  enum RouteGroup {
+    SEARCH("search", HttpMethod.POST, "/api/postings/search/**", 30, 60),
+    PARTICIPATION("participation", HttpMethod.POST, "/api/participation/*", 5, 10),
+    COMMENT("comment", HttpMethod.POST, "/api/postings/*/comment", 10, 20);
+
+    private final String name;
+    private final HttpMethod method;
+    private final String pattern;
+    private final long defaultCapacity;
+    private final long defaultRefillPerMinute;
+
+    RouteGroup(
+        String name,
+        HttpMethod method,
+        String pattern,
+        long defaultCapacity,
+        long defaultRefillPerMinute) {
+      this.name = name;
+      this.method = method;
+      this.pattern = pattern;
+      this.defaultCapacity = defaultCapacity;
+      this.defaultRefillPerMinute = defaultRefillPerMinute;
+    }
+
+    static RouteGroup match(HttpServletRequest request) {
+      String path = request.getRequestURI().substring(request.getContextPath().length());
+      for (RouteGroup group : values()) {
+        if (group.method.matches(request.getMethod()) && PATH_MATCHER.match(group.pattern, path)) {
+          return group;
+        }
+      }
+      return null;
+    }
+
+    String getName() {
+      return name;
+    }
+
+    long getDefaultCapacity() {
+      return defaultCapacity;
+    }
+
+    long getDefaultRefillPerMinute() {
+      return defaultRefillPerMinute;
+    }
+  }
+
+  private record Limit(long capacity, double refillPerSecond) {
+    long secondsPerToken() {
+      return Math.max(1, (long) Math.ceil(1 / refillPerSecond));
+    }
+
+    long secondsUntilFull(long remaining) {
+      return (long) Math.ceil((capacity - remaining) / refillPerSecond);
+    }
+  }
+
+  private record Decision(boolean allowed, long remaining, long retryAfterSeconds) {
+    static Decision allowed(long remaining) {
+      return new Decision(true, remaining, 0);
+    }
+
+    static Decision rejected(long retryAfterSeconds) {
+      return new Decision(false, 0, retryAfterSeconds);
+    }
+  }
+}
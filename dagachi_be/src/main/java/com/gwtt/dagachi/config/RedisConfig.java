@@ -6,6 +6,10 @@ import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
 import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.gwtt.dagachi.service.PostingGeoIndex;
+import com.gwtt.dagachi.service.PostingSearchIndex;
+import com.gwtt.dagachi.service.SearchSuggestService;
+import com.gwtt.dagachi.service.UserNameFilter;
 import java.time.Duration;
 import java.util.TimeZone;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,6 +21,8 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.RedisSerializer;
@@ -67,4 +73,27 @@ public class RedisConfig {
         .withCacheConfiguration("participations", config.entryTtl(Duration.ofMinutes(3)))
         .build();
   }
+
+  @Bean
+  public RedisMessageListenerContainer redisMessageListenerContainer(
+      RedisConnectionFactory redisConnectionFactory,
+      TokenRevocationRegistry tokenRevocationRegistry,
+      UserNameFilter userNameFilter,
+      PostingGeoIndex postingGeoIndex,
+      SearchSuggestService searchSuggestService,
+      PostingSearchIndex postingSearchIndex) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(redisConnectionFactory);
+    container.addMessageListener(
+        tokenRevocationRegistry, new ChannelTopic(TokenRevocationRegistry.REVOKED_CHANNEL));
+    container.addMessageListener(
+        userNameFilter, new ChannelTopic(UserNameFilter.REGISTERED_CHANNEL));
+    container.addMessageListener(
+        postingGeoIndex, new ChannelTopic(PostingGeoIndex.CHANGED_CHANNEL));
+    container.addMessageListener(
+        searchSuggestService, new ChannelTopic(SearchSuggestService.CHANGED_CHANNEL));
+    container.addMessageListener(
+        postingSearchIndex, new ChannelTopic(PostingSearchIndex.CHANGED_CHANNEL));
+    return container;
+  }
 }
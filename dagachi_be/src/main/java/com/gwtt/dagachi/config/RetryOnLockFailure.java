@@ -0,0 +1,18 @@
+package com.gwtt.dagachi.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 행 잠금을 얻지 못하거나 데드락으로 트랜잭션이 실패하면 잠시 기다렸다가 메서드를 처음부터 다시 실행한다.
+ *
+ * <p>트랜잭션 밖에서 감싸므로 {@code @Transactional} 메서드에 붙이면 시도마다 새 트랜잭션이 열린다. 이미 열린 트랜잭션 안에서 불리면 다시 시도하지
+ * 않는다. 횟수와 대기 시간은 {@code lock.retry.*} 로 정한다.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnLockFailure {}
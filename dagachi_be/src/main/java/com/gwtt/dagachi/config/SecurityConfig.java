@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -19,19 +20,25 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
-import org.springframework.http.HttpMethod;
 
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
 @RequiredArgsConstructor
 public class SecurityConfig {
+  public static final String[] PERMIT_ALL_PATTERNS = {"/api/auth/**"};
+
   private final JwtAuthenticationFilter jwtAuthenticationFilter;
+  private final RateLimitFilter rateLimitFilter;
+  private final IdempotencyFilter idempotencyFilter;
   private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
   @Value("${cors.allowed-origins}")
   private List<String> allowedOrigins;
 
+  @Value("${security.bcrypt.strength:10}")
+  private int bcryptStrength;
+
   @Bean
   public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
     http.csrf(csrf -> csrf.disable())
@@ -42,19 +49,24 @@ public class SecurityConfig {
             auth ->
                 auth.requestMatchers(HttpMethod.OPTIONS, "/**")
                     .permitAll()
-                    .requestMatchers("/api/auth/**")
+                    .requestMatchers(PERMIT_ALL_PATTERNS)
                     .permitAll()
                     .anyRequest()
                     .authenticated())
         .exceptionHandling(
             exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
-        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+        // userId 로 bucket 을 나누기 위해 인증 뒤에 둔다.
+        .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+        // 한도 초과(429) 응답이 멱등 응답으로 저장되지 않도록 rate limit 뒤에 둔다.
+        .addFilterAfter(idempotencyFilter, RateLimitFilter.class);
     return http.build();
   }
 
   @Bean
   public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+    // 강도를 올리면 기존 해시는 다음 로그인 때 CustomUserDetailsService.updatePassword 로 재해싱된다.
+    return new BCryptPasswordEncoder(bcryptStrength);
   }
 
   @Bean
@@ -71,6 +83,13 @@ public class SecurityConfig {
     configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
     configuration.setAllowedHeaders(List.of("*"));
     configuration.setAllowCredentials(true);
+    configuration.setExposedHeaders(
+        List.of(
+            HttpHeaders.RETRY_AFTER,
+            RateLimitFilter.LIMIT_HEADER,
+            RateLimitFilter.REMAINING_HEADER,
+            RateLimitFilter.RESET_HEADER,
+            IdempotencyFilter.REPLAYED_HEADER));
 
     UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
     source.registerCorsConfiguration("/**", configuration);
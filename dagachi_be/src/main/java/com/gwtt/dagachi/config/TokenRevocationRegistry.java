@@ -0,0 +1,203 @@
+package com.gwtt.dagachi.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.gwtt.dagachi.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 토큰 무효화 정보를 메모리에 들고 있는 저장소.
+ *
+ * <p>두 가지 단위로 무효화한다.
+ *
+ * <ul>
+ *   <li>사용자 단위: 역할 변경이나 탈퇴처럼 토큰에 담긴 정보가 더 이상 유효하지 않을 때 {@link #revoke(Long)}를 호출하면, 그 이전에 발급된 그
+ *       사용자의 토큰은 모두 거부된다.
+ *   <li>토큰 단위: 로그아웃한 access token 은 {@link #revokeToken(String, long)}로 jti 를 등록한다. 확인은 Bloom
+ *       filter 로 먼저 거르고, filter 가 있다고 답할 때만 LRU 캐시와 Redis 를 본다.
+ * </ul>
+ *
+ * <p>요청마다의 확인은 메모리 조회만으로 끝나고, Redis 는 재시작 시 복원과 다른 인스턴스로의 전파에만 사용한다. 시작할 때 Redis 에 접근할 수 없어도 뜨기는
+ * 하고, 복원은 {@code LOAD_RETRY_MILLIS} 마다 확인 요청에서 다시 시도한다.
+ *
+ * <p>Bloom filter 에 걸렸는데 Redis 를 조회할 수 없으면, 메모리에 무효화되었다고 남아 있는 jti 만 거부하고 나머지는 통과시킨다. 실패한 조회 결과는
+ * 캐시에 남기지 않아 Redis 가 돌아오면 다시 확인한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationRegistry implements MessageListener {
+  public static final String REVOKED_CHANNEL = "auth:revoked";
+  private static final String REVOKED_KEY = "auth:revoked-before";
+  private static final String REVOKED_TOKEN_KEY_PREFIX = "auth:revoked-token:";
+  private static final String USER_MESSAGE_PREFIX = "user:";
+  private static final String TOKEN_MESSAGE_PREFIX = "token:";
+  private static final long LOAD_RETRY_MILLIS = 10_000;
+
+  private final StringRedisTemplate redisTemplate;
+  private final Map<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+  @Value("${jwt.expiration-time}")
+  private long expirationTime;
+
+  @Value("${jwt.revocation.expected-tokens:10000}")
+  private long expectedRevokedTokens;
+
+  // access token 수명만큼씩 세대를 나눠, 최근 두 세대만 들고 있으면 아직 만료되지 않은 토큰을 모두 덮는다.
+  private volatile BloomFilter currentGeneration;
+  private volatile BloomFilter previousGeneration;
+  private volatile long generationStartedAt;
+  private Cache<String, Boolean> revokedTokens;
+  private volatile boolean loaded;
+  private volatile long nextLoadAt;
+
+  @PostConstruct
+  public void init() {
+    currentGeneration = new BloomFilter(expectedRevokedTokens, 0.001);
+    previousGeneration = new BloomFilter(expectedRevokedTokens, 0.001);
+    generationStartedAt = System.currentTimeMillis();
+    revokedTokens =
+        Caffeine.newBuilder()
+            .maximumSize(expectedRevokedTokens)
+            .expireAfterWrite(Duration.ofMillis(expirationTime))
+            .build();
+    load();
+  }
+
+  private void loadIfNeeded() {
+    if (loaded || System.currentTimeMillis() < nextLoadAt) {
+      return;
+    }
+    synchronized (this) {
+      if (!loaded && System.currentTimeMillis() >= nextLoadAt) {
+        load();
+      }
+    }
+  }
+
+  // Redis 에 남은 무효화 정보를 메모리로 옮긴다. 실패하면 잠시 뒤 다시 시도한다.
+  private void load() {
+    try {
+      restore();
+      loaded = true;
+    } catch (DataAccessException e) {
+      nextLoadAt = System.currentTimeMillis() + LOAD_RETRY_MILLIS;
+      log.warn("Failed to restore token revocations, retrying later: {}", e.getMessage());
+    }
+  }
+
+  private void restore() {
+    long threshold = System.currentTimeMillis() - expirationTime;
+    Map<Object, Object> entries = redisTemplate.opsForHash().entries(REVOKED_KEY);
+    entries.forEach(
+        (userId, revokedAt) -> {
+          long millis = Long.parseLong(revokedAt.toString());
+          if (millis < threshold) {
+            // 이 시각 이전에 발급된 토큰은 이미 모두 만료되었다.
+            redisTemplate.opsForHash().delete(REVOKED_KEY, userId);
+          } else {
+            revokedBefore.merge(Long.valueOf(userId.toString()), millis, Math::max);
+          }
+        });
+
+    ScanOptions options = ScanOptions.scanOptions().match(REVOKED_TOKEN_KEY_PREFIX + "*").build();
+    try (Cursor<String> keys = redisTemplate.scan(options)) {
+      keys.forEachRemaining(
+          key -> markTokenRevoked(key.substring(REVOKED_TOKEN_KEY_PREFIX.length())));
+    }
+  }
+
+  public boolean isRevoked(Long userId, long issuedAtMillis) {
+    loadIfNeeded();
+    Long revokedAt = revokedBefore.get(userId);
+    return revokedAt != null && issuedAtMillis < revokedAt;
+  }
+
+  public void revoke(Long userId) {
+    long now = System.currentTimeMillis();
+    revokedBefore.merge(userId, now, Math::max);
+    redisTemplate.opsForHash().put(REVOKED_KEY, userId.toString(), Long.toString(now));
+    redisTemplate.convertAndSend(REVOKED_CHANNEL, USER_MESSAGE_PREFIX + userId + ":" + now);
+  }
+
+  public boolean isTokenRevoked(String tokenId) {
+    loadIfNeeded();
+    rotateGenerationIfExpired();
+    if (!currentGeneration.mightContain(tokenId) && !previousGeneration.mightContain(tokenId)) {
+      return false;
+    }
+    Boolean known = revokedTokens.getIfPresent(tokenId);
+    if (known != null) {
+      return known;
+    }
+    // Bloom filter 오탐일 수 있으므로 확인 결과(음성 포함)를 LRU 에 남겨 Redis 재조회를 막는다.
+    boolean revoked;
+    try {
+      revoked = Boolean.TRUE.equals(redisTemplate.hasKey(REVOKED_TOKEN_KEY_PREFIX + tokenId));
+    } catch (DataAccessException e) {
+      log.warn("Failed to check token revocation, allowing token: {}", e.getMessage());
+      return false;
+    }
+    revokedTokens.put(tokenId, revoked);
+    return revoked;
+  }
+
+  public void revokeToken(String tokenId, long expiresAtMillis) {
+    long remainingMillis = expiresAtMillis - System.currentTimeMillis();
+    if (remainingMillis <= 0) {
+      return;
+    }
+    markTokenRevoked(tokenId);
+    redisTemplate
+        .opsForValue()
+        .set(REVOKED_TOKEN_KEY_PREFIX + tokenId, "1", Duration.ofMillis(remainingMillis));
+    redisTemplate.convertAndSend(REVOKED_CHANNEL, TOKEN_MESSAGE_PREFIX + tokenId);
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String payload = new String(message.getBody(), StandardCharsets.UTF_8);
+    if (payload.startsWith(TOKEN_MESSAGE_PREFIX)) {
+      markTokenRevoked(payload.substring(TOKEN_MESSAGE_PREFIX.length()));
+    } else if (payload.startsWith(USER_MESSAGE_PREFIX)) {
+      String[] values = payload.substring(USER_MESSAGE_PREFIX.length()).split(":");
+      if (values.length == 2) {
+        revokedBefore.merge(Long.valueOf(values[0]), Long.valueOf(values[1]), Math::max);
+      }
+    }
+  }
+
+  private void markTokenRevoked(String tokenId) {
+    rotateGenerationIfExpired();
+    currentGeneration.put(tokenId);
+    revokedTokens.put(tokenId, true);
+  }
+
+  private void rotateGenerationIfExpired() {
+    if (System.currentTimeMillis() - generationStartedAt < expirationTime) {
+      return;
+    }
+    synchronized (this) {
+      long now = System.currentTimeMillis();
+      if (now - generationStartedAt >= expirationTime) {
+        previousGeneration = currentGeneration;
+        currentGeneration = new BloomFilter(expectedRevokedTokens, 0.001);
+        generationStartedAt = now;
+      }
+    }
+  }
+}
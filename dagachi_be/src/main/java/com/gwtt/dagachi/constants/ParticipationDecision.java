@@ -0,0 +1,6 @@
+package com.gwtt.dagachi.constants;
+
+public enum ParticipationDecision {
+  APPROVE,
+  REJECT
+}
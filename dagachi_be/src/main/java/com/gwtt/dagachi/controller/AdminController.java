@@ -5,6 +5,7 @@ import com.gwtt.dagachi.dto.UserSimpleResponseDto;
 import com.gwtt.dagachi.service.AdminService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -14,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -39,4 +41,9 @@ public class AdminController {
     adminService.updateUserRole(id, role);
     return ResponseEntity.noContent().build();
   }
+
+  @PostMapping("/postings/search-index/rebuild")
+  public ResponseEntity<Map<String, Long>> rebuildPostingSearchIndex() {
+    return ResponseEntity.ok(Map.of("indexed", adminService.rebuildPostingSearchIndex()));
+  }
 }
@@ -2,12 +2,20 @@ package com.gwtt.dagachi.controller;
 
 import com.gwtt.dagachi.dto.LoginRequestDto;
 import com.gwtt.dagachi.dto.SignupRequestDto;
+import com.gwtt.dagachi.dto.TokenResponseDto;
 import com.gwtt.dagachi.service.AuthService;
+import com.gwtt.dagachi.service.RefreshTokenService;
 import jakarta.validation.Valid;
+import java.time.Duration;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CookieValue;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -15,7 +23,13 @@ import org.springframework.web.bind.annotation.RestController;
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
+  private static final String REFRESH_TOKEN_COOKIE = "refresh_token";
+
   private final AuthService authService;
+  private final RefreshTokenService refreshTokenService;
+
+  @Value("${jwt.refresh-cookie-secure:true}")
+  private boolean refreshCookieSecure;
 
   @PostMapping("/signup")
   public ResponseEntity<String> signup(@Valid @RequestBody SignupRequestDto signupRequestDto) {
@@ -23,9 +37,55 @@ public class AuthController {
     return ResponseEntity.ok("회원가입이 완료되었습니다.");
   }
 
+  // access token 은 기존처럼 본문으로, refresh token 은 HttpOnly 쿠키로 내려준다.
   @PostMapping("/login")
   public ResponseEntity<String> login(@Valid @RequestBody LoginRequestDto loginRequestDto) {
-    String jwt = authService.login(loginRequestDto);
-    return ResponseEntity.ok(jwt);
+    TokenResponseDto tokens = authService.login(loginRequestDto);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(tokens.getRefreshToken()))
+        .body(tokens.getAccessToken());
+  }
+
+  @PostMapping("/refresh")
+  public ResponseEntity<String> refresh(
+      @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken) {
+    TokenResponseDto tokens = authService.refresh(refreshToken);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.SET_COOKIE, refreshTokenCookie(tokens.getRefreshToken()))
+        .body(tokens.getAccessToken());
+  }
+
+  @PostMapping("/logout")
+  public ResponseEntity<Void> logout(
+      @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+      @CookieValue(name = REFRESH_TOKEN_COOKIE, required = false) String refreshToken) {
+    String accessToken =
+        authorization != null && authorization.startsWith("Bearer ")
+            ? authorization.substring(7)
+            : null;
+    authService.logout(accessToken, refreshToken);
+    return ResponseEntity.noContent()
+        .header(HttpHeaders.SET_COOKIE, expiredRefreshTokenCookie())
+        .build();
+  }
+
+  private String refreshTokenCookie(String refreshToken) {
+    return refreshTokenCookie(
+        refreshToken, Duration.ofMillis(refreshTokenService.getRefreshExpirationTime()));
+  }
+
+  private String expiredRefreshTokenCookie() {
+    return refreshTokenCookie("", Duration.ZERO);
+  }
+
+  private String refreshTokenCookie(String value, Duration maxAge) {
+    return ResponseCookie.from(REFRESH_TOKEN_COOKIE, value)
+        .httpOnly(true)
+        .secure(refreshCookieSecure)
+        .sameSite("Strict")
+        .path("/api/auth")
+        .maxAge(maxAge)
+        .build()
+        .toString();
   }
 }
@@ -1,10 +1,14 @@
 package com.gwtt.dagachi.controller;
 
 import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.dto.ParticipationDecisionsRequestDto;
+import com.gwtt.dagachi.dto.ParticipationDecisionsResponseDto;
 import com.gwtt.dagachi.dto.ParticipationResponseDto;
 import com.gwtt.dagachi.dto.ParticipationSimpleResponseDto;
 import com.gwtt.dagachi.service.ParticipationService;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.net.URI;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -17,6 +21,7 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -51,8 +56,13 @@ public class ParticipationController {
       @AuthenticationPrincipal CustomUserDetails userDetails,
       @PathVariable @NotNull Long postingId) {
     Long currentUserId = userDetails.getUserId();
-    participationService.joinPosting(currentUserId, postingId);
-    return ResponseEntity.noContent().build();
+    if (participationService.joinPosting(currentUserId, postingId)) {
+      return ResponseEntity.noContent().build();
+    }
+    // 저장 여부를 아직 모른다. 확인 주소를 알려 주고 클라이언트가 다시 조회하게 한다.
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/participation/" + postingId + "/check"))
+        .build();
   }
 
   @DeleteMapping("/{postingId}")
@@ -74,6 +84,17 @@ public class ParticipationController {
     return ResponseEntity.noContent().build();
   }
 
+  @PostMapping("/{postingId}/decisions")
+  public ResponseEntity<ParticipationDecisionsResponseDto> decide(
+      @AuthenticationPrincipal CustomUserDetails userDetails,
+      @PathVariable @NotNull Long postingId,
+      @RequestBody @Valid ParticipationDecisionsRequestDto request) {
+    Long currentUserId = userDetails.getUserId();
+    ParticipationDecisionsResponseDto response =
+        participationService.decide(currentUserId, postingId, request.getDecisions());
+    return ResponseEntity.ok(response);
+  }
+
   @DeleteMapping("/{postingId}/user/{participationId}")
   public ResponseEntity<Void> rejectUser(
       @AuthenticationPrincipal CustomUserDetails userDetails,
@@ -1,15 +1,29 @@
 package com.gwtt.dagachi.controller;
 
 import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.PostingType;
 import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.CursorPageResponseDto;
+import com.gwtt.dagachi.dto.NearbyPostingResponseDto;
 import com.gwtt.dagachi.dto.PostingCreateRequestDto;
+import com.gwtt.dagachi.dto.PostingMapResponseDto;
 import com.gwtt.dagachi.dto.PostingResponseDto;
 import com.gwtt.dagachi.dto.PostingSearchCondition;
 import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
+import com.gwtt.dagachi.dto.PostingSuggestResponseDto;
 import com.gwtt.dagachi.dto.PostingUpdateRequestDto;
+import com.gwtt.dagachi.dto.SliceResponseDto;
+import com.gwtt.dagachi.service.NearbyPostingService;
+import com.gwtt.dagachi.service.PostingMapService;
 import com.gwtt.dagachi.service.PostingService;
+import com.gwtt.dagachi.service.SearchSuggestService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -24,6 +38,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,6 +46,9 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class PostingController {
   private final PostingService postingService;
+  private final NearbyPostingService nearbyPostingService;
+  private final PostingMapService postingMapService;
+  private final SearchSuggestService searchSuggestService;
 
   @GetMapping
   public ResponseEntity<PagedModel<PostingSimpleResponseDto>> getPostings(
@@ -39,6 +57,38 @@ public class PostingController {
     return ResponseEntity.ok(new PagedModel<>(postingService.getPostings(pageable)));
   }
 
+  @GetMapping("/cursor")
+  public ResponseEntity<CursorPageResponseDto<PostingSimpleResponseDto>> getPostingsByCursor(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "5") @Min(1) @Max(100) int size) {
+    return ResponseEntity.ok(postingService.getPostingsByCursor(cursor, size));
+  }
+
+  @GetMapping("/near")
+  public ResponseEntity<List<NearbyPostingResponseDto>> getNearbyPostings(
+      @RequestParam @DecimalMin("-90") @DecimalMax("90") double latitude,
+      @RequestParam @DecimalMin("-180") @DecimalMax("180") double longitude,
+      @RequestParam(required = false) Double radiusKm,
+      @RequestParam(required = false) PostingType type,
+      @RequestParam(defaultValue = "10") @Min(1) @Max(50) int size) {
+    return ResponseEntity.ok(
+        nearbyPostingService.getNearbyPostings(latitude, longitude, radiusKm, type, size));
+  }
+
+  /** {@code bbox} 는 {@code "minLng,minLat,maxLng,maxLat"} 형식이다. */
+  @GetMapping("/map")
+  public ResponseEntity<PostingMapResponseDto> getPostingMap(
+      @RequestParam String bbox, @RequestParam int zoom) {
+    return ResponseEntity.ok(postingMapService.getMap(bbox, zoom));
+  }
+
+  @GetMapping("/suggest")
+  public ResponseEntity<PostingSuggestResponseDto> suggest(
+      @RequestParam(defaultValue = "") String q,
+      @RequestParam(defaultValue = "5") @Min(1) @Max(10) int size) {
+    return ResponseEntity.ok(searchSuggestService.suggest(q, size));
+  }
+
   @GetMapping("/{id}")
   public ResponseEntity<PostingResponseDto> getPostingById(@PathVariable @NotNull Long id) {
     return ResponseEntity.ok(postingService.getPostingById(id));
@@ -79,4 +129,29 @@ public class PostingController {
           Pageable pageable) {
     return ResponseEntity.ok(new PagedModel<>(postingService.searchPostings(condition, pageable)));
   }
+
+  @PostMapping("/search/slice")
+  public ResponseEntity<SliceResponseDto<PostingSimpleResponseDto>> searchPostingsSlice(
+      @RequestBody PostingSearchCondition condition,
+      @PageableDefault(size = 5, sort = "createdAt", direction = Sort.Direction.DESC)
+          Pageable pageable) {
+    return ResponseEntity.ok(
+        SliceResponseDto.of(postingService.searchPostingsSlice(condition, pageable)));
+  }
+
+  @PostMapping("/search/cursor")
+  public ResponseEntity<CursorPageResponseDto<PostingSimpleResponseDto>> searchPostingsByCursor(
+      @RequestBody PostingSearchCondition condition,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "5") @Min(1) @Max(100) int size) {
+    return ResponseEntity.ok(postingService.searchPostingsByCursor(condition, cursor, size));
+  }
+
+  @PostMapping("/search/nearby")
+  public ResponseEntity<CursorPageResponseDto<PostingSimpleResponseDto>> searchPostingsNearby(
+      @RequestBody PostingSearchCondition condition,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "5") @Min(1) @Max(100) int size) {
+    return ResponseEntity.ok(postingService.searchPostingsNearby(condition, cursor, size));
+  }
 }
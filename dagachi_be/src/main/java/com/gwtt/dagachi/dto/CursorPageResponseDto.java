@@ -0,0 +1,33 @@
+package com.gwtt.dagachi.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CursorPageResponseDto<T> {
+  private List<T> content;
+  private int size;
+  private boolean hasNext;
+  private String nextCursor;
+
+  /**
+   * 요청한 개수보다 하나 더 조회한 결과로 응답을 만든다. 남는 한 건은 다음 페이지가 있는지 확인하는 데만 쓰고 버린다.
+   *
+   * @param rows 최대 {@code size + 1} 건의 조회 결과
+   * @param cursorOf 마지막 원소로 다음 커서를 만드는 함수
+   */
+  public static <E, T> CursorPageResponseDto<T> of(
+      List<E> rows, int size, Function<E, String> cursorOf, Function<E, T> mapper) {
+    boolean hasNext = rows.size() > size;
+    List<E> page = hasNext ? rows.subList(0, size) : rows;
+    String nextCursor = hasNext ? cursorOf.apply(page.get(page.size() - 1)) : null;
+    return new CursorPageResponseDto<>(
+        page.stream().map(mapper).toList(), page.size(), hasNext, nextCursor);
+  }
+}
@@ -0,0 +1,40 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+
+/** 지도 화면 범위. 날짜변경선을 넘는 범위는 지원하지 않는다. */
+public record MapViewport(
+    double minLongitude, double minLatitude, double maxLongitude, double maxLatitude) {
+
+  /** {@code "minLng,minLat,maxLng,maxLat"} 형식의 bbox 를 읽는다. */
+  public static MapViewport parse(String bbox) {
+    String[] parts = bbox != null ? bbox.split(",") : new String[0];
+    if (parts.length != 4) {
+      throw new DagachiException(ErrorCode.INVALID_MAP_VIEWPORT);
+    }
+    try {
+      MapViewport viewport =
+          new MapViewport(
+              Double.parseDouble(parts[0].strip()),
+              Double.parseDouble(parts[1].strip()),
+              Double.parseDouble(parts[2].strip()),
+              Double.parseDouble(parts[3].strip()));
+      if (!viewport.isValid()) {
+        throw new DagachiException(ErrorCode.INVALID_MAP_VIEWPORT);
+      }
+      return viewport;
+    } catch (NumberFormatException e) {
+      throw new DagachiException(ErrorCode.INVALID_MAP_VIEWPORT);
+    }
+  }
+
+  private boolean isValid() {
+    return minLatitude >= -90
+        && maxLatitude <= 90
+        && minLatitude <= maxLatitude
+        && minLongitude >= -180
+        && maxLongitude <= 180
+        && minLongitude <= maxLongitude;
+  }
+}
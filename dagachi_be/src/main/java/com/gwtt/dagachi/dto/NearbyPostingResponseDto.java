@@ -0,0 +1,18 @@
+package com.gwtt.dagachi.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class NearbyPostingResponseDto {
+  private PostingResponseDto posting;
+  private double distanceKm;
+
+  public static NearbyPostingResponseDto of(PostingResponseDto posting, double distanceKm) {
+    return new NearbyPostingResponseDto(posting, distanceKm);
+  }
+}
@@ -0,0 +1,20 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.constants.ParticipationDecision;
+import jakarta.validation.constraints.NotNull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ParticipationDecisionRequestDto {
+
+  @NotNull(message = "참여 ID는 필수 입력 항목입니다.")
+  private Long participationId;
+
+  @NotNull(message = "승인/거절 여부는 필수 입력 항목입니다.")
+  private ParticipationDecision decision;
+}
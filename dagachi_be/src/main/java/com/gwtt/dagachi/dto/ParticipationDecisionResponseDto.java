@@ -0,0 +1,45 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.constants.ParticipationDecision;
+import com.gwtt.dagachi.constants.ParticipationStatus;
+import com.gwtt.dagachi.exception.ErrorCode;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 요청 항목 하나의 처리 결과. 적용되었으면 {@code status} 를, 아니면 {@code code}/{@code message} 를 채운다. */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ParticipationDecisionResponseDto {
+  private Long participationId;
+  private ParticipationDecision decision;
+  private boolean applied;
+  private ParticipationStatus status;
+  private String code;
+  private String message;
+
+  public static ParticipationDecisionResponseDto applied(
+      ParticipationDecisionRequestDto request, ParticipationStatus status) {
+    return ParticipationDecisionResponseDto.builder()
+        .participationId(request.getParticipationId())
+        .decision(request.getDecision())
+        .applied(true)
+        .status(status)
+        .build();
+  }
+
+  public static ParticipationDecisionResponseDto failed(
+      ParticipationDecisionRequestDto request, ErrorCode errorCode) {
+    return ParticipationDecisionResponseDto.builder()
+        .participationId(request.getParticipationId())
+        .decision(request.getDecision())
+        .applied(false)
+        .code(errorCode.name())
+        .message(errorCode.getMessage())
+        .build();
+  }
+}
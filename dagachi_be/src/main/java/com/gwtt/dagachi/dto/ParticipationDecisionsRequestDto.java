@@ -0,0 +1,19 @@
+package com.gwtt.dagachi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ParticipationDecisionsRequestDto {
+
+  @NotEmpty(message = "처리할 참여 정보가 없습니다.")
+  @Size(max = 100, message = "한 번에 100건까지 처리할 수 있습니다.")
+  private List<@Valid @NotNull ParticipationDecisionRequestDto> decisions;
+}
@@ -0,0 +1,20 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ParticipationDecisionsResponseDto {
+  private PostingStatus postingStatus;
+  private int seatsLeft;
+  // 요청과 같은 순서
+  private List<ParticipationDecisionResponseDto> results;
+}
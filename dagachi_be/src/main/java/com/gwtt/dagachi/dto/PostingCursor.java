@@ -0,0 +1,43 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 게시글 목록의 keyset 페이지 위치. 마지막으로 내려준 게시글의 (createdAt, id) 를 담는다.
+ *
+ * <p>클라이언트에는 내부 구조를 알 수 없는 문자열로만 내려준다.
+ */
+public record PostingCursor(LocalDateTime createdAt, Long id) {
+  private static final String DELIMITER = "|";
+
+  public static PostingCursor of(PostingSimpleResponseDto posting) {
+    return new PostingCursor(posting.getCreatedAt(), posting.getId());
+  }
+
+  public static PostingCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int delimiter = decoded.lastIndexOf(DELIMITER);
+      return new PostingCursor(
+          LocalDateTime.parse(decoded.substring(0, delimiter)),
+          Long.valueOf(decoded.substring(delimiter + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new DagachiException(ErrorCode.INVALID_CURSOR);
+    }
+  }
+
+  public String encode() {
+    String raw = createdAt + DELIMITER + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,38 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 거리순 목록의 keyset 페이지 위치. 마지막으로 내려준 게시글의 (거리, id) 를 담는다.
+ *
+ * <p>같은 중심 좌표에 대해서만 의미가 있으며, 클라이언트에는 내부 구조를 알 수 없는 문자열로만 내려준다.
+ */
+public record PostingDistanceCursor(double distanceKm, Long id) {
+  private static final String DELIMITER = "|";
+
+  public static PostingDistanceCursor decode(String cursor) {
+    if (cursor == null || cursor.isBlank()) {
+      return null;
+    }
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int delimiter = decoded.lastIndexOf(DELIMITER);
+      return new PostingDistanceCursor(
+          Double.parseDouble(decoded.substring(0, delimiter)),
+          Long.valueOf(decoded.substring(delimiter + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+      throw new DagachiException(ErrorCode.INVALID_CURSOR);
+    }
+  }
+
+  public String encode() {
+    // Double.toString 은 같은 double 로 되돌아오는 가장 짧은 표현이라 DB 가 계산한 거리와 정확히 비교할 수 있다.
+    String raw = distanceKm + DELIMITER + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+}
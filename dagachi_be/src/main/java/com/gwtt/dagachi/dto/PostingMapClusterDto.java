@@ -0,0 +1,23 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.constants.PostingType;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostingMapClusterDto {
+  private double latitude;
+  private double longitude;
+  private long count;
+  private Map<PostingType, Long> typeCounts;
+
+  public static PostingMapClusterDto of(
+      double latitude, double longitude, long count, Map<PostingType, Long> typeCounts) {
+    return new PostingMapClusterDto(latitude, longitude, count, typeCounts);
+  }
+}
@@ -0,0 +1,34 @@
+package com.gwtt.dagachi.dto;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.entity.Posting;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostingMapPinDto {
+  private Long id;
+  private String title;
+  private PostingType type;
+  private PostingStatus status;
+  private Double latitude;
+  private Double longitude;
+
+  public static PostingMapPinDto of(Posting posting) {
+    return PostingMapPinDto.builder()
+        .id(posting.getId())
+        .title(posting.getTitle())
+        .type(posting.getType())
+        .status(posting.getStatus())
+        .latitude(posting.getLocation().getLatitude())
+        .longitude(posting.getLocation().getLongitude())
+        .build();
+  }
+}
@@ -0,0 +1,25 @@
+package com.gwtt.dagachi.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** 확대 수준이 낮으면 {@code clusters} 만, 높으면 {@code pins} 만 채워진다. */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostingMapResponseDto {
+  private int zoom;
+  private List<PostingMapClusterDto> clusters;
+  private List<PostingMapPinDto> pins;
+
+  public static PostingMapResponseDto ofClusters(int zoom, List<PostingMapClusterDto> clusters) {
+    return new PostingMapResponseDto(zoom, clusters, List.of());
+  }
+
+  public static PostingMapResponseDto ofPins(int zoom, List<PostingMapPinDto> pins) {
+    return new PostingMapResponseDto(zoom, List.of(), pins);
+  }
+}
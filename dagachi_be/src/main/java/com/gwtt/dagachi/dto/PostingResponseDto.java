@@ -21,6 +21,7 @@ public class PostingResponseDto {
   private PostingType type;
   private PostingStatus status;
   private int maxCapacity;
+  private int seatsLeft;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
   private Long authorId;
@@ -36,10 +37,11 @@ public class PostingResponseDto {
         .type(posting.getType())
         .status(posting.getStatus())
         .maxCapacity(posting.getMaxCapacity())
+        .seatsLeft(posting.getSeatsLeft())
         .createdAt(posting.getCreatedAt())
         .updatedAt(posting.getUpdatedAt())
         .authorId(posting.getAuthor().getId())
-        .authorNickname(posting.getAuthor().getNickname())
+        .authorNickname(posting.getAuthorNickname())
         .latitude(posting.getLocation().getLatitude())
         .longitude(posting.getLocation().getLongitude())
         .build();
@@ -2,18 +2,57 @@ package com.gwtt.dagachi.dto;
 
 import com.gwtt.dagachi.constants.PostingStatus;
 import com.gwtt.dagachi.constants.PostingType;
+import java.util.Objects;
 import lombok.Builder;
 import lombok.Getter;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class PostingSearchCondition {
+  // 제목과 설명에서 함께 찾는 검색어
   private String title;
   private PostingType type;
   private PostingStatus status;
   private String authorNickname;
+  // 승인 인원이 정원보다 적은 게시글만
+  private boolean openSeatsOnly;
 
   private Double userLatitude;
   private Double userLongitude;
   private boolean sortByDistance;
+  private Double radiusKm;
+
+  /** 사용자 좌표와 반경이 모두 있어 반경 검색을 할 수 있는지 여부. */
+  public boolean hasRadius() {
+    return radiusKm != null && userLatitude != null && userLongitude != null;
+  }
+
+  public String getNormalizedTitle() {
+    return normalize(title);
+  }
+
+  public String getNormalizedAuthorNickname() {
+    return normalize(authorNickname);
+  }
+
+  /** 검색 결과 집합을 결정하는 조건만 모은 키. 정렬처럼 순서에만 영향을 주는 값은 포함하지 않는다. */
+  public String toFilterKey() {
+    return "title="
+        + Objects.toString(getNormalizedTitle(), "")
+        + "&type="
+        + Objects.toString(type, "")
+        + "&status="
+        + Objects.toString(status, "")
+        + "&author="
+        + Objects.toString(getNormalizedAuthorNickname(), "")
+        + (openSeatsOnly ? "&openSeats" : "")
+        + (hasRadius() ? "&near=" + userLatitude + "," + userLongitude + "," + radiusKm : "");
+  }
+
+  private static String normalize(String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    return value.strip();
+  }
 }
@@ -20,6 +20,7 @@ public class PostingSimpleResponseDto {
   private PostingType type;
   private PostingStatus status;
   private int maxCapacity;
+  private int seatsLeft;
   private LocalDateTime createdAt;
   private LocalDateTime updatedAt;
   private Double latitude;
@@ -34,12 +35,30 @@ public class PostingSimpleResponseDto {
         .type(posting.getType())
         .status(posting.getStatus())
         .maxCapacity(posting.getMaxCapacity())
+        .seatsLeft(posting.getSeatsLeft())
         .createdAt(posting.getCreatedAt())
         .updatedAt(posting.getUpdatedAt())
         .latitude(posting.getLocation().getLatitude())
         .longitude(posting.getLocation().getLongitude())
         .authorId(posting.getAuthor().getId())
-        .authorNickname(posting.getAuthor().getNickname())
+        .authorNickname(posting.getAuthorNickname())
+        .build();
+  }
+
+  public static PostingSimpleResponseDto of(PostingResponseDto posting) {
+    return PostingSimpleResponseDto.builder()
+        .id(posting.getId())
+        .title(posting.getTitle())
+        .type(posting.getType())
+        .status(posting.getStatus())
+        .maxCapacity(posting.getMaxCapacity())
+        .seatsLeft(posting.getSeatsLeft())
+        .createdAt(posting.getCreatedAt())
+        .updatedAt(posting.getUpdatedAt())
+        .latitude(posting.getLatitude())
+        .longitude(posting.getLongitude())
+        .authorId(posting.getAuthorId())
+        .authorNickname(posting.getAuthorNickname())
         .build();
   }
 }
@@ -0,0 +1,24 @@
+package com.gwtt.dagachi.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostingSuggestResponseDto {
+  private List<PostingTitleSuggestionDto> titles;
+  private List<String> nicknames;
+
+  public static PostingSuggestResponseDto of(
+      List<PostingTitleSuggestionDto> titles, List<String> nicknames) {
+    return new PostingSuggestResponseDto(titles, nicknames);
+  }
+
+  public static PostingSuggestResponseDto empty() {
+    return new PostingSuggestResponseDto(List.of(), List.of());
+  }
+}
@@ -0,0 +1,18 @@
+package com.gwtt.dagachi.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostingTitleSuggestionDto {
+  private Long id;
+  private String title;
+
+  public static PostingTitleSuggestionDto of(Long id, String title) {
+    return new PostingTitleSuggestionDto(id, title);
+  }
+}
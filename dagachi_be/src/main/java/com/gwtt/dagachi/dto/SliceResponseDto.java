@@ -0,0 +1,23 @@
+package com.gwtt.dagachi.dto;
+
+import java.util.List;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class SliceResponseDto<T> {
+  private List<T> content;
+  private int number;
+  private int size;
+  private boolean hasNext;
+
+  public static <T> SliceResponseDto<T> of(Slice<T> slice) {
+    return new SliceResponseDto<>(
+        slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext());
+  }
+}
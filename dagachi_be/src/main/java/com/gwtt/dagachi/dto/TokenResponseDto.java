@@ -0,0 +1,16 @@
+package com.gwtt.dagachi.dto;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class TokenResponseDto {
+  private String accessToken;
+  private String refreshToken;
+}
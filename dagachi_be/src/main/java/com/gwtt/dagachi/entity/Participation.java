@@ -13,6 +13,7 @@ import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Builder;
@@ -30,6 +31,11 @@ import org.hibernate.annotations.SQLRestriction;
       @Index(
           name = "idx_participations_posting",
           columnList = "posting_id, deleted_at, status DESC")
+    },
+    uniqueConstraints = {
+      @UniqueConstraint(
+          name = "uk_participations_active",
+          columnNames = {"posting_id", "participant_id", "active_key"})
     })
 @SQLDelete(sql = "UPDATE participations SET deleted_at = NOW() WHERE id = ?")
 @SQLRestriction("deleted_at IS NULL")
@@ -48,6 +54,15 @@ public class Participation extends BaseTimeEntity {
 
   private LocalDateTime deletedAt;
 
+  // 삭제되지 않은 행은 1, 삭제된 행은 NULL 인 계산 컬럼. unique 제약은 NULL 끼리 겹쳐도 막지 않으므로 취소한 뒤 다시
+  // 신청할 수 있고, 살아 있는 신청은 게시글과 참여자마다 하나로 제한된다. 값은 DB 가 계산한다.
+  @Column(
+      name = "active_key",
+      insertable = false,
+      updatable = false,
+      columnDefinition = "tinyint generated always as (case when deleted_at is null then 1 end)")
+  private Integer activeKey;
+
   @Enumerated(EnumType.STRING)
   @Column(nullable = false)
   private ParticipationStatus status;
@@ -24,6 +24,7 @@ import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
 
@@ -35,7 +36,9 @@ import org.hibernate.annotations.SQLRestriction;
           name = "idx_postings_main_search",
           columnList = "deleted_at, status, type, created_at DESC"),
       @Index(name = "idx_postings_author", columnList = "author_id"),
-      @Index(name = "idx_postings_active_recent", columnList = "deleted_at, created_at DESC")
+      @Index(name = "idx_postings_active_recent", columnList = "deleted_at, created_at DESC"),
+      @Index(name = "idx_postings_location", columnList = "latitude, longitude"),
+      @Index(name = "idx_postings_author_nickname", columnList = "deleted_at, author_nickname")
     })
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -63,6 +66,10 @@ public class Posting extends BaseTimeEntity {
   @JoinColumn(name = "author_id", nullable = false)
   private User author;
 
+  // 목록 화면에서 users 를 조인하지 않도록 작성자 닉네임을 복사해 둔다. 닉네임이 바뀌면 User 쪽에서 함께 고친다.
+  @Column(name = "author_nickname", length = 50)
+  private String authorNickname;
+
   @OneToMany(mappedBy = "posting", fetch = FetchType.LAZY, orphanRemoval = false)
   private List<Participation> participations = new ArrayList<>();
 
@@ -76,6 +83,11 @@ public class Posting extends BaseTimeEntity {
   @Column(nullable = false)
   private int maxCapacity;
 
+  // 승인된 참여자 수. PostingRepository 의 조건부 UPDATE 로만 바꾸므로 엔티티를 저장할 때는 쓰지 않는다.
+  @ColumnDefault("0")
+  @Column(nullable = false, updatable = false)
+  private int approvedCount;
+
   @Builder
   public Posting(
       String title,
@@ -86,6 +98,7 @@ public class Posting extends BaseTimeEntity {
       Location location) {
     this.title = title;
     this.author = author;
+    this.authorNickname = author != null ? author.getNickname() : null;
     this.description = description;
     this.type = type;
     this.maxCapacity = maxCapacity;
@@ -102,6 +115,10 @@ public class Posting extends BaseTimeEntity {
     this.location = Location.of(updateRequestDto.getLatitude(), updateRequestDto.getLongitude());
   }
 
+  public int getSeatsLeft() {
+    return Math.max(0, maxCapacity - approvedCount);
+  }
+
   public void setStatus(PostingStatus status) {
     this.status = status;
   }
@@ -10,41 +10,69 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DialectOverride;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.SQLRestriction;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.jdbc.Expectation;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Entity
 @Table(
     name = "users",
-    indexes = {@Index(name = "idx_users_nickname", columnList = "nickname")})
+    indexes = {@Index(name = "idx_users_nickname", columnList = "nickname")},
+    uniqueConstraints = {
+      @UniqueConstraint(name = User.UK_USERNAME, columnNames = "username"),
+      @UniqueConstraint(name = User.UK_NICKNAME, columnNames = "nickname")
+    })
+// postings.author_nickname 도 같은 값으로 바꾼다. 다중 테이블 UPDATE 는 대입 순서가 보장되지 않으므로 각 테이블의
+// 원래 값에서 계산하고, 영향받은 행 수가 게시글 수만큼 늘어나므로 행 수 검증은 끈다.
+// 테스트에 쓰는 H2 는 다중 테이블 UPDATE 를 지원하지 않아 users 만 고친다.
 @SQLDelete(
     sql =
         """
+  UPDATE users u
+  LEFT JOIN postings p ON p.author_id = u.id
+  SET u.deleted_at = NOW(),
+      u.username = CONCAT(u.username, '_deleted_', u.id, '_', NOW()),
+      u.nickname = CONCAT(u.nickname, '_deleted_', u.id, '_', NOW()),
+      p.author_nickname = CONCAT(p.author_nickname, '_deleted_', u.id, '_', NOW())
+  WHERE u.id = ?""",
+    verify = Expectation.None.class)
+@DialectOverride.SQLDelete(
+    dialect = H2Dialect.class,
+    override =
+        @SQLDelete(
+            sql =
+                """
   UPDATE users
   SET deleted_at = NOW(),
       username = CONCAT(username, '_deleted_', id, '_', NOW()),
       nickname = CONCAT(nickname, '_deleted_', id, '_', NOW())
-  WHERE id = ?""")
+  WHERE id = ?"""))
 @SQLRestriction("deleted_at IS NULL")
 public class User extends BaseTimeEntity {
+  public static final String UK_USERNAME = "uk_users_username";
+  public static final String UK_NICKNAME = "uk_users_nickname";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
 
-  @Column(nullable = false, unique = true, length = 50)
+  @Column(nullable = false, length = 50)
   private String username;
 
   @Column(nullable = false, length = 100)
   private String password;
 
-  @Column(nullable = false, length = 50, unique = true)
+  @Column(nullable = false, length = 50)
   private String nickname;
 
   private LocalDateTime deletedAt;
@@ -64,4 +92,8 @@ public class User extends BaseTimeEntity {
   public void updateRole(Role role) {
     this.role = role;
   }
+
+  public void updatePassword(String password) {
+    this.password = password;
+  }
 }
@@ -5,9 +5,15 @@ import lombok.Getter;
 @Getter
 public class DagachiException extends RuntimeException {
   private final ErrorCode errorCode;
+  private final Long retryAfterSeconds;
 
   public DagachiException(ErrorCode errorCode) {
+    this(errorCode, null);
+  }
+
+  public DagachiException(ErrorCode errorCode, Long retryAfterSeconds) {
     super(errorCode.getMessage());
     this.errorCode = errorCode;
+    this.retryAfterSeconds = retryAfterSeconds;
   }
 }
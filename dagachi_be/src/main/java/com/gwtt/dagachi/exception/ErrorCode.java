@@ -8,6 +8,8 @@ import org.springframework.http.HttpStatus;
 @RequiredArgsConstructor
 public enum ErrorCode {
   LOGIN_FAILED(HttpStatus.BAD_REQUEST, "로그인에 실패했습니다."),
+  INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 유효하지 않거나 만료되었습니다."),
+  AUTH_SERVER_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "로그인 요청이 많습니다. 잠시 후 다시 시도해주세요."),
 
   USER_NOT_FOUND(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."),
   DUPLICATE_USERNAME(HttpStatus.CONFLICT, "이미 존재하는 사용자 ID입니다."),
@@ -17,12 +19,21 @@ public enum ErrorCode {
   POSTING_NOT_FOUND(HttpStatus.NOT_FOUND, "게시글을 찾을 수 없습니다."),
   POSTING_NOT_AUTHORIZED(HttpStatus.FORBIDDEN, "해당 게시글에 대한 권한이 없습니다."),
   POSTING_ALREADY_RECRUITED(HttpStatus.BAD_REQUEST, "이미 완료되거나 참여가 마감된 게시글입니다."),
+  POSTING_CAPACITY_BELOW_APPROVED(HttpStatus.BAD_REQUEST, "최대 인원은 이미 승인된 인원보다 적을 수 없습니다."),
+  INVALID_CURSOR(HttpStatus.BAD_REQUEST, "잘못된 페이지 커서입니다."),
+  INVALID_RADIUS_SEARCH(HttpStatus.BAD_REQUEST, "반경 검색에는 사용자 위치와 0 초과 100km 이하의 반경이 필요합니다."),
+  INVALID_MAP_VIEWPORT(HttpStatus.BAD_REQUEST, "지도 범위(bbox)가 올바르지 않습니다."),
+  MAP_VIEWPORT_TOO_LARGE(HttpStatus.BAD_REQUEST, "확대 수준에 비해 지도 범위가 너무 넓습니다."),
+  SEARCH_INDEX_DISABLED(HttpStatus.CONFLICT, "검색 인덱스가 꺼져 있습니다."),
 
   PARTICIPATION_NOT_FOUND(HttpStatus.NOT_FOUND, "참여 정보를 찾을 수 없습니다."),
   PARTICIPATION_ALREADY_APPROVED(HttpStatus.BAD_REQUEST, "이미 승인된 참여 정보입니다."),
   PARTICIPATION_ALREADY_REJECTED(HttpStatus.BAD_REQUEST, "이미 거절된 참여 정보입니다."),
   PARTICIPATION_ALREADY_JOINED(HttpStatus.BAD_REQUEST, "이미 참여한 게시글입니다."),
   PARTICIPATION_MAX_CAPACITY_EXCEEDED(HttpStatus.BAD_REQUEST, "해당 게시글의 최대 참여 인원을 초과했습니다."),
+  PARTICIPATION_PENDING_LIMIT_EXCEEDED(
+      HttpStatus.TOO_MANY_REQUESTS, "대기 중인 참여 신청이 많습니다. 잠시 후 다시 시도해주세요."),
+  PARTICIPATION_JOIN_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "참여 신청이 몰려 받을 수 없습니다. 잠시 후 다시 시도해주세요."),
 
   COMMENT_NOT_FOUND(HttpStatus.NOT_FOUND, "댓글을 찾을 수 없습니다."),
   COMMENT_NOT_AUTHORIZED(HttpStatus.FORBIDDEN, "해당 댓글에 대한 권한이 없습니다."),
@@ -30,6 +41,11 @@ public enum ErrorCode {
   COMMENT_REPLY_TO_DELETED_COMMENT(HttpStatus.BAD_REQUEST, "이미 삭제된 댓글에는 대댓글을 달 수 없습니다."),
   COMMENT_POSTING_NOT_MATCHED(HttpStatus.BAD_REQUEST, "댓글의 게시글과 일치하지 않습니다."),
 
+  TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요."),
+  INVALID_IDEMPOTENCY_KEY(HttpStatus.BAD_REQUEST, "Idempotency-Key 형식이 올바르지 않습니다."),
+  IDEMPOTENCY_KEY_REUSED(HttpStatus.UNPROCESSABLE_ENTITY, "같은 Idempotency-Key 로 다른 요청을 보낼 수 없습니다."),
+  IDEMPOTENCY_REQUEST_IN_PROGRESS(HttpStatus.CONFLICT, "같은 요청을 처리하고 있습니다. 잠시 후 다시 시도해주세요."),
+  SERVER_OVERLOADED(HttpStatus.SERVICE_UNAVAILABLE, "요청이 몰려 처리할 수 없습니다. 잠시 후 다시 시도해주세요."),
   INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "예기치 않은 오류가 발생했습니다.");
 
   private final HttpStatus status;
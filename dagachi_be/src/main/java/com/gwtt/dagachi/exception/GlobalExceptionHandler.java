@@ -1,5 +1,6 @@
 package com.gwtt.dagachi.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -18,6 +19,10 @@ public class GlobalExceptionHandler {
     ErrorCode errorCode = e.getErrorCode();
     ErrorResponse errorResponse =
         ErrorResponse.builder().code(errorCode.name()).message(errorCode.getMessage()).build();
-    return ResponseEntity.status(errorCode.getStatus()).body(errorResponse);
+    ResponseEntity.BodyBuilder response = ResponseEntity.status(errorCode.getStatus());
+    if (e.getRetryAfterSeconds() != null) {
+      response.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+    }
+    return response.body(errorResponse);
   }
 }
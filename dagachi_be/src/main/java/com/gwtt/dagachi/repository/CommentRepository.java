@@ -3,12 +3,15 @@ package com.gwtt.dagachi.repository;
 import com.gwtt.dagachi.entity.Comment;
 import com.gwtt.dagachi.entity.Posting;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -22,6 +25,7 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
   Page<Comment> findByPostingFetched(@Param("posting") Posting posting, Pageable pageable);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "2000"))
   @Query(
       "SELECT c FROM Comment c LEFT JOIN FETCH c.author "
           + "WHERE c.id = :id AND c.deletedAt IS NULL")
@@ -0,0 +1,165 @@
+package com.gwtt.dagachi.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@code participations} 에 나중에 추가된 {@code uk_participations_active} 제약을 기존 DB 에 건다.
+ *
+ * <p>제약이 없던 동안 같은 게시글에 같은 사용자의 살아 있는 신청이 여러 개 저장되었을 수 있어 그대로는 제약을 걸 수 없다. 게시글과 참여자마다 승인, 대기, 거절 순으로
+ * 가장 앞선 신청 하나만 남기고(같으면 먼저 한 신청) 나머지는 삭제 처리한 뒤 제약을 건다. 지운 신청 중 승인된 것이 있으면 게시글의 승인 인원도 그만큼 줄인다.
+ *
+ * <p>제약이 이미 있으면 아무것도 하지 않는다. 정리와 제약 추가 사이에 중복이 다시 들어와 실패하면 다음 시작 때 다시 시도한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParticipationActiveKeyMigration {
+  static final String CONSTRAINT_NAME = "uk_participations_active";
+  private static final String TABLE_NAME = "participations";
+  private static final String ACTIVE_KEY_COLUMN = "active_key";
+
+  private static final String DUPLICATES_SQL =
+      "SELECT id, posting_id, participant_id, status FROM participations "
+          + "WHERE deleted_at IS NULL AND (posting_id, participant_id) IN ("
+          + "SELECT posting_id, participant_id FROM participations WHERE deleted_at IS NULL "
+          + "GROUP BY posting_id, participant_id HAVING COUNT(*) > 1) "
+          + "ORDER BY posting_id, participant_id, "
+          + "CASE status WHEN 'APPROVED' THEN 0 WHEN 'PENDING' THEN 1 ELSE 2 END, id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrate() {
+    try {
+      if (hasUniqueIndex()) {
+        return;
+      }
+      if (!hasColumn(ACTIVE_KEY_COLUMN)) {
+        log.info("Adding {}.{}", TABLE_NAME, ACTIVE_KEY_COLUMN);
+        jdbcTemplate.execute(
+            "ALTER TABLE participations ADD COLUMN active_key tinyint "
+                + "GENERATED ALWAYS AS (CASE WHEN deleted_at IS NULL THEN 1 END)");
+      }
+      Integer removed = transactionTemplate.execute(status -> removeDuplicates());
+      if (removed != null && removed > 0) {
+        log.info("Removed {} duplicate active participations", removed);
+      }
+      jdbcTemplate.execute(
+          "ALTER TABLE participations ADD CONSTRAINT "
+              + CONSTRAINT_NAME
+              + " UNIQUE (posting_id, participant_id, active_key)");
+      log.info("Added unique constraint {}", CONSTRAINT_NAME);
+    } catch (DataAccessException e) {
+      log.warn("Failed to add unique constraint {}: {}", CONSTRAINT_NAME, e.getMessage());
+    }
+  }
+
+  private int removeDuplicates() {
+    List<Long> removedIds = new ArrayList<>();
+    List<Long> approvedPostingIds = new ArrayList<>();
+    String kept = null;
+    // 게시글과 참여자별로 남길 신청이 맨 앞에 오도록 정렬되어 있다.
+    for (Map<String, Object> row : jdbcTemplate.queryForList(DUPLICATES_SQL)) {
+      long postingId = ((Number) row.get("posting_id")).longValue();
+      String pair = postingId + ":" + row.get("participant_id");
+      if (!pair.equals(kept)) {
+        kept = pair;
+        continue;
+      }
+      removedIds.add(((Number) row.get("id")).longValue());
+      if ("APPROVED".equals(row.get("status"))) {
+        approvedPostingIds.add(postingId);
+      }
+    }
+    if (removedIds.isEmpty()) {
+      return 0;
+    }
+
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        "UPDATE participations SET deleted_at = ? WHERE id = ?",
+        removedIds,
+        removedIds.size(),
+        (statement, id) -> {
+          statement.setTimestamp(1, now);
+          statement.setLong(2, id);
+        });
+    if (!approvedPostingIds.isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          "UPDATE postings SET "
+              + "status = CASE WHEN status = 'RECRUITED' THEN 'RECRUITING' ELSE status END, "
+              + "approved_count = approved_count - 1, updated_at = ? "
+              + "WHERE id = ? AND approved_count > 0",
+          approvedPostingIds,
+          approvedPostingIds.size(),
+          (statement, postingId) -> {
+            statement.setTimestamp(1, now);
+            statement.setLong(2, postingId);
+          });
+    }
+    return removedIds.size();
+  }
+
+  private boolean hasUniqueIndex() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>)
+                connection -> {
+                  DatabaseMetaData metaData = connection.getMetaData();
+                  try (ResultSet indexes =
+                      metaData.getIndexInfo(
+                          connection.getCatalog(),
+                          connection.getSchema(),
+                          identifier(metaData, TABLE_NAME),
+                          true,
+                          false)) {
+                    while (indexes.next()) {
+                      String name = indexes.getString("INDEX_NAME");
+                      if (name != null && name.toLowerCase().startsWith(CONSTRAINT_NAME)) {
+                        return true;
+                      }
+                    }
+                    return false;
+                  }
+                }));
+  }
+
+  private boolean hasColumn(String column) {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>)
+                connection -> {
+                  DatabaseMetaData metaData = connection.getMetaData();
+                  try (ResultSet columns =
+                      metaData.getColumns(
+                          connection.getCatalog(),
+                          connection.getSchema(),
+                          identifier(metaData, TABLE_NAME),
+                          identifier(metaData, column))) {
+                    return columns.next();
+                  }
+                }));
+  }
+
+  // 따옴표 없이 만든 이름을 DB 가 저장하는 대소문자로 맞춘다. H2 는 대문자, MySQL 은 그대로 저장한다.
+  private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+    return metaData.storesUpperCaseIdentifiers() ? name.toUpperCase() : name;
+  }
+}
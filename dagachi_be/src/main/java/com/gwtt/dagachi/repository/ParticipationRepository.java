@@ -5,13 +5,19 @@ import com.gwtt.dagachi.entity.Participation;
 import com.gwtt.dagachi.entity.Posting;
 import com.gwtt.dagachi.entity.User;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,10 +30,30 @@ public interface ParticipationRepository extends JpaRepository<Participation, Lo
           + "WHERE p.posting = :posting AND p.deletedAt IS NULL")
   Page<Participation> findByPostingFetched(@Param("posting") Posting posting, Pageable pageable);
 
+  // 참여 행만 잠근다. 게시글 정원은 PostingRepository 의 조건부 UPDATE 가 지킨다.
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "2000"))
+  @Query("SELECT p FROM Participation p WHERE p.id = :id AND p.deletedAt IS NULL")
+  Optional<Participation> findByIdForUpdate(@Param("id") Long id);
+
+  // 한 게시글의 참여 여러 건을 id 순서로 한 번에 잠근다. 다른 게시글의 참여 id 는 결과에서 빠진다.
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "5000"))
+  @Query(
+      "SELECT p FROM Participation p "
+          + "WHERE p.id IN :ids AND p.posting.id = :postingId AND p.deletedAt IS NULL "
+          + "ORDER BY p.id")
+  List<Participation> findAllByIdInAndPostingIdForUpdate(
+      @Param("ids") Collection<Long> ids, @Param("postingId") Long postingId);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
   @Query(
-      "SELECT p FROM Participation p JOIN FETCH p.posting WHERE p.id = :id AND p.deletedAt IS NULL")
-  Optional<Participation> findByIdWithPostingForUpdate(@Param("id") Long id);
+      "UPDATE Participation p SET p.status = :status, p.updatedAt = :now "
+          + "WHERE p.id IN :ids AND p.deletedAt IS NULL")
+  int updateStatusByIdIn(
+      @Param("ids") Collection<Long> ids,
+      @Param("status") ParticipationStatus status,
+      @Param("now") LocalDateTime now);
 
   List<Participation> findByPostingId(Long postingId);
 
@@ -42,6 +68,7 @@ public interface ParticipationRepository extends JpaRepository<Participation, Lo
       @Param("user") User user, @Param("posting") Posting posting);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "2000"))
   @Query(
       "SELECT p FROM Participation p "
           + "LEFT JOIN FETCH p.posting "
@@ -51,4 +78,11 @@ public interface ParticipationRepository extends JpaRepository<Participation, Lo
       @Param("user") User user, @Param("posting") Posting posting);
 
   int countByPostingAndStatus(Posting posting, ParticipationStatus status);
+
+  int countByPostingIdAndStatus(Long postingId, ParticipationStatus status);
+
+  @Query(
+      "SELECT p.participant.id FROM Participation p "
+          + "WHERE p.posting.id = :postingId AND p.deletedAt IS NULL")
+  List<Long> findParticipantIdsByPostingId(@Param("postingId") Long postingId);
 }
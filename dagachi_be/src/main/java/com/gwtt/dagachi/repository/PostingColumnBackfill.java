@@ -0,0 +1,91 @@
+package com.gwtt.dagachi.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@code postings} 에 나중에 추가된 컬럼을 그 전에 만들어진 게시글에 채운다.
+ *
+ * <ul>
+ *   <li>{@code author_nickname}: 작성자의 현재 닉네임. 탈퇴한 작성자도 닉네임을 가져오도록 {@code users} 를 직접 조회한다.
+ *   <li>{@code approved_count}: 승인된 참여 수. 승인 상한을 이 값으로 검사하므로 모든 게시글을 한 번 다시 세고 {@code
+ *       data_migrations} 에 끝났다고 기록한다. 기록이 있으면 다시 세지 않는다.
+ * </ul>
+ *
+ * <p>모든 싱글턴이 만들어진 뒤, 웹 서버가 요청을 받기 전에 실행한다. 승인 인원을 다시 세지 못하면 잘못된 값으로 승인하지 않도록 시작을 멈춘다.
+ *
+ * <p>컬럼이 없는 이전 버전 인스턴스는 승인하면서 {@code approved_count} 를 바꾸지 않는다. 이 컬럼을 처음 올릴 때는 이전 버전을 모두 내린 뒤 새 버전을
+ * 시작해야 한다. 다시 세야 하면 {@code data_migrations} 에서 {@value #APPROVED_COUNT_MIGRATION} 행을 지우고 재시작한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingColumnBackfill implements SmartInitializingSingleton {
+  static final String APPROVED_COUNT_MIGRATION = "postings.approved_count";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    backfill();
+  }
+
+  public void backfill() {
+    try {
+      int updated =
+          jdbcTemplate.update(
+              "UPDATE postings SET author_nickname = "
+                  + "(SELECT u.nickname FROM users u WHERE u.id = postings.author_id) "
+                  + "WHERE author_nickname IS NULL");
+      if (updated > 0) {
+        log.info("Backfilled author nickname on {} postings", updated);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Failed to backfill posting author nickname: {}", e.getMessage());
+    }
+    recountApprovedCount();
+  }
+
+  private void recountApprovedCount() {
+    jdbcTemplate.execute(
+        "CREATE TABLE IF NOT EXISTS data_migrations ("
+            + "name VARCHAR(100) NOT NULL PRIMARY KEY, applied_at TIMESTAMP NOT NULL)");
+    if (isApplied(APPROVED_COUNT_MIGRATION)) {
+      return;
+    }
+    try {
+      // 기록을 먼저 남겨 동시에 시작한 다른 인스턴스가 커밋까지 기다렸다가 건너뛰게 한다.
+      Integer updated =
+          transactionTemplate.execute(
+              status -> {
+                jdbcTemplate.update(
+                    "INSERT INTO data_migrations (name, applied_at) VALUES (?, ?)",
+                    APPROVED_COUNT_MIGRATION,
+                    Timestamp.valueOf(LocalDateTime.now()));
+                return jdbcTemplate.update(
+                    "UPDATE postings SET approved_count = (SELECT COUNT(*) "
+                        + "FROM participations pa WHERE pa.posting_id = postings.id "
+                        + "AND pa.status = 'APPROVED' AND pa.deleted_at IS NULL)");
+              });
+      log.info("Recounted approved count on {} postings", updated);
+    } catch (DuplicateKeyException e) {
+      log.info("Approved count was recounted by another instance");
+    }
+  }
+
+  private boolean isApplied(String name) {
+    Integer count =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM data_migrations WHERE name = ?", Integer.class, name);
+    return count != null && count > 0;
+  }
+}
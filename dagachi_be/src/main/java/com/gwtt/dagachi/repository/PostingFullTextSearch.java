@@ -0,0 +1,96 @@
+package com.gwtt.dagachi.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 게시글 제목/설명의 FULLTEXT(ngram) 인덱스 관리와 사용 여부 판단.
+ *
+ * <p>한국어는 띄어쓰기 단위 색인이 쓸모없어 ngram parser 로 색인한다. DB 가 MySQL 이면 시작할 때 인덱스가 없으면 만들고, 그 뒤부터 {@link
+ * #supports(String)} 가 참을 돌려준다. H2 등 다른 DB 나 인덱스를 만들지 못한 경우에는 기존 LIKE 검색을 쓴다.
+ *
+ * <p>ngram 토큰 길이(MySQL {@code ngram_token_size}, 기본 2)보다 짧은 검색어는 인덱스로 찾을 수 없으므로 LIKE 로 찾는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingFullTextSearch {
+  static final String INDEX_NAME = "ft_postings_title_description";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Value("${posting.search.full-text.enabled:true}")
+  private boolean enabled;
+
+  @Value("${posting.search.full-text.min-keyword-length:2}")
+  private int minKeywordLength;
+
+  private volatile boolean available;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void init() {
+    if (!enabled) {
+      return;
+    }
+    try {
+      String product =
+          jdbcTemplate.execute(
+              (ConnectionCallback<String>)
+                  connection -> connection.getMetaData().getDatabaseProductName());
+      if (!"MySQL".equalsIgnoreCase(product)) {
+        log.info("Full-text posting search disabled on {}", product);
+        return;
+      }
+      if (!indexExists()) {
+        createIndex();
+      }
+      available = true;
+    } catch (DataAccessException e) {
+      log.warn("Full-text posting search unavailable, using LIKE: {}", e.getMessage());
+    }
+  }
+
+  // 여러 인스턴스가 동시에 시작하면 다른 인스턴스가 먼저 만들어 CREATE 가 실패(1061 Duplicate key name)할 수 있다. 실패한 뒤 인덱스가
+  // 있으면 성공으로 본다.
+  private void createIndex() {
+    log.info("Creating full-text index {}", INDEX_NAME);
+    try {
+      jdbcTemplate.execute(
+          "CREATE FULLTEXT INDEX "
+              + INDEX_NAME
+              + " ON postings (title, description) WITH PARSER ngram");
+    } catch (DataAccessException e) {
+      if (!indexExists()) {
+        throw e;
+      }
+      log.info("Full-text index {} was created concurrently", INDEX_NAME);
+    }
+  }
+
+  private boolean indexExists() {
+    Integer count =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'postings' "
+                + "AND index_name = ?",
+            Integer.class,
+            INDEX_NAME);
+    return count != null && count > 0;
+  }
+
+  public boolean supports(String keyword) {
+    return available && keyword.length() >= minKeywordLength;
+  }
+
+  /** 검색어를 boolean mode 의 구문 검색으로 바꾼다. 구문 안의 ngram 이 모두 순서대로 있어야 일치한다. */
+  public static String toPhrase(String keyword) {
+    return "\"" + keyword.replace("\"", " ") + "\"";
+  }
+}
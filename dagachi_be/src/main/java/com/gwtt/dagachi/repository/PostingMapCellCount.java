@@ -0,0 +1,7 @@
+package com.gwtt.dagachi.repository;
+
+import com.gwtt.dagachi.constants.PostingType;
+
+/** 지도 격자 한 칸에 있는 한 종류의 게시글 수와 좌표 합. 좌표 합은 칸의 무게중심을 구하는 데 쓴다. */
+public record PostingMapCellCount(
+    int row, int column, PostingType type, long count, double latitudeSum, double longitudeSum) {}
@@ -1,19 +1,39 @@
 package com.gwtt.dagachi.repository;
 
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
 import com.gwtt.dagachi.entity.Posting;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PostingRepository extends JpaRepository<Posting, Long>, PostingRepositoryCustom {
-  @Query("SELECT p FROM Posting p " + "LEFT JOIN FETCH p.author " + "WHERE p.deletedAt IS NULL")
-  Page<Posting> findAllFetched(Pageable pageable);
+  // 목록 조회는 엔티티 대신 PostingSimpleResponseDto 에 필요한 컬럼만 읽는다. description(TEXT)을 읽지 않고 영속성
+  // 컨텍스트에도 올리지 않는다. 작성자 닉네임은 postings 에 복사해 둔 값을 쓰므로 users 를 조인하지 않는다.
+  String SIMPLE_SELECT =
+      "SELECT new com.gwtt.dagachi.dto.PostingSimpleResponseDto("
+          + "p.id, p.title, p.type, p.status, p.maxCapacity, p.maxCapacity - p.approvedCount, "
+          + "p.createdAt, p.updatedAt, "
+          + "p.location.latitude, p.location.longitude, p.author.id, p.authorNickname) ";
+
+  @Query(
+      value = SIMPLE_SELECT + "FROM Posting p WHERE p.deletedAt IS NULL",
+      countQuery = "SELECT COUNT(p) FROM Posting p WHERE p.deletedAt IS NULL")
+  Page<PostingSimpleResponseDto> findAllActive(Pageable pageable);
 
   @Query(
       "SELECT p FROM Posting p "
@@ -22,20 +42,130 @@ public interface PostingRepository extends JpaRepository<Posting, Long>, Posting
   Optional<Posting> findByIdFetched(Long id);
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "3000"))
   @Query(
       "SELECT p FROM Posting p LEFT JOIN FETCH p.author "
           + "WHERE p.id = :id AND p.deletedAt IS NULL")
   Optional<Posting> findByIdForUpdate(Long id);
 
+  // 모집 중이고 자리가 남아 있을 때만 승인 인원을 늘리고, 마지막 자리면 같은 문장에서 모집 완료로 바꾼다.
+  // 자리 확인과 증가가 한 문장이므로 게시글 행을 미리 잠그지 않아도 정원을 넘지 않는다. 바뀐 행이 없으면 0 을 돌려준다.
+  // SET 은 MySQL 이 왼쪽부터 적용하므로 상태를 먼저 계산해 두 방식 모두 증가 전의 값을 보게 한다.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
   @Query(
-      "SELECT p FROM Posting p JOIN p.participations pa LEFT JOIN FETCH p.author "
-          + "WHERE pa.participant.id = :participantId "
-          + "AND p.deletedAt IS NULL")
-  Page<Posting> findJoinedPostingsByParticipantId(Long participantId, Pageable pageable);
+      "UPDATE Posting p SET "
+          + "p.status = CASE WHEN p.approvedCount + 1 >= p.maxCapacity "
+          + "THEN com.gwtt.dagachi.constants.PostingStatus.RECRUITED ELSE p.status END, "
+          + "p.approvedCount = p.approvedCount + 1, "
+          + "p.updatedAt = :now "
+          + "WHERE p.id = :id AND p.deletedAt IS NULL "
+          + "AND p.status = com.gwtt.dagachi.constants.PostingStatus.RECRUITING "
+          + "AND p.approvedCount < p.maxCapacity")
+  int incrementApprovedCount(Long id, LocalDateTime now);
 
+  // 승인된 참여자가 빠지면 인원을 줄이고, 모집 완료 상태였다면 다시 모집 중으로 바꾼다.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
   @Query(
-      "SELECT p FROM Posting p LEFT JOIN FETCH p.author "
-          + "WHERE p.author.id = :authorId "
-          + "AND p.deletedAt IS NULL")
-  Page<Posting> findAuthoredPostingsByAuthorId(Long authorId, Pageable pageable);
+      "UPDATE Posting p SET "
+          + "p.status = CASE WHEN p.status = com.gwtt.dagachi.constants.PostingStatus.RECRUITED "
+          + "THEN com.gwtt.dagachi.constants.PostingStatus.RECRUITING ELSE p.status END, "
+          + "p.approvedCount = p.approvedCount - 1, "
+          + "p.updatedAt = :now "
+          + "WHERE p.id = :id AND p.approvedCount > 0")
+  int decrementApprovedCount(Long id, LocalDateTime now);
+
+  // 게시글 행을 잠근 채 승인 인원을 직접 센 경우에만 쓴다. 잠그지 않았다면 위의 조건부 UPDATE 를 쓴다.
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query(
+      "UPDATE Posting p SET p.status = :status, p.approvedCount = :approvedCount, "
+          + "p.updatedAt = :now WHERE p.id = :id")
+  int updateApprovedCount(Long id, int approvedCount, PostingStatus status, LocalDateTime now);
+
+  @Query(
+      value =
+          SIMPLE_SELECT
+              + "FROM Posting p JOIN p.participations pa "
+              + "WHERE pa.participant.id = :participantId "
+              + "AND p.deletedAt IS NULL",
+      countQuery =
+          "SELECT COUNT(p) FROM Posting p JOIN p.participations pa "
+              + "WHERE pa.participant.id = :participantId "
+              + "AND p.deletedAt IS NULL")
+  Page<PostingSimpleResponseDto> findJoinedPostingsByParticipantId(
+      Long participantId, Pageable pageable);
+
+  @Query(
+      value =
+          SIMPLE_SELECT
+              + "FROM Posting p "
+              + "WHERE p.author.id = :authorId "
+              + "AND p.deletedAt IS NULL",
+      countQuery =
+          "SELECT COUNT(p) FROM Posting p "
+              + "WHERE p.author.id = :authorId "
+              + "AND p.deletedAt IS NULL")
+  Page<PostingSimpleResponseDto> findAuthoredPostingsByAuthorId(Long authorId, Pageable pageable);
+
+  @Query("SELECT p FROM Posting p WHERE p.id IN :ids AND p.deletedAt IS NULL")
+  List<Posting> findAllActiveByIdIn(Collection<Long> ids);
+
+  @Query("SELECT p FROM Posting p WHERE p.id > :afterId AND p.deletedAt IS NULL ORDER BY p.id")
+  List<Posting> findActiveAfterId(Long afterId, Pageable pageable);
+
+  @Query("SELECT p FROM Posting p WHERE p.updatedAt >= :since AND p.deletedAt IS NULL")
+  List<Posting> findActiveUpdatedSince(LocalDateTime since);
+
+  // @SQLRestriction 을 거치지 않도록 native 로 조회한다.
+  @Query(
+      value = "SELECT id AS id, deleted_at AS deletedAt FROM postings WHERE deleted_at >= :since",
+      nativeQuery = true)
+  List<PostingDeletion> findDeletedSince(LocalDateTime since);
+
+  @Query(
+      "SELECT p.id AS id, p.location.latitude AS latitude, p.location.longitude AS longitude, "
+          + "p.type AS type FROM Posting p "
+          + "WHERE p.status = :status AND p.deletedAt IS NULL "
+          + "AND p.location.latitude IS NOT NULL AND p.location.longitude IS NOT NULL")
+  List<PostingGeoPoint> findGeoPointsByStatus(PostingStatus status);
+
+  @Query(
+      "SELECT p.id AS id, p.title AS title, p.createdAt AS createdAt FROM Posting p "
+          + "WHERE p.deletedAt IS NULL")
+  List<PostingTitle> findAllActiveTitles();
+
+  @Query(
+      "SELECT p.id AS id, p.createdAt AS createdAt FROM Posting p "
+          + "WHERE (:type IS NULL OR p.type = :type) AND (:status IS NULL OR p.status = :status) "
+          + "AND p.deletedAt IS NULL ORDER BY p.createdAt DESC, p.id DESC")
+  List<PostingRecency> findLatest(PostingType type, PostingStatus status, Pageable pageable);
+
+  interface PostingGeoPoint {
+    Long getId();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    PostingType getType();
+  }
+
+  interface PostingTitle {
+    Long getId();
+
+    String getTitle();
+
+    LocalDateTime getCreatedAt();
+  }
+
+  interface PostingDeletion {
+    Long getId();
+
+    LocalDateTime getDeletedAt();
+  }
+
+  interface PostingRecency {
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+  }
 }
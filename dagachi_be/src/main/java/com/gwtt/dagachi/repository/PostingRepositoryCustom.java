@@ -1,10 +1,42 @@
 package com.gwtt.dagachi.repository;
 
+import com.gwtt.dagachi.dto.MapViewport;
+import com.gwtt.dagachi.dto.PostingCursor;
+import com.gwtt.dagachi.dto.PostingDistanceCursor;
 import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
 import com.gwtt.dagachi.entity.Posting;
-import org.springframework.data.domain.Page;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface PostingRepositoryCustom {
-  Page<Posting> searchPostings(PostingSearchCondition condition, Pageable pageable);
+  /** 목록 화면에 필요한 컬럼만 DTO 로 읽는다. 전체 개수를 세지 않고 {@code size + 1} 건만 조회해 다음 페이지 여부를 판단한다. */
+  Slice<PostingSimpleResponseDto> searchSimplePostingsSlice(
+      PostingSearchCondition condition, Pageable pageable);
+
+  long countPostings(PostingSearchCondition condition);
+
+  /** {@code cursor} 다음부터 최신순으로 최대 {@code limit} 건을 OFFSET 없이 조회한다. cursor 가 null 이면 처음부터. */
+  List<PostingSimpleResponseDto> findPostingsAfter(PostingCursor cursor, int limit);
+
+  List<PostingSimpleResponseDto> searchPostingsAfter(
+      PostingSearchCondition condition, PostingCursor cursor, int limit);
+
+  /**
+   * 반경 안의 게시글을 가까운 순으로 {@code cursor} 다음부터 최대 {@code limit} 건 조회한다. 위경도 사각형으로 인덱스에서 후보를 좁힌 뒤 후보에
+   * 대해서만 정확한 거리를 계산한다. {@code condition.hasRadius()} 가 참이어야 한다.
+   */
+  List<PostingWithDistance> searchPostingsNearby(
+      PostingSearchCondition condition, PostingDistanceCursor cursor, int limit);
+
+  /**
+   * {@code cellDegrees} 크기 격자의 [minRow, maxRow] x [minColumn, maxColumn] 범위에 있는 게시글을 칸과 종류별로 센다.
+   * 게시글이 없는 칸은 결과에 없다.
+   */
+  List<PostingMapCellCount> countByMapCell(
+      double cellDegrees, int minRow, int maxRow, int minColumn, int maxColumn);
+
+  /** 화면 범위 안의 게시글을 최신순으로 최대 {@code limit} 건 조회한다. 작성자는 조인하지 않는다. */
+  List<Posting> findInViewport(MapViewport viewport, int limit);
 }
@@ -2,60 +2,230 @@ package com.gwtt.dagachi.repository;
 
 import static com.gwtt.dagachi.entity.QPosting.posting;
 
+import com.gwtt.dagachi.config.FullTextFunctionContributor;
+import com.gwtt.dagachi.dto.MapViewport;
+import com.gwtt.dagachi.dto.PostingCursor;
+import com.gwtt.dagachi.dto.PostingDistanceCursor;
 import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
 import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.util.GeoUtils;
+import com.gwtt.dagachi.util.GeoUtils.BoundingBox;
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.ConstructorExpression;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.Projections;
+import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.core.types.dsl.Expressions;
 import com.querydsl.core.types.dsl.NumberTemplate;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.math.BigDecimal;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 @RequiredArgsConstructor
 public class PostingRepositoryImpl implements PostingRepositoryCustom {
+  private static final String HAVERSINE_TEMPLATE =
+      "2 * 6371 * asin(least(1, sqrt("
+          + "power(sin(radians({1} - {0}) / 2), 2) "
+          + "+ cos(radians({0})) * cos(radians({1})) * power(sin(radians({2} - {3}) / 2), 2))))";
+
+  // PostingSimpleResponseDto 의 생성자 인자 순서와 같아야 한다.
+  private static final ConstructorExpression<PostingSimpleResponseDto> SIMPLE_POSTING =
+      Projections.constructor(
+          PostingSimpleResponseDto.class,
+          posting.id,
+          posting.title,
+          posting.type,
+          posting.status,
+          posting.maxCapacity,
+          posting.maxCapacity.subtract(posting.approvedCount),
+          posting.createdAt,
+          posting.updatedAt,
+          posting.location.latitude,
+          posting.location.longitude,
+          posting.author.id,
+          posting.authorNickname);
+
   private final JPAQueryFactory queryFactory;
+  private final PostingFullTextSearch fullTextSearch;
 
   @Override
-  public Page<Posting> searchPostings(PostingSearchCondition condition, Pageable pageable) {
-    BooleanBuilder builder = getBooleanBuilder(condition);
+  public Slice<PostingSimpleResponseDto> searchSimplePostingsSlice(
+      PostingSearchCondition condition, Pageable pageable) {
+    return fetchSlice(contentQuery(SIMPLE_POSTING, condition), pageable);
+  }
 
-    NumberTemplate<Double> orderByDistance = null;
+  private static <T> Slice<T> fetchSlice(JPAQuery<T> query, Pageable pageable) {
+    List<T> result = query.offset(pageable.getOffset()).limit(pageable.getPageSize() + 1L).fetch();
 
-    if (condition.isSortByDistance()
-        && condition.getUserLatitude() != null
-        && condition.getUserLongitude() != null) {
-      orderByDistance = getDistanceTemplate(condition);
+    boolean hasNext = result.size() > pageable.getPageSize();
+    if (hasNext) {
+      result = result.subList(0, pageable.getPageSize());
     }
+    return new SliceImpl<>(result, pageable, hasNext);
+  }
 
-    List<Posting> result =
-        queryFactory
-            .selectFrom(posting)
-            .leftJoin(posting.author)
-            .fetchJoin()
-            .where(builder)
-            .orderBy(orderByDistance != null ? orderByDistance.asc() : posting.createdAt.desc())
-            .offset(pageable.getOffset())
-            .limit(pageable.getPageSize())
-            .fetch();
-
+  @Override
+  public long countPostings(PostingSearchCondition condition) {
     Long count =
         queryFactory
             .select(posting.count())
             .from(posting)
-            .leftJoin(posting.author)
-            .where(builder)
+            .where(getBooleanBuilder(condition))
             .fetchOne();
+    return count != null ? count : 0L;
+  }
 
-    return new PageImpl<>(result, pageable, count != null ? count : 0L);
+  @Override
+  public List<PostingWithDistance> searchPostingsNearby(
+      PostingSearchCondition condition, PostingDistanceCursor cursor, int limit) {
+    NumberTemplate<Double> distance = getDistanceTemplate(condition);
+    BooleanBuilder builder = getBooleanBuilder(condition);
+    if (cursor != null) {
+      builder.and(
+          distance
+              .gt(cursor.distanceKm())
+              .or(distance.eq(cursor.distanceKm()).and(posting.id.gt(cursor.id()))));
+    }
+
+    return queryFactory
+        .select(SIMPLE_POSTING, distance)
+        .from(posting)
+        .where(builder)
+        .orderBy(distance.asc(), posting.id.asc())
+        .limit(limit)
+        .fetch()
+        .stream()
+        .map(tuple -> new PostingWithDistance(tuple.get(SIMPLE_POSTING), tuple.get(distance)))
+        .toList();
+  }
+
+  @Override
+  public List<PostingMapCellCount> countByMapCell(
+      double cellDegrees, int minRow, int maxRow, int minColumn, int maxColumn) {
+    // 칸 크기는 파라미터가 아닌 리터럴로 넣는다. 바인딩하면 SELECT 와 GROUP BY 의 식이 서로 다른 식으로 취급된다.
+    String cellSize = BigDecimal.valueOf(cellDegrees).toPlainString();
+    NumberTemplate<Double> row =
+        Expressions.numberTemplate(
+            Double.class, "floor({0} / " + cellSize + ")", posting.location.latitude);
+    NumberTemplate<Double> column =
+        Expressions.numberTemplate(
+            Double.class, "floor({0} / " + cellSize + ")", posting.location.longitude);
+
+    List<Tuple> rows =
+        queryFactory
+            .select(
+                row,
+                column,
+                posting.type,
+                posting.count(),
+                posting.location.latitude.sum(),
+                posting.location.longitude.sum())
+            .from(posting)
+            .where(
+                posting.location.latitude.goe(minRow * cellDegrees),
+                posting.location.latitude.lt((maxRow + 1) * cellDegrees),
+                posting.location.longitude.goe(minColumn * cellDegrees),
+                posting.location.longitude.lt((maxColumn + 1) * cellDegrees),
+                posting.deletedAt.isNull())
+            .groupBy(row, column, posting.type)
+            .fetch();
+
+    return rows.stream()
+        .map(
+            tuple ->
+                new PostingMapCellCount(
+                    tuple.get(row).intValue(),
+                    tuple.get(column).intValue(),
+                    tuple.get(posting.type),
+                    tuple.get(posting.count()),
+                    tuple.get(posting.location.latitude.sum()),
+                    tuple.get(posting.location.longitude.sum())))
+        .toList();
+  }
+
+  @Override
+  public List<Posting> findInViewport(MapViewport viewport, int limit) {
+    return queryFactory
+        .selectFrom(posting)
+        .where(
+            posting.location.latitude.between(viewport.minLatitude(), viewport.maxLatitude()),
+            posting.location.longitude.between(viewport.minLongitude(), viewport.maxLongitude()),
+            posting.deletedAt.isNull())
+        .orderBy(posting.createdAt.desc(), posting.id.desc())
+        .limit(limit)
+        .fetch();
+  }
+
+  // 거리순 정렬을 요청하면 거리순, FULLTEXT 검색이면 relevance 순, 그 외에는 최신순으로 정렬한다.
+  private <T> JPAQuery<T> contentQuery(Expression<T> select, PostingSearchCondition condition) {
+    OrderSpecifier<?>[] orders;
+    String keyword = condition.getNormalizedTitle();
+    if (condition.isSortByDistance()
+        && condition.getUserLatitude() != null
+        && condition.getUserLongitude() != null) {
+      orders = new OrderSpecifier<?>[] {getDistanceTemplate(condition).asc()};
+    } else if (keyword != null && fullTextSearch.supports(keyword)) {
+      orders = new OrderSpecifier<?>[] {matchScore(keyword).desc(), posting.createdAt.desc()};
+    } else {
+      orders = new OrderSpecifier<?>[] {posting.createdAt.desc()};
+    }
+
+    return queryFactory
+        .select(select)
+        .from(posting)
+        .where(getBooleanBuilder(condition))
+        .orderBy(orders);
+  }
+
+  @Override
+  public List<PostingSimpleResponseDto> findPostingsAfter(PostingCursor cursor, int limit) {
+    return searchPostingsAfter(PostingSearchCondition.builder().build(), cursor, limit);
+  }
+
+  @Override
+  public List<PostingSimpleResponseDto> searchPostingsAfter(
+      PostingSearchCondition condition, PostingCursor cursor, int limit) {
+    BooleanBuilder builder = getBooleanBuilder(condition);
+    if (cursor != null) {
+      builder.and(seekAfter(cursor));
+    }
+
+    return queryFactory
+        .select(SIMPLE_POSTING)
+        .from(posting)
+        .where(builder)
+        .orderBy(posting.createdAt.desc(), posting.id.desc())
+        .limit(limit)
+        .fetch();
+  }
+
+  // (created_at, id) < (cursor.createdAt, cursor.id). InnoDB 보조 인덱스는 PK 를 끝에 달고 있어
+  // idx_postings_active_recent / idx_postings_main_search 의 created_at 정렬을 그대로 따라간다.
+  private BooleanExpression seekAfter(PostingCursor cursor) {
+    return posting
+        .createdAt
+        .lt(cursor.createdAt())
+        .or(posting.createdAt.eq(cursor.createdAt()).and(posting.id.lt(cursor.id())));
   }
 
   private BooleanBuilder getBooleanBuilder(PostingSearchCondition condition) {
     BooleanBuilder builder = new BooleanBuilder();
-    if (condition.getTitle() != null) {
-      builder.and(posting.title.contains(condition.getTitle()));
+    String keyword = condition.getNormalizedTitle();
+    if (keyword != null) {
+      // MySQL 에서는 FULLTEXT 인덱스로, 그 외(H2 테스트 등)에는 LIKE 로 제목과 설명을 함께 찾는다.
+      if (fullTextSearch.supports(keyword)) {
+        builder.and(matchScore(keyword).gt(0));
+      } else {
+        builder.and(posting.title.contains(keyword).or(posting.description.contains(keyword)));
+      }
     }
     if (condition.getType() != null) {
       builder.and(posting.type.eq(condition.getType()));
@@ -63,18 +233,41 @@ public class PostingRepositoryImpl implements PostingRepositoryCustom {
     if (condition.getStatus() != null) {
       builder.and(posting.status.eq(condition.getStatus()));
     }
-    if (condition.getAuthorNickname() != null) {
-      builder.and(posting.author.nickname.contains(condition.getAuthorNickname()));
+    if (condition.getNormalizedAuthorNickname() != null) {
+      // idx_postings_author_nickname 을 범위 스캔할 수 있도록 앞부분 일치로 찾는다.
+      builder.and(posting.authorNickname.startsWith(condition.getNormalizedAuthorNickname()));
+    }
+    if (condition.isOpenSeatsOnly()) {
+      builder.and(posting.approvedCount.lt(posting.maxCapacity));
+    }
+
+    if (condition.hasRadius()) {
+      BoundingBox box =
+          GeoUtils.boundingBox(
+              condition.getUserLatitude(), condition.getUserLongitude(), condition.getRadiusKm());
+      builder.and(posting.location.latitude.between(box.minLatitude(), box.maxLatitude()));
+      builder.and(posting.location.longitude.between(box.minLongitude(), box.maxLongitude()));
+      builder.and(getDistanceTemplate(condition).loe(condition.getRadiusKm()));
     }
 
     builder.and(posting.deletedAt.isNull());
     return builder;
   }
 
+  private NumberTemplate<Double> matchScore(String keyword) {
+    return Expressions.numberTemplate(
+        Double.class,
+        "function('" + FullTextFunctionContributor.MATCH_AGAINST + "', {0}, {1}, {2})",
+        posting.title,
+        posting.description,
+        PostingFullTextSearch.toPhrase(keyword));
+  }
+
+  // 사용자 좌표에서 게시글까지의 거리(km). 반경 조건이 있으면 위경도 인덱스로 좁힌 후보에 대해서만 계산된다.
   private NumberTemplate<Double> getDistanceTemplate(PostingSearchCondition condition) {
     return Expressions.numberTemplate(
         Double.class,
-        "6371 * acos(cos(radians({0})) * cos(radians({1})) * cos(radians({2}) - radians({3})) + sin(radians({0})) * sin(radians({1})))",
+        HAVERSINE_TEMPLATE,
         condition.getUserLatitude(),
         posting.location.latitude,
         posting.location.longitude,
@@ -0,0 +1,5 @@
+package com.gwtt.dagachi.repository;
+
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
+
+public record PostingWithDistance(PostingSimpleResponseDto posting, double distanceKm) {}
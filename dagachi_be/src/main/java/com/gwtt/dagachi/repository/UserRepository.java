@@ -2,16 +2,22 @@ package com.gwtt.dagachi.repository;
 
 import com.gwtt.dagachi.entity.User;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
   @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "5000"))
   @Query("SELECT u FROM User u WHERE u.id = :id AND u.deletedAt IS NULL")
   Optional<User> findByIdForUpdate(Long id);
 
@@ -20,4 +26,31 @@ public interface UserRepository extends JpaRepository<User, Long> {
   boolean existsByUsername(String username);
 
   boolean existsByNickname(String nickname);
+
+  // soft delete 로 이름이 바뀐 행까지 포함해야 하므로 @SQLRestriction 이 적용되지 않는 native query 를 쓴다.
+  @Query(value = "SELECT username, nickname FROM users", nativeQuery = true)
+  List<UserNames> findAllNamesIncludingDeleted();
+
+  @Query(
+      "SELECT u.id AS id, u.nickname AS nickname, u.createdAt AS createdAt, "
+          + "MAX(p.createdAt) AS lastPostedAt FROM User u "
+          + "LEFT JOIN Posting p ON p.author = u AND p.deletedAt IS NULL "
+          + "WHERE u.deletedAt IS NULL GROUP BY u.id, u.nickname, u.createdAt")
+  List<UserActivity> findAllActiveNicknames();
+
+  interface UserNames {
+    String getUsername();
+
+    String getNickname();
+  }
+
+  interface UserActivity {
+    Long getId();
+
+    String getNickname();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getLastPostedAt();
+  }
 }
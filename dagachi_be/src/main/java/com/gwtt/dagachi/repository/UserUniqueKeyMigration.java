@@ -0,0 +1,118 @@
+package com.gwtt.dagachi.repository;
+
+import com.gwtt.dagachi.entity.User;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code users} 의 아이디와 닉네임 unique 인덱스 이름을 {@link User#UK_USERNAME}, {@link User#UK_NICKNAME} 으로
+ * 맞춘다.
+ *
+ * <p>예전에는 {@code unique = true} 로 선언해 Hibernate 가 {@code UK...} 로 시작하는 이름을 지어 붙였다. 회원가입 중복은 걸린 제약
+ * 이름으로 아이디와 닉네임을 구분하므로, 이름이 다르면 중복 가입이 500 으로 응답된다. 그 컬럼 하나만 덮는 다른 이름의 unique 인덱스가 있으면 이름을 바꾼다.
+ * MySQL 은 인덱스 이름만 바꾸고, 그 밖의 DB 는 예전 제약을 지운 뒤 새 제약을 건다.
+ *
+ * <p>웹 서버가 요청을 받기 전에 실행하고, 이미 맞는 이름이 있으면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserUniqueKeyMigration implements SmartInitializingSingleton {
+  private static final String TABLE_NAME = "users";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    migrate();
+  }
+
+  public void migrate() {
+    try {
+      Map<String, List<String>> indexes = uniqueIndexes();
+      rename(indexes, "username", User.UK_USERNAME);
+      rename(indexes, "nickname", User.UK_NICKNAME);
+    } catch (DataAccessException e) {
+      log.warn("Failed to rename users unique keys: {}", e.getMessage());
+    }
+  }
+
+  private void rename(Map<String, List<String>> indexes, String column, String constraintName) {
+    if (indexes.keySet().stream().anyMatch(name -> constraintOf(name).equals(constraintName))) {
+      return;
+    }
+    String legacy =
+        indexes.entrySet().stream()
+            .filter(entry -> entry.getValue().equals(List.of(column)))
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElse(null);
+    if (legacy == null) {
+      return;
+    }
+    if (isMySql()) {
+      jdbcTemplate.execute("ALTER TABLE users RENAME INDEX " + legacy + " TO " + constraintName);
+    } else {
+      // 예전 인덱스가 남아 있으면 H2 는 새 제약에 그 인덱스를 다시 쓰므로 먼저 지운다.
+      jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT " + constraintOf(legacy));
+      jdbcTemplate.execute(
+          "ALTER TABLE users ADD CONSTRAINT " + constraintName + " UNIQUE (" + column + ")");
+    }
+    log.info("Renamed unique key {} on users.{} to {}", legacy, column, constraintName);
+  }
+
+  // 인덱스 이름마다 덮는 컬럼을 순서대로 모은다. 기본 키는 뺀다.
+  private Map<String, List<String>> uniqueIndexes() {
+    return jdbcTemplate.execute(
+        (ConnectionCallback<Map<String, List<String>>>)
+            connection -> {
+              DatabaseMetaData metaData = connection.getMetaData();
+              String table =
+                  metaData.storesUpperCaseIdentifiers() ? TABLE_NAME.toUpperCase() : TABLE_NAME;
+              Map<String, List<String>> result = new LinkedHashMap<>();
+              try (ResultSet rows =
+                  metaData.getIndexInfo(
+                      connection.getCatalog(), connection.getSchema(), table, true, false)) {
+                while (rows.next()) {
+                  String name = rows.getString("INDEX_NAME");
+                  String column = rows.getString("COLUMN_NAME");
+                  if (name == null || column == null || name.toLowerCase().startsWith("primary")) {
+                    continue;
+                  }
+                  result
+                      .computeIfAbsent(name, key -> new ArrayList<>())
+                      .add(column.toLowerCase(Locale.ROOT));
+                }
+              }
+              return result;
+            });
+  }
+
+  private boolean isMySql() {
+    return Boolean.TRUE.equals(
+        jdbcTemplate.execute(
+            (ConnectionCallback<Boolean>) connection -> isMySql(connection.getMetaData())));
+  }
+
+  private static boolean isMySql(DatabaseMetaData metaData) throws SQLException {
+    return metaData.getDatabaseProductName().toLowerCase(Locale.ROOT).contains("mysql");
+  }
+
+  // H2 는 제약을 받치는 인덱스 이름에 "_INDEX_<번호>" 를 붙인다. MySQL 은 인덱스 이름이 곧 제약 이름이다.
+  private static String constraintOf(String indexName) {
+    return indexName.toLowerCase(Locale.ROOT).replaceFirst("_index_\\d+$", "");
+  }
+}
@@ -1,21 +1,28 @@
 package com.gwtt.dagachi.service;
 
+import com.gwtt.dagachi.config.TokenRevocationRegistry;
 import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.dto.UserSimpleResponseDto;
 import com.gwtt.dagachi.entity.User;
 import com.gwtt.dagachi.exception.DagachiException;
 import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.UserRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @RequiredArgsConstructor
 @Service
 public class AdminService {
   private final UserRepository userRepository;
+  private final TokenRevocationRegistry tokenRevocationRegistry;
+  private final PostingSearchIndex postingSearchIndex;
 
   @Transactional
   public void updateUserRole(Long userId, Role role) {
@@ -24,6 +31,8 @@ public class AdminService {
             .findByIdForUpdate(userId)
             .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
     user.updateRole(role);
+
+    revokeTokensAfterCommit(userId);
   }
 
   @Transactional(readOnly = true)
@@ -31,4 +40,24 @@ public class AdminService {
     Page<User> users = userRepository.findAll(pageable);
     return users.map(UserSimpleResponseDto::of);
   }
+
+  /** MySQL 기준으로 게시글 검색 인덱스를 다시 만들고 색인한 게시글 수를 돌려준다. */
+  public long rebuildPostingSearchIndex() {
+    try {
+      return postingSearchIndex.rebuild();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  // 토큰에 이전 역할이 실려 있으므로 커밋 이후 기존 토큰을 무효화한다.
+  private void revokeTokensAfterCommit(Long userId) {
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            tokenRevocationRegistry.revoke(userId);
+          }
+        });
+  }
 }
@@ -1,14 +1,20 @@
 package com.gwtt.dagachi.service;
 
+import com.gwtt.dagachi.adapter.CustomUserDetails;
 import com.gwtt.dagachi.config.JwtTokenProvider;
+import com.gwtt.dagachi.config.PasswordHashingExecutor;
 import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.dto.LoginRequestDto;
 import com.gwtt.dagachi.dto.SignupRequestDto;
+import com.gwtt.dagachi.dto.TokenResponseDto;
 import com.gwtt.dagachi.entity.User;
 import com.gwtt.dagachi.exception.DagachiException;
 import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.UserRepository;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -16,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -24,39 +31,131 @@ public class AuthService {
   private final PasswordEncoder passwordEncoder;
   private final AuthenticationManager authenticationManager;
   private final JwtTokenProvider jwtTokenProvider;
+  private final PasswordHashingExecutor passwordHashingExecutor;
+  private final UserNameFilter userNameFilter;
+  private final SearchSuggestService searchSuggestService;
+  private final RefreshTokenService refreshTokenService;
+  private final TransactionTemplate transactionTemplate;
 
-  @Transactional
+  // BCrypt 해싱을 기다리는 동안 DB 커넥션을 잡고 있지 않도록 트랜잭션은 해싱이 끝난 뒤 INSERT 에만 연다.
   public void signup(SignupRequestDto signupRequestDto) {
-    if (userRepository.existsByUsername(signupRequestDto.getUsername())) {
+    String username = signupRequestDto.getUsername();
+    String nickname = signupRequestDto.getNickname();
+
+    // Bloom filter 가 없다고 답하면 중복 확인 쿼리를 건너뛴다.
+    if (userNameFilter.mightContainUsername(username)
+        && userRepository.existsByUsername(username)) {
       throw new DagachiException(ErrorCode.DUPLICATE_USERNAME);
     }
 
-    if (userRepository.existsByNickname(signupRequestDto.getNickname())) {
+    if (userNameFilter.mightContainNickname(nickname)
+        && userRepository.existsByNickname(nickname)) {
       throw new DagachiException(ErrorCode.DUPLICATE_NICKNAME);
     }
 
+    String encodedPassword =
+        passwordHashingExecutor.execute(
+            () -> passwordEncoder.encode(signupRequestDto.getPassword()));
+
     User user =
         User.builder()
-            .username(signupRequestDto.getUsername())
-            .password(passwordEncoder.encode(signupRequestDto.getPassword()))
-            .nickname(signupRequestDto.getNickname())
+            .username(username)
+            .password(encodedPassword)
+            .nickname(nickname)
             .role(Role.USER)
             .build();
 
-    userRepository.save(user);
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            userRepository.save(user);
+            searchSuggestService.putNicknameAfterCommit(user.getId(), nickname);
+          });
+    } catch (DataIntegrityViolationException e) {
+      // 동시 가입이나 filter 에 아직 반영되지 않은 이름은 unique 제약으로 걸러진다.
+      throw new DagachiException(toDuplicateErrorCode(e));
+    }
+
+    userNameFilter.register(username, nickname);
   }
 
-  public String login(LoginRequestDto loginRequestDto) {
+  public TokenResponseDto login(LoginRequestDto loginRequestDto) {
     UsernamePasswordAuthenticationToken authenticationToken =
         new UsernamePasswordAuthenticationToken(
             loginRequestDto.getUsername(), loginRequestDto.getPassword());
     try {
-      Authentication authentication = authenticationManager.authenticate(authenticationToken);
+      // 비밀번호 검증(과 필요 시 재해싱)은 해싱 전용 실행기에서 수행한다.
+      Authentication authentication =
+          passwordHashingExecutor.execute(
+              () -> authenticationManager.authenticate(authenticationToken));
       SecurityContextHolder.getContext().setAuthentication(authentication);
-      String jwt = jwtTokenProvider.generateToken(authentication);
-      return jwt;
+      CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+      return TokenResponseDto.builder()
+          .accessToken(jwtTokenProvider.generateToken(userDetails))
+          .refreshToken(refreshTokenService.issue(userDetails.getUserId()))
+          .build();
+    } catch (DagachiException e) {
+      throw e;
     } catch (Exception e) {
       throw new DagachiException(ErrorCode.LOGIN_FAILED);
     }
   }
+
+  // refresh token 은 한 번 쓰면 폐기하고 새로 발급한다. 역할/닉네임 변경을 반영하기 위해 사용자는 다시 읽는다.
+  @Transactional(readOnly = true)
+  public TokenResponseDto refresh(String refreshToken) {
+    if (refreshToken == null) {
+      throw new DagachiException(ErrorCode.INVALID_REFRESH_TOKEN);
+    }
+    Long userId =
+        refreshTokenService
+            .consume(refreshToken)
+            .orElseThrow(() -> new DagachiException(ErrorCode.INVALID_REFRESH_TOKEN));
+    User user =
+        userRepository
+            .findById(userId)
+            .orElseThrow(() -> new DagachiException(ErrorCode.INVALID_REFRESH_TOKEN));
+
+    return TokenResponseDto.builder()
+        .accessToken(jwtTokenProvider.generateToken(new CustomUserDetails(user)))
+        .refreshToken(refreshTokenService.issue(userId))
+        .build();
+  }
+
+  public void logout(String accessToken, String refreshToken) {
+    if (refreshToken != null) {
+      refreshTokenService.revoke(refreshToken);
+    }
+    if (accessToken != null) {
+      jwtTokenProvider.revoke(accessToken);
+    }
+  }
+
+  // 어느 unique 제약에 걸렸는지는 Hibernate 가 SQL 오류에서 뽑아 준 제약 이름으로 가린다. 알 수 없는 제약이면 그대로 던진다.
+  private static ErrorCode toDuplicateErrorCode(DataIntegrityViolationException e) {
+    String constraintName = violatedConstraintName(e);
+    if (constraintName != null) {
+      switch (constraintName) {
+        case User.UK_NICKNAME:
+          return ErrorCode.DUPLICATE_NICKNAME;
+        case User.UK_USERNAME:
+          return ErrorCode.DUPLICATE_USERNAME;
+        default:
+          break;
+      }
+    }
+    throw e;
+  }
+
+  private static String violatedConstraintName(Throwable e) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (cause instanceof ConstraintViolationException violation
+          && violation.getConstraintName() != null) {
+        // MySQL 은 "users.uk_users_nickname" 처럼 테이블을, H2 는 스키마와 제약을 받치는 인덱스 번호를 붙여 돌려준다.
+        String name = violation.getConstraintName().toLowerCase(Locale.ROOT);
+        return name.substring(name.lastIndexOf('.') + 1).replaceFirst("_index_\\d+$", "");
+      }
+    }
+    return null;
+  }
 }
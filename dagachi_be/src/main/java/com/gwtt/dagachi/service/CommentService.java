@@ -1,5 +1,6 @@
 package com.gwtt.dagachi.service;
 
+import com.gwtt.dagachi.config.RetryOnLockFailure;
 import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.dto.CommentCreateRequestDto;
 import com.gwtt.dagachi.dto.CommentResponseDto;
@@ -35,6 +36,7 @@ public class CommentService {
     return comments.map(CommentResponseDto::of);
   }
 
+  @RetryOnLockFailure
   @Transactional
   public CommentResponseDto createComment(
       Long postingId, Long userId, CommentCreateRequestDto commentCreateRequestDto) {
@@ -81,6 +83,7 @@ public class CommentService {
     return CommentResponseDto.of(fetchedComment);
   }
 
+  @RetryOnLockFailure
   @Transactional
   public CommentResponseDto updateComment(
       Long postingId,
@@ -104,6 +107,7 @@ public class CommentService {
     return CommentResponseDto.of(comment);
   }
 
+  @RetryOnLockFailure
   @Transactional
   public void deleteComment(
       Long postingId, Long commentId, Long currentUserId, Role currentUserRole) {
@@ -7,13 +7,15 @@ import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
   private final UserRepository userRepository;
 
   @Override
@@ -24,4 +26,16 @@ public class CustomUserDetailsService implements UserDetailsService {
             .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
     return new CustomUserDetails(user);
   }
+
+  // 로그인 성공 시 저장된 해시의 강도가 설정보다 낮으면 DaoAuthenticationProvider 가 호출한다.
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+    User user =
+        userRepository
+            .findByUsername(userDetails.getUsername())
+            .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
+    user.updatePassword(newPassword);
+    return new CustomUserDetails(user);
+  }
 }
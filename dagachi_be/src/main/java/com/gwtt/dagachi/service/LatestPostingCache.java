@@ -0,0 +1,277 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.repository.PostingRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 유형/상태 조합별 최신 게시글 id 목록을 Redis sorted set 으로 들고 있어 최신순 목록의 앞쪽 페이지를 DB 없이 답한다.
+ *
+ * <p>조합마다 최근 {@code posting.latest.size} 개의 id 를 생성 시각 점수로 담는다. 조합의 게시글이 그보다 적어 전부 담겨 있으면 가장 낮은 점수로
+ * {@code end} 표시를 함께 넣어, 목록 끝이 비어 있는 이유가 게시글이 없어서인지 창 밖이라서인지 구분한다.
+ *
+ * <p>게시글 생성/수정/삭제와 모집 상태 변경은 커밋 후 이미 있는 목록에만 반영한다. 지워진 만큼 목록이 모자라거나 목록이 없으면 그 요청은 DB 로 답하고 목록을 다시
+ * 채운다. 다시 채우는 동안에는 {@code rebuilding} 표시를 두어, 그 사이 커밋된 변경을 {@code journal} 에도 쌓고 DB 에서 읽은 목록으로 바꾼
+ * 직후 순서대로 다시 적용한다. DB 를 읽은 뒤 바꾸기 전에 커밋된 게시글도 목록에서 빠지지 않는다.
+ *
+ * <p>표시는 없을 때만 두므로 목록 하나를 다시 채우는 요청은 한 번에 하나다. 표시를 두지 못한 요청은 기다리지 않고 DB 로 답한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestPostingCache {
+  private static final String KEY_PREFIX = "posting:latest:";
+  private static final String ANY = "ANY";
+  private static final String END = "end";
+  private static final String REBUILDING_SUFFIX = ":rebuilding";
+  private static final Duration REBUILD_MARKER_TTL = Duration.ofMinutes(1);
+
+  // KEYS: 게시글이 빠져야 할 목록들, 그 뒤에 들어가야 할 목록들
+  // ARGV: id, 점수, 목록 크기, 들어가야 할 목록 수, journal TTL(초)
+  // 전부 담긴 목록이 아니면 목록의 마지막보다 오래된 게시글은 넣지 않는다. 그 사이의 게시글이 목록에 없을 수 있다.
+  // 다시 채우는 중인 목록에는 변경을 journal 에도 쌓아 둔다.
+  private static final RedisScript<Long> WRITE_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          local id = ARGV[1]
+          local score = tonumber(ARGV[2])
+          local size = tonumber(ARGV[3])
+          local add_from = #KEYS - tonumber(ARGV[4]) + 1
+          for i = 1, #KEYS do
+            if redis.call('EXISTS', KEYS[i] .. ':rebuilding') == 1 then
+              local journal = KEYS[i] .. ':journal'
+              redis.call('RPUSH', journal, i < add_from and 'r' or 'a', id, ARGV[2])
+              redis.call('EXPIRE', journal, ARGV[5])
+            end
+            if i < add_from then
+              redis.call('ZREM', KEYS[i], id)
+            elseif redis.call('EXISTS', KEYS[i]) == 1 then
+              local complete = redis.call('ZSCORE', KEYS[i], 'end')
+              local lowest = redis.call('ZRANGE', KEYS[i], 0, 0, 'WITHSCORES')
+              if complete or (lowest[2] ~= nil and score >= tonumber(lowest[2])) then
+                redis.call('ZADD', KEYS[i], score, id)
+                redis.call('ZREMRANGEBYRANK', KEYS[i], 0, -(size + 1))
+              end
+            end
+          end
+          return 1
+          """,
+          Long.class);
+
+  // KEYS[1]: 목록, ARGV: TTL(초), 전부 담겼는지(1/0), rebuilding 토큰, 목록 크기, 그 뒤로 점수와 id 쌍
+  // DB 에서 읽은 목록으로 바꾼 뒤 rebuilding 표시 이후 쌓인 변경을 같은 규칙으로 다시 적용한다. 이미 목록에 반영된 변경이어도 같은 결과가 된다.
+  // 표시가 만료되어 다른 요청이 다시 채우기를 시작했으면 표시와 journal 은 그 요청이 지운다.
+  private static final RedisScript<Long> REPLACE_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          local key = KEYS[1]
+          local marker = key .. ':rebuilding'
+          local journal = key .. ':journal'
+          local size = tonumber(ARGV[4])
+          redis.call('DEL', key)
+          for i = 5, #ARGV, 2 do
+            redis.call('ZADD', key, ARGV[i], ARGV[i + 1])
+          end
+          if ARGV[2] == '1' then
+            redis.call('ZADD', key, '-inf', 'end')
+          end
+          local ops = redis.call('LRANGE', journal, 0, -1)
+          for i = 1, #ops, 3 do
+            if ops[i] == 'r' then
+              redis.call('ZREM', key, ops[i + 1])
+            else
+              local score = tonumber(ops[i + 2])
+              local complete = redis.call('ZSCORE', key, 'end')
+              local lowest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+              if complete or (lowest[2] ~= nil and score >= tonumber(lowest[2])) then
+                redis.call('ZADD', key, score, ops[i + 1])
+                redis.call('ZREMRANGEBYRANK', key, 0, -(size + 1))
+              end
+            end
+          end
+          if redis.call('GET', marker) == ARGV[3] then
+            redis.call('DEL', marker, journal)
+          end
+          redis.call('EXPIRE', key, ARGV[1])
+          return 1
+          """,
+          Long.class);
+
+  private final PostingRepository postingRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${posting.latest.size:100}")
+  private int size;
+
+  @Value("${posting.latest.ttl:10m}")
+  private Duration ttl;
+
+  /**
+   * 최신순 {@code offset} 부터 {@code limit} 개의 id 를 돌려준다. 목록으로 답할 수 없으면 null 을 돌려주며, 호출하는 쪽이 DB 로 조회해야
+   * 한다. {@code type}, {@code status} 가 null 이면 조건을 두지 않는다.
+   */
+  public List<Long> findIds(PostingType type, PostingStatus status, long offset, int limit) {
+    if (offset + limit > size) {
+      return null;
+    }
+    String key = key(type, status);
+    Set<String> members;
+    try {
+      members = redisTemplate.opsForZSet().reverseRange(key, offset, offset + limit - 1);
+    } catch (DataAccessException e) {
+      log.warn("Latest posting cache unavailable: {}", e.getMessage());
+      return null;
+    }
+
+    List<Long> ids = new ArrayList<>(limit);
+    boolean complete = false;
+    if (members != null) {
+      for (String member : members) {
+        if (END.equals(member)) {
+          complete = true;
+          break;
+        }
+        ids.add(Long.valueOf(member));
+      }
+    }
+    if (complete || ids.size() == limit) {
+      return ids;
+    }
+    rebuild(type, status);
+    return null;
+  }
+
+  /** 게시글의 현재 유형/상태를 커밋 후 반영한다. 생성, 수정, 모집 상태 변경에 쓴다. */
+  public void putAfterCommit(Posting posting) {
+    List<String> keys = new ArrayList<>();
+    List<String> matching =
+        List.of(
+            key(null, null),
+            key(posting.getType(), null),
+            key(null, posting.getStatus()),
+            key(posting.getType(), posting.getStatus()));
+    for (String key : allKeys()) {
+      if (!matching.contains(key)) {
+        keys.add(key);
+      }
+    }
+    keys.addAll(matching);
+    afterCommit(
+        keys,
+        String.valueOf(posting.getId()),
+        String.valueOf(toScore(posting.getCreatedAt())),
+        matching.size());
+  }
+
+  public void removeAfterCommit(Long postingId) {
+    afterCommit(allKeys(), String.valueOf(postingId), "0", 0);
+  }
+
+  private void afterCommit(List<String> keys, String id, String score, int addCount) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      write(keys, id, score, addCount);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            write(keys, id, score, addCount);
+          }
+        });
+  }
+
+  private void write(List<String> keys, String id, String score, int addCount) {
+    try {
+      redisTemplate.execute(
+          WRITE_SCRIPT,
+          keys,
+          id,
+          score,
+          String.valueOf(size),
+          String.valueOf(addCount),
+          String.valueOf(REBUILD_MARKER_TTL.toSeconds()));
+    } catch (DataAccessException e) {
+      log.warn("Failed to update latest posting cache: {}", e.getMessage());
+    }
+  }
+
+  // DB 를 읽기 전에 rebuilding 표시를 둬야 읽은 뒤 커밋된 변경이 journal 에 남는다. 이미 다른 요청이 채우고 있으면 맡긴다.
+  private void rebuild(PostingType type, PostingStatus status) {
+    String key = key(type, status);
+    String token = UUID.randomUUID().toString();
+    try {
+      Boolean acquired =
+          redisTemplate
+              .opsForValue()
+              .setIfAbsent(key + REBUILDING_SUFFIX, token, REBUILD_MARKER_TTL);
+      if (!Boolean.TRUE.equals(acquired)) {
+        return;
+      }
+    } catch (DataAccessException e) {
+      log.warn("Failed to rebuild latest posting cache: {}", e.getMessage());
+      return;
+    }
+
+    List<PostingRepository.PostingRecency> latest =
+        postingRepository.findLatest(type, status, PageRequest.of(0, size));
+    List<String> args = new ArrayList<>(latest.size() * 2 + 4);
+    args.add(String.valueOf(ttl.toSeconds()));
+    args.add(latest.size() < size ? "1" : "0");
+    args.add(token);
+    args.add(String.valueOf(size));
+    for (PostingRepository.PostingRecency posting : latest) {
+      args.add(String.valueOf(toScore(posting.getCreatedAt())));
+      args.add(String.valueOf(posting.getId()));
+    }
+    try {
+      redisTemplate.execute(REPLACE_SCRIPT, List.of(key), args.toArray());
+    } catch (DataAccessException e) {
+      log.warn("Failed to rebuild latest posting cache: {}", e.getMessage());
+    }
+  }
+
+  private static List<String> allKeys() {
+    List<String> keys = new ArrayList<>();
+    List<PostingType> types = new ArrayList<>(List.of(PostingType.values()));
+    types.add(null);
+    List<PostingStatus> statuses = new ArrayList<>(List.of(PostingStatus.values()));
+    statuses.add(null);
+    for (PostingType type : types) {
+      for (PostingStatus status : statuses) {
+        keys.add(key(type, status));
+      }
+    }
+    return keys;
+  }
+
+  private static String key(PostingType type, PostingStatus status) {
+    return KEY_PREFIX
+        + (type != null ? type.name() : ANY)
+        + ":"
+        + (status != null ? status.name() : ANY);
+  }
+
+  private static long toScore(LocalDateTime createdAt) {
+    return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,80 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.NearbyPostingResponseDto;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.util.GeoGridIndex.Neighbor;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * 내 주변의 모집 중인 게시글 조회.
+ *
+ * <p>{@link PostingGeoIndex} 로 가까운 게시글 id 를 찾고, 내용은 {@code posting} 캐시를 거쳐 채운다. 인덱스가 아직 준비되지 않았으면
+ * DB 반경 검색으로 대신한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class NearbyPostingService {
+  private final PostingGeoIndex postingGeoIndex;
+  private final PostingService postingService;
+  private final PostingRepository postingRepository;
+
+  @Value("${posting.geo-index.max-radius-km:100}")
+  private double maxRadiusKm;
+
+  /** {@code radiusKm} 가 없으면 최대 반경 안에서 가장 가까운 {@code size} 개를 돌려준다. */
+  public List<NearbyPostingResponseDto> getNearbyPostings(
+      double latitude, double longitude, Double radiusKm, PostingType type, int size) {
+    if (radiusKm != null && (radiusKm <= 0 || radiusKm > maxRadiusKm)) {
+      throw new DagachiException(ErrorCode.INVALID_RADIUS_SEARCH);
+    }
+    if (!postingGeoIndex.isReady()) {
+      return searchFromDatabase(latitude, longitude, radiusKm, type, size);
+    }
+
+    List<Neighbor> neighbors =
+        radiusKm != null
+            ? postingGeoIndex.withinRadius(latitude, longitude, radiusKm, type, size)
+            : postingGeoIndex.nearest(latitude, longitude, size, type, maxRadiusKm);
+    List<NearbyPostingResponseDto> result = new ArrayList<>(neighbors.size());
+    for (Neighbor neighbor : neighbors) {
+      try {
+        result.add(
+            NearbyPostingResponseDto.of(
+                postingService.getPostingById(neighbor.id()), neighbor.distanceKm()));
+      } catch (DagachiException e) {
+        // 인덱스 반영 전에 지워진 게시글은 건너뛴다.
+        if (e.getErrorCode() != ErrorCode.POSTING_NOT_FOUND) {
+          throw e;
+        }
+      }
+    }
+    return result;
+  }
+
+  private List<NearbyPostingResponseDto> searchFromDatabase(
+      double latitude, double longitude, Double radiusKm, PostingType type, int size) {
+    PostingSearchCondition condition =
+        PostingSearchCondition.builder()
+            .type(type)
+            .status(PostingStatus.RECRUITING)
+            .userLatitude(latitude)
+            .userLongitude(longitude)
+            .radiusKm(radiusKm != null ? radiusKm : maxRadiusKm)
+            .build();
+    return postingRepository.searchPostingsNearby(condition, null, size).stream()
+        .map(
+            row ->
+                NearbyPostingResponseDto.of(
+                    postingService.getPostingById(row.posting().getId()), row.distanceKm()))
+        .toList();
+  }
+}
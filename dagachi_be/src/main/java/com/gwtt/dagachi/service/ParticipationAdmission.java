@@ -0,0 +1,421 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.constants.ParticipationStatus;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.ParticipationRepository;
+import com.gwtt.dagachi.repository.PostingRepository;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 참여 신청을 DB 에 보내기 전에 Redis 에서 한 번에 걸러낸다.
+ *
+ * <p>게시글마다 모집 상태, 작성자, 대기 중인 신청 수를 담은 hash 와 참여한 사용자 id set 을 둔다. Lua 스크립트 하나가 상태, 작성자, 중복, 대기 신청
+ * 상한({@code participation.admission.pending-limit})을 확인하고 통과하면 set 과 대기 수를 함께 늘리므로, 인기 게시글이 열릴 때 몰린
+ * 요청 중 받아들일 것만 DB 로 간다. 통과한 신청도 DB 에서 다시 확인하므로 여기서의 판단은 거르는 용도이고, 틀린 쪽은 DB 가 바로잡는다.
+ *
+ * <p>목록이 없으면 DB 에서 읽어 채운다. 인기 게시글이 처음 열릴 때 몰린 요청이 모두 DB 를 읽지 않도록 채우기는 게시글마다 한 요청만 하고, 나머지는 목록이
+ * 채워지기를 잠깐 기다렸다가 다시 확인한다.
+ *
+ * <p>승인/거절/취소와 상태 변경은 커밋 후 이미 있는 목록에만 반영한다. 반영 사이에 어긋난 값은 {@code
+ * participation.admission.reconcile-interval} 마다 DB 와 비교해 고치고, 목록은 TTL 이 지나면 새로 만든다. Redis 에 접근할 수
+ * 없으면 거르지 않고 DB 에 맡긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParticipationAdmission {
+  private static final String GATE_PREFIX = "participation:gate:";
+  private static final String MEMBERS_PREFIX = "participation:members:";
+  private static final String GATES_KEY = "participation:gates";
+  private static final String RECONCILE_LOCK_KEY = "participation:gates:reconcile";
+  private static final String SEED_LOCK_PREFIX = "participation:gate-seed:";
+  private static final Duration SEED_LOCK_TTL = Duration.ofSeconds(5);
+  private static final Duration SEED_WAIT = Duration.ofMillis(500);
+  private static final long SEED_POLL_INTERVAL_MILLIS = 20;
+
+  private static final String ADMITTED = "admitted";
+  private static final String MISS = "miss";
+
+  // KEYS: 게시글 hash, 참여자 set / ARGV: 사용자 id, 대기 신청 상한
+  private static final RedisScript<String> ADMIT_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 'miss'
+          end
+          local gate = redis.call('HMGET', KEYS[1], 'status', 'author', 'pending')
+          if gate[1] ~= 'RECRUITING' then
+            return 'closed'
+          end
+          if gate[2] == ARGV[1] then
+            return 'author'
+          end
+          if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then
+            return 'duplicate'
+          end
+          if tonumber(gate[3]) >= tonumber(ARGV[2]) then
+            return 'full'
+          end
+          redis.call('SADD', KEYS[2], ARGV[1])
+          redis.call('HINCRBY', KEYS[1], 'pending', 1)
+          return 'admitted'
+          """,
+          String.class);
+
+  // KEYS: 게시글 hash, 참여자 set / ARGV: 뺄 사용자 id(없으면 ''), 대기 수 변화, 새 상태(없으면 '')
+  private static final RedisScript<Long> ADJUST_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if redis.call('EXISTS', KEYS[1]) == 0 then
+            return 0
+          end
+          if ARGV[1] ~= '' then
+            redis.call('SREM', KEYS[2], ARGV[1])
+          end
+          local pending = tonumber(redis.call('HGET', KEYS[1], 'pending')) + tonumber(ARGV[2])
+          redis.call('HSET', KEYS[1], 'pending', math.max(pending, 0))
+          if ARGV[3] ~= '' then
+            redis.call('HSET', KEYS[1], 'status', ARGV[3])
+          end
+          return 1
+          """,
+          Long.class);
+
+  // KEYS: 게시글 hash, 참여자 set, 목록 id set
+  // ARGV: 덮어쓸지(1/0), TTL(초), 게시글 id, 상태, 작성자 id, 대기 수, 그 뒤로 참여자 id
+  private static final RedisScript<Long> SEED_SCRIPT =
+      new DefaultRedisScript<>(
+          """
+          if ARGV[1] == '0' and redis.call('EXISTS', KEYS[1]) == 1 then
+            return 0
+          end
+          redis.call('DEL', KEYS[1], KEYS[2])
+          redis.call('HSET', KEYS[1], 'status', ARGV[4], 'author', ARGV[5], 'pending', ARGV[6])
+          for i = 7, #ARGV do
+            redis.call('SADD', KEYS[2], ARGV[i])
+          end
+          redis.call('EXPIRE', KEYS[1], ARGV[2])
+          redis.call('EXPIRE', KEYS[2], ARGV[2])
+          redis.call('SADD', KEYS[3], ARGV[3])
+          return 1
+          """,
+          Long.class);
+
+  private final PostingRepository postingRepository;
+  private final ParticipationRepository participationRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${participation.admission.pending-limit:200}")
+  private int pendingLimit;
+
+  @Value("${participation.admission.ttl:10m}")
+  private Duration ttl;
+
+  @Value("${participation.admission.reconcile-interval:1m}")
+  private Duration reconcileInterval;
+
+  private ScheduledExecutorService scheduler;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "participation-admission");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::reconcile,
+        reconcileInterval.toMillis(),
+        reconcileInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  /**
+   * 신청을 받아들일 수 있으면 자리를 잡고 true 를 돌려준다. 이후 DB 저장에 실패하면 {@link #release} 로 돌려놓아야 한다. 거를 수 없는 신청이면 예외를
+   * 던지고, Redis 에 접근할 수 없으면 false 를 돌려준다.
+   */
+  public boolean admit(Long postingId, Long userId) {
+    String result = runAdmit(postingId, userId);
+    if (MISS.equals(result)) {
+      result = seedAndAdmit(postingId, userId);
+    }
+    if (result == null || MISS.equals(result)) {
+      return false;
+    }
+    switch (result) {
+      case ADMITTED:
+        return true;
+      case "closed":
+        throw new DagachiException(ErrorCode.POSTING_ALREADY_RECRUITED);
+      case "author":
+        throw new DagachiException(ErrorCode.USER_NOT_AUTHORIZED);
+      case "duplicate":
+        throw new DagachiException(ErrorCode.PARTICIPATION_ALREADY_JOINED);
+      case "full":
+        throw new DagachiException(ErrorCode.PARTICIPATION_PENDING_LIMIT_EXCEEDED);
+      default:
+        throw new IllegalStateException("Unknown admission result: " + result);
+    }
+  }
+
+  /** {@link #admit} 로 잡은 자리를 돌려놓는다. */
+  public void release(Long postingId, Long userId) {
+    adjust(postingId, String.valueOf(userId), -1, null);
+  }
+
+  /** 대기 중인 신청이 취소되었다. */
+  public void leftAfterCommit(Long postingId, Long userId) {
+    afterCommit(() -> adjust(postingId, String.valueOf(userId), -1, null));
+  }
+
+  /** 신청이 승인/거절되었다. 대기 중이던 신청이면 대기 수를 줄이고, 게시글 상태가 바뀌었으면 {@code status} 로 넘긴다(바뀌지 않았으면 null). */
+  public void decidedAfterCommit(
+      Long postingId, ParticipationStatus previous, PostingStatus status) {
+    decidedAfterCommit(postingId, previous == ParticipationStatus.PENDING ? 1 : 0, status);
+  }
+
+  /** 신청 여러 건이 한 번에 처리되었다. {@code decidedPending} 은 그중 대기 중이던 신청 수다. */
+  public void decidedAfterCommit(Long postingId, int decidedPending, PostingStatus status) {
+    if (decidedPending == 0 && status == null) {
+      return;
+    }
+    afterCommit(() -> adjust(postingId, null, -decidedPending, status));
+  }
+
+  public void statusChangedAfterCommit(Long postingId, PostingStatus status) {
+    afterCommit(() -> adjust(postingId, null, 0, status));
+  }
+
+  public void removeAfterCommit(Long postingId) {
+    afterCommit(
+        () -> {
+          try {
+            redisTemplate.delete(List.of(gateKey(postingId), membersKey(postingId)));
+          } catch (DataAccessException e) {
+            log.warn("Failed to remove participation gate: {}", e.getMessage());
+          }
+        });
+  }
+
+  /** 목록이 있는 게시글마다 DB 의 참여자와 대기 수, 상태를 비교해 어긋난 목록을 다시 채운다. */
+  void reconcile() {
+    try {
+      Boolean locked =
+          redisTemplate
+              .opsForValue()
+              .setIfAbsent(RECONCILE_LOCK_KEY, "1", reconcileInterval.dividedBy(2));
+      if (!Boolean.TRUE.equals(locked)) {
+        return;
+      }
+      Set<String> postingIds = redisTemplate.opsForSet().members(GATES_KEY);
+      if (postingIds == null) {
+        return;
+      }
+      int repaired = 0;
+      for (String postingId : postingIds) {
+        if (reconcile(Long.valueOf(postingId))) {
+          repaired++;
+        }
+      }
+      if (repaired > 0) {
+        log.info("Repaired {} participation gates", repaired);
+      }
+    } catch (RuntimeException e) {
+      // 예외가 나가면 다음 실행이 취소되므로 여기서 멈춘다.
+      log.warn("Failed to reconcile participation gates: {}", e.getMessage());
+    }
+  }
+
+  private boolean reconcile(Long postingId) {
+    List<Object> gate =
+        redisTemplate.opsForHash().multiGet(gateKey(postingId), List.of("status", "pending"));
+    Set<String> members = redisTemplate.opsForSet().members(membersKey(postingId));
+    if (gate.get(0) == null) {
+      redisTemplate.opsForSet().remove(GATES_KEY, String.valueOf(postingId));
+      return false;
+    }
+
+    Optional<GateState> state = load(postingId);
+    if (state.isEmpty()) {
+      redisTemplate.delete(List.of(gateKey(postingId), membersKey(postingId)));
+      redisTemplate.opsForSet().remove(GATES_KEY, String.valueOf(postingId));
+      return true;
+    }
+    GateState expected = state.get();
+    if (expected.status().name().equals(gate.get(0))
+        && String.valueOf(expected.pending()).equals(gate.get(1))
+        && expected.memberSet().equals(members)) {
+      return false;
+    }
+    // 비교한 뒤 들어온 신청은 덮어쓰면서 빠질 수 있지만, DB 에서 다시 확인하므로 중복 저장되지는 않는다.
+    write(postingId, expected, true);
+    return true;
+  }
+
+  private String runAdmit(Long postingId, Long userId) {
+    try {
+      return redisTemplate.execute(
+          ADMIT_SCRIPT,
+          List.of(gateKey(postingId), membersKey(postingId)),
+          String.valueOf(userId),
+          String.valueOf(pendingLimit));
+    } catch (DataAccessException e) {
+      log.warn("Participation gate unavailable: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  // 채우기 잠금을 잡은 요청만 DB 를 읽어 목록을 채운다. 잡지 못한 요청은 목록이 생길 때까지 기다리고, 시간 안에 생기지 않으면 거르지 않고 DB 에 맡긴다.
+  private String seedAndAdmit(Long postingId, Long userId) {
+    String lockKey = SEED_LOCK_PREFIX + postingId;
+    Boolean locked;
+    try {
+      locked = redisTemplate.opsForValue().setIfAbsent(lockKey, "1", SEED_LOCK_TTL);
+    } catch (DataAccessException e) {
+      log.warn("Participation gate unavailable: {}", e.getMessage());
+      return null;
+    }
+
+    if (Boolean.TRUE.equals(locked)) {
+      try {
+        seed(postingId, false);
+      } finally {
+        try {
+          redisTemplate.delete(lockKey);
+        } catch (DataAccessException e) {
+          log.warn("Failed to release participation gate seed lock: {}", e.getMessage());
+        }
+      }
+      return runAdmit(postingId, userId);
+    }
+
+    long deadline = System.nanoTime() + SEED_WAIT.toNanos();
+    String result = MISS;
+    while (MISS.equals(result) && System.nanoTime() < deadline) {
+      try {
+        Thread.sleep(SEED_POLL_INTERVAL_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return null;
+      }
+      result = runAdmit(postingId, userId);
+    }
+    return result;
+  }
+
+  private void seed(Long postingId, boolean overwrite) {
+    load(postingId).ifPresent(state -> write(postingId, state, overwrite));
+  }
+
+  private Optional<GateState> load(Long postingId) {
+    return postingRepository
+        .findById(postingId)
+        .map(
+            posting ->
+                new GateState(
+                    posting.getStatus(),
+                    posting.getAuthor().getId(),
+                    participationRepository.countByPostingIdAndStatus(
+                        postingId, ParticipationStatus.PENDING),
+                    participationRepository.findParticipantIdsByPostingId(postingId)));
+  }
+
+  private void write(Long postingId, GateState state, boolean overwrite) {
+    List<String> args = new ArrayList<>(state.participantIds().size() + 6);
+    args.add(overwrite ? "1" : "0");
+    args.add(String.valueOf(ttl.toSeconds()));
+    args.add(String.valueOf(postingId));
+    args.add(state.status().name());
+    args.add(String.valueOf(state.authorId()));
+    args.add(String.valueOf(state.pending()));
+    for (Long participantId : state.participantIds()) {
+      args.add(String.valueOf(participantId));
+    }
+    try {
+      redisTemplate.execute(
+          SEED_SCRIPT,
+          List.of(gateKey(postingId), membersKey(postingId), GATES_KEY),
+          args.toArray());
+    } catch (DataAccessException e) {
+      log.warn("Failed to fill participation gate: {}", e.getMessage());
+    }
+  }
+
+  private void adjust(Long postingId, String userId, int pendingDelta, PostingStatus status) {
+    try {
+      redisTemplate.execute(
+          ADJUST_SCRIPT,
+          List.of(gateKey(postingId), membersKey(postingId)),
+          userId != null ? userId : "",
+          String.valueOf(pendingDelta),
+          status != null ? status.name() : "");
+    } catch (DataAccessException e) {
+      log.warn("Failed to update participation gate: {}", e.getMessage());
+    }
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private static String gateKey(Long postingId) {
+    return GATE_PREFIX + postingId;
+  }
+
+  private static String membersKey(Long postingId) {
+    return MEMBERS_PREFIX + postingId;
+  }
+
+  private record GateState(
+      PostingStatus status, Long authorId, int pending, List<Long> participantIds) {
+    Set<String> memberSet() {
+      Set<String> members = new HashSet<>();
+      for (Long participantId : participantIds) {
+        members.add(String.valueOf(participantId));
+      }
+      return members;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.constants.ParticipationStatus;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 참여 신청을 모아 한 트랜잭션에서 저장한다.
+ *
+ * <p>요청 스레드는 신청을 큐에 넣고 결과를 기다리기만 하므로 DB 커넥션을 잡지 않는다. 쓰기 스레드 하나가 쌓인 신청을 최대 {@code
+ * participation.join-batch.size} 개씩 꺼내, 게시글을 잠그지 않고 읽어 작성자/모집 상태를 확인한 뒤 통과한 신청을 JDBC batch 로 넣는다.
+ * 이미 참여한 신청은 {@code uk_participations_active} 가 막으므로 미리 조회하지 않는다.
+ *
+ * <p>신청마다 결과를 따로 돌려주므로 묶음 안의 다른 신청이 거절되어도 영향을 받지 않는다. 묶음에 중복 신청이 섞여 unique 제약에 걸리면 묶음을 되돌리고 하나씩 다시
+ * 넣어 어느 신청이 중복인지 가린다. 그 밖의 이유로 묶음이 실패하면 그 묶음의 신청은 모두 같은 예외로 끝난다.
+ *
+ * <p>큐는 {@code participation.join-batch.queue-capacity} 개까지만 받고, 가득 차면 기다리지 않고 {@link
+ * ErrorCode#PARTICIPATION_JOIN_BUSY} 로 거절한다. 요청 스레드는 {@code participation.join-batch.timeout} 까지만
+ * 기다린다. 그때 아직 꺼내지 않은 신청은 쓰기 스레드가 건너뛰지만 이미 쓰고 있던 신청은 저장될 수 있으므로, 실패로 끝내지 않고 결과를 모른다고 돌려준다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParticipationJoinBatcher {
+  private static final long RETRY_AFTER_SECONDS = 1;
+  private static final String INSERT_SQL =
+      "INSERT INTO participations (posting_id, participant_id, status, created_at, updated_at) "
+          + "VALUES (?, ?, ?, ?, ?)";
+
+  private final PostingRepository postingRepository;
+  private final UserRepository userRepository;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  @Value("${participation.join-batch.size:100}")
+  private int batchSize;
+
+  @Value("${participation.join-batch.queue-capacity:2000}")
+  private int queueCapacity;
+
+  @Value("${participation.join-batch.timeout:5s}")
+  private Duration timeout;
+
+  private BlockingQueue<JoinRequest> queue;
+  private Thread writer;
+  private volatile boolean running;
+
+  @PostConstruct
+  public void start() {
+    queue = new LinkedBlockingQueue<>(queueCapacity);
+    running = true;
+    writer = new Thread(this::run, "participation-join-writer");
+    writer.setDaemon(true);
+    writer.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writer.interrupt();
+    writer.join();
+  }
+
+  /**
+   * 신청이 저장될 때까지 기다린다. 거절되면 그 이유로 예외를 던진다.
+   *
+   * @return 저장되었으면 {@code true}, 제한 시간 안에 결과가 나오지 않아 저장 여부를 모르면 {@code false}
+   */
+  public boolean join(Long userId, Long postingId) {
+    if (!running) {
+      throw new IllegalStateException("Participation join writer is stopped");
+    }
+    JoinRequest request = new JoinRequest(userId, postingId, new CompletableFuture<>());
+    if (!queue.offer(request)) {
+      throw new DagachiException(ErrorCode.PARTICIPATION_JOIN_BUSY, RETRY_AFTER_SECONDS);
+    }
+    try {
+      request.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+      return true;
+    } catch (TimeoutException e) {
+      // 아직 꺼내지 않았으면 쓰기 스레드가 건너뛴다.
+      request.result().cancel(false);
+      return false;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw new IllegalStateException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for participation join", e);
+    }
+  }
+
+  private void run() {
+    List<JoinRequest> batch = new ArrayList<>(batchSize);
+    while (running) {
+      try {
+        batch.add(queue.take());
+      } catch (InterruptedException e) {
+        break;
+      }
+      // 앞 묶음을 쓰는 동안 쌓인 신청을 기다리지 않고 가져가므로 한가할 때는 하나씩, 몰릴 때는 크게 묶인다.
+      queue.drainTo(batch, batchSize - 1);
+      batch.removeIf(request -> request.result().isDone());
+      if (!batch.isEmpty()) {
+        write(batch);
+      }
+      batch.clear();
+    }
+    queue.drainTo(batch);
+    IllegalStateException stopped = new IllegalStateException("Participation join writer stopped");
+    batch.forEach(request -> request.result().completeExceptionally(stopped));
+  }
+
+  void write(List<JoinRequest> batch) {
+    Map<JoinRequest, RuntimeException> failures;
+    try {
+      failures = new HashMap<>(transactionTemplate.execute(status -> persist(batch)));
+    } catch (DuplicateKeyException e) {
+      failures = writeEach(batch);
+    } catch (RuntimeException e) {
+      log.warn("Failed to save {} participation requests: {}", batch.size(), e.getMessage());
+      failures = new HashMap<>();
+      for (JoinRequest request : batch) {
+        failures.put(request, e);
+      }
+    }
+    for (JoinRequest request : batch) {
+      RuntimeException failure = failures.get(request);
+      if (failure != null) {
+        request.result().completeExceptionally(failure);
+      } else {
+        request.result().complete(null);
+      }
+    }
+  }
+
+  private Map<JoinRequest, RuntimeException> writeEach(List<JoinRequest> batch) {
+    Map<JoinRequest, RuntimeException> failures = new HashMap<>();
+    for (JoinRequest request : batch) {
+      try {
+        failures.putAll(transactionTemplate.execute(status -> persist(List.of(request))));
+      } catch (DuplicateKeyException e) {
+        failures.put(request, new DagachiException(ErrorCode.PARTICIPATION_ALREADY_JOINED));
+      } catch (RuntimeException e) {
+        log.warn("Failed to save participation request: {}", e.getMessage());
+        failures.put(request, e);
+      }
+    }
+    return failures;
+  }
+
+  /** 트랜잭션 안에서 호출한다. 저장하지 못한 신청과 그 이유를 돌려준다. */
+  Map<JoinRequest, DagachiException> persist(List<JoinRequest> batch) {
+    Set<Long> postingIds = new HashSet<>();
+    Set<Long> userIds = new HashSet<>();
+    for (JoinRequest request : batch) {
+      postingIds.add(request.postingId());
+      userIds.add(request.userId());
+    }
+
+    Map<Long, Posting> postings = new HashMap<>();
+    for (Posting posting : postingRepository.findAllById(postingIds)) {
+      postings.put(posting.getId(), posting);
+    }
+    Set<Long> users = new HashSet<>();
+    for (User user : userRepository.findAllById(userIds)) {
+      users.add(user.getId());
+    }
+    // 같은 묶음 안의 중복만 미리 거른다. 이미 저장된 신청과의 중복은 unique 제약이 잡는다.
+    Set<String> requested = new HashSet<>();
+
+    Map<JoinRequest, DagachiException> rejected = new HashMap<>();
+    List<JoinRequest> accepted = new ArrayList<>(batch.size());
+    for (JoinRequest request : batch) {
+      ErrorCode reason = check(request, postings.get(request.postingId()), users, requested);
+      if (reason != null) {
+        rejected.put(request, new DagachiException(reason));
+      } else {
+        accepted.add(request);
+      }
+    }
+
+    if (!accepted.isEmpty()) {
+      // 엔티티를 거치지 않으므로 생성/수정 시각을 직접 넣는다.
+      Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+      jdbcTemplate.batchUpdate(
+          INSERT_SQL,
+          accepted,
+          accepted.size(),
+          (statement, request) -> {
+            statement.setLong(1, request.postingId());
+            statement.setLong(2, request.userId());
+            statement.setString(3, ParticipationStatus.PENDING.name());
+            statement.setTimestamp(4, now);
+            statement.setTimestamp(5, now);
+          });
+    }
+    return rejected;
+  }
+
+  private static ErrorCode check(
+      JoinRequest request, Posting posting, Set<Long> users, Set<String> requested) {
+    if (!users.contains(request.userId())) {
+      return ErrorCode.USER_NOT_FOUND;
+    }
+    if (posting == null) {
+      return ErrorCode.POSTING_NOT_FOUND;
+    }
+    if (posting.getAuthor().getId().equals(request.userId())) {
+      return ErrorCode.USER_NOT_AUTHORIZED;
+    }
+    if (!requested.add(request.postingId() + ":" + request.userId())) {
+      return ErrorCode.PARTICIPATION_ALREADY_JOINED;
+    }
+    if (posting.getStatus().equals(PostingStatus.COMPLETED)
+        || posting.getStatus().equals(PostingStatus.RECRUITED)) {
+      return ErrorCode.POSTING_ALREADY_RECRUITED;
+    }
+    return null;
+  }
+
+  record JoinRequest(Long userId, Long postingId, CompletableFuture<Void> result) {}
+}
@@ -1,7 +1,12 @@
 package com.gwtt.dagachi.service;
 
+import com.gwtt.dagachi.config.RetryOnLockFailure;
+import com.gwtt.dagachi.constants.ParticipationDecision;
 import com.gwtt.dagachi.constants.ParticipationStatus;
 import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.dto.ParticipationDecisionRequestDto;
+import com.gwtt.dagachi.dto.ParticipationDecisionResponseDto;
+import com.gwtt.dagachi.dto.ParticipationDecisionsResponseDto;
 import com.gwtt.dagachi.dto.ParticipationResponseDto;
 import com.gwtt.dagachi.dto.ParticipationSimpleResponseDto;
 import com.gwtt.dagachi.entity.Participation;
@@ -12,27 +17,51 @@ import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.ParticipationRepository;
 import com.gwtt.dagachi.repository.PostingRepository;
 import com.gwtt.dagachi.repository.UserRepository;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ParticipationService {
+  private static final String PARTICIPATIONS_CACHE = "participations";
   private final PostingRepository postingRepository;
   private final UserRepository userRepository;
   private final ParticipationRepository participationRepository;
+  private final PostingGeoIndex postingGeoIndex;
+  private final PostingSearchIndex postingSearchIndex;
+  private final LatestPostingCache latestPostingCache;
+  private final PostingSearchResultCache postingSearchResultCache;
+  private final ParticipationAdmission participationAdmission;
+  private final ParticipationJoinBatcher participationJoinBatcher;
 
   private final CacheManager cacheManager;
+  private final StringRedisTemplate redisTemplate;
 
   @Transactional(readOnly = true)
   @Cacheable(value = "participations", key = "#userId + ':' + #postingId")
@@ -96,37 +125,23 @@ public class ParticipationService {
     return participations.map(ParticipationResponseDto::of);
   }
 
-  @Transactional
+  // Redis 에서 먼저 걸러 받아들인 신청만 모아서 저장한다. 저장 쪽에서 상태를 다시 확인하고 중복은 unique 제약이 막으므로
+  // Redis 를 쓸 수 없어도 결과는 같다. 요청 스레드는 트랜잭션을 열지 않고 저장이 끝나기를 기다린다.
+  // 기다리다 시간이 다 되면 저장되었을 수도 있으므로 Redis 자리는 그대로 두고(어긋나면 reconcile 이 고친다) false 를 돌려준다.
   @CacheEvict(value = "participations", key = "#userId + ':' + #postingId")
-  public void joinPosting(Long userId, Long postingId) {
-    User user =
-        userRepository
-            .findById(userId)
-            .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
-    Posting posting =
-        postingRepository
-            .findByIdForUpdate(postingId)
-            .orElseThrow(() -> new DagachiException(ErrorCode.POSTING_NOT_FOUND));
-
-    if (posting.getAuthor().getId().equals(userId)) {
-      throw new DagachiException(ErrorCode.USER_NOT_AUTHORIZED);
+  public boolean joinPosting(Long userId, Long postingId) {
+    boolean admitted = participationAdmission.admit(postingId, userId);
+    try {
+      return participationJoinBatcher.join(userId, postingId);
+    } catch (RuntimeException e) {
+      if (admitted) {
+        participationAdmission.release(postingId, userId);
+      }
+      throw e;
     }
-
-    if (participationRepository.existsByParticipantAndPosting(user, posting)) {
-      throw new DagachiException(ErrorCode.PARTICIPATION_ALREADY_JOINED);
-    }
-
-    if (posting.getStatus().equals(PostingStatus.COMPLETED)
-        || posting.getStatus().equals(PostingStatus.RECRUITED)) {
-      throw new DagachiException(ErrorCode.POSTING_ALREADY_RECRUITED);
-    }
-
-    Participation participation =
-        Participation.builder().posting(posting).participant(user).build();
-
-    participationRepository.save(participation);
   }
 
+  @RetryOnLockFailure
   @Transactional
   @CacheEvict(value = "participations", key = "#userId + ':' + #postingId")
   public void leavePosting(Long userId, Long postingId) {
@@ -150,8 +165,10 @@ public class ParticipationService {
       throw new DagachiException(ErrorCode.PARTICIPATION_ALREADY_REJECTED);
     }
     participationRepository.delete(participation);
+    participationAdmission.leftAfterCommit(postingId, userId);
   }
 
+  @RetryOnLockFailure
   @Transactional
   public void approveUser(Long authorId, Long participationId) {
     User author =
@@ -160,13 +177,10 @@ public class ParticipationService {
             .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
     Participation participation =
         participationRepository
-            .findByIdWithPostingForUpdate(participationId)
+            .findByIdForUpdate(participationId)
             .orElseThrow(() -> new DagachiException(ErrorCode.PARTICIPATION_NOT_FOUND));
-
-    Posting posting =
-        postingRepository
-            .findByIdForUpdate(participation.getPosting().getId())
-            .orElseThrow(() -> new DagachiException(ErrorCode.POSTING_NOT_FOUND));
+    Posting posting = participation.getPosting();
+    Long participantId = participation.getParticipant().getId();
 
     if (!posting.getAuthor().getId().equals(author.getId())) {
       throw new DagachiException(ErrorCode.POSTING_NOT_AUTHORIZED);
@@ -181,23 +195,27 @@ public class ParticipationService {
       throw new DagachiException(ErrorCode.PARTICIPATION_ALREADY_APPROVED);
     }
 
-    int currentApprovedUsers =
-        participationRepository.countByPostingAndStatus(posting, ParticipationStatus.APPROVED);
-
-    if (currentApprovedUsers >= posting.getMaxCapacity()) {
+    // 아래 UPDATE 가 영속성 컨텍스트를 비우므로 참여 상태를 먼저 바꿔 함께 flush 되게 한다.
+    ParticipationStatus previous = participation.getStatus();
+    participation.setStatus(ParticipationStatus.APPROVED);
+    if (postingRepository.incrementApprovedCount(posting.getId(), LocalDateTime.now()) == 0) {
       throw new DagachiException(ErrorCode.PARTICIPATION_MAX_CAPACITY_EXCEEDED);
     }
 
-    participation.setStatus(ParticipationStatus.APPROVED);
-
-    if (currentApprovedUsers + 1 == posting.getMaxCapacity()) {
-      posting.setStatus(PostingStatus.RECRUITED);
+    Posting updated = reload(posting.getId());
+    boolean filled = updated.getStatus().equals(PostingStatus.RECRUITED);
+    if (filled) {
+      onPostingStatusChanged(updated, PostingStatus.RECRUITING);
+    } else {
+      evictPostingCache(updated.getId());
     }
+    participationAdmission.decidedAfterCommit(
+        updated.getId(), previous, filled ? PostingStatus.RECRUITED : null);
 
-    evictParticipationCache(
-        participation.getParticipant().getId(), participation.getPosting().getId());
+    evictParticipationCache(participantId, updated.getId());
   }
 
+  @RetryOnLockFailure
   @Transactional
   public void rejectUser(Long authorId, Long participationId) {
     User author =
@@ -206,26 +224,181 @@ public class ParticipationService {
             .orElseThrow(() -> new DagachiException(ErrorCode.USER_NOT_FOUND));
     Participation participation =
         participationRepository
-            .findByIdWithPostingForUpdate(participationId)
+            .findByIdForUpdate(participationId)
             .orElseThrow(() -> new DagachiException(ErrorCode.PARTICIPATION_NOT_FOUND));
+    Posting posting = participation.getPosting();
+    Long participantId = participation.getParticipant().getId();
 
+    if (!posting.getAuthor().getId().equals(author.getId())) {
+      throw new DagachiException(ErrorCode.POSTING_NOT_AUTHORIZED);
+    }
+
+    ParticipationStatus previous = participation.getStatus();
+    participation.setStatus(ParticipationStatus.REJECTED);
+    PostingStatus reopened = null;
+
+    // 승인된 참여자를 거절할 때만 자리가 생긴다. 모집 완료였다면 같은 문장에서 다시 모집 중으로 바뀐다.
+    if (previous == ParticipationStatus.APPROVED
+        && postingRepository.decrementApprovedCount(posting.getId(), LocalDateTime.now()) > 0) {
+      Posting updated = reload(posting.getId());
+      if (!updated.getStatus().equals(posting.getStatus())) {
+        reopened = updated.getStatus();
+        onPostingStatusChanged(updated, posting.getStatus());
+      } else {
+        evictPostingCache(updated.getId());
+      }
+    }
+    participationAdmission.decidedAfterCommit(posting.getId(), previous, reopened);
+
+    evictParticipationCache(participantId, posting.getId());
+  }
+
+  // 작성자가 여러 신청을 한 번에 승인/거절한다. 게시글 행을 한 번 잠그고 그 안에서 승인 인원을 직접 센다. 거절을 먼저 적용해
+  // 자리를 비운 뒤, 승인은 신청한 순서대로 남은 자리만큼 적용한다. 적용하지 못한 항목은 이유만 돌려주고 나머지는 계속 처리한다.
+  // 바뀐 참여는 상태별로 한 문장씩, 게시글은 한 문장으로 쓴다.
+  @RetryOnLockFailure
+  @Transactional
+  public ParticipationDecisionsResponseDto decide(
+      Long authorId, Long postingId, List<ParticipationDecisionRequestDto> decisions) {
     Posting posting =
         postingRepository
-            .findByIdForUpdate(participation.getPosting().getId())
+            .findByIdForUpdate(postingId)
             .orElseThrow(() -> new DagachiException(ErrorCode.POSTING_NOT_FOUND));
-
-    if (!posting.getAuthor().getId().equals(author.getId())) {
+    if (!posting.getAuthor().getId().equals(authorId)) {
       throw new DagachiException(ErrorCode.POSTING_NOT_AUTHORIZED);
     }
 
-    participation.setStatus(ParticipationStatus.REJECTED);
+    Set<Long> ids = new HashSet<>();
+    for (ParticipationDecisionRequestDto decision : decisions) {
+      ids.add(decision.getParticipationId());
+    }
+    Map<Long, Participation> participations = new HashMap<>();
+    for (Participation participation :
+        participationRepository.findAllByIdInAndPostingIdForUpdate(ids, postingId)) {
+      participations.put(participation.getId(), participation);
+    }
+
+    List<Integer> order = new ArrayList<>(decisions.size());
+    List<Integer> approvals = new ArrayList<>();
+    for (int i = 0; i < decisions.size(); i++) {
+      if (decisions.get(i).getDecision() == ParticipationDecision.REJECT) {
+        order.add(i);
+      } else {
+        approvals.add(i);
+      }
+    }
+    // 참여 id 는 신청 순서대로 늘어난다.
+    approvals.sort(Comparator.comparing(i -> decisions.get(i).getParticipationId()));
+    order.addAll(approvals);
+
+    PostingStatus previousStatus = posting.getStatus();
+    int maxCapacity = posting.getMaxCapacity();
+    int approvedCount = posting.getApprovedCount();
+    PostingStatus status = previousStatus;
+    // 엔티티를 고치면 아래 UPDATE 전에 한 건씩 flush 되므로 바뀔 상태는 따로 모은다.
+    Map<Long, ParticipationStatus> decided = new LinkedHashMap<>();
+    ParticipationDecisionResponseDto[] results =
+        new ParticipationDecisionResponseDto[decisions.size()];
+
+    for (int i : order) {
+      ParticipationDecisionRequestDto request = decisions.get(i);
+      Participation participation = participations.get(request.getParticipationId());
+      if (participation == null) {
+        results[i] =
+            ParticipationDecisionResponseDto.failed(request, ErrorCode.PARTICIPATION_NOT_FOUND);
+        continue;
+      }
+      ParticipationStatus current =
+          decided.getOrDefault(participation.getId(), participation.getStatus());
+
+      if (request.getDecision() == ParticipationDecision.REJECT) {
+        if (current == ParticipationStatus.REJECTED) {
+          results[i] =
+              ParticipationDecisionResponseDto.failed(
+                  request, ErrorCode.PARTICIPATION_ALREADY_REJECTED);
+          continue;
+        }
+        if (current == ParticipationStatus.APPROVED) {
+          approvedCount--;
+          if (status == PostingStatus.RECRUITED) {
+            status = PostingStatus.RECRUITING;
+          }
+        }
+        decided.put(participation.getId(), ParticipationStatus.REJECTED);
+        results[i] =
+            ParticipationDecisionResponseDto.applied(request, ParticipationStatus.REJECTED);
+        continue;
+      }
+
+      ErrorCode reason = null;
+      if (current == ParticipationStatus.APPROVED) {
+        reason = ErrorCode.PARTICIPATION_ALREADY_APPROVED;
+      } else if (status != PostingStatus.RECRUITING) {
+        reason = ErrorCode.POSTING_ALREADY_RECRUITED;
+      } else if (approvedCount >= maxCapacity) {
+        reason = ErrorCode.PARTICIPATION_MAX_CAPACITY_EXCEEDED;
+      }
+      if (reason != null) {
+        results[i] = ParticipationDecisionResponseDto.failed(request, reason);
+        continue;
+      }
+      approvedCount++;
+      if (approvedCount >= maxCapacity) {
+        status = PostingStatus.RECRUITED;
+      }
+      decided.put(participation.getId(), ParticipationStatus.APPROVED);
+      results[i] = ParticipationDecisionResponseDto.applied(request, ParticipationStatus.APPROVED);
+    }
 
-    if (posting.getStatus().equals(PostingStatus.RECRUITED)) {
-      posting.setStatus(PostingStatus.RECRUITING);
+    List<Long> approvedIds = new ArrayList<>();
+    List<Long> rejectedIds = new ArrayList<>();
+    List<Long> participantIds = new ArrayList<>();
+    int decidedPending = 0;
+    for (Map.Entry<Long, ParticipationStatus> entry : decided.entrySet()) {
+      Participation participation = participations.get(entry.getKey());
+      if (participation.getStatus() == entry.getValue()) {
+        continue;
+      }
+      (entry.getValue() == ParticipationStatus.APPROVED ? approvedIds : rejectedIds)
+          .add(entry.getKey());
+      participantIds.add(participation.getParticipant().getId());
+      if (participation.getStatus() == ParticipationStatus.PENDING) {
+        decidedPending++;
+      }
     }
 
-    evictParticipationCache(
-        participation.getParticipant().getId(), participation.getPosting().getId());
+    LocalDateTime now = LocalDateTime.now();
+    if (!approvedIds.isEmpty()) {
+      participationRepository.updateStatusByIdIn(approvedIds, ParticipationStatus.APPROVED, now);
+    }
+    if (!rejectedIds.isEmpty()) {
+      participationRepository.updateStatusByIdIn(rejectedIds, ParticipationStatus.REJECTED, now);
+    }
+    boolean countChanged = approvedCount != posting.getApprovedCount();
+    boolean statusChanged = status != previousStatus;
+    if (countChanged || statusChanged) {
+      postingRepository.updateApprovedCount(postingId, approvedCount, status, now);
+      if (statusChanged) {
+        onPostingStatusChanged(reload(postingId), previousStatus);
+      } else {
+        evictPostingCache(postingId);
+      }
+    }
+    participationAdmission.decidedAfterCommit(
+        postingId, decidedPending, statusChanged ? status : null);
+    evictParticipationCaches(participantIds, postingId);
+
+    return ParticipationDecisionsResponseDto.builder()
+        .postingStatus(status)
+        .seatsLeft(Math.max(0, maxCapacity - approvedCount))
+        .results(Arrays.asList(results))
+        .build();
+  }
+
+  private Posting reload(Long postingId) {
+    return postingRepository
+        .findByIdFetched(postingId)
+        .orElseThrow(() -> new DagachiException(ErrorCode.POSTING_NOT_FOUND));
   }
 
   private void evictParticipationCache(Long userId, Long postingId) {
@@ -233,11 +406,71 @@ public class ParticipationService {
         new TransactionSynchronization() {
           @Override
           public void afterCommit() {
-            Cache cache = cacheManager.getCache("participations");
+            Cache cache = cacheManager.getCache(PARTICIPATIONS_CACHE);
             if (cache != null) {
               cache.evict(userId + ":" + postingId);
             }
           }
         });
   }
+
+  // 여러 참여자의 캐시를 커밋 후 한 번의 파이프라인으로 지운다. Redis 캐시가 아니면 하나씩 지운다.
+  private void evictParticipationCaches(List<Long> userIds, Long postingId) {
+    if (userIds.isEmpty()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            Cache cache = cacheManager.getCache(PARTICIPATIONS_CACHE);
+            if (cache instanceof RedisCache redisCache) {
+              String prefix =
+                  redisCache.getCacheConfiguration().getKeyPrefixFor(PARTICIPATIONS_CACHE);
+              try {
+                redisTemplate.executePipelined(
+                    (RedisCallback<Object>)
+                        connection -> {
+                          for (Long userId : userIds) {
+                            connection
+                                .keyCommands()
+                                .del(
+                                    (prefix + userId + ":" + postingId)
+                                        .getBytes(StandardCharsets.UTF_8));
+                          }
+                          return null;
+                        });
+              } catch (DataAccessException e) {
+                log.warn("Failed to evict participation caches: {}", e.getMessage());
+              }
+            } else if (cache != null) {
+              userIds.forEach(userId -> cache.evict(userId + ":" + postingId));
+            }
+          }
+        });
+  }
+
+  // 승인 인원이 바뀌면 남은 자리가 달라지므로 캐시된 상세 정보를 커밋 후에 지운다.
+  private void evictPostingCache(Long postingId) {
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            Cache cache = cacheManager.getCache("posting");
+            if (cache != null) {
+              cache.evict(postingId);
+            }
+          }
+        });
+  }
+
+  // 모집 상태가 바뀌면 캐시된 상세 정보와 주변 검색/검색 인덱스도 커밋 후에 맞춘다.
+  private void onPostingStatusChanged(Posting posting, PostingStatus previousStatus) {
+    evictPostingCache(posting.getId());
+    postingGeoIndex.updateAfterCommit(posting);
+    postingSearchIndex.indexAfterCommit(posting);
+    latestPostingCache.putAfterCommit(posting);
+    postingSearchResultCache.invalidateAfterCommit(posting.getType(), previousStatus);
+    postingSearchResultCache.invalidateAfterCommit(posting.getType(), posting.getStatus());
+  }
 }
@@ -0,0 +1,164 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.util.GeoGridIndex;
+import com.gwtt.dagachi.util.GeoGridIndex.Neighbor;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 모집 중(RECRUITING)이고 위치가 있는 게시글만 담는 메모리 격자 인덱스.
+ *
+ * <p>시작할 때 DB 에서 한 번 채우고, 이후에는 게시글 생성/수정/삭제와 참여 승인/거절로 모집 상태가 바뀔 때 커밋 후에 갱신한다. 다른 인스턴스의 변경은 Redis
+ * pub/sub 으로 전달받는다. 적재가 끝나기 전에는 {@link #isReady()} 가 false 이므로 호출하는 쪽이 DB 로 대신 조회해야 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingGeoIndex implements MessageListener {
+  public static final String CHANGED_CHANNEL = "postings:geo-changed";
+  private static final String PUT = "put";
+  private static final String REMOVE = "remove";
+
+  private final PostingRepository postingRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${posting.geo-index.cell-degrees:0.02}")
+  private double cellDegrees;
+
+  private volatile GeoGridIndex index;
+  private volatile boolean ready;
+  // 적재 중에 변경 이벤트를 받은 게시글. 적재 쿼리가 읽은 예전 값으로 덮어쓰지 않도록 건너뛴다.
+  private volatile Set<Long> changedDuringBuild;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    GeoGridIndex newIndex = new GeoGridIndex(cellDegrees);
+    Set<Long> changed = ConcurrentHashMap.newKeySet();
+    ready = false;
+    changedDuringBuild = changed;
+    index = newIndex;
+    for (PostingRepository.PostingGeoPoint point :
+        postingRepository.findGeoPointsByStatus(PostingStatus.RECRUITING)) {
+      if (!changed.contains(point.getId())) {
+        newIndex.put(
+            point.getId(), point.getLatitude(), point.getLongitude(), point.getType().ordinal());
+      }
+    }
+    changedDuringBuild = null;
+    ready = true;
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  public List<Neighbor> withinRadius(
+      double latitude, double longitude, double radiusKm, PostingType type, int limit) {
+    return index.withinRadius(latitude, longitude, radiusKm, tagOf(type), limit);
+  }
+
+  public List<Neighbor> nearest(
+      double latitude, double longitude, int k, PostingType type, double maxRadiusKm) {
+    return index.nearest(latitude, longitude, k, tagOf(type), maxRadiusKm);
+  }
+
+  /** 게시글의 현재 상태를 트랜잭션 커밋 후 인덱스에 반영한다. 모집 중이 아니거나 위치가 없으면 인덱스에서 뺀다. */
+  public void updateAfterCommit(Posting posting) {
+    Long id = posting.getId();
+    Location location = posting.getLocation();
+    String message;
+    if (posting.getStatus() == PostingStatus.RECRUITING
+        && location != null
+        && location.getLatitude() != null
+        && location.getLongitude() != null) {
+      message =
+          String.join(
+              ":",
+              PUT,
+              String.valueOf(id),
+              String.valueOf(location.getLatitude()),
+              String.valueOf(location.getLongitude()),
+              posting.getType().name());
+    } else {
+      message = REMOVE + ":" + id;
+    }
+    afterCommit(message);
+  }
+
+  public void removeAfterCommit(Long postingId) {
+    afterCommit(REMOVE + ":" + postingId);
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    apply(new String(message.getBody(), StandardCharsets.UTF_8));
+  }
+
+  private void afterCommit(String message) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publish(message);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            publish(message);
+          }
+        });
+  }
+
+  private void publish(String message) {
+    apply(message);
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, message);
+    } catch (DataAccessException e) {
+      log.warn("Failed to broadcast posting geo index change: {}", e.getMessage());
+    }
+  }
+
+  private void apply(String message) {
+    GeoGridIndex current = index;
+    if (current == null) {
+      return;
+    }
+    String[] parts = message.split(":");
+    long id = Long.parseLong(parts[1]);
+    Set<Long> changed = changedDuringBuild;
+    if (changed != null) {
+      changed.add(id);
+    }
+    if (PUT.equals(parts[0])) {
+      current.put(
+          id,
+          Double.parseDouble(parts[2]),
+          Double.parseDouble(parts[3]),
+          PostingType.valueOf(parts[4]).ordinal());
+    } else {
+      current.remove(id);
+    }
+  }
+
+  private static int tagOf(PostingType type) {
+    return type != null ? type.ordinal() : GeoGridIndex.ANY_TAG;
+  }
+}
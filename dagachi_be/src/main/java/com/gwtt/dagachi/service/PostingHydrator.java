@@ -0,0 +1,117 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.dto.PostingResponseDto;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.repository.PostingRepository;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 인덱스 등이 돌려준 게시글 id 목록을 {@code posting} 캐시를 거쳐 상세 정보로 채운다.
+ *
+ * <p>Redis 캐시면 한 번의 MGET 으로 모아 읽는다. 캐시에 없는 게시글은 한 번의 쿼리로 모아 읽고 캐시에 넣는다. 그 사이 지워진 게시글은 결과에서 빠진다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingHydrator {
+  private static final String CACHE_NAME = "posting";
+
+  private final PostingRepository postingRepository;
+  private final CacheManager cacheManager;
+  private final StringRedisTemplate redisTemplate;
+
+  /** {@code ids} 의 순서를 유지해 돌려준다. */
+  public List<PostingResponseDto> hydrate(List<Long> ids) {
+    Cache cache = cacheManager.getCache(CACHE_NAME);
+    Map<Long, PostingResponseDto> found = getCached(cache, ids);
+    List<Long> missing = new ArrayList<>();
+    for (Long id : ids) {
+      if (!found.containsKey(id)) {
+        missing.add(id);
+      }
+    }
+
+    if (!missing.isEmpty()) {
+      for (Posting posting : postingRepository.findAllActiveByIdIn(missing)) {
+        PostingResponseDto dto = PostingResponseDto.of(posting);
+        found.put(posting.getId(), dto);
+        putCached(cache, posting.getId(), dto);
+      }
+    }
+
+    List<PostingResponseDto> result = new ArrayList<>(ids.size());
+    for (Long id : ids) {
+      PostingResponseDto dto = found.get(id);
+      if (dto != null) {
+        result.add(dto);
+      }
+    }
+    return result;
+  }
+
+  private Map<Long, PostingResponseDto> getCached(Cache cache, List<Long> ids) {
+    Map<Long, PostingResponseDto> found = new HashMap<>();
+    if (cache == null || ids.isEmpty()) {
+      return found;
+    }
+    try {
+      if (cache instanceof RedisCache redisCache) {
+        RedisCacheConfiguration configuration = redisCache.getCacheConfiguration();
+        String prefix = configuration.getKeyPrefixFor(CACHE_NAME);
+        byte[][] keys = new byte[ids.size()][];
+        for (int i = 0; i < ids.size(); i++) {
+          keys[i] = (prefix + ids.get(i)).getBytes(StandardCharsets.UTF_8);
+        }
+        List<byte[]> values =
+            redisTemplate.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(keys));
+        for (int i = 0; values != null && i < ids.size(); i++) {
+          byte[] value = values.get(i);
+          Object cached =
+              value != null
+                  ? configuration.getValueSerializationPair().read(ByteBuffer.wrap(value))
+                  : null;
+          if (cached instanceof PostingResponseDto dto) {
+            found.put(ids.get(i), dto);
+          }
+        }
+        return found;
+      }
+      for (Long id : ids) {
+        PostingResponseDto cached = cache.get(id, PostingResponseDto.class);
+        if (cached != null) {
+          found.put(id, cached);
+        }
+      }
+    } catch (DataAccessException e) {
+      log.warn("Posting cache unavailable: {}", e.getMessage());
+    }
+    return found;
+  }
+
+  private void putCached(Cache cache, Long id, PostingResponseDto dto) {
+    if (cache == null) {
+      return;
+    }
+    try {
+      cache.put(id, dto);
+    } catch (DataAccessException e) {
+      log.warn("Posting cache unavailable: {}", e.getMessage());
+    }
+  }
+}
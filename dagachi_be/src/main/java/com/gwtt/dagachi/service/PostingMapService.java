@@ -0,0 +1,263 @@
+package com.gwtt.dagachi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.MapViewport;
+import com.gwtt.dagachi.dto.PostingMapClusterDto;
+import com.gwtt.dagachi.dto.PostingMapPinDto;
+import com.gwtt.dagachi.dto.PostingMapResponseDto;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.PostingMapCellCount;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.util.MapGrid;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 지도 화면에 그릴 게시글 클러스터/핀 조회.
+ *
+ * <p>확대 수준이 {@code posting.map.pin-zoom} 보다 낮으면 {@link MapGrid} 격자 칸별 개수와 무게중심을 돌려준다. 칸별 집계는 {@code
+ * (zoom, 칸)} 단위로 Redis 에 캐시하고, 캐시에 없는 칸만 한 번의 GROUP BY 쿼리로 채운다. 게시글이 생기거나 옮겨지거나 지워지면 그 좌표가 속한 모든 확대
+ * 수준의 칸을 커밋 후에 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostingMapService {
+  private static final String KEY_PREFIX = "posting:map:";
+
+  private final PostingRepository postingRepository;
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${posting.map.pin-zoom:15}")
+  private int pinZoom;
+
+  @Value("${posting.map.max-cells:1024}")
+  private int maxCells;
+
+  @Value("${posting.map.max-pins:500}")
+  private int maxPins;
+
+  @Value("${posting.map.cell-ttl:10m}")
+  private Duration cellTtl;
+
+  public PostingMapResponseDto getMap(String bbox, int zoom) {
+    if (zoom < 0 || zoom > MapGrid.MAX_ZOOM) {
+      throw new DagachiException(ErrorCode.INVALID_MAP_VIEWPORT);
+    }
+    MapViewport viewport = MapViewport.parse(bbox);
+    if (zoom >= pinZoom) {
+      return PostingMapResponseDto.ofPins(
+          zoom,
+          postingRepository.findInViewport(viewport, maxPins).stream()
+              .map(PostingMapPinDto::of)
+              .toList());
+    }
+    return PostingMapResponseDto.ofClusters(zoom, getClusters(viewport, zoom));
+  }
+
+  /** 게시글 좌표가 바뀌는 트랜잭션에서 호출한다. 바뀌기 전과 후의 좌표를 모두 넘긴다. */
+  public void evictAfterCommit(Location... locations) {
+    Set<String> keys = new LinkedHashSet<>();
+    for (Location location : locations) {
+      if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+        continue;
+      }
+      for (int zoom = 0; zoom < pinZoom; zoom++) {
+        keys.add(
+            cellKey(
+                zoom,
+                MapGrid.row(location.getLatitude(), zoom),
+                MapGrid.column(location.getLongitude(), zoom)));
+      }
+    }
+    if (keys.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      evict(keys);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            evict(keys);
+          }
+        });
+  }
+
+  private List<PostingMapClusterDto> getClusters(MapViewport viewport, int zoom) {
+    int minRow = MapGrid.row(viewport.minLatitude(), zoom);
+    int maxRow = MapGrid.row(viewport.maxLatitude(), zoom);
+    int minColumn = MapGrid.column(viewport.minLongitude(), zoom);
+    int maxColumn = MapGrid.column(viewport.maxLongitude(), zoom);
+    long cellCount = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+    if (cellCount > maxCells) {
+      throw new DagachiException(ErrorCode.MAP_VIEWPORT_TOO_LARGE);
+    }
+
+    List<String> keys = new ArrayList<>((int) cellCount);
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        keys.add(cellKey(zoom, row, column));
+      }
+    }
+    Map<String, CellAggregate> aggregates = readCached(keys);
+    if (aggregates.size() < keys.size()) {
+      aggregates.putAll(loadMissing(zoom, minRow, maxRow, minColumn, maxColumn, aggregates));
+    }
+
+    List<PostingMapClusterDto> clusters = new ArrayList<>();
+    for (String key : keys) {
+      CellAggregate aggregate = aggregates.get(key);
+      if (aggregate != null && aggregate.count() > 0) {
+        clusters.add(
+            PostingMapClusterDto.of(
+                aggregate.latitudeSum() / aggregate.count(),
+                aggregate.longitudeSum() / aggregate.count(),
+                aggregate.count(),
+                aggregate.typeCounts()));
+      }
+    }
+    return clusters;
+  }
+
+  private Map<String, CellAggregate> readCached(List<String> keys) {
+    Map<String, CellAggregate> cached = new HashMap<>();
+    try {
+      List<String> values = redisTemplate.opsForValue().multiGet(keys);
+      if (values == null) {
+        return cached;
+      }
+      for (int i = 0; i < keys.size(); i++) {
+        if (values.get(i) != null) {
+          cached.put(keys.get(i), objectMapper.readValue(values.get(i), CellAggregate.class));
+        }
+      }
+    } catch (DataAccessException | JsonProcessingException e) {
+      log.warn("Map cell cache unavailable: {}", e.getMessage());
+    }
+    return cached;
+  }
+
+  // 캐시에 없는 칸을 모두 덮는 범위를 한 번에 집계하고, 게시글이 없는 칸도 빈 집계로 캐시한다.
+  private Map<String, CellAggregate> loadMissing(
+      int zoom,
+      int minRow,
+      int maxRow,
+      int minColumn,
+      int maxColumn,
+      Map<String, CellAggregate> cached) {
+    int missingMinRow = Integer.MAX_VALUE;
+    int missingMaxRow = Integer.MIN_VALUE;
+    int missingMinColumn = Integer.MAX_VALUE;
+    int missingMaxColumn = Integer.MIN_VALUE;
+    for (int row = minRow; row <= maxRow; row++) {
+      for (int column = minColumn; column <= maxColumn; column++) {
+        if (!cached.containsKey(cellKey(zoom, row, column))) {
+          missingMinRow = Math.min(missingMinRow, row);
+          missingMaxRow = Math.max(missingMaxRow, row);
+          missingMinColumn = Math.min(missingMinColumn, column);
+          missingMaxColumn = Math.max(missingMaxColumn, column);
+        }
+      }
+    }
+
+    Map<String, CellAggregate> loaded = new HashMap<>();
+    for (int row = missingMinRow; row <= missingMaxRow; row++) {
+      for (int column = missingMinColumn; column <= missingMaxColumn; column++) {
+        String key = cellKey(zoom, row, column);
+        if (!cached.containsKey(key)) {
+          loaded.put(key, CellAggregate.EMPTY);
+        }
+      }
+    }
+    for (PostingMapCellCount count :
+        postingRepository.countByMapCell(
+            MapGrid.cellDegrees(zoom),
+            missingMinRow,
+            missingMaxRow,
+            missingMinColumn,
+            missingMaxColumn)) {
+      loaded.computeIfPresent(
+          cellKey(zoom, count.row(), count.column()), (key, aggregate) -> aggregate.plus(count));
+    }
+    writeCache(loaded);
+    return loaded;
+  }
+
+  private void writeCache(Map<String, CellAggregate> aggregates) {
+    Expiration expiration = Expiration.from(cellTtl);
+    try {
+      Map<byte[], byte[]> values = new HashMap<>();
+      for (Map.Entry<String, CellAggregate> entry : aggregates.entrySet()) {
+        values.put(
+            entry.getKey().getBytes(StandardCharsets.UTF_8),
+            objectMapper.writeValueAsBytes(entry.getValue()));
+      }
+      redisTemplate.executePipelined(
+          (RedisCallback<Object>)
+              connection -> {
+                values.forEach(
+                    (key, value) ->
+                        connection
+                            .stringCommands()
+                            .set(key, value, expiration, SetOption.upsert()));
+                return null;
+              });
+    } catch (DataAccessException | JsonProcessingException e) {
+      log.warn("Failed to cache map cells: {}", e.getMessage());
+    }
+  }
+
+  private void evict(Set<String> keys) {
+    try {
+      redisTemplate.delete(keys);
+    } catch (DataAccessException e) {
+      log.warn("Failed to evict map cells: {}", e.getMessage());
+    }
+  }
+
+  private static String cellKey(int zoom, int row, int column) {
+    return KEY_PREFIX + zoom + ":" + row + ":" + column;
+  }
+
+  record CellAggregate(
+      long count, double latitudeSum, double longitudeSum, Map<PostingType, Long> typeCounts) {
+    static final CellAggregate EMPTY = new CellAggregate(0, 0, 0, Map.of());
+
+    CellAggregate plus(PostingMapCellCount cellCount) {
+      Map<PostingType, Long> types = new EnumMap<>(PostingType.class);
+      types.putAll(typeCounts);
+      types.merge(cellCount.type(), cellCount.count(), Long::sum);
+      return new CellAggregate(
+          count + cellCount.count(),
+          latitudeSum + cellCount.latitudeSum(),
+          longitudeSum + cellCount.longitudeSum(),
+          types);
+    }
+  }
+}
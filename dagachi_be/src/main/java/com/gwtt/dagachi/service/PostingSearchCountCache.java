@@ -0,0 +1,50 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.util.HashUtils;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 검색 조건별 전체 개수를 Redis 에 짧게 캐시한다.
+ *
+ * <p>페이지 번호를 그리기 위한 값이라 TTL 동안의 오차는 허용한다. Redis 에 접근할 수 없으면 매번 직접 센다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingSearchCountCache {
+  private static final String KEY_PREFIX = "posting:search-count:";
+
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${posting.search.count-ttl:30s}")
+  private Duration ttl;
+
+  public long get(PostingSearchCondition condition, LongSupplier counter) {
+    String key = KEY_PREFIX + HashUtils.sha256Hex(condition.toFilterKey());
+    try {
+      String cached = redisTemplate.opsForValue().get(key);
+      if (cached != null) {
+        return Long.parseLong(cached);
+      }
+    } catch (DataAccessException e) {
+      log.warn("Search count cache unavailable: {}", e.getMessage());
+      return counter.getAsLong();
+    }
+
+    long count = counter.getAsLong();
+    try {
+      redisTemplate.opsForValue().set(key, String.valueOf(count), ttl);
+    } catch (DataAccessException e) {
+      log.warn("Search count cache unavailable: {}", e.getMessage());
+    }
+    return count;
+  }
+}
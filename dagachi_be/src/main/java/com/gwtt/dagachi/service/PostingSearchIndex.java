@@ -0,0 +1,553 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.PostingRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherFactory;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 게시글 검색용 로컬 Lucene 인덱스.
+ *
+ * <p>제목/설명은 Nori 로 형태소 분석하고, 종류/상태는 keyword, 위치는 {@link LatLonPoint} 로 색인한다. 인덱스는 {@code
+ * posting.lucene.path} 에 {@link MMapDirectory} 로 저장되어 재시작하면 그대로 다시 연다. 마지막 commit 이후 MySQL 에서 바뀐
+ * 게시글만 따라잡고, 인덱스가 비어 있을 때만 전체를 다시 만든다.
+ *
+ * <p>게시글 쓰기는 트랜잭션 커밋 후 바로 반영하고 Redis pub/sub 으로 다른 인스턴스에 알린다. 알림을 받은 인스턴스는 그 게시글을 DB 에서 다시 읽어 반영한다.
+ * 알림을 놓친 변경은 {@code posting.lucene.catch-up-interval-millis} 마다 watermark 이후 바뀐 게시글을 다시 읽어 따라잡는다.
+ * watermark 는 따라잡기/재색인에서 읽은 게시글의 수정/삭제 시각 중 가장 늦은 값이므로 이 서버의 시계와 상관없고, 주기적인 commit 은 watermark 를
+ * 옮기지 않는다.
+ *
+ * <p>따라잡기나 재색인이 DB 를 읽는 동안 반영된 변경은 기록해 두었다가, 다 읽은 뒤 그 게시글만 DB 에서 다시 읽어 덮어쓴다. 먼저 읽은 예전 내용이 나중의 수정이나
+ * 삭제를 덮어써 지운 게시글이 되살아나지 않는다. 검색에 보이게 하는 refresh 와 디스크 commit 은 각각 정해진 주기로 모아서 한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingSearchIndex implements MessageListener {
+  public static final String CHANGED_CHANNEL = "postings:search-changed";
+  private static final String ID = "id";
+  private static final String ID_SORT = "id_sort";
+  private static final String TITLE = "title";
+  private static final String DESCRIPTION = "description";
+  private static final String TYPE = "type";
+  private static final String STATUS = "status";
+  private static final String LOCATION = "location";
+  private static final String CREATED_AT = "created_at";
+  private static final String WATERMARK = "watermark";
+  private static final float TITLE_BOOST = 2f;
+  private static final int REBUILD_BATCH_SIZE = 500;
+  // updatedAt 은 커밋보다 먼저 찍히므로, 긴 트랜잭션의 변경을 놓치지 않도록 따라잡기 범위를 넉넉히 잡는다.
+  private static final long CATCH_UP_MARGIN_MINUTES = 5;
+  // 색인한 게시글이 없을 때의 watermark
+  private static final LocalDateTime EMPTY_WATERMARK = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+  private final PostingRepository postingRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${posting.lucene.enabled:false}")
+  private boolean enabled;
+
+  @Value("${posting.lucene.path:data/lucene/postings}")
+  private Path path;
+
+  @Value("${posting.lucene.refresh-interval-millis:1000}")
+  private long refreshIntervalMillis;
+
+  @Value("${posting.lucene.commit-interval-millis:5000}")
+  private long commitIntervalMillis;
+
+  @Value("${posting.lucene.catch-up-interval-millis:60000}")
+  private long catchUpIntervalMillis;
+
+  @Value("${posting.lucene.max-result-window:10000}")
+  private int maxResultWindow;
+
+  private final Analyzer analyzer = new KoreanAnalyzer();
+  private final String instanceId = UUID.randomUUID().toString();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  // 따라잡기와 재색인을 한 번에 하나만 실행한다.
+  private final ReentrantLock rebuildLock = new ReentrantLock();
+  // 변경 반영과 DB 를 다 읽은 뒤의 재확인이 서로 끼어들지 않게 한다.
+  private final Object applyLock = new Object();
+  // 따라잡기/재색인이 DB 를 읽는 동안 반영된 게시글. applyLock 으로 보호한다.
+  private Set<Long> changedDuringScan;
+  private volatile LocalDateTime watermark;
+  private MMapDirectory directory;
+  private IndexWriter writer;
+  private SearcherManager searcherManager;
+  private ScheduledExecutorService scheduler;
+  private volatile boolean ready;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void open() throws IOException {
+    if (!enabled) {
+      return;
+    }
+    directory = new MMapDirectory(path);
+    boolean exists = DirectoryReader.indexExists(directory);
+    writer =
+        new IndexWriter(
+            directory, new IndexWriterConfig(analyzer).setOpenMode(OpenMode.CREATE_OR_APPEND));
+    searcherManager = new SearcherManager(writer, new SearcherFactory());
+
+    if (exists) {
+      String committed = readWatermark();
+      watermark = committed != null ? LocalDateTime.parse(committed) : null;
+      catchUp();
+    } else {
+      rebuild();
+    }
+
+    scheduler =
+        Executors.newSingleThreadScheduledExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "posting-search-index");
+              thread.setDaemon(true);
+              return thread;
+            });
+    scheduler.scheduleWithFixedDelay(
+        this::refresh, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        this::commitIfDirty, commitIntervalMillis, commitIntervalMillis, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(
+        this::scheduledCatchUp,
+        catchUpIntervalMillis,
+        catchUpIntervalMillis,
+        TimeUnit.MILLISECONDS);
+    ready = true;
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    if (writer == null) {
+      return;
+    }
+    ready = false;
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+    commitIfDirty();
+    searcherManager.close();
+    writer.close();
+    directory.close();
+  }
+
+  /** 검색 조건을 이 인덱스로 처리할 수 있는지 여부. 작성자 닉네임 부분 일치와 승인 인원은 색인하지 않으므로 DB 로 보낸다. */
+  public boolean supports(PostingSearchCondition condition, long offset, int size) {
+    return ready
+        && condition.getNormalizedAuthorNickname() == null
+        && !condition.isOpenSeatsOnly()
+        && offset + size <= maxResultWindow;
+  }
+
+  /** 조건에 맞는 게시글 id 를 정렬 순서대로 돌려준다. */
+  public SearchResult search(PostingSearchCondition condition, long offset, int size)
+      throws IOException {
+    Query query = toQuery(condition);
+    IndexSearcher searcher = searcherManager.acquire();
+    try {
+      TopDocs topDocs = searcher.search(query, (int) offset + size, toSort(condition));
+      List<Long> ids = new ArrayList<>(size);
+      ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+      for (int i = (int) offset; i < scoreDocs.length; i++) {
+        ids.add(Long.parseLong(searcher.storedFields().document(scoreDocs[i].doc).get(ID)));
+      }
+      return new SearchResult(ids, searcher.count(query));
+    } finally {
+      searcherManager.release(searcher);
+    }
+  }
+
+  /** 게시글의 현재 내용을 커밋 후 인덱스에 반영한다. 같은 id 의 문서는 교체된다. */
+  public void indexAfterCommit(Posting posting) {
+    if (!enabled) {
+      return;
+    }
+    Document document = toDocument(posting);
+    Long id = posting.getId();
+    afterCommit(id, () -> writer.updateDocument(idTerm(id), document));
+  }
+
+  public void deleteAfterCommit(Long postingId) {
+    if (!enabled) {
+      return;
+    }
+    afterCommit(postingId, () -> writer.deleteDocuments(idTerm(postingId)));
+  }
+
+  /** 다른 인스턴스가 바꾼 게시글을 DB 에서 다시 읽어 반영한다. 메시지는 {@code 인스턴스 id:게시글 id} 다. */
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(":");
+    if (writer == null || instanceId.equals(parts[0])) {
+      return;
+    }
+    Long id = Long.valueOf(parts[1]);
+    try {
+      synchronized (applyLock) {
+        if (changedDuringScan != null) {
+          changedDuringScan.add(id);
+        }
+        reload(List.of(id));
+      }
+      dirty.set(true);
+    } catch (IOException | DataAccessException e) {
+      log.warn("Failed to apply posting search index change {}: {}", id, e.getMessage());
+    }
+  }
+
+  /** MySQL 의 삭제되지 않은 게시글로 인덱스를 처음부터 다시 만든다. 색인한 게시글 수를 돌려준다. */
+  public long rebuild() throws IOException {
+    if (writer == null) {
+      throw new DagachiException(ErrorCode.SEARCH_INDEX_DISABLED);
+    }
+    rebuildLock.lock();
+    try {
+      LocalDateTime highWater = EMPTY_WATERMARK;
+      long indexed = 0;
+      beginScan();
+      try {
+        writer.deleteAll();
+        long afterId = 0;
+        while (true) {
+          List<Posting> postings =
+              postingRepository.findActiveAfterId(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+          for (Posting posting : postings) {
+            // 읽는 동안 반영된 변경과 겹칠 수 있으므로 추가가 아니라 교체한다.
+            writer.updateDocument(idTerm(posting.getId()), toDocument(posting));
+            highWater = later(highWater, posting.getUpdatedAt());
+          }
+          indexed += postings.size();
+          if (postings.size() < REBUILD_BATCH_SIZE) {
+            break;
+          }
+          afterId = postings.get(postings.size() - 1).getId();
+        }
+      } finally {
+        endScan();
+      }
+      watermark = highWater;
+      commit();
+      searcherManager.maybeRefreshBlocking();
+      log.info("Rebuilt posting search index with {} postings", indexed);
+      return indexed;
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  // watermark 이후 바뀌거나 지워진 게시글만 다시 반영하고, 읽은 게시글의 가장 늦은 수정/삭제 시각으로 watermark 를 옮긴다.
+  void catchUp() throws IOException {
+    rebuildLock.lock();
+    try {
+      if (watermark == null) {
+        rebuild();
+        return;
+      }
+      LocalDateTime highWater = watermark;
+      LocalDateTime since = highWater.minusMinutes(CATCH_UP_MARGIN_MINUTES);
+      List<Posting> updated;
+      List<PostingRepository.PostingDeletion> deleted;
+      beginScan();
+      try {
+        updated = postingRepository.findActiveUpdatedSince(since);
+        for (Posting posting : updated) {
+          writer.updateDocument(idTerm(posting.getId()), toDocument(posting));
+          highWater = later(highWater, posting.getUpdatedAt());
+        }
+        deleted = postingRepository.findDeletedSince(since);
+        for (PostingRepository.PostingDeletion deletion : deleted) {
+          writer.deleteDocuments(idTerm(deletion.getId()));
+          highWater = later(highWater, deletion.getDeletedAt());
+        }
+      } finally {
+        endScan();
+      }
+      watermark = highWater;
+      commit();
+      searcherManager.maybeRefreshBlocking();
+      log.debug(
+          "Caught up posting search index: {} updated, {} deleted", updated.size(), deleted.size());
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  private void scheduledCatchUp() {
+    // 재색인 중이면 재색인이 같은 일을 한다.
+    if (!rebuildLock.tryLock()) {
+      return;
+    }
+    try {
+      catchUp();
+    } catch (IOException | RuntimeException e) {
+      // 예외가 나가면 다음 실행이 취소되므로 여기서 멈춘다.
+      log.warn("Failed to catch up posting search index: {}", e.getMessage());
+    } finally {
+      rebuildLock.unlock();
+    }
+  }
+
+  private void beginScan() {
+    synchronized (applyLock) {
+      changedDuringScan = new HashSet<>();
+    }
+  }
+
+  // 읽는 동안 반영된 게시글은 방금 쓴 내용이 그보다 오래되었을 수 있으므로 DB 에서 다시 읽어 덮어쓴다.
+  private void endScan() throws IOException {
+    synchronized (applyLock) {
+      Set<Long> changed = changedDuringScan;
+      changedDuringScan = null;
+      if (changed != null && !changed.isEmpty()) {
+        reload(changed);
+      }
+    }
+  }
+
+  // applyLock 을 잡고 호출한다. 지워졌거나 없는 게시글은 인덱스에서 뺀다.
+  private void reload(Collection<Long> ids) throws IOException {
+    Set<Long> active = new HashSet<>();
+    for (Posting posting : postingRepository.findAllActiveByIdIn(ids)) {
+      writer.updateDocument(idTerm(posting.getId()), toDocument(posting));
+      active.add(posting.getId());
+    }
+    for (Long id : ids) {
+      if (!active.contains(id)) {
+        writer.deleteDocuments(idTerm(id));
+      }
+    }
+  }
+
+  private String readWatermark() {
+    if (writer.getLiveCommitData() == null) {
+      return null;
+    }
+    for (Map.Entry<String, String> entry : writer.getLiveCommitData()) {
+      if (WATERMARK.equals(entry.getKey())) {
+        return entry.getValue();
+      }
+    }
+    return null;
+  }
+
+  void refresh() {
+    try {
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      log.warn("Failed to refresh posting search index: {}", e.getMessage());
+    }
+  }
+
+  // 따라잡기/재색인 중에는 반쯤 만든 인덱스를 commit 하지 않는다. 그 작업이 끝나면서 commit 한다.
+  private void commitIfDirty() {
+    if (rebuildLock.isLocked() || !dirty.getAndSet(false)) {
+      return;
+    }
+    try {
+      commit();
+    } catch (IOException e) {
+      dirty.set(true);
+      log.warn("Failed to commit posting search index: {}", e.getMessage());
+    }
+  }
+
+  // 커밋 후 반영한 변경은 watermark 를 옮기지 않는다. 다른 인스턴스의 변경은 watermark 이후부터 따라잡는다.
+  private void commit() throws IOException {
+    writer.setLiveCommitData(Map.of(WATERMARK, watermark.toString()).entrySet());
+    writer.commit();
+  }
+
+  private void afterCommit(Long postingId, IndexOperation operation) {
+    Runnable apply =
+        () -> {
+          // 시작 시 적재가 끝나기 전의 변경은 따라잡기에서 반영된다.
+          if (writer != null) {
+            try {
+              synchronized (applyLock) {
+                if (changedDuringScan != null) {
+                  changedDuringScan.add(postingId);
+                }
+                operation.run();
+              }
+              dirty.set(true);
+            } catch (IOException e) {
+              log.warn("Failed to update posting search index: {}", e.getMessage());
+            }
+          }
+          publish(postingId);
+        };
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            apply.run();
+          }
+        });
+  }
+
+  private void publish(Long postingId) {
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, instanceId + ":" + postingId);
+    } catch (DataAccessException e) {
+      log.warn("Failed to broadcast posting search index change: {}", e.getMessage());
+    }
+  }
+
+  private static Term idTerm(Long postingId) {
+    return new Term(ID, String.valueOf(postingId));
+  }
+
+  private static LocalDateTime later(LocalDateTime current, LocalDateTime candidate) {
+    return candidate != null && candidate.isAfter(current) ? candidate : current;
+  }
+
+  private Document toDocument(Posting posting) {
+    Document document = new Document();
+    document.add(new StringField(ID, String.valueOf(posting.getId()), Field.Store.YES));
+    document.add(new NumericDocValuesField(ID_SORT, posting.getId()));
+    document.add(new TextField(TITLE, posting.getTitle(), Field.Store.NO));
+    document.add(new TextField(DESCRIPTION, posting.getDescription(), Field.Store.NO));
+    document.add(new StringField(TYPE, posting.getType().name(), Field.Store.NO));
+    document.add(new StringField(STATUS, posting.getStatus().name(), Field.Store.NO));
+    LocalDateTime createdAt =
+        posting.getCreatedAt() != null ? posting.getCreatedAt() : LocalDateTime.now();
+    document.add(
+        new NumericDocValuesField(
+            CREATED_AT, createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    Location location = posting.getLocation();
+    if (location != null && location.getLatitude() != null && location.getLongitude() != null) {
+      document.add(new LatLonPoint(LOCATION, location.getLatitude(), location.getLongitude()));
+      document.add(
+          new LatLonDocValuesField(LOCATION, location.getLatitude(), location.getLongitude()));
+    }
+    return document;
+  }
+
+  private Query toQuery(PostingSearchCondition condition) {
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    builder.add(new MatchAllDocsQuery(), Occur.FILTER);
+
+    String keyword = condition.getNormalizedTitle();
+    if (keyword != null) {
+      QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+      Query title = queryBuilder.createBooleanQuery(TITLE, keyword, Occur.MUST);
+      Query description = queryBuilder.createBooleanQuery(DESCRIPTION, keyword, Occur.MUST);
+      BooleanQuery.Builder text = new BooleanQuery.Builder().setMinimumNumberShouldMatch(1);
+      if (title != null) {
+        text.add(new BoostQuery(title, TITLE_BOOST), Occur.SHOULD);
+      }
+      if (description != null) {
+        text.add(description, Occur.SHOULD);
+      }
+      builder.add(text.build(), Occur.MUST);
+    }
+    if (condition.getType() != null) {
+      builder.add(new TermQuery(new Term(TYPE, condition.getType().name())), Occur.FILTER);
+    }
+    if (condition.getStatus() != null) {
+      builder.add(new TermQuery(new Term(STATUS, condition.getStatus().name())), Occur.FILTER);
+    }
+    if (condition.hasRadius()) {
+      builder.add(
+          LatLonPoint.newDistanceQuery(
+              LOCATION,
+              condition.getUserLatitude(),
+              condition.getUserLongitude(),
+              condition.getRadiusKm() * 1000),
+          Occur.FILTER);
+    }
+    return builder.build();
+  }
+
+  // DB 검색과 같은 규칙: 거리순 요청이면 거리순, 검색어가 있으면 relevance 순, 그 외에는 최신순.
+  private Sort toSort(PostingSearchCondition condition) {
+    SortField newest = new SortField(CREATED_AT, SortField.Type.LONG, true);
+    SortField newestId = new SortField(ID_SORT, SortField.Type.LONG, true);
+    if (condition.isSortByDistance()
+        && condition.getUserLatitude() != null
+        && condition.getUserLongitude() != null) {
+      return new Sort(
+          LatLonDocValuesField.newDistanceSort(
+              LOCATION, condition.getUserLatitude(), condition.getUserLongitude()),
+          newestId);
+    }
+    if (condition.getNormalizedTitle() != null) {
+      return new Sort(SortField.FIELD_SCORE, newest, newestId);
+    }
+    return new Sort(newest, newestId);
+  }
+
+  public record SearchResult(List<Long> ids, long totalHits) {}
+
+  @FunctionalInterface
+  private interface IndexOperation {
+    void run() throws IOException;
+  }
+}
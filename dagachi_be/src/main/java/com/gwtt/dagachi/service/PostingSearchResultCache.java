@@ -0,0 +1,153 @@
+package com.gwtt.dagachi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.util.HashUtils;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 검색 조건과 페이지별 결과 id 목록과 전체 개수를 Redis 에 짧게 캐시한다.
+ *
+ * <p>캐시 키에는 조건에 해당하는 유형/상태 조합들의 버전 번호가 들어간다. 게시글을 쓰면 그 게시글의 유형/상태 조합 버전을 커밋 후에 올리므로, 이후의 조회는 새 키를
+ * 보게 되어 예전 결과를 받지 않는다. 버전은 조회 쿼리보다 먼저 읽으므로, 조회 도중 커밋된 변경이 있어도 그 결과는 이미 지나간 버전의 키에만 남는다.
+ *
+ * <p>사용자 좌표는 {@code posting.search.result-cache.coordinate-cell-degrees} 격자 칸의 중심으로 맞춘 뒤 검색해, 가까운
+ * 사용자끼리 같은 항목을 쓴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostingSearchResultCache {
+  private static final String KEY_PREFIX = "posting:search-result:";
+  private static final String VERSION_PREFIX = "posting:search-version:";
+
+  private final StringRedisTemplate redisTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${posting.search.result-cache.ttl:30s}")
+  private Duration ttl;
+
+  @Value("${posting.search.result-cache.coordinate-cell-degrees:0.005}")
+  private double coordinateCellDegrees;
+
+  /** 사용자 좌표를 격자 칸의 중심으로 옮긴 조건. 좌표가 없으면 그대로 돌려준다. */
+  public PostingSearchCondition normalize(PostingSearchCondition condition) {
+    if (condition.getUserLatitude() == null || condition.getUserLongitude() == null) {
+      return condition;
+    }
+    return condition.toBuilder()
+        .userLatitude(snap(condition.getUserLatitude()))
+        .userLongitude(snap(condition.getUserLongitude()))
+        .build();
+  }
+
+  /** 지금 버전 기준의 캐시 키. Redis 에 접근할 수 없으면 null 을 돌려준다. 검색 쿼리보다 먼저 호출해야 한다. */
+  public String keyFor(PostingSearchCondition condition, Pageable pageable) {
+    PostingType[] types =
+        condition.getType() != null
+            ? new PostingType[] {condition.getType()}
+            : PostingType.values();
+    PostingStatus[] statuses =
+        condition.getStatus() != null
+            ? new PostingStatus[] {condition.getStatus()}
+            : PostingStatus.values();
+    List<String> versionKeys = new ArrayList<>(types.length * statuses.length);
+    for (PostingType type : types) {
+      for (PostingStatus status : statuses) {
+        versionKeys.add(versionKey(type, status));
+      }
+    }
+    List<String> versions;
+    try {
+      versions = redisTemplate.opsForValue().multiGet(versionKeys);
+    } catch (DataAccessException e) {
+      log.warn("Search result cache unavailable: {}", e.getMessage());
+      return null;
+    }
+    if (versions == null) {
+      return null;
+    }
+
+    StringBuilder key =
+        new StringBuilder(condition.toFilterKey())
+            .append("&sortByDistance=")
+            .append(condition.isSortByDistance())
+            .append("&page=")
+            .append(pageable.getOffset())
+            .append(':')
+            .append(pageable.getPageSize())
+            .append(':')
+            .append(pageable.getSort())
+            .append("&v=");
+    for (String version : versions) {
+      key.append(version != null ? version : "0").append(',');
+    }
+    return KEY_PREFIX + HashUtils.sha256Hex(key.toString());
+  }
+
+  public Entry get(String key) {
+    try {
+      String cached = redisTemplate.opsForValue().get(key);
+      return cached != null ? objectMapper.readValue(cached, Entry.class) : null;
+    } catch (DataAccessException | JsonProcessingException e) {
+      log.warn("Search result cache unavailable: {}", e.getMessage());
+      return null;
+    }
+  }
+
+  public void put(String key, Entry entry) {
+    try {
+      redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(entry), ttl);
+    } catch (DataAccessException | JsonProcessingException e) {
+      log.warn("Failed to cache search result: {}", e.getMessage());
+    }
+  }
+
+  /** 이 유형/상태 조합을 포함하는 검색 결과를 커밋 후 무효화한다. */
+  public void invalidateAfterCommit(PostingType type, PostingStatus status) {
+    String key = versionKey(type, status);
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      bump(key);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            bump(key);
+          }
+        });
+  }
+
+  private void bump(String key) {
+    try {
+      redisTemplate.opsForValue().increment(key);
+    } catch (DataAccessException e) {
+      log.warn("Failed to invalidate search results: {}", e.getMessage());
+    }
+  }
+
+  private double snap(double degrees) {
+    return (Math.floor(degrees / coordinateCellDegrees) + 0.5) * coordinateCellDegrees;
+  }
+
+  private static String versionKey(PostingType type, PostingStatus status) {
+    return VERSION_PREFIX + type.name() + ":" + status.name();
+  }
+
+  public record Entry(List<Long> ids, long total) {}
+}
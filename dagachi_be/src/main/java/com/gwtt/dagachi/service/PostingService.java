@@ -1,7 +1,12 @@
 package com.gwtt.dagachi.service;
 
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
 import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.CursorPageResponseDto;
 import com.gwtt.dagachi.dto.PostingCreateRequestDto;
+import com.gwtt.dagachi.dto.PostingCursor;
+import com.gwtt.dagachi.dto.PostingDistanceCursor;
 import com.gwtt.dagachi.dto.PostingResponseDto;
 import com.gwtt.dagachi.dto.PostingSearchCondition;
 import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
@@ -12,24 +17,56 @@ import com.gwtt.dagachi.entity.User;
 import com.gwtt.dagachi.exception.DagachiException;
 import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.repository.PostingWithDistance;
 import com.gwtt.dagachi.repository.UserRepository;
+import java.io.IOException;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostingService {
+  private static final double MAX_RADIUS_KM = 100;
+  private static final Sort LATEST_ORDER = Sort.by(Sort.Direction.DESC, "createdAt");
+
   private final PostingRepository postingRepository;
   private final UserRepository userRepository;
+  private final PostingSearchCountCache postingSearchCountCache;
+  private final PostingGeoIndex postingGeoIndex;
+  private final PostingMapService postingMapService;
+  private final PostingSearchIndex postingSearchIndex;
+  private final PostingHydrator postingHydrator;
+  private final SearchSuggestService searchSuggestService;
+  private final LatestPostingCache latestPostingCache;
+  private final PostingSearchResultCache postingSearchResultCache;
+  private final ParticipationAdmission participationAdmission;
 
   public Page<PostingSimpleResponseDto> getPostings(Pageable pageable) {
-    Page<Posting> postings = postingRepository.findAllFetched(pageable);
-    return postings.map(PostingSimpleResponseDto::of);
+    PostingSearchCondition condition = PostingSearchCondition.builder().build();
+    Page<PostingSimpleResponseDto> latest = getLatestPage(condition, pageable);
+    if (latest != null) {
+      return latest;
+    }
+    return postingRepository.findAllActive(pageable);
+  }
+
+  public CursorPageResponseDto<PostingSimpleResponseDto> getPostingsByCursor(
+      String cursor, int size) {
+    List<PostingSimpleResponseDto> postings =
+        postingRepository.findPostingsAfter(PostingCursor.decode(cursor), size + 1);
+    return toCursorPage(postings, size);
   }
 
   @Cacheable(value = "posting", key = "#id")
@@ -65,6 +102,13 @@ public class PostingService {
         postingRepository
             .findByIdFetched(savedPosting.getId())
             .orElseThrow(() -> new DagachiException(ErrorCode.INTERNAL_SERVER_ERROR));
+    postingGeoIndex.updateAfterCommit(fetchedPosting);
+    postingMapService.evictAfterCommit(fetchedPosting.getLocation());
+    postingSearchIndex.indexAfterCommit(fetchedPosting);
+    latestPostingCache.putAfterCommit(fetchedPosting);
+    postingSearchResultCache.invalidateAfterCommit(
+        fetchedPosting.getType(), fetchedPosting.getStatus());
+    searchSuggestService.putPostingAfterCommit(fetchedPosting);
     return PostingResponseDto.of(fetchedPosting);
   }
 
@@ -79,7 +123,23 @@ public class PostingService {
     if (!posting.getAuthor().getId().equals(currentUserId)) {
       throw new DagachiException(ErrorCode.POSTING_NOT_AUTHORIZED);
     }
+    Location previousLocation = posting.getLocation();
+    PostingType previousType = posting.getType();
+    PostingStatus previousStatus = posting.getStatus();
+    if (postingUpdateRequestDto.getMaxCapacity() < posting.getApprovedCount()) {
+      throw new DagachiException(ErrorCode.POSTING_CAPACITY_BELOW_APPROVED);
+    }
     posting.update(postingUpdateRequestDto);
+    postingGeoIndex.updateAfterCommit(posting);
+    postingMapService.evictAfterCommit(previousLocation, posting.getLocation());
+    postingSearchIndex.indexAfterCommit(posting);
+    latestPostingCache.putAfterCommit(posting);
+    postingSearchResultCache.invalidateAfterCommit(previousType, previousStatus);
+    postingSearchResultCache.invalidateAfterCommit(posting.getType(), posting.getStatus());
+    searchSuggestService.updatePostingAfterCommit(posting);
+    if (posting.getStatus() != previousStatus) {
+      participationAdmission.statusChangedAfterCommit(id, posting.getStatus());
+    }
     return PostingResponseDto.of(posting);
   }
 
@@ -94,11 +154,129 @@ public class PostingService {
       throw new DagachiException(ErrorCode.POSTING_NOT_AUTHORIZED);
     }
     postingRepository.delete(posting);
+    postingGeoIndex.removeAfterCommit(id);
+    postingMapService.evictAfterCommit(posting.getLocation());
+    postingSearchIndex.deleteAfterCommit(id);
+    latestPostingCache.removeAfterCommit(id);
+    postingSearchResultCache.invalidateAfterCommit(posting.getType(), posting.getStatus());
+    searchSuggestService.removePostingAfterCommit(id);
+    participationAdmission.removeAfterCommit(id);
   }
 
+  // 유형/상태 조건만 있는 최신순 앞쪽 페이지는 최신 게시글 목록으로 답한다.
+  // 그 외에는 조건과 페이지별로 캐시된 결과를 먼저 보고, 없으면 찾아서 캐시한다.
+  // Lucene 인덱스가 켜져 있고 처리할 수 있는 조건이면 인덱스에서 id 를 찾아 캐시로 채운다.
+  // DB 로 찾을 때 전체 개수는 조건별로 캐시된 근사값을 쓴다. 다만 지금 본 페이지와 모순되지 않도록 최소값은 보정한다.
   public Page<PostingSimpleResponseDto> searchPostings(
       PostingSearchCondition condition, Pageable pageable) {
-    Page<Posting> postings = postingRepository.searchPostings(condition, pageable);
-    return postings.map(PostingSimpleResponseDto::of);
+    Page<PostingSimpleResponseDto> latest = getLatestPage(condition, pageable);
+    if (latest != null) {
+      return latest;
+    }
+
+    PostingSearchCondition normalized = postingSearchResultCache.normalize(condition);
+    String cacheKey = postingSearchResultCache.keyFor(normalized, pageable);
+    PostingSearchResultCache.Entry cached =
+        cacheKey != null ? postingSearchResultCache.get(cacheKey) : null;
+    if (cached != null) {
+      return new PageImpl<>(hydrate(cached.ids()), pageable, cached.total());
+    }
+    Page<PostingSimpleResponseDto> page = searchPostingsUncached(normalized, pageable);
+    if (cacheKey != null) {
+      postingSearchResultCache.put(
+          cacheKey,
+          new PostingSearchResultCache.Entry(
+              page.getContent().stream().map(PostingSimpleResponseDto::getId).toList(),
+              page.getTotalElements()));
+    }
+    return page;
+  }
+
+  private Page<PostingSimpleResponseDto> searchPostingsUncached(
+      PostingSearchCondition condition, Pageable pageable) {
+    if (postingSearchIndex.supports(condition, pageable.getOffset(), pageable.getPageSize())) {
+      try {
+        PostingSearchIndex.SearchResult result =
+            postingSearchIndex.search(condition, pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(hydrate(result.ids()), pageable, result.totalHits());
+      } catch (IOException e) {
+        log.warn("Posting search index failed, searching database: {}", e.getMessage());
+      }
+    }
+
+    Slice<PostingSimpleResponseDto> postings =
+        postingRepository.searchSimplePostingsSlice(condition, pageable);
+    List<PostingSimpleResponseDto> content = postings.getContent();
+    long seen = pageable.getOffset() + content.size() + (postings.hasNext() ? 1 : 0);
+    return PageableExecutionUtils.getPage(
+        content, pageable, () -> Math.max(seen, countPostings(condition)));
+  }
+
+  public Slice<PostingSimpleResponseDto> searchPostingsSlice(
+      PostingSearchCondition condition, Pageable pageable) {
+    return postingRepository.searchSimplePostingsSlice(condition, pageable);
+  }
+
+  public CursorPageResponseDto<PostingSimpleResponseDto> searchPostingsByCursor(
+      PostingSearchCondition condition, String cursor, int size) {
+    List<PostingSimpleResponseDto> postings =
+        postingRepository.searchPostingsAfter(condition, PostingCursor.decode(cursor), size + 1);
+    return toCursorPage(postings, size);
+  }
+
+  public CursorPageResponseDto<PostingSimpleResponseDto> searchPostingsNearby(
+      PostingSearchCondition condition, String cursor, int size) {
+    if (!condition.hasRadius()
+        || condition.getRadiusKm() <= 0
+        || condition.getRadiusKm() > MAX_RADIUS_KM) {
+      throw new DagachiException(ErrorCode.INVALID_RADIUS_SEARCH);
+    }
+    List<PostingWithDistance> postings =
+        postingRepository.searchPostingsNearby(
+            condition, PostingDistanceCursor.decode(cursor), size + 1);
+    return CursorPageResponseDto.of(
+        postings,
+        size,
+        row -> new PostingDistanceCursor(row.distanceKm(), row.posting().getId()).encode(),
+        PostingWithDistance::posting);
+  }
+
+  private Page<PostingSimpleResponseDto> getLatestPage(
+      PostingSearchCondition condition, Pageable pageable) {
+    if (!pageable.getSort().equals(LATEST_ORDER)
+        || condition.getNormalizedTitle() != null
+        || condition.getNormalizedAuthorNickname() != null
+        || condition.isOpenSeatsOnly()
+        || condition.hasRadius()
+        || condition.isSortByDistance()) {
+      return null;
+    }
+    List<Long> ids =
+        latestPostingCache.findIds(
+            condition.getType(),
+            condition.getStatus(),
+            pageable.getOffset(),
+            pageable.getPageSize());
+    if (ids == null) {
+      return null;
+    }
+    List<PostingSimpleResponseDto> content = hydrate(ids);
+    long seen = pageable.getOffset() + content.size();
+    return PageableExecutionUtils.getPage(
+        content, pageable, () -> Math.max(seen, countPostings(condition)));
+  }
+
+  private List<PostingSimpleResponseDto> hydrate(List<Long> ids) {
+    return postingHydrator.hydrate(ids).stream().map(PostingSimpleResponseDto::of).toList();
+  }
+
+  private long countPostings(PostingSearchCondition condition) {
+    return postingSearchCountCache.get(condition, () -> postingRepository.countPostings(condition));
+  }
+
+  private CursorPageResponseDto<PostingSimpleResponseDto> toCursorPage(
+      List<PostingSimpleResponseDto> postings, int size) {
+    return CursorPageResponseDto.of(
+        postings, size, posting -> PostingCursor.of(posting).encode(), posting -> posting);
   }
 }
@@ -0,0 +1,56 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.util.HashUtils;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Redis 에 저장되는 refresh token.
+ *
+ * <p>토큰은 임의 문자열이고 Redis 에는 해시만 키로 저장한다. 한 번 사용하면 즉시 삭제되고 새 토큰이 발급된다(rotation).
+ */
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+  private static final String REFRESH_KEY_PREFIX = "auth:refresh:";
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${jwt.refresh-expiration-time:1209600000}")
+  private long refreshExpirationTime;
+
+  public String issue(Long userId) {
+    byte[] bytes = new byte[32];
+    RANDOM.nextBytes(bytes);
+    String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    redisTemplate
+        .opsForValue()
+        .set(key(token), userId.toString(), Duration.ofMillis(refreshExpirationTime));
+    return token;
+  }
+
+  // GETDEL 로 원자적으로 꺼내므로 같은 토큰으로 동시에 갱신해도 한 번만 성공한다.
+  public Optional<Long> consume(String token) {
+    String userId = redisTemplate.opsForValue().getAndDelete(key(token));
+    return Optional.ofNullable(userId).map(Long::valueOf);
+  }
+
+  public void revoke(String token) {
+    redisTemplate.delete(key(token));
+  }
+
+  public long getRefreshExpirationTime() {
+    return refreshExpirationTime;
+  }
+
+  private static String key(String token) {
+    return REFRESH_KEY_PREFIX + HashUtils.sha256Hex(token);
+  }
+}
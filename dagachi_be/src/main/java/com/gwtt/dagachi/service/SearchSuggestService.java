@@ -0,0 +1,171 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.dto.PostingSuggestResponseDto;
+import com.gwtt.dagachi.dto.PostingTitleSuggestionDto;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.repository.UserRepository;
+import com.gwtt.dagachi.util.PrefixIndex;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 검색창 자동완성. 삭제되지 않은 게시글 제목과 사용자 닉네임을 메모리 {@link PrefixIndex} 에 두고 DB 없이 답한다.
+ *
+ * <p>제목은 최근에 쓴 글이, 닉네임은 최근에 글을 쓴(없으면 최근에 가입한) 사용자가 먼저 나온다. 시작할 때 DB 에서 한 번 채우고 이후에는 게시글 생성/수정/삭제와
+ * 회원가입을 커밋 후에 반영한다. 다른 인스턴스의 변경은 Redis pub/sub 으로 전달받는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchSuggestService implements MessageListener {
+  public static final String CHANGED_CHANNEL = "search:suggest-changed";
+  private static final String TITLE = "title";
+  private static final String NICKNAME = "nickname";
+  private static final String PUT = "put";
+  private static final String REMOVE = "remove";
+
+  private final PostingRepository postingRepository;
+  private final UserRepository userRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${posting.suggest.top-k:10}")
+  private int topK;
+
+  private volatile PrefixIndex titles;
+  private volatile PrefixIndex nicknames;
+  private volatile boolean ready;
+  // 적재 중에 변경 이벤트를 받은 항목. 적재 쿼리가 읽은 예전 값으로 덮어쓰지 않도록 건너뛴다.
+  private volatile Set<String> changedDuringBuild;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    PrefixIndex newTitles = new PrefixIndex(topK);
+    PrefixIndex newNicknames = new PrefixIndex(topK);
+    Set<String> changed = ConcurrentHashMap.newKeySet();
+    ready = false;
+    changedDuringBuild = changed;
+    titles = newTitles;
+    nicknames = newNicknames;
+    for (PostingRepository.PostingTitle title : postingRepository.findAllActiveTitles()) {
+      if (!changed.contains(TITLE + ":" + title.getId())) {
+        newTitles.put(title.getId(), title.getTitle(), toScore(title.getCreatedAt()));
+      }
+    }
+    for (UserRepository.UserActivity user : userRepository.findAllActiveNicknames()) {
+      if (!changed.contains(NICKNAME + ":" + user.getId())) {
+        LocalDateTime lastActiveAt =
+            user.getLastPostedAt() != null ? user.getLastPostedAt() : user.getCreatedAt();
+        newNicknames.put(user.getId(), user.getNickname(), toScore(lastActiveAt));
+      }
+    }
+    changedDuringBuild = null;
+    ready = true;
+  }
+
+  /** 적재가 끝나기 전에는 빈 결과를 돌려준다. */
+  public PostingSuggestResponseDto suggest(String query, int size) {
+    if (!ready || query == null || query.isBlank()) {
+      return PostingSuggestResponseDto.empty();
+    }
+    return PostingSuggestResponseDto.of(
+        titles.search(query, size).stream()
+            .map(match -> PostingTitleSuggestionDto.of(match.id(), match.text()))
+            .toList(),
+        nicknames.search(query, size).stream().map(PrefixIndex.Match::text).toList());
+  }
+
+  /** 게시글 제목과 작성자의 최근 활동 시각을 커밋 후 반영한다. */
+  public void putPostingAfterCommit(Posting posting) {
+    long score = toScore(posting.getCreatedAt());
+    afterCommit(message(TITLE, PUT, posting.getId(), score, posting.getTitle()));
+    afterCommit(
+        message(NICKNAME, PUT, posting.getAuthor().getId(), score, posting.getAuthorNickname()));
+  }
+
+  /** 게시글 제목만 바뀐 경우. 작성자의 활동 시각은 건드리지 않는다. */
+  public void updatePostingAfterCommit(Posting posting) {
+    afterCommit(
+        message(TITLE, PUT, posting.getId(), toScore(posting.getCreatedAt()), posting.getTitle()));
+  }
+
+  public void removePostingAfterCommit(Long postingId) {
+    afterCommit(String.join(":", TITLE, REMOVE, String.valueOf(postingId)));
+  }
+
+  public void putNicknameAfterCommit(Long userId, String nickname) {
+    afterCommit(message(NICKNAME, PUT, userId, toScore(LocalDateTime.now()), nickname));
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    apply(new String(message.getBody(), StandardCharsets.UTF_8));
+  }
+
+  private void afterCommit(String message) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publish(message);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            publish(message);
+          }
+        });
+  }
+
+  private void publish(String message) {
+    apply(message);
+    try {
+      redisTemplate.convertAndSend(CHANGED_CHANNEL, message);
+    } catch (DataAccessException e) {
+      log.warn("Failed to broadcast search suggestion change: {}", e.getMessage());
+    }
+  }
+
+  // "<title|nickname>:put:<id>:<score>:<text>" 또는 "<title|nickname>:remove:<id>".
+  // text 에는 ':' 가 있을 수 있으므로 앞의 네 칸만 나눈다.
+  private void apply(String message) {
+    String[] parts = message.split(":", 5);
+    PrefixIndex index = TITLE.equals(parts[0]) ? titles : nicknames;
+    if (index == null) {
+      return;
+    }
+    long id = Long.parseLong(parts[2]);
+    Set<String> changed = changedDuringBuild;
+    if (changed != null) {
+      changed.add(parts[0] + ":" + id);
+    }
+    if (PUT.equals(parts[1])) {
+      index.put(id, parts[4], Long.parseLong(parts[3]));
+    } else {
+      index.remove(id);
+    }
+  }
+
+  private static String message(String kind, String action, Long id, long score, String text) {
+    return String.join(":", kind, action, String.valueOf(id), String.valueOf(score), text);
+  }
+
+  private static long toScore(LocalDateTime time) {
+    LocalDateTime value = time != null ? time : LocalDateTime.now();
+    return value.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,92 @@
+package com.gwtt.dagachi.service;
+
+import com.gwtt.dagachi.repository.UserRepository;
+import com.gwtt.dagachi.util.BloomFilter;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 회원가입 시 사용자 ID/닉네임 중복 확인 쿼리를 줄이기 위한 Bloom filter.
+ *
+ * <p>filter 가 없다고 답하면 DB 조회를 건너뛴다. 있다고 답하는 경우(오탐 포함)에만 기존처럼 DB 를 확인하고, 그래도 놓친 중복은 unique 제약 위반으로
+ * 잡는다. 다른 인스턴스에서 가입한 이름은 Redis pub/sub 으로 전달받는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserNameFilter implements MessageListener {
+  public static final String REGISTERED_CHANNEL = "users:registered";
+
+  private final UserRepository userRepository;
+  private final StringRedisTemplate redisTemplate;
+
+  @Value("${signup.name-filter.expected-users:100000}")
+  private long expectedUsers;
+
+  @Value("${signup.name-filter.false-positive-rate:0.01}")
+  private double falsePositiveRate;
+
+  private volatile BloomFilter usernames;
+  private volatile BloomFilter nicknames;
+  private volatile boolean ready;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void build() {
+    long capacity = Math.max(expectedUsers, userRepository.count() * 2);
+    BloomFilter newUsernames = new BloomFilter(capacity, falsePositiveRate);
+    BloomFilter newNicknames = new BloomFilter(capacity, falsePositiveRate);
+    // 적재 중에 가입한 이름도 놓치지 않도록 먼저 교체한 뒤 채운다. 적재가 끝나기 전에는 항상 DB 를 확인한다.
+    ready = false;
+    usernames = newUsernames;
+    nicknames = newNicknames;
+    for (UserRepository.UserNames name : userRepository.findAllNamesIncludingDeleted()) {
+      newUsernames.put(normalize(name.getUsername()));
+      newNicknames.put(normalize(name.getNickname()));
+    }
+    ready = true;
+  }
+
+  public boolean mightContainUsername(String username) {
+    return !ready || usernames.mightContain(normalize(username));
+  }
+
+  public boolean mightContainNickname(String nickname) {
+    return !ready || nicknames.mightContain(normalize(nickname));
+  }
+
+  public void register(String username, String nickname) {
+    add(username, nickname);
+    redisTemplate.convertAndSend(REGISTERED_CHANNEL, username + "\n" + nickname);
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String[] payload = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 2);
+    if (payload.length == 2) {
+      add(payload[0], payload[1]);
+    }
+  }
+
+  private void add(String username, String nickname) {
+    BloomFilter currentUsernames = usernames;
+    BloomFilter currentNicknames = nicknames;
+    if (currentUsernames != null) {
+      currentUsernames.put(normalize(username));
+    }
+    if (currentNicknames != null) {
+      currentNicknames.put(normalize(nickname));
+    }
+  }
+
+  // MySQL 기본 collation 은 대소문자를 구분하지 않으므로 소문자로 맞춘다.
+  private static String normalize(String value) {
+    return value.toLowerCase(Locale.ROOT);
+  }
+}
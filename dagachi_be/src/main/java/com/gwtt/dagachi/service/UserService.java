@@ -2,7 +2,6 @@ package com.gwtt.dagachi.service;
 
 import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
 import com.gwtt.dagachi.dto.UserResponseDto;
-import com.gwtt.dagachi.entity.Posting;
 import com.gwtt.dagachi.entity.User;
 import com.gwtt.dagachi.exception.DagachiException;
 import com.gwtt.dagachi.exception.ErrorCode;
@@ -28,13 +27,11 @@ public class UserService {
   }
 
   public Page<PostingSimpleResponseDto> getJoinedPostingsByUserId(Long userId, Pageable pageable) {
-    Page<Posting> postings = postingRepository.findJoinedPostingsByParticipantId(userId, pageable);
-    return postings.map(PostingSimpleResponseDto::of);
+    return postingRepository.findJoinedPostingsByParticipantId(userId, pageable);
   }
 
   public Page<PostingSimpleResponseDto> getAuthoredPostingsByUserId(
       Long userId, Pageable pageable) {
-    Page<Posting> postings = postingRepository.findAuthoredPostingsByAuthorId(userId, pageable);
-    return postings.map(PostingSimpleResponseDto::of);
+    return postingRepository.findAuthoredPostingsByAuthorId(userId, pageable);
   }
 }
@@ -0,0 +1,107 @@
+package com.gwtt.dagachi.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 시간을 보고 동시 처리 한도를 스스로 조절하는 limiter.
+ *
+ * <p>최근 응답 시간(short)과 장기 평균(long)의 비율을 gradient 로 삼아, 응답이 느려지면 한도를 줄이고 평소 수준이면 조금씩 늘린다. 처리 중 예외나
+ * 과부하 응답이 나면 한도를 곱셈으로 줄인다(AIMD). 한도 이상으로 들어온 요청은 기다리지 않고 바로 거절된다.
+ */
+public class AdaptiveConcurrencyLimit {
+  private static final double SMOOTHING = 0.2;
+  private static final double RTT_TOLERANCE = 1.5;
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final double SHORT_WINDOW = 10;
+  private static final double LONG_WINDOW = 600;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  private volatile double limit;
+  private double shortRttNanos;
+  private double longRttNanos;
+
+  public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+  }
+
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        rejected.increment();
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * {@link #tryAcquire()} 로 얻은 자리를 반납하고 측정값을 반영한다.
+   *
+   * @param rttNanos 요청 처리에 걸린 시간
+   * @param overloaded 예외나 과부하 응답처럼 서버가 버티지 못한 신호가 있었는지 여부
+   */
+  public void release(long rttNanos, boolean overloaded) {
+    int inFlightAtCompletion = inFlight.getAndDecrement();
+    update(rttNanos, inFlightAtCompletion, overloaded);
+  }
+
+  synchronized void update(long rttNanos, int inFlightAtCompletion, boolean overloaded) {
+    if (overloaded) {
+      limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+      return;
+    }
+
+    if (longRttNanos == 0) {
+      shortRttNanos = rttNanos;
+      longRttNanos = rttNanos;
+      return;
+    }
+    shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+    longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+
+    // 과부하가 풀려 응답이 빨라졌는데 장기 평균이 아직 높다면 평균을 빨리 따라 내려오게 한다.
+    if (longRttNanos / shortRttNanos > 2) {
+      longRttNanos *= 0.95;
+    }
+
+    // 한도의 절반도 쓰지 않는 동안에는 측정값이 한도를 판단할 근거가 되지 못한다.
+    if (inFlightAtCompletion < limit / 2) {
+      return;
+    }
+
+    double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+    double newLimit = limit * gradient + Math.sqrt(limit);
+    newLimit = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+  }
+
+  public int getLimit() {
+    return (int) limit;
+  }
+
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  public synchronized double getShortRttMillis() {
+    return shortRttNanos / 1_000_000d;
+  }
+
+  public synchronized double getLongRttMillis() {
+    return longRttNanos / 1_000_000d;
+  }
+}
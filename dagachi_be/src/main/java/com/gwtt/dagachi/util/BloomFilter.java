@@ -0,0 +1,66 @@
+package com.gwtt.dagachi.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 문자열용 Bloom filter.
+ *
+ * <p>{@link #mightContain(String)} 이 false 면 해당 값은 추가된 적이 없고, true 면 추가되었을 수도 있다. 여러 스레드에서 동시에
+ * 추가/조회해도 안전하다.
+ */
+public class BloomFilter {
+  private final AtomicLongArray words;
+  private final long bitSize;
+  private final int hashCount;
+
+  public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+    long insertions = Math.max(1, expectedInsertions);
+    double ln2 = Math.log(2);
+    long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) / 64);
+    this.words = new AtomicLongArray(Math.max(1, wordCount));
+    this.bitSize = (long) words.length() * Long.SIZE;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitSize / insertions * ln2));
+  }
+
+  public void put(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+      long mask = 1L << bit;
+      words.accumulateAndGet((int) (bit >>> 6), mask, (current, m) -> current | m);
+    }
+  }
+
+  public boolean mightContain(String value) {
+    long hash1 = hash(value);
+    long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(hash1 + i * hash2, bitSize);
+      if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // FNV-1a 64 비트 해시에 murmur3 finalizer 를 섞어 비트 분포를 고르게 만든다.
+  private static long hash(String value) {
+    long hash = 0xCBF29CE484222325L;
+    for (int i = 0; i < value.length(); i++) {
+      hash ^= value.charAt(i);
+      hash *= 0x100000001B3L;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -0,0 +1,243 @@
+package com.gwtt.dagachi.util;
+
+import com.gwtt.dagachi.util.GeoUtils.BoundingBox;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 위경도를 고정 크기 격자로 나눈 메모리 공간 인덱스.
+ *
+ * <p>각 칸은 id, 좌표, tag 를 primitive 배열로 들고 있어 칸 하나를 훑을 때 객체를 따라가지 않는다. tag 는 호출하는 쪽에서 정하는 정수 분류값(게시글
+ * 종류 등)으로, 조회 시 {@link #ANY_TAG} 가 아니면 같은 tag 만 돌려준다. 여러 스레드에서 동시에 조회/수정해도 안전하다.
+ *
+ * <p>날짜변경선 너머의 칸은 이어서 보지 않는다.
+ */
+public class GeoGridIndex {
+  public static final int ANY_TAG = -1;
+  private static final double KM_PER_DEGREE = Math.PI * GeoUtils.EARTH_RADIUS_KM / 180;
+
+  private final double cellDegrees;
+  private final Map<Long, Cell> cells = new HashMap<>();
+  private final Map<Long, Long> cellKeyById = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public GeoGridIndex(double cellDegrees) {
+    this.cellDegrees = cellDegrees;
+  }
+
+  /** 같은 id 가 이미 있으면 좌표와 tag 를 바꾼다. */
+  public void put(long id, double latitude, double longitude, int tag) {
+    long cellKey = cellKey(row(latitude), column(longitude));
+    lock.writeLock().lock();
+    try {
+      Long previous = cellKeyById.put(id, cellKey);
+      if (previous != null) {
+        cells.get(previous).remove(id);
+        if (cells.get(previous).size == 0) {
+          cells.remove(previous);
+        }
+      }
+      cells.computeIfAbsent(cellKey, key -> new Cell()).add(id, latitude, longitude, tag);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      Long cellKey = cellKeyById.remove(id);
+      if (cellKey != null) {
+        Cell cell = cells.get(cellKey);
+        cell.remove(id);
+        if (cell.size == 0) {
+          cells.remove(cellKey);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return cellKeyById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 중심에서 {@code radiusKm} 안에 있는 항목을 가까운 순으로 최대 {@code limit} 개 돌려준다. */
+  public List<Neighbor> withinRadius(
+      double latitude, double longitude, double radiusKm, int tag, int limit) {
+    BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+    int minRow = row(box.minLatitude());
+    int maxRow = row(box.maxLatitude());
+    int minColumn = column(box.minLongitude());
+    int maxColumn = column(box.maxLongitude());
+    long rangeSize = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+
+    List<Neighbor> result = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      if (rangeSize > cells.size()) {
+        // 범위 안의 칸 수가 실제로 채워진 칸보다 많으면 채워진 칸만 훑는 편이 빠르다.
+        for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+          int row = (int) (entry.getKey() >> 32);
+          int column = (int) (long) entry.getKey();
+          if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn) {
+            entry.getValue().collect(latitude, longitude, radiusKm, tag, result);
+          }
+        }
+      } else {
+        for (int row = minRow; row <= maxRow; row++) {
+          for (int column = minColumn; column <= maxColumn; column++) {
+            Cell cell = cells.get(cellKey(row, column));
+            if (cell != null) {
+              cell.collect(latitude, longitude, radiusKm, tag, result);
+            }
+          }
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return closest(result, limit);
+  }
+
+  /**
+   * 중심에서 가까운 항목 {@code k} 개를 돌려준다. 중심 칸에서 한 겹씩 넓혀 가며, 찾은 k 번째 거리보다 아직 보지 않은 칸이 모두 멀면 멈춘다. {@code
+   * maxRadiusKm} 밖의 항목은 돌려주지 않는다.
+   */
+  public List<Neighbor> nearest(
+      double latitude, double longitude, int k, int tag, double maxRadiusKm) {
+    int centerRow = row(latitude);
+    int centerColumn = column(longitude);
+    List<Neighbor> found = new ArrayList<>();
+
+    lock.readLock().lock();
+    try {
+      int visitedCells = 0;
+      for (int ring = 0; ; ring++) {
+        for (int row = centerRow - ring; row <= centerRow + ring; row++) {
+          boolean edgeRow = row == centerRow - ring || row == centerRow + ring;
+          int step = edgeRow ? 1 : 2 * ring;
+          for (int column = centerColumn - ring;
+              column <= centerColumn + ring;
+              column += Math.max(1, step)) {
+            Cell cell = cells.get(cellKey(row, column));
+            if (cell != null) {
+              cell.collect(latitude, longitude, maxRadiusKm, tag, found);
+            }
+            visitedCells++;
+          }
+        }
+
+        // 지금까지 본 정사각형 밖의 점은 중심에서 적어도 ring 칸만큼 떨어져 있다.
+        double coveredKm = ring * cellWidthKm(Math.abs(latitude) + (ring + 1) * cellDegrees);
+        if (coveredKm >= maxRadiusKm || visitedCells >= cells.size() * 4L + 64) {
+          if (coveredKm < maxRadiusKm) {
+            // 빈 칸만 계속 보고 있으면 채워진 칸을 한 번에 훑는다.
+            found.clear();
+            for (Cell cell : cells.values()) {
+              cell.collect(latitude, longitude, maxRadiusKm, tag, found);
+            }
+          }
+          break;
+        }
+        if (found.size() >= k) {
+          found.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+          if (found.get(k - 1).distanceKm() <= coveredKm) {
+            break;
+          }
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return closest(found, k);
+  }
+
+  private List<Neighbor> closest(List<Neighbor> neighbors, int limit) {
+    neighbors.sort(
+        Comparator.comparingDouble(Neighbor::distanceKm).thenComparingLong(Neighbor::id));
+    return neighbors.size() > limit ? new ArrayList<>(neighbors.subList(0, limit)) : neighbors;
+  }
+
+  // 칸 한 개의 가로 길이(km). 극에 가까울수록 세로보다 짧아지므로 둘 중 작은 값을 쓴다.
+  private double cellWidthKm(double latitude) {
+    double cosine = Math.cos(Math.toRadians(Math.min(89.9, latitude)));
+    return cellDegrees * KM_PER_DEGREE * Math.max(0, cosine);
+  }
+
+  private int row(double latitude) {
+    return (int) Math.floor(latitude / cellDegrees);
+  }
+
+  private int column(double longitude) {
+    return (int) Math.floor(longitude / cellDegrees);
+  }
+
+  private static long cellKey(int row, int column) {
+    return ((long) row << 32) | (column & 0xFFFFFFFFL);
+  }
+
+  public record Neighbor(long id, double distanceKm) {}
+
+  private static final class Cell {
+    private long[] ids = new long[4];
+    private double[] latitudes = new double[4];
+    private double[] longitudes = new double[4];
+    private int[] tags = new int[4];
+    private int size;
+
+    void add(long id, double latitude, double longitude, int tag) {
+      if (size == ids.length) {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        latitudes = Arrays.copyOf(latitudes, capacity);
+        longitudes = Arrays.copyOf(longitudes, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+      }
+      ids[size] = id;
+      latitudes[size] = latitude;
+      longitudes[size] = longitude;
+      tags[size] = tag;
+      size++;
+    }
+
+    // 마지막 원소를 지운 자리로 옮겨 배열을 빈틈 없이 유지한다.
+    void remove(long id) {
+      for (int i = 0; i < size; i++) {
+        if (ids[i] == id) {
+          size--;
+          ids[i] = ids[size];
+          latitudes[i] = latitudes[size];
+          longitudes[i] = longitudes[size];
+          tags[i] = tags[size];
+          return;
+        }
+      }
+    }
+
+    void collect(
+        double latitude, double longitude, double radiusKm, int tag, List<Neighbor> result) {
+      for (int i = 0; i < size; i++) {
+        if (tag != ANY_TAG && tags[i] != tag) {
+          continue;
+        }
+        double distance = GeoUtils.haversineKm(latitude, longitude, latitudes[i], longitudes[i]);
+        if (distance <= radiusKm) {
+          result.add(new Neighbor(ids[i], distance));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.gwtt.dagachi.util;
+
+public final class GeoUtils {
+  public static final double EARTH_RADIUS_KM = 6371.0;
+  private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+  private GeoUtils() {}
+
+  /** 두 좌표 사이의 대원 거리(km). */
+  public static double haversineKm(
+      double latitude1, double longitude1, double latitude2, double longitude2) {
+    double dLatitude = Math.toRadians(latitude2 - latitude1);
+    double dLongitude = Math.toRadians(longitude2 - longitude1);
+    double a =
+        Math.pow(Math.sin(dLatitude / 2), 2)
+            + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2))
+                * Math.pow(Math.sin(dLongitude / 2), 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+  }
+
+  /**
+   * 중심에서 {@code radiusKm} 안의 모든 점을 포함하는 위경도 사각형.
+   *
+   * <p>극지방에 걸치거나 날짜변경선을 넘으면 경도는 전 범위로 둔다.
+   */
+  public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+    double dLatitude = radiusKm / KM_PER_DEGREE;
+    double minLatitude = Math.max(-90, latitude - dLatitude);
+    double maxLatitude = Math.min(90, latitude + dLatitude);
+    if (minLatitude <= -90 || maxLatitude >= 90) {
+      return new BoundingBox(minLatitude, maxLatitude, -180, 180);
+    }
+
+    // 경도 1도의 길이는 위도가 높을수록 짧아지므로, 사각형에서 극에 가까운 쪽 위도를 기준으로 잡는다.
+    double farthestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+    double dLongitude = dLatitude / Math.cos(Math.toRadians(farthestLatitude));
+    double minLongitude = longitude - dLongitude;
+    double maxLongitude = longitude + dLongitude;
+    if (minLongitude < -180 || maxLongitude > 180) {
+      return new BoundingBox(minLatitude, maxLatitude, -180, 180);
+    }
+    return new BoundingBox(minLatitude, maxLatitude, minLongitude, maxLongitude);
+  }
+
+  public record BoundingBox(
+      double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+    public boolean contains(double latitude, double longitude) {
+      return latitude >= minLatitude
+          && latitude <= maxLatitude
+          && longitude >= minLongitude
+          && longitude <= maxLongitude;
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.gwtt.dagachi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public final class HashUtils {
+  private HashUtils() {}
+
+  public static String sha256Hex(String value) {
+    return sha256Hex(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String sha256Hex(byte[] value) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(value));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.gwtt.dagachi.util;
+
+/**
+ * 지도 확대 수준(zoom)별 격자 계산.
+ *
+ * <p>zoom 이 1 오를 때마다 칸의 가로세로가 절반이 된다. 256px 타일 하나를 {@link #CELLS_PER_TILE} 칸으로 나누므로 화면에서 한 칸은 약
+ * 64px 이다. 위도도 경도와 같은 각도로 나눈다.
+ */
+public final class MapGrid {
+  public static final int MAX_ZOOM = 21;
+  private static final int CELLS_PER_TILE = 4;
+
+  private MapGrid() {}
+
+  public static double cellDegrees(int zoom) {
+    return 360.0 / (1L << zoom) / CELLS_PER_TILE;
+  }
+
+  public static int row(double latitude, int zoom) {
+    return (int) Math.floor(latitude / cellDegrees(zoom));
+  }
+
+  public static int column(double longitude, int zoom) {
+    return (int) Math.floor(longitude / cellDegrees(zoom));
+  }
+}
@@ -0,0 +1,205 @@
+package com.gwtt.dagachi.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 자동완성용 메모리 접두어 인덱스.
+ *
+ * <p>trie 의 각 노드가 자기 아래에서 점수가 가장 높은 항목 {@code topK} 개를 미리 들고 있어, 조회는 접두어 길이만큼 내려가서 목록을 읽는 것으로 끝난다.
+ * 텍스트는 NFKD 로 풀어 색인하므로 한글을 자모 단위로 입력하는 중간에도("스ㅍ") 일치한다. 단어 시작 위치마다 색인해 제목 중간의 단어로도 찾을 수 있다.
+ *
+ * <p>한 키는 앞의 {@link #MAX_DEPTH} 글자까지만 trie 에 넣고, 그보다 긴 접두어는 찾은 뒤 원문과 다시 비교한다. 여러 스레드에서 동시에 조회/수정해도
+ * 안전하다.
+ */
+public class PrefixIndex {
+  static final int MAX_DEPTH = 24;
+
+  private final int topK;
+  private final Node root = new Node();
+  private final Map<Long, Entry> entries = new HashMap<>();
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  public PrefixIndex(int topK) {
+    this.topK = topK;
+  }
+
+  /** 같은 id 가 이미 있으면 텍스트와 점수를 바꾼다. 점수가 높을수록 먼저 나온다. */
+  public void put(long id, String text, long score) {
+    Entry entry = new Entry(id, text, score, keys(text));
+    lock.writeLock().lock();
+    try {
+      Entry previous = entries.put(id, entry);
+      if (previous != null) {
+        for (String key : previous.keys()) {
+          removeFromPath(key, previous);
+        }
+      }
+      for (String key : entry.keys()) {
+        addToPath(key, entry);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(long id) {
+    lock.writeLock().lock();
+    try {
+      Entry previous = entries.remove(id);
+      if (previous != null) {
+        for (String key : previous.keys()) {
+          removeFromPath(key, previous);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return entries.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** 접두어로 시작하는 단어가 있는 항목을 점수 순으로 최대 {@code limit} 개 돌려준다. */
+  public List<Match> search(String prefix, int limit) {
+    String key = normalize(prefix);
+    if (key.isEmpty()) {
+      return List.of();
+    }
+    String path = key.length() > MAX_DEPTH ? key.substring(0, MAX_DEPTH) : key;
+    List<Match> result = new ArrayList<>(Math.min(limit, topK));
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      for (int i = 0; i < path.length() && node != null; i++) {
+        node = node.children.get(path.charAt(i));
+      }
+      if (node == null) {
+        return List.of();
+      }
+      for (Entry entry : node.top) {
+        if (result.size() >= limit) {
+          break;
+        }
+        if (path.length() == key.length() || entry.hasKeyStartingWith(key)) {
+          result.add(new Match(entry.id(), entry.text(), entry.score()));
+        }
+      }
+    } finally {
+      lock.readLock().unlock();
+    }
+    return result;
+  }
+
+  private void addToPath(String key, Entry entry) {
+    Node node = root;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.children.computeIfAbsent(key.charAt(i), character -> new Node());
+      node.offer(entry, topK);
+    }
+    node.terminals.add(entry);
+  }
+
+  // 경로 끝에서부터 올라오며 빠진 항목 대신 자식 노드의 top 목록으로 다시 채운다.
+  private void removeFromPath(String key, Entry entry) {
+    Node[] path = new Node[key.length() + 1];
+    path[0] = root;
+    for (int i = 0; i < key.length(); i++) {
+      path[i + 1] = path[i].children.get(key.charAt(i));
+    }
+    path[key.length()].terminals.remove(entry);
+    for (int depth = key.length(); depth >= 1; depth--) {
+      Node node = path[depth];
+      if (node.terminals.isEmpty() && node.children.isEmpty()) {
+        path[depth - 1].children.remove(key.charAt(depth - 1));
+      } else if (node.top.remove(entry)) {
+        node.recompute(topK);
+      }
+    }
+  }
+
+  static List<String> keys(String text) {
+    String normalized = normalize(text);
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < normalized.length(); i++) {
+      if (normalized.charAt(i) != ' ' && (i == 0 || normalized.charAt(i - 1) == ' ')) {
+        String key = normalized.substring(i);
+        keys.add(key.length() > MAX_DEPTH ? key.substring(0, MAX_DEPTH) : key);
+      }
+    }
+    return keys;
+  }
+
+  static String normalize(String text) {
+    return Normalizer.normalize(text, Normalizer.Form.NFKD)
+        .toLowerCase(Locale.ROOT)
+        .strip()
+        .replaceAll("\\s+", " ");
+  }
+
+  public record Match(long id, String text, long score) {}
+
+  private record Entry(long id, String text, long score, List<String> keys) {
+    boolean hasKeyStartingWith(String key) {
+      String normalized = normalize(text);
+      for (int i = 0; i < normalized.length(); i++) {
+        if ((i == 0 || normalized.charAt(i - 1) == ' ') && normalized.startsWith(key, i)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    // 점수가 같으면 id 가 큰(최근에 만든) 항목을 앞에 둔다.
+    boolean ranksBefore(Entry other) {
+      return score != other.score ? score > other.score : id > other.id;
+    }
+  }
+
+  private static final class Node {
+    private final Map<Character, Node> children = new HashMap<>();
+    private final List<Entry> terminals = new ArrayList<>(1);
+    private final List<Entry> top = new ArrayList<>(1);
+
+    void offer(Entry entry, int topK) {
+      if (top.contains(entry)) {
+        return;
+      }
+      int index = 0;
+      while (index < top.size() && top.get(index).ranksBefore(entry)) {
+        index++;
+      }
+      if (index < topK) {
+        top.add(index, entry);
+        if (top.size() > topK) {
+          top.remove(top.size() - 1);
+        }
+      }
+    }
+
+    // 아래의 어떤 항목이든 이 노드의 top 에 들려면 자기 자식의 top 이나 이 노드에서 끝나는 키에 있어야 한다.
+    void recompute(int topK) {
+      top.clear();
+      for (Entry entry : terminals) {
+        offer(entry, topK);
+      }
+      for (Node child : children.values()) {
+        for (Entry entry : child.top) {
+          offer(entry, topK);
+        }
+      }
+    }
+  }
+}
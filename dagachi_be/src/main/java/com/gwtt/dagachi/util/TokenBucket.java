@@ -0,0 +1,59 @@
+package com.gwtt.dagachi.util;
+
+/**
+ * 단일 프로세스용 token bucket.
+ *
+ * <p>최대 {@code capacity} 개의 토큰을 가지고, 초당 {@code refillPerSecond} 개씩 다시 채운다. 요청 하나가 토큰 하나를 쓴다. 여러
+ * 스레드에서 동시에 호출해도 안전하다.
+ */
+public class TokenBucket {
+  private final long capacity;
+  private final double refillPerNano;
+  private double tokens;
+  private long lastRefillNanos;
+
+  public TokenBucket(long capacity, double refillPerSecond) {
+    this(capacity, refillPerSecond, System.nanoTime());
+  }
+
+  TokenBucket(long capacity, double refillPerSecond, long nowNanos) {
+    this.capacity = capacity;
+    this.refillPerNano = refillPerSecond / 1_000_000_000d;
+    this.tokens = capacity;
+    this.lastRefillNanos = nowNanos;
+  }
+
+  public boolean tryConsume() {
+    return tryConsume(System.nanoTime());
+  }
+
+  synchronized boolean tryConsume(long nowNanos) {
+    refill(nowNanos);
+    if (tokens < 1) {
+      return false;
+    }
+    tokens -= 1;
+    return true;
+  }
+
+  public long getRemaining() {
+    return getRemaining(System.nanoTime());
+  }
+
+  synchronized long getRemaining(long nowNanos) {
+    refill(nowNanos);
+    return (long) tokens;
+  }
+
+  public long getCapacity() {
+    return capacity;
+  }
+
+  private void refill(long nowNanos) {
+    long elapsed = nowNanos - lastRefillNanos;
+    if (elapsed > 0) {
+      tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+      lastRefillNanos = nowNanos;
+    }
+  }
+}
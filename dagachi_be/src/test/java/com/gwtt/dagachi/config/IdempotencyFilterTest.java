@@ -0,0 +1,268 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.util.HashUtils;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("IdempotencyFilter 단위 테스트")
+class IdempotencyFilterTest {
+  private static final String REDIS_KEY = "idempotency:1:key-1";
+  private static final String BODY = "{\"title\":\"스터디\"}";
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private IdempotencyFilter idempotencyFilter;
+  private final AtomicInteger handled = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    idempotencyFilter =
+        new IdempotencyFilter(
+            redisTemplate, objectMapper, new FilterErrorResponseWriter(objectMapper));
+    ReflectionTestUtils.setField(idempotencyFilter, "ttl", Duration.ofHours(24));
+    ReflectionTestUtils.setField(idempotencyFilter, "lockTtl", Duration.ofSeconds(30));
+    ReflectionTestUtils.setField(idempotencyFilter, "waitTimeout", Duration.ofMillis(100));
+
+    CustomUserDetails user = CustomUserDetails.of(1L, "user", "사용자", Role.USER);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static MockHttpServletRequest request(String body) {
+    MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/postings");
+    request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+    request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    request.setContent(body.getBytes(StandardCharsets.UTF_8));
+    return request;
+  }
+
+  // 본문을 읽고 201 로 응답하는 컨트롤러 대신
+  private FilterChain createdChain() {
+    return (request, response) -> {
+      handled.incrementAndGet();
+      String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+      response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+      ((HttpServletResponse) response).setStatus(201);
+      response
+          .getOutputStream()
+          .write(("{\"echo\":" + body + "}").getBytes(StandardCharsets.UTF_8));
+    };
+  }
+
+  // 첫 요청을 처리하고 Redis 에 저장된 응답을 돌려준다.
+  private String storeFirstResponse() throws Exception {
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    idempotencyFilter.doFilter(request(BODY), new MockHttpServletResponse(), createdChain());
+    ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+    then(valueOperations).should().set(eq(REDIS_KEY), stored.capture(), eq(Duration.ofHours(24)));
+    return stored.getValue();
+  }
+
+  @Test
+  @DisplayName("첫 요청은 컨트롤러까지 보내고 응답을 저장한다")
+  void firstRequestIsHandledAndStored() throws Exception {
+    // given
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    idempotencyFilter.doFilter(request(BODY), response, createdChain());
+
+    // then
+    assertThat(handled).hasValue(1);
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+        .isEqualTo("{\"echo\":" + BODY + "}");
+    assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+    then(valueOperations).should().set(eq(REDIS_KEY), contains("\"completed\":true"), any());
+  }
+
+  @Test
+  @DisplayName("같은 키로 같은 요청을 다시 보내면 컨트롤러를 거치지 않고 저장된 응답을 돌려준다")
+  void replaysStoredResponse() throws Exception {
+    // given
+    String stored = storeFirstResponse();
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(false);
+    given(valueOperations.get(REDIS_KEY)).willReturn(stored);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    idempotencyFilter.doFilter(request(BODY), response, createdChain());
+
+    // then
+    assertThat(handled).hasValue(1);
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+        .isEqualTo("{\"echo\":" + BODY + "}");
+  }
+
+  @Test
+  @DisplayName("같은 키로 본문이 다른 요청을 보내면 422 로 거절한다")
+  void rejectsDifferentBodyWithSameKey() throws Exception {
+    // given
+    String stored = storeFirstResponse();
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(false);
+    given(valueOperations.get(REDIS_KEY)).willReturn(stored);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    idempotencyFilter.doFilter(request("{\"title\":\"다른 글\"}"), response, createdChain());
+
+    // then
+    assertThat(handled).hasValue(1);
+    assertThat(response.getStatus()).isEqualTo(422);
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+        .contains("IDEMPOTENCY_KEY_REUSED");
+  }
+
+  @Test
+  @DisplayName("첫 요청이 끝나지 않은 채 대기 시간이 지나면 409 와 Retry-After 로 응답한다")
+  void rejectsWhileFirstRequestIsInFlight() throws Exception {
+    // given: 다른 인스턴스가 같은 키로 처리 중이다
+    String fingerprint = HashUtils.sha256Hex("/api/postings\n" + BODY);
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(false);
+    given(valueOperations.get(REDIS_KEY))
+        .willReturn(
+            objectMapper.writeValueAsString(
+                Map.of("completed", false, "fingerprint", fingerprint, "status", 0)));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    idempotencyFilter.doFilter(request(BODY), response, createdChain());
+
+    // then
+    assertThat(handled).hasValue(0);
+    assertThat(response.getStatus()).isEqualTo(409);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+        .contains("IDEMPOTENCY_REQUEST_IN_PROGRESS");
+  }
+
+  @Test
+  @DisplayName("처리 후 응답 저장에 실패해도 실제 응답은 그대로 돌려준다")
+  void returnsResponseWhenStoreFails() throws Exception {
+    // given
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    willThrow(new RedisConnectionFailureException("down"))
+        .given(valueOperations)
+        .set(eq(REDIS_KEY), anyString(), any(Duration.class));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    assertThatCode(() -> idempotencyFilter.doFilter(request(BODY), response, createdChain()))
+        .doesNotThrowAnyException();
+
+    // then
+    assertThat(response.getStatus()).isEqualTo(201);
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8))
+        .isEqualTo("{\"echo\":" + BODY + "}");
+  }
+
+  @Test
+  @DisplayName("5xx 로 끝난 요청은 저장하지 않고 처리 중 표시를 지워 다시 시도할 수 있게 한다")
+  void releasesKeyOnServerError() throws Exception {
+    // given
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    idempotencyFilter.doFilter(
+        request(BODY), response, (req, res) -> ((HttpServletResponse) res).setStatus(503));
+
+    // then
+    assertThat(response.getStatus()).isEqualTo(503);
+    then(redisTemplate).should().delete(REDIS_KEY);
+    then(valueOperations).should(never()).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  @DisplayName("미리 읽어 둔 본문도 비동기 ReadListener 로 읽을 수 있다")
+  void supportsReadListener() throws Exception {
+    // given
+    given(valueOperations.setIfAbsent(eq(REDIS_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    ByteArrayOutputStream read = new ByteArrayOutputStream();
+    AtomicInteger allDataRead = new AtomicInteger();
+
+    // when
+    idempotencyFilter.doFilter(
+        request(BODY),
+        new MockHttpServletResponse(),
+        (req, res) -> {
+          ServletInputStream input = req.getInputStream();
+          input.setReadListener(
+              new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                  while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                  }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                  allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                  throw new AssertionError(t);
+                }
+              });
+        });
+
+    // then
+    assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(BODY);
+    assertThat(allDataRead).hasValue(1);
+  }
+}
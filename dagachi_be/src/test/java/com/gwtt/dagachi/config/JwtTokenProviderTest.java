@@ -0,0 +1,126 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtTokenProvider 단위 테스트")
+class JwtTokenProviderTest {
+  private static final String SECRET_KEY =
+      "testSecretKeyForTestingPurposesOnlyMinimum256Bits123456789123456789123456789123456789";
+
+  @Mock private UserDetailsService userDetailsService;
+  @Mock private TokenRevocationRegistry tokenRevocationRegistry;
+
+  @InjectMocks private JwtTokenProvider jwtTokenProvider;
+
+  private String token;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(jwtTokenProvider, "secretKey", SECRET_KEY);
+    ReflectionTestUtils.setField(jwtTokenProvider, "expirationTime", 3_600_000L);
+    ReflectionTestUtils.setField(jwtTokenProvider, "claimsAuthentication", true);
+    ReflectionTestUtils.setField(jwtTokenProvider, "verifiedCacheSize", 100L);
+    jwtTokenProvider.init();
+
+    token = jwtTokenProvider.generateToken(CustomUserDetails.of(1L, "user", "사용자", Role.USER));
+  }
+
+  @Test
+  @DisplayName("토큰 클레임만으로 principal 을 만들고 DB 에서 사용자를 읽지 않는다")
+  void buildsPrincipalFromClaims() {
+    // when
+    Authentication authentication = jwtTokenProvider.getAuthentication(token);
+
+    // then
+    CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+    assertThat(principal.getUserId()).isEqualTo(1L);
+    assertThat(principal.getUsername()).isEqualTo("user");
+    assertThat(principal.getNickname()).isEqualTo("사용자");
+    assertThat(principal.getRole()).isEqualTo(Role.USER);
+    assertThat(authentication.getAuthorities())
+        .extracting(Object::toString)
+        .containsExactly("ROLE_USER");
+    then(userDetailsService).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("로그아웃으로 무효화된 토큰은 거부한다")
+  void rejectsRevokedToken() {
+    // given
+    given(tokenRevocationRegistry.isTokenRevoked(anyString())).willReturn(true);
+
+    // when & then
+    assertThat(jwtTokenProvider.getAuthentication(token)).isNull();
+  }
+
+  @Test
+  @DisplayName("사용자 단위로 무효화된 뒤에는 그 전에 발급된 토큰을 거부한다")
+  void rejectsTokenIssuedBeforeUserRevocation() {
+    // given
+    given(tokenRevocationRegistry.isRevoked(eq(1L), anyLong())).willReturn(true);
+
+    // when & then
+    assertThat(jwtTokenProvider.getAuthentication(token)).isNull();
+  }
+
+  @Test
+  @DisplayName("검증된 토큰을 캐시에서 꺼내도 무효화 여부는 다시 확인한다")
+  void checksRevocationOnCachedToken() {
+    // given
+    assertThat(jwtTokenProvider.getAuthentication(token)).isNotNull();
+    given(tokenRevocationRegistry.isTokenRevoked(anyString())).willReturn(true);
+
+    // when & then
+    assertThat(jwtTokenProvider.getAuthentication(token)).isNull();
+  }
+
+  @Test
+  @DisplayName("로그아웃하면 토큰의 jti 를 만료 시각까지 무효화 목록에 올린다")
+  void revokesTokenIdUntilExpiry() {
+    // given
+    String another =
+        jwtTokenProvider.generateToken(CustomUserDetails.of(1L, "user", "사용자", Role.USER));
+    long now = System.currentTimeMillis();
+
+    // when
+    jwtTokenProvider.revoke(token);
+    jwtTokenProvider.revoke(another);
+
+    // then
+    ArgumentCaptor<String> tokenIds = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<Long> expiresAt = ArgumentCaptor.forClass(Long.class);
+    then(tokenRevocationRegistry)
+        .should(times(2))
+        .revokeToken(tokenIds.capture(), expiresAt.capture());
+    // 같은 사용자의 토큰이라도 jti 가 달라 하나만 로그아웃할 수 있다.
+    assertThat(tokenIds.getAllValues()).doesNotHaveDuplicates().doesNotContainNull();
+    assertThat(expiresAt.getValue()).isBetween(now + 3_500_000L, now + 3_600_000L);
+  }
+
+  @Test
+  @DisplayName("검증되지 않는 토큰은 무효화하지 않는다")
+  void ignoresInvalidTokenOnRevoke() {
+    // when
+    jwtTokenProvider.revoke(token + "tampered");
+
+    // then
+    then(tokenRevocationRegistry).should(never()).revokeToken(anyString(), anyLong());
+  }
+}
@@ -0,0 +1,105 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@DisplayName("LockRetryInterceptor 테스트")
+class LockRetryInterceptorTest {
+  private static final CannotAcquireLockException DEADLOCK =
+      new CannotAcquireLockException("deadlock", new SQLException("Deadlock found", "40001", 1213));
+  private static final CannotAcquireLockException LOCK_WAIT_TIMEOUT =
+      new CannotAcquireLockException(
+          "lock wait timeout", new SQLException("Lock wait timeout exceeded", "HY000", 1205));
+
+  private SimpleMeterRegistry meterRegistry;
+  private LockRetryInterceptor interceptor;
+  private ProxyMethodInvocation invocation;
+  private ProxyMethodInvocation attempt;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    meterRegistry = new SimpleMeterRegistry();
+    interceptor =
+        new LockRetryInterceptor(
+            new LockMetrics(meterRegistry), 3, Duration.ofMillis(1), Duration.ofMillis(2));
+    invocation = mock(ProxyMethodInvocation.class);
+    attempt = mock(ProxyMethodInvocation.class);
+    given(invocation.getMethod()).willReturn(String.class.getMethod("trim"));
+    given(invocation.invocableClone()).willReturn(attempt);
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setActualTransactionActive(false);
+  }
+
+  @Test
+  @DisplayName("데드락이면 다시 시도하고 실패한 시도를 센다")
+  void retriesDeadlock() throws Throwable {
+    // given
+    given(attempt.proceed()).willThrow(DEADLOCK).willThrow(DEADLOCK).willReturn("ok");
+
+    // when
+    Object result = interceptor.invoke(invocation);
+
+    // then
+    assertThat(result).isEqualTo("ok");
+    then(attempt).should(times(3)).proceed();
+    assertThat(meterRegistry.get("db.lock.deadlocks").tag("operation", "String.trim").counter())
+        .extracting(Counter::count)
+        .isEqualTo(2.0);
+    assertThat(meterRegistry.get("db.lock.retries").tag("cause", "deadlock").counter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("최대 횟수까지 실패하면 마지막 예외를 그대로 던진다")
+  void givesUpAfterMaxAttempts() throws Throwable {
+    // given
+    given(attempt.proceed()).willThrow(LOCK_WAIT_TIMEOUT);
+
+    // when & then
+    assertThatThrownBy(() -> interceptor.invoke(invocation)).isSameAs(LOCK_WAIT_TIMEOUT);
+    then(attempt).should(times(3)).proceed();
+    assertThat(meterRegistry.get("db.lock.timeouts").counter().count()).isEqualTo(3);
+    assertThat(meterRegistry.get("db.lock.retries").counter().count()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("잠금과 관계없는 예외는 다시 시도하지 않는다")
+  void doesNotRetryOtherFailures() throws Throwable {
+    // given
+    DataIntegrityViolationException failure = new DataIntegrityViolationException("duplicate");
+    given(attempt.proceed()).willThrow(failure);
+
+    // when & then
+    assertThatThrownBy(() -> interceptor.invoke(invocation)).isSameAs(failure);
+    then(attempt).should(times(1)).proceed();
+  }
+
+  @Test
+  @DisplayName("바깥 트랜잭션 안에서는 다시 시도하지 않고 바깥에 맡긴다")
+  void doesNotRetryInsideOuterTransaction() throws Throwable {
+    // given
+    TransactionSynchronizationManager.setActualTransactionActive(true);
+    given(invocation.proceed()).willThrow(DEADLOCK);
+
+    // when & then
+    assertThatThrownBy(() -> interceptor.invoke(invocation)).isSameAs(DEADLOCK);
+    then(invocation).should(times(1)).proceed();
+    then(invocation).should(never()).invocableClone();
+  }
+}
@@ -0,0 +1,104 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PasswordHashingExecutor 테스트")
+class PasswordHashingExecutorTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private PasswordHashingExecutor executor;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    executor = new PasswordHashingExecutor(meterRegistry, 1, 1, 3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  @DisplayName("작업은 해싱 전용 스레드에서 실행되고 소요 시간이 기록된다")
+  void runsOnHashingThread() {
+    // when
+    String threadName = executor.execute(() -> Thread.currentThread().getName());
+
+    // then
+    assertThat(threadName).startsWith("password-hashing-");
+    assertThat(meterRegistry.get("auth.password_hashing.duration").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("작업에서 난 예외는 그대로 호출자에게 전달된다")
+  void propagatesTaskException() {
+    // when & then
+    assertThatThrownBy(
+            () ->
+                executor.execute(
+                    () -> {
+                      throw new DagachiException(ErrorCode.LOGIN_FAILED);
+                    }))
+        .isInstanceOf(DagachiException.class)
+        .extracting("errorCode")
+        .isEqualTo(ErrorCode.LOGIN_FAILED);
+  }
+
+  @Test
+  @DisplayName("대기열이 가득 차면 기다리지 않고 AUTH_SERVER_BUSY 로 거절한다")
+  void rejectsWhenQueueIsFull() throws Exception {
+    // given: 스레드 하나는 작업 중이고 대기열 한 칸도 찼다
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Void> running =
+        CompletableFuture.runAsync(
+            () ->
+                executor.execute(
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return null;
+                    }));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<String> queued =
+        CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+    while (meterRegistry.get("auth.password_hashing.queue.size").gauge().value() < 1) {
+      Thread.sleep(10);
+    }
+
+    // when & then
+    assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+        .isInstanceOf(DagachiException.class)
+        .satisfies(
+            e -> {
+              DagachiException exception = (DagachiException) e;
+              assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.AUTH_SERVER_BUSY);
+              assertThat(exception.getRetryAfterSeconds()).isEqualTo(3);
+            });
+    assertThat(meterRegistry.get("auth.password_hashing.rejected").counter().count()).isEqualTo(1);
+
+    release.countDown();
+    running.get(5, TimeUnit.SECONDS);
+    assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
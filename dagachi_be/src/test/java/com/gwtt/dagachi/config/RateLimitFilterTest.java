@@ -0,0 +1,232 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.constants.Role;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitFilter 단위 테스트")
+class RateLimitFilterTest {
+  private static final String PARTICIPATION_CAPACITY = "2";
+
+  @Mock private StringRedisTemplate redisTemplate;
+
+  private RateLimitFilter rateLimitFilter;
+  private final AtomicInteger handled = new AtomicInteger();
+  private final FilterChain chain = (request, response) -> handled.incrementAndGet();
+
+  @BeforeEach
+  void setUp() {
+    // 참여 그룹은 분당 1 개만 채워 테스트 중에는 내부 bucket 이 다시 차지 않는다.
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("rate-limit.participation.capacity", PARTICIPATION_CAPACITY)
+            .withProperty("rate-limit.participation.refill-per-minute", "1");
+    rateLimitFilter =
+        new RateLimitFilter(
+            redisTemplate, new FilterErrorResponseWriter(new ObjectMapper()), environment);
+    ReflectionTestUtils.setField(rateLimitFilter, "enabled", true);
+    ReflectionTestUtils.setField(rateLimitFilter, "shared", true);
+    ReflectionTestUtils.setField(rateLimitFilter, "maxLocalBuckets", 1000L);
+    rateLimitFilter.init();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  private static MockHttpServletRequest request(String method, String path) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+    request.setRemoteAddr("172.17.0.1");
+    return request;
+  }
+
+  private static void login(Long userId) {
+    CustomUserDetails user = CustomUserDetails.of(userId, "user", "사용자", Role.USER);
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+  }
+
+  // 공유 bucket 스크립트의 결과 {허용 여부, 남은 토큰 수, 다음 토큰까지 남은 밀리초}
+  private void givenSharedBucket(long allowed, long remaining, long waitMillis) {
+    given(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+        .willReturn(List.of(allowed, remaining, waitMillis));
+  }
+
+  private List<String> sharedKeys(int times) {
+    ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+    then(redisTemplate)
+        .should(times(times))
+        .execute(any(RedisScript.class), keys.capture(), anyString(), anyString());
+    return keys.getAllValues().stream().map(keyList -> keyList.get(0)).toList();
+  }
+
+  @Test
+  @DisplayName("경로와 메서드로 검색, 참여, 댓글 그룹을 나누어 bucket 을 따로 쓴다")
+  void matchesRouteGroups() throws Exception {
+    // given
+    givenSharedBucket(1, 1, 0);
+
+    // when
+    rateLimitFilter.doFilter(
+        request("POST", "/api/postings/search/nearby"), new MockHttpServletResponse(), chain);
+    rateLimitFilter.doFilter(
+        request("POST", "/api/participation/3"), new MockHttpServletResponse(), chain);
+    rateLimitFilter.doFilter(
+        request("POST", "/api/postings/3/comment"), new MockHttpServletResponse(), chain);
+
+    // then
+    assertThat(handled).hasValue(3);
+    assertThat(sharedKeys(3))
+        .containsExactly(
+            "rate-limit:search:ip:172.17.0.1",
+            "rate-limit:participation:ip:172.17.0.1",
+            "rate-limit:comment:ip:172.17.0.1");
+  }
+
+  @Test
+  @DisplayName("제한 대상이 아닌 요청은 Redis 를 거치지 않고 헤더도 붙이지 않는다")
+  void passesUnlimitedRoutes() throws Exception {
+    // given
+    MockHttpServletResponse search = new MockHttpServletResponse();
+    MockHttpServletResponse cancel = new MockHttpServletResponse();
+
+    // when
+    rateLimitFilter.doFilter(request("GET", "/api/postings/search/nearby"), search, chain);
+    rateLimitFilter.doFilter(request("DELETE", "/api/participation/3"), cancel, chain);
+
+    // then
+    assertThat(handled).hasValue(2);
+    assertThat(search.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    assertThat(cancel.getHeader(RateLimitFilter.LIMIT_HEADER)).isNull();
+    then(redisTemplate).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("로그인한 요청은 userId 로, 그 외에는 X-Real-IP 로 bucket 을 나눈다")
+  void keysByUserOrRealIp() throws Exception {
+    // given
+    givenSharedBucket(1, 1, 0);
+    MockHttpServletRequest anonymous = request("POST", "/api/participation/3");
+    anonymous.addHeader("X-Real-IP", "203.0.113.7");
+    MockHttpServletRequest blankRealIp = request("POST", "/api/participation/3");
+    blankRealIp.addHeader("X-Real-IP", " ");
+
+    // when
+    rateLimitFilter.doFilter(anonymous, new MockHttpServletResponse(), chain);
+    rateLimitFilter.doFilter(blankRealIp, new MockHttpServletResponse(), chain);
+    login(1L);
+    rateLimitFilter.doFilter(anonymous, new MockHttpServletResponse(), chain);
+
+    // then
+    assertThat(sharedKeys(3))
+        .containsExactly(
+            "rate-limit:participation:ip:203.0.113.7",
+            "rate-limit:participation:ip:172.17.0.1",
+            "rate-limit:participation:user:1");
+  }
+
+  @Test
+  @DisplayName("공유 bucket 이 허용하면 한도와 남은 수, 가득 찰 때까지의 시간을 헤더로 알린다")
+  void setsRateLimitHeaders() throws Exception {
+    // given
+    givenSharedBucket(1, 1, 0);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    rateLimitFilter.doFilter(request("POST", "/api/participation/3"), response, chain);
+
+    // then
+    assertThat(handled).hasValue(1);
+    assertThat(response.getHeader(RateLimitFilter.LIMIT_HEADER)).isEqualTo(PARTICIPATION_CAPACITY);
+    assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+    assertThat(response.getHeader(RateLimitFilter.RESET_HEADER)).isEqualTo("60");
+    assertThat(response.getHeader("Retry-After")).isNull();
+    then(redisTemplate)
+        .should()
+        .execute(any(RedisScript.class), anyList(), eq(PARTICIPATION_CAPACITY), anyString());
+  }
+
+  @Test
+  @DisplayName("공유 bucket 이 거절하면 다음 토큰까지 남은 시간을 초 단위로 올려 Retry-After 로 알린다")
+  void rejectsBySharedBucket() throws Exception {
+    // given: 다른 인스턴스들이 이미 공유 bucket 을 비웠다
+    givenSharedBucket(0, 0, 1500);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    rateLimitFilter.doFilter(request("POST", "/api/participation/3"), response, chain);
+
+    // then
+    assertThat(handled).hasValue(0);
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("2");
+    assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("0");
+    assertThat(response.getContentAsString(StandardCharsets.UTF_8)).contains("TOO_MANY_REQUESTS");
+  }
+
+  @Test
+  @DisplayName("내부 bucket 이 비면 Redis 에 묻지 않고 바로 거절한다")
+  void rejectsByLocalBucketWithoutRedis() throws Exception {
+    // given
+    givenSharedBucket(1, 1, 0);
+    for (int i = 0; i < Integer.parseInt(PARTICIPATION_CAPACITY); i++) {
+      rateLimitFilter.doFilter(
+          request("POST", "/api/participation/3"), new MockHttpServletResponse(), chain);
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    rateLimitFilter.doFilter(request("POST", "/api/participation/3"), response, chain);
+
+    // then
+    assertThat(handled).hasValue(2);
+    assertThat(response.getStatus()).isEqualTo(429);
+    assertThat(response.getHeader("Retry-After")).isEqualTo("60");
+    assertThat(sharedKeys(2)).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("Redis 에 접근할 수 없으면 내부 bucket 결과만으로 통과시킨다")
+  void fallsBackToLocalBucketWhenRedisIsDown() throws Exception {
+    // given
+    given(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString()))
+        .willThrow(new RedisConnectionFailureException("down"));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // when
+    rateLimitFilter.doFilter(request("POST", "/api/participation/3"), response, chain);
+
+    // then
+    assertThat(handled).hasValue(1);
+    assertThat(response.getStatus()).isEqualTo(200);
+    assertThat(response.getHeader(RateLimitFilter.REMAINING_HEADER)).isEqualTo("1");
+  }
+}
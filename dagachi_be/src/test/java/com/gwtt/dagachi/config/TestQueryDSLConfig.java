@@ -1,10 +1,13 @@
 package com.gwtt.dagachi.config;
 
+import com.gwtt.dagachi.repository.PostingFullTextSearch;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import javax.sql.DataSource;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 @TestConfiguration
 @Profile("test")
@@ -13,4 +16,10 @@ public class TestQueryDSLConfig {
   public JPAQueryFactory jpaQueryFactory(EntityManager entityManager) {
     return new JPAQueryFactory(entityManager);
   }
+
+  // H2 에서는 FULLTEXT 를 쓰지 않으므로 항상 LIKE 검색으로 동작한다.
+  @Bean
+  public PostingFullTextSearch postingFullTextSearch(DataSource dataSource) {
+    return new PostingFullTextSearch(new JdbcTemplate(dataSource));
+  }
 }
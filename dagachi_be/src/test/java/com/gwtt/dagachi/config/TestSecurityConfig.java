@@ -3,6 +3,7 @@ package com.gwtt.dagachi.config;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,6 +18,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 @EnableWebSecurity
 @EnableMethodSecurity
 @Profile("test")
+// 슬라이스 테스트도 요청 필터를 올리므로, 필터가 쓰는 응답 작성기를 함께 등록한다.
+@Import(FilterErrorResponseWriter.class)
 public class TestSecurityConfig {
   @Autowired private JwtAuthenticationFilter jwtAuthenticationFilter;
 
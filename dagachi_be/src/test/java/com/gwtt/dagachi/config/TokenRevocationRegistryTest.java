@@ -0,0 +1,191 @@
+package com.gwtt.dagachi.config;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.util.BloomFilter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TokenRevocationRegistry 단위 테스트")
+class TokenRevocationRegistryTest {
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private HashOperations<String, Object, Object> hashOperations;
+  @Mock private Cursor<String> keys;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @InjectMocks private TokenRevocationRegistry tokenRevocationRegistry;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(tokenRevocationRegistry, "expirationTime", 3_600_000L);
+    ReflectionTestUtils.setField(tokenRevocationRegistry, "expectedRevokedTokens", 100L);
+    given(redisTemplate.<Object, Object>opsForHash()).willReturn(hashOperations);
+  }
+
+  @Test
+  @DisplayName("Redis 에 접근할 수 없어도 시작은 하고, 다음 확인 때 무효화 정보를 다시 읽는다")
+  void startsWithoutRedisAndRestoresLater() {
+    // given
+    long revokedAt = System.currentTimeMillis();
+    given(hashOperations.entries("auth:revoked-before"))
+        .willThrow(new RedisConnectionFailureException("down"))
+        .willReturn(Map.of("1", Long.toString(revokedAt)));
+    given(redisTemplate.scan(any())).willReturn(keys);
+
+    // when
+    assertThatCode(() -> tokenRevocationRegistry.init()).doesNotThrowAnyException();
+    ReflectionTestUtils.setField(tokenRevocationRegistry, "nextLoadAt", 0L);
+
+    // then
+    assertThat(tokenRevocationRegistry.isRevoked(1L, revokedAt - 1)).isTrue();
+    assertThat(tokenRevocationRegistry.isRevoked(1L, revokedAt + 1)).isFalse();
+  }
+
+  @Nested
+  @DisplayName("토큰(jti) 단위 무효화")
+  class TokenRevocationTest {
+
+    @BeforeEach
+    void setUp() {
+      given(hashOperations.entries("auth:revoked-before")).willReturn(Map.of());
+      given(redisTemplate.scan(any())).willReturn(keys);
+    }
+
+    @Test
+    @DisplayName("로그아웃한 토큰은 바로 거부하고, Redis 에 만료 시각까지 남겨 다른 인스턴스에 알린다")
+    void revokesTokenLocallyAndPublishes() {
+      // given
+      given(redisTemplate.opsForValue()).willReturn(valueOperations);
+      tokenRevocationRegistry.init();
+
+      // when
+      tokenRevocationRegistry.revokeToken("jti-1", System.currentTimeMillis() + 60_000);
+
+      // then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-1")).isTrue();
+      then(valueOperations)
+          .should()
+          .set(eq("auth:revoked-token:jti-1"), eq("1"), any(Duration.class));
+      then(redisTemplate)
+          .should()
+          .convertAndSend(TokenRevocationRegistry.REVOKED_CHANNEL, "token:jti-1");
+    }
+
+    @Test
+    @DisplayName("무효화되지 않은 토큰은 Bloom filter 에서 걸러져 Redis 를 조회하지 않는다")
+    void skipsRedisForUnknownToken() {
+      // given
+      tokenRevocationRegistry.init();
+
+      // when & then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-unknown")).isFalse();
+      then(redisTemplate).should(never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("이미 만료된 토큰은 무효화 목록에 올리지 않는다")
+    void ignoresExpiredToken() {
+      // given
+      tokenRevocationRegistry.init();
+
+      // when
+      tokenRevocationRegistry.revokeToken("jti-expired", System.currentTimeMillis() - 1);
+
+      // then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-expired")).isFalse();
+      then(redisTemplate).should(never()).opsForValue();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스에서 무효화한 토큰은 메시지로 받아 거부한다")
+    void appliesRevocationFromOtherInstance() {
+      // given
+      tokenRevocationRegistry.init();
+
+      // when
+      tokenRevocationRegistry.onMessage(
+          new DefaultMessage(
+              TokenRevocationRegistry.REVOKED_CHANNEL.getBytes(StandardCharsets.UTF_8),
+              "token:jti-2".getBytes(StandardCharsets.UTF_8)),
+          null);
+
+      // then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-2")).isTrue();
+    }
+
+    @Test
+    @DisplayName("재시작하면 Redis 에 남은 jti 를 다시 읽어 거부한다")
+    void restoresRevokedTokensOnStartup() {
+      // given
+      willAnswer(
+              invocation -> {
+                invocation.<Consumer<String>>getArgument(0).accept("auth:revoked-token:jti-3");
+                return null;
+              })
+          .given(keys)
+          .forEachRemaining(any());
+
+      // when
+      tokenRevocationRegistry.init();
+
+      // then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-3")).isTrue();
+      then(redisTemplate).should(never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Redis 를 조회할 수 없어도 메모리에 무효화로 남은 토큰은 거부한다")
+    void rejectsKnownRevokedTokenWhileRedisIsDown() {
+      // given
+      given(redisTemplate.opsForValue()).willReturn(valueOperations);
+      tokenRevocationRegistry.init();
+      tokenRevocationRegistry.revokeToken("jti-4", System.currentTimeMillis() + 60_000);
+
+      // when & then
+      assertThat(tokenRevocationRegistry.isTokenRevoked("jti-4")).isTrue();
+      then(redisTemplate).should(never()).hasKey(anyString());
+    }
+
+    @Test
+    @DisplayName("Bloom filter 에만 걸린 토큰은 Redis 장애 중 통과시키고, 복구되면 다시 조회한다")
+    void allowsUnknownTokenWhileRedisIsDownWithoutCaching() {
+      // given: 다른 세대에서 무효화되어 Bloom filter 에만 남은 토큰
+      tokenRevocationRegistry.init();
+      ((BloomFilter) ReflectionTestUtils.getField(tokenRevocationRegistry, "currentGeneration"))
+          .put("jti-5");
+      given(redisTemplate.hasKey("auth:revoked-token:jti-5"))
+          .willThrow(new RedisConnectionFailureException("down"))
+          .willReturn(true);
+
+      // when
+      boolean whileDown = tokenRevocationRegistry.isTokenRevoked("jti-5");
+      boolean afterRecovery = tokenRevocationRegistry.isTokenRevoked("jti-5");
+
+      // then
+      assertThat(whileDown).isFalse();
+      assertThat(afterRecovery).isTrue();
+      then(redisTemplate).should(times(2)).hasKey("auth:revoked-token:jti-5");
+    }
+  }
+}
@@ -32,6 +32,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
@@ -52,6 +53,7 @@ class AdminControllerTest {
   @MockitoBean private JwtTokenProvider jwtTokenProvider;
   @MockitoBean private CustomUserDetailsService customUserDetailsService;
   @MockitoBean private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
+  @MockitoBean private StringRedisTemplate stringRedisTemplate;
 
   private User adminUser;
   private User normalUser;
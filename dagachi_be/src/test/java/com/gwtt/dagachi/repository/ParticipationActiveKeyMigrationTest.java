@@ -0,0 +1,134 @@
+package com.gwtt.dagachi.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.config.JpaAuditingConfig;
+import com.gwtt.dagachi.config.TestQueryDSLConfig;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// ALTER TABLE 은 트랜잭션을 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestQueryDSLConfig.class, JpaAuditingConfig.class, ParticipationActiveKeyMigration.class})
+@ActiveProfiles("test")
+@DisplayName("ParticipationActiveKeyMigration 테스트")
+class ParticipationActiveKeyMigrationTest {
+  private static final String INSERT_SQL =
+      "INSERT INTO participations (posting_id, participant_id, status, created_at, updated_at) "
+          + "VALUES (?, ?, ?, NOW(), NOW())";
+
+  @Autowired private ParticipationActiveKeyMigration migration;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PostingRepository postingRepository;
+
+  private Long postingId;
+  private Long participantId;
+
+  @BeforeEach
+  void setUp() {
+    User author =
+        userRepository.save(
+            User.builder()
+                .username("author")
+                .password("password")
+                .role(Role.USER)
+                .nickname("작성자")
+                .build());
+    User participant =
+        userRepository.save(
+            User.builder()
+                .username("participant")
+                .password("password")
+                .role(Role.USER)
+                .nickname("참가자")
+                .build());
+    Posting posting =
+        Posting.builder()
+            .title("테스트 포스팅")
+            .description("설명")
+            .type(PostingType.PROJECT)
+            .maxCapacity(2)
+            .author(author)
+            .build();
+    postingId = postingRepository.save(posting).getId();
+    participantId = participant.getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM participations");
+    jdbcTemplate.update("DELETE FROM postings");
+    jdbcTemplate.update("DELETE FROM users");
+    migration.migrate();
+  }
+
+  private List<String> activeStatuses() {
+    return jdbcTemplate.queryForList(
+        "SELECT status FROM participations WHERE deleted_at IS NULL ORDER BY id", String.class);
+  }
+
+  @Test
+  @DisplayName("제약이 없으면 살아 있는 중복 신청 중 가장 앞선 것만 남기고 제약을 건다")
+  void removesDuplicatesAndAddsConstraint() {
+    // given: 제약이 없던 때 같은 사용자의 신청이 여러 번 저장되었다
+    jdbcTemplate.execute(
+        "ALTER TABLE participations DROP CONSTRAINT "
+            + ParticipationActiveKeyMigration.CONSTRAINT_NAME);
+    jdbcTemplate.update(INSERT_SQL, postingId, participantId, "PENDING");
+    jdbcTemplate.update(INSERT_SQL, postingId, participantId, "APPROVED");
+    jdbcTemplate.update(INSERT_SQL, postingId, participantId, "APPROVED");
+    jdbcTemplate.update(
+        "UPDATE postings SET approved_count = 2, status = ? WHERE id = ?",
+        PostingStatus.RECRUITED.name(),
+        postingId);
+
+    // when
+    migration.migrate();
+
+    // then
+    assertThat(activeStatuses()).containsExactly("APPROVED");
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT approved_count FROM postings WHERE id = ?", Integer.class, postingId))
+        .isEqualTo(1);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT status FROM postings WHERE id = ?", String.class, postingId))
+        .isEqualTo(PostingStatus.RECRUITING.name());
+    assertThatThrownBy(() -> jdbcTemplate.update(INSERT_SQL, postingId, participantId, "PENDING"))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("제약이 이미 있으면 아무것도 바꾸지 않는다")
+  void noopWhenConstraintExists() {
+    // given
+    jdbcTemplate.update(INSERT_SQL, postingId, participantId, "PENDING");
+
+    // when
+    migration.migrate();
+
+    // then
+    assertThat(activeStatuses()).containsExactly("PENDING");
+    assertThatThrownBy(() -> jdbcTemplate.update(INSERT_SQL, postingId, participantId, "PENDING"))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}
@@ -10,6 +10,7 @@ import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.entity.Participation;
 import com.gwtt.dagachi.entity.Posting;
 import com.gwtt.dagachi.entity.User;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.context.ActiveProfiles;
 
 @DataJpaTest
@@ -190,4 +192,65 @@ class ParticipationRepositoryTest {
         participationRepository.findByPostingId(posting.getId());
     assertThat(allParticipations).isEmpty();
   }
+
+  @Test
+  @DisplayName("살아 있는 참가는 게시글과 참가자마다 하나뿐이고, 취소한 뒤에는 다시 참가할 수 있다")
+  void uniqueActiveParticipation() {
+    // given
+    Participation left =
+        participationRepository.saveAndFlush(
+            Participation.builder().posting(posting).participant(participant).build());
+    participationRepository.delete(left);
+    participationRepository.flush();
+
+    // when
+    Participation rejoined =
+        participationRepository.saveAndFlush(
+            Participation.builder().posting(posting).participant(participant).build());
+
+    // then
+    assertThat(rejoined.getId()).isNotEqualTo(left.getId());
+    assertThatThrownBy(
+            () ->
+                participationRepository.saveAndFlush(
+                    Participation.builder().posting(posting).participant(participant).build()))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+
+  @Test
+  @DisplayName("게시글의 참가만 골라 잠그고, 요청한 참가의 상태를 한 문장으로 바꾼다")
+  void updateStatusByIdIn() {
+    // given
+    Posting other =
+        postingRepository.save(
+            Posting.builder()
+                .title("다른 포스팅")
+                .description("설명")
+                .type(PostingType.STUDY)
+                .maxCapacity(5)
+                .author(author)
+                .build());
+    Participation mine =
+        participationRepository.save(
+            Participation.builder().posting(posting).participant(participant).build());
+    Participation elsewhere =
+        participationRepository.save(
+            Participation.builder().posting(other).participant(participant).build());
+
+    // when
+    List<Participation> locked =
+        participationRepository.findAllByIdInAndPostingIdForUpdate(
+            List.of(mine.getId(), elsewhere.getId()), posting.getId());
+    int updated =
+        participationRepository.updateStatusByIdIn(
+            List.of(mine.getId()), ParticipationStatus.APPROVED, LocalDateTime.now());
+
+    // then
+    assertThat(locked).extracting(Participation::getId).containsExactly(mine.getId());
+    assertThat(updated).isEqualTo(1);
+    assertThat(participationRepository.findById(mine.getId()).orElseThrow().getStatus())
+        .isEqualTo(ParticipationStatus.APPROVED);
+    assertThat(participationRepository.findById(elsewhere.getId()).orElseThrow().getStatus())
+        .isEqualTo(ParticipationStatus.PENDING);
+  }
 }
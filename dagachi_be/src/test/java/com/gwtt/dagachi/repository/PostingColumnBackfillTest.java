@@ -0,0 +1,139 @@
+package com.gwtt.dagachi.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.config.JpaAuditingConfig;
+import com.gwtt.dagachi.config.TestQueryDSLConfig;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// 재계산은 자체 트랜잭션으로 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestQueryDSLConfig.class, JpaAuditingConfig.class, PostingColumnBackfill.class})
+@ActiveProfiles("test")
+@DisplayName("PostingColumnBackfill 테스트")
+class PostingColumnBackfillTest {
+  private static final String INSERT_SQL =
+      "INSERT INTO participations (posting_id, participant_id, status, created_at, updated_at) "
+          + "VALUES (?, ?, ?, NOW(), NOW())";
+
+  @Autowired private PostingColumnBackfill backfill;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PostingRepository postingRepository;
+
+  private Long postingId;
+  private Long firstId;
+  private Long secondId;
+
+  @BeforeEach
+  void setUp() {
+    User author = saveUser("author", "작성자");
+    firstId = saveUser("first", "참가자1").getId();
+    secondId = saveUser("second", "참가자2").getId();
+    postingId =
+        postingRepository
+            .save(
+                Posting.builder()
+                    .title("테스트 포스팅")
+                    .description("설명")
+                    .type(PostingType.PROJECT)
+                    .maxCapacity(2)
+                    .author(author)
+                    .build())
+            .getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM participations");
+    jdbcTemplate.update("DELETE FROM postings");
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  private User saveUser(String username, String nickname) {
+    return userRepository.save(
+        User.builder()
+            .username(username)
+            .password("password")
+            .role(Role.USER)
+            .nickname(nickname)
+            .build());
+  }
+
+  private int approvedCount() {
+    return jdbcTemplate.queryForObject(
+        "SELECT approved_count FROM postings WHERE id = ?", Integer.class, postingId);
+  }
+
+  private void forgetMigration() {
+    jdbcTemplate.update(
+        "DELETE FROM data_migrations WHERE name = ?",
+        PostingColumnBackfill.APPROVED_COUNT_MIGRATION);
+  }
+
+  @Test
+  @DisplayName("기록이 없으면 0 이 아닌 값도 포함해 모든 게시글의 승인 인원을 다시 센다")
+  void recountsEveryPosting() {
+    // given: 컬럼이 생기기 전 승인된 두 명 중 한 명만 새 코드로 반영되었다
+    forgetMigration();
+    jdbcTemplate.update(INSERT_SQL, postingId, firstId, "APPROVED");
+    jdbcTemplate.update(INSERT_SQL, postingId, secondId, "APPROVED");
+    jdbcTemplate.update("UPDATE postings SET approved_count = 1 WHERE id = ?", postingId);
+
+    // when
+    backfill.backfill();
+
+    // then
+    assertThat(approvedCount()).isEqualTo(2);
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM data_migrations WHERE name = ?",
+                Integer.class,
+                PostingColumnBackfill.APPROVED_COUNT_MIGRATION))
+        .isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("이미 다시 센 기록이 있으면 승인 인원을 바꾸지 않는다")
+  void skipsWhenRecorded() {
+    // given
+    jdbcTemplate.update(INSERT_SQL, postingId, firstId, "APPROVED");
+
+    // when
+    backfill.backfill();
+
+    // then
+    assertThat(approvedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("작성자 닉네임이 비어 있는 게시글에 닉네임을 채운다")
+  void backfillsAuthorNickname() {
+    // given
+    jdbcTemplate.update("UPDATE postings SET author_nickname = NULL WHERE id = ?", postingId);
+
+    // when
+    backfill.backfill();
+
+    // then
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT author_nickname FROM postings WHERE id = ?", String.class, postingId))
+        .isEqualTo("작성자");
+  }
+}
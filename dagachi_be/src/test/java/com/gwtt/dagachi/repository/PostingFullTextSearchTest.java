@@ -0,0 +1,85 @@
+package com.gwtt.dagachi.repository;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.sql.SQLException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingFullTextSearch 단위 테스트")
+class PostingFullTextSearchTest {
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @InjectMocks private PostingFullTextSearch postingFullTextSearch;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(postingFullTextSearch, "enabled", true);
+    ReflectionTestUtils.setField(postingFullTextSearch, "minKeywordLength", 2);
+    given(jdbcTemplate.execute(any(ConnectionCallback.class))).willReturn("MySQL");
+  }
+
+  private static BadSqlGrammarException duplicateKeyName() {
+    return new BadSqlGrammarException(
+        "create index",
+        "CREATE FULLTEXT INDEX",
+        new SQLException("Duplicate key name 'ft_postings_title_description'", "42000", 1061));
+  }
+
+  @Test
+  @DisplayName("인덱스가 없으면 만들고 FULLTEXT 검색을 쓴다")
+  void createsMissingIndex() {
+    // given
+    given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).willReturn(0);
+
+    // when
+    postingFullTextSearch.init();
+
+    // then
+    then(jdbcTemplate).should().execute(startsWith("CREATE FULLTEXT INDEX"));
+    assertThat(postingFullTextSearch.supports("스터디")).isTrue();
+  }
+
+  @Test
+  @DisplayName("다른 인스턴스가 먼저 인덱스를 만들어 생성이 실패해도 인덱스가 있으면 FULLTEXT 검색을 쓴다")
+  void treatsConcurrentCreationAsSuccess() {
+    // given
+    given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any()))
+        .willReturn(0)
+        .willReturn(1);
+    willThrow(duplicateKeyName()).given(jdbcTemplate).execute(startsWith("CREATE FULLTEXT INDEX"));
+
+    // when
+    postingFullTextSearch.init();
+
+    // then
+    assertThat(postingFullTextSearch.supports("스터디")).isTrue();
+  }
+
+  @Test
+  @DisplayName("생성에 실패하고 인덱스도 없으면 LIKE 검색으로 남는다")
+  void fallsBackToLikeWhenCreationFails() {
+    // given
+    given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), any())).willReturn(0);
+    willThrow(duplicateKeyName()).given(jdbcTemplate).execute(startsWith("CREATE FULLTEXT INDEX"));
+
+    // when
+    postingFullTextSearch.init();
+
+    // then
+    assertThat(postingFullTextSearch.supports("스터디")).isFalse();
+  }
+}
@@ -0,0 +1,421 @@
+package com.gwtt.dagachi.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.config.JpaAuditingConfig;
+import com.gwtt.dagachi.config.TestQueryDSLConfig;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.MapViewport;
+import com.gwtt.dagachi.dto.PostingCursor;
+import com.gwtt.dagachi.dto.PostingDistanceCursor;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.util.MapGrid;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@Import({TestQueryDSLConfig.class, JpaAuditingConfig.class})
+@ActiveProfiles("test")
+@DisplayName("PostingRepository 테스트")
+class PostingRepositoryTest {
+
+  @Autowired private PostingRepository postingRepository;
+  @Autowired private UserRepository userRepository;
+  @Autowired private TestEntityManager entityManager;
+
+  private User author;
+  private final List<Long> savedIds = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    author =
+        userRepository.save(
+            User.builder()
+                .username("author")
+                .password("password")
+                .role(Role.USER)
+                .nickname("작성자")
+                .build());
+
+    for (int i = 0; i < 5; i++) {
+      Posting posting =
+          Posting.builder()
+              .title("포스팅" + i)
+              .description("설명")
+              .type(i % 2 == 0 ? PostingType.PROJECT : PostingType.STUDY)
+              .maxCapacity(5)
+              .author(author)
+              .build();
+      savedIds.add(postingRepository.save(posting).getId());
+    }
+    // 영속성 컨텍스트의 createdAt 은 DB 컬럼보다 정밀하므로, 커서는 요청마다 그렇듯 DB 에서 읽은 값으로 만든다.
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  @DisplayName("커서로 이어서 조회하면 최신순으로 빠짐없이, 중복 없이 조회된다")
+  void findPostingsAfter() {
+    // given
+    List<Long> fetchedIds = new ArrayList<>();
+    PostingCursor cursor = null;
+
+    // when
+    while (true) {
+      List<PostingSimpleResponseDto> page = postingRepository.findPostingsAfter(cursor, 2);
+      if (page.isEmpty()) {
+        break;
+      }
+      page.forEach(posting -> fetchedIds.add(posting.getId()));
+      cursor = PostingCursor.decode(PostingCursor.of(page.get(page.size() - 1)).encode());
+    }
+
+    // then
+    List<Long> expected = new ArrayList<>(savedIds);
+    Collections.reverse(expected);
+    assertThat(fetchedIds).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  @DisplayName("검색 조건과 커서를 함께 적용한다")
+  void searchPostingsAfter() {
+    // given
+    PostingSearchCondition condition =
+        PostingSearchCondition.builder().type(PostingType.PROJECT).build();
+    List<PostingSimpleResponseDto> first =
+        postingRepository.searchPostingsAfter(condition, null, 2);
+
+    // when
+    List<PostingSimpleResponseDto> second =
+        postingRepository.searchPostingsAfter(
+            condition, PostingCursor.of(first.get(first.size() - 1)), 2);
+
+    // then
+    assertThat(first)
+        .extracting(PostingSimpleResponseDto::getId)
+        .containsExactly(savedIds.get(4), savedIds.get(2));
+    assertThat(second).extracting(PostingSimpleResponseDto::getId).containsExactly(savedIds.get(0));
+  }
+
+  @Test
+  @DisplayName("Slice 조회는 개수를 세지 않고 다음 페이지 여부만 알려준다")
+  void searchPostingsSlice() {
+    // given
+    PostingSearchCondition condition = PostingSearchCondition.builder().build();
+
+    // when
+    Slice<PostingSimpleResponseDto> first =
+        postingRepository.searchSimplePostingsSlice(condition, PageRequest.of(0, 3));
+    Slice<PostingSimpleResponseDto> last =
+        postingRepository.searchSimplePostingsSlice(condition, PageRequest.of(1, 3));
+
+    // then
+    assertThat(first.getContent()).hasSize(3);
+    assertThat(first.hasNext()).isTrue();
+    assertThat(last.getContent()).hasSize(2);
+    assertThat(last.hasNext()).isFalse();
+  }
+
+  @Test
+  @DisplayName("검색어는 제목과 설명에서 함께 찾는다")
+  void searchByKeywordInTitleOrDescription() {
+    // given
+    Posting byDescription =
+        postingRepository.save(
+            Posting.builder()
+                .title("주말 모임")
+                .description("자바 스프링 스터디를 함께 하실 분")
+                .type(PostingType.STUDY)
+                .maxCapacity(5)
+                .author(author)
+                .build());
+    PostingSearchCondition condition = PostingSearchCondition.builder().title("스프링").build();
+
+    // when
+    Slice<PostingSimpleResponseDto> result =
+        postingRepository.searchSimplePostingsSlice(condition, PageRequest.of(0, 5));
+
+    // then
+    assertThat(result.getContent())
+        .extracting(PostingSimpleResponseDto::getId)
+        .containsExactly(byDescription.getId());
+    assertThat(postingRepository.countPostings(condition)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("작성자 닉네임 조건이 있을 때와 없을 때 모두 개수를 센다")
+  void countPostings() {
+    // given
+    PostingSearchCondition byType =
+        PostingSearchCondition.builder().type(PostingType.STUDY).build();
+    PostingSearchCondition byAuthor =
+        PostingSearchCondition.builder().authorNickname(" 작성 ").build();
+    PostingSearchCondition byOtherAuthor =
+        PostingSearchCondition.builder().authorNickname("다른사람").build();
+
+    // when & then
+    assertThat(postingRepository.countPostings(byType)).isEqualTo(2);
+    assertThat(postingRepository.countPostings(byAuthor)).isEqualTo(5);
+    assertThat(postingRepository.countPostings(byOtherAuthor)).isZero();
+  }
+
+  @Test
+  @DisplayName("작성자 닉네임 조건은 게시글에 복사된 닉네임의 앞부분으로 찾는다")
+  void searchPostingsByAuthorNicknamePrefix() {
+    // given
+    PostingSearchCondition byPrefix = PostingSearchCondition.builder().authorNickname("작성").build();
+    PostingSearchCondition byMiddle = PostingSearchCondition.builder().authorNickname("성자").build();
+
+    // when
+    Slice<PostingSimpleResponseDto> result =
+        postingRepository.searchSimplePostingsSlice(byPrefix, PageRequest.of(0, 10));
+
+    // then
+    assertThat(result.getContent()).hasSize(5).allMatch(p -> "작성자".equals(p.getAuthorNickname()));
+    assertThat(postingRepository.countPostings(byMiddle)).isZero();
+  }
+
+  @Test
+  @DisplayName("승인 인원은 정원까지만 늘어나고, 정원이 차면 모집 완료로 바뀐다")
+  void incrementApprovedCount() {
+    // given
+    Long id = saveWithCapacity(2).getId();
+
+    // when
+    int first = postingRepository.incrementApprovedCount(id, LocalDateTime.now());
+    int second = postingRepository.incrementApprovedCount(id, LocalDateTime.now());
+    int third = postingRepository.incrementApprovedCount(id, LocalDateTime.now());
+
+    // then
+    assertThat(List.of(first, second, third)).containsExactly(1, 1, 0);
+    Posting posting = postingRepository.findById(id).orElseThrow();
+    assertThat(posting.getApprovedCount()).isEqualTo(2);
+    assertThat(posting.getSeatsLeft()).isZero();
+    assertThat(posting.getStatus()).isEqualTo(PostingStatus.RECRUITED);
+  }
+
+  @Test
+  @DisplayName("승인 인원이 줄면 모집 완료였던 게시글이 다시 모집 중이 된다")
+  void decrementApprovedCount() {
+    // given
+    Long id = saveWithCapacity(1).getId();
+    postingRepository.incrementApprovedCount(id, LocalDateTime.now());
+
+    // when
+    int updated = postingRepository.decrementApprovedCount(id, LocalDateTime.now());
+
+    // then
+    assertThat(updated).isEqualTo(1);
+    Posting posting = postingRepository.findById(id).orElseThrow();
+    assertThat(posting.getApprovedCount()).isZero();
+    assertThat(posting.getStatus()).isEqualTo(PostingStatus.RECRUITING);
+    assertThat(postingRepository.decrementApprovedCount(id, LocalDateTime.now())).isZero();
+  }
+
+  @Test
+  @DisplayName("남은 자리 조건은 정원이 찬 게시글을 제외하고, 목록에 남은 자리를 담는다")
+  void searchOpenSeatsOnly() {
+    // given
+    Long full = saveWithCapacity(1).getId();
+    postingRepository.incrementApprovedCount(full, LocalDateTime.now());
+    Long open = saveWithCapacity(3).getId();
+    postingRepository.incrementApprovedCount(open, LocalDateTime.now());
+    PostingSearchCondition condition = PostingSearchCondition.builder().openSeatsOnly(true).build();
+
+    // when
+    Slice<PostingSimpleResponseDto> result =
+        postingRepository.searchSimplePostingsSlice(condition, PageRequest.of(0, 10));
+
+    // then
+    assertThat(result.getContent())
+        .extracting(PostingSimpleResponseDto::getId)
+        .doesNotContain(full)
+        .contains(open);
+    assertThat(result.getContent())
+        .filteredOn(dto -> dto.getId().equals(open))
+        .extracting(PostingSimpleResponseDto::getSeatsLeft)
+        .containsExactly(2);
+  }
+
+  @Test
+  @DisplayName("목록 조회의 DTO 프로젝션은 엔티티로 만든 DTO 와 같은 값을 담는다")
+  void projectionsMatchEntityMapping() {
+    // given
+    Posting located = saveAt(37.5665, 126.9780);
+    postingRepository.incrementApprovedCount(located.getId(), LocalDateTime.now());
+    saveAt(37.5700, 126.9900);
+    entityManager.flush();
+    entityManager.clear();
+    PostingSearchCondition condition =
+        PostingSearchCondition.builder()
+            .userLatitude(37.5663)
+            .userLongitude(126.9779)
+            .radiusKm(10.0)
+            .build();
+
+    // when
+    List<PostingSimpleResponseDto> slice =
+        postingRepository.searchSimplePostingsSlice(condition, PageRequest.of(0, 10)).getContent();
+    List<PostingSimpleResponseDto> cursor =
+        postingRepository.searchPostingsAfter(condition, null, 10);
+    List<PostingSimpleResponseDto> nearby =
+        postingRepository.searchPostingsNearby(condition, null, 10).stream()
+            .map(PostingWithDistance::posting)
+            .toList();
+
+    // then
+    List<PostingSimpleResponseDto> expected =
+        slice.stream()
+            .map(dto -> PostingSimpleResponseDto.of(postingRepository.findById(dto.getId()).get()))
+            .toList();
+    assertThat(slice).hasSize(2);
+    assertThat(slice).usingRecursiveFieldByFieldElementComparator().isEqualTo(expected);
+    assertThat(cursor)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(nearby)
+        .usingRecursiveFieldByFieldElementComparator()
+        .containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(nearby)
+        .filteredOn(dto -> dto.getId().equals(located.getId()))
+        .extracting(PostingSimpleResponseDto::getSeatsLeft)
+        .containsExactly(4);
+  }
+
+  @Test
+  @DisplayName("반경 검색은 반경 밖을 제외하고 가까운 순으로 커서를 이어간다")
+  void searchPostingsNearby() {
+    // given
+    Posting near = saveAt(37.5665, 126.9780);
+    Posting middle = saveAt(37.5700, 126.9900);
+    Posting far = saveAt(37.6000, 127.0500);
+    saveAt(35.1798, 129.0750);
+    PostingSearchCondition condition =
+        PostingSearchCondition.builder()
+            .userLatitude(37.5663)
+            .userLongitude(126.9779)
+            .radiusKm(10.0)
+            .build();
+
+    // when
+    List<PostingWithDistance> first = postingRepository.searchPostingsNearby(condition, null, 2);
+    PostingWithDistance last = first.get(first.size() - 1);
+    List<PostingWithDistance> second =
+        postingRepository.searchPostingsNearby(
+            condition,
+            PostingDistanceCursor.decode(
+                new PostingDistanceCursor(last.distanceKm(), last.posting().getId()).encode()),
+            2);
+
+    // then
+    assertThat(first)
+        .extracting(row -> row.posting().getId())
+        .containsExactly(near.getId(), middle.getId());
+    assertThat(second).extracting(row -> row.posting().getId()).containsExactly(far.getId());
+    assertThat(postingRepository.countPostings(condition)).isEqualTo(3);
+  }
+
+  @Test
+  @DisplayName("지도 격자 칸과 종류별로 개수와 좌표 합을 집계한다")
+  void countByMapCell() {
+    // given
+    int zoom = 10;
+    saveAt(37.5665, 126.9780);
+    saveAt(37.5700, 126.9900);
+    saveAt(37.6000, 127.0500);
+    saveAt(35.1798, 129.0750);
+    int row = MapGrid.row(37.5665, zoom);
+    int column = MapGrid.column(126.9780, zoom);
+
+    // when
+    List<PostingMapCellCount> counts =
+        postingRepository.countByMapCell(MapGrid.cellDegrees(zoom), row, row, column, column + 1);
+
+    // then
+    assertThat(counts)
+        .extracting(
+            PostingMapCellCount::row, PostingMapCellCount::column, PostingMapCellCount::count)
+        .containsExactlyInAnyOrder(tuple(row, column, 2L), tuple(row, column + 1, 1L));
+    PostingMapCellCount first =
+        counts.stream().filter(count -> count.column() == column).findFirst().orElseThrow();
+    assertThat(first.type()).isEqualTo(PostingType.PROJECT);
+    assertThat(first.latitudeSum()).isCloseTo(37.5665 + 37.5700, within(1e-6));
+  }
+
+  @Test
+  @DisplayName("화면 범위 안의 게시글만 조회한다")
+  void findInViewport() {
+    // given
+    Posting inside = saveAt(37.5665, 126.9780);
+    saveAt(35.1798, 129.0750);
+
+    // when
+    List<Posting> postings =
+        postingRepository.findInViewport(MapViewport.parse("126.9,37.5,127.1,37.6"), 10);
+
+    // then
+    assertThat(postings).extracting(Posting::getId).containsExactly(inside.getId());
+  }
+
+  @Test
+  @DisplayName("지운 게시글의 id 와 삭제 시각을 조회한다")
+  void findDeletedSince() {
+    // given
+    LocalDateTime since = LocalDateTime.now().minusMinutes(1);
+    postingRepository.deleteById(savedIds.get(0));
+    entityManager.flush();
+
+    // when
+    List<PostingRepository.PostingDeletion> deleted = postingRepository.findDeletedSince(since);
+
+    // then
+    assertThat(deleted)
+        .singleElement()
+        .satisfies(
+            deletion -> {
+              assertThat(deletion.getId()).isEqualTo(savedIds.get(0));
+              assertThat(deletion.getDeletedAt()).isAfterOrEqualTo(since);
+            });
+  }
+
+  private Posting saveWithCapacity(int maxCapacity) {
+    return postingRepository.save(
+        Posting.builder()
+            .title("정원 포스팅")
+            .description("설명")
+            .type(PostingType.STUDY)
+            .maxCapacity(maxCapacity)
+            .author(author)
+            .build());
+  }
+
+  private Posting saveAt(double latitude, double longitude) {
+    return postingRepository.save(
+        Posting.builder()
+            .title("위치 포스팅")
+            .description("설명")
+            .type(PostingType.PROJECT)
+            .maxCapacity(5)
+            .author(author)
+            .location(Location.of(latitude, longitude))
+            .build());
+  }
+}
@@ -0,0 +1,81 @@
+package com.gwtt.dagachi.repository;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.config.JpaAuditingConfig;
+import com.gwtt.dagachi.config.TestQueryDSLConfig;
+import com.gwtt.dagachi.entity.User;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// ALTER TABLE 은 트랜잭션을 커밋하므로 테스트 트랜잭션 없이 실행하고 직접 정리한다.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TestQueryDSLConfig.class, JpaAuditingConfig.class, UserUniqueKeyMigration.class})
+@ActiveProfiles("test")
+@DisplayName("UserUniqueKeyMigration 테스트")
+class UserUniqueKeyMigrationTest {
+  private static final String INSERT_SQL =
+      "INSERT INTO users (username, password, nickname, role, created_at, updated_at) "
+          + "VALUES (?, 'password', ?, 'USER', NOW(), NOW())";
+
+  @Autowired private UserUniqueKeyMigration migration;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM users");
+  }
+
+  private List<String> constraintNames() {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT constraint_name FROM information_schema.table_constraints "
+                + "WHERE table_name = 'USERS' AND constraint_type = 'UNIQUE'",
+            String.class)
+        .stream()
+        .map(name -> name.toLowerCase(Locale.ROOT))
+        .toList();
+  }
+
+  @Test
+  @DisplayName("Hibernate 가 지어 준 예전 unique 제약을 정해진 이름으로 바꾼다")
+  void renamesLegacyConstraints() {
+    // given: unique = true 로 만들어진 예전 DB
+    jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT " + User.UK_USERNAME);
+    jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT " + User.UK_NICKNAME);
+    jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT ukr43af9ap4edm UNIQUE (username)");
+    jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT uk2ty1xmrrgtn8 UNIQUE (nickname)");
+
+    // when
+    migration.migrate();
+
+    // then
+    assertThat(constraintNames()).containsExactlyInAnyOrder(User.UK_USERNAME, User.UK_NICKNAME);
+    jdbcTemplate.update(INSERT_SQL, "user", "닉네임");
+    assertThatThrownBy(() -> jdbcTemplate.update(INSERT_SQL, "user", "다른닉네임"))
+        .isInstanceOf(DataIntegrityViolationException.class)
+        .hasMessageContaining(User.UK_USERNAME.toUpperCase(Locale.ROOT));
+  }
+
+  @Test
+  @DisplayName("이미 정해진 이름이면 아무것도 바꾸지 않는다")
+  void noopWhenNamesMatch() {
+    // when
+    migration.migrate();
+
+    // then
+    assertThat(constraintNames()).containsExactlyInAnyOrder(User.UK_USERNAME, User.UK_NICKNAME);
+  }
+}
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.BDDMockito.*;
 
 import com.gwtt.dagachi.config.TestQueryDSLConfig;
+import com.gwtt.dagachi.config.TokenRevocationRegistry;
 import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.dto.UserSimpleResponseDto;
 import com.gwtt.dagachi.entity.User;
@@ -34,6 +35,7 @@ import org.springframework.test.context.ActiveProfiles;
 class AdminServiceTest {
 
   @Mock private UserRepository userRepository;
+  @Mock private TokenRevocationRegistry tokenRevocationRegistry;
 
   @InjectMocks private AdminService adminService;
 
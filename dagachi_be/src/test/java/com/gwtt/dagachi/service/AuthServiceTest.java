@@ -0,0 +1,339 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.adapter.CustomUserDetails;
+import com.gwtt.dagachi.config.JwtTokenProvider;
+import com.gwtt.dagachi.config.PasswordHashingExecutor;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.LoginRequestDto;
+import com.gwtt.dagachi.dto.SignupRequestDto;
+import com.gwtt.dagachi.dto.TokenResponseDto;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.UserRepository;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthService 단위 테스트")
+class AuthServiceTest {
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  @Mock private UserRepository userRepository;
+  @Mock private PasswordEncoder passwordEncoder;
+  @Mock private AuthenticationManager authenticationManager;
+  @Mock private JwtTokenProvider jwtTokenProvider;
+  @Mock private PasswordHashingExecutor passwordHashingExecutor;
+  @Mock private UserNameFilter userNameFilter;
+  @Mock private SearchSuggestService searchSuggestService;
+  @Mock private RefreshTokenService refreshTokenService;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  @InjectMocks private AuthService authService;
+
+  private void runHashingInline() {
+    given(passwordHashingExecutor.execute(any()))
+        .willAnswer(invocation -> invocation.<Supplier<?>>getArgument(0).get());
+  }
+
+  private void runTransactionInline() {
+    willAnswer(
+            invocation -> {
+              invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+              return null;
+            })
+        .given(transactionTemplate)
+        .executeWithoutResult(any());
+  }
+
+  private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+    return new DataIntegrityViolationException(
+        "could not execute statement",
+        new ConstraintViolationException(
+            "could not execute statement", new SQLException("duplicate"), constraintName));
+  }
+
+  private static SignupRequestDto signupRequest(String username, String password, String nickname) {
+    return OBJECT_MAPPER.convertValue(
+        Map.of("username", username, "password", password, "nickname", nickname),
+        SignupRequestDto.class);
+  }
+
+  @Nested
+  @DisplayName("signup 메서드")
+  class SignupTest {
+
+    @BeforeEach
+    void setUp() {
+      given(userNameFilter.mightContainUsername("newuser")).willReturn(false);
+      given(userNameFilter.mightContainNickname("새유저")).willReturn(false);
+    }
+
+    @Test
+    @DisplayName("비밀번호 해싱을 마친 뒤에 트랜잭션을 열어 저장한다")
+    void hashesBeforeTransaction() {
+      // given
+      runHashingInline();
+      runTransactionInline();
+      given(passwordEncoder.encode("password123")).willReturn("hashed");
+
+      // when
+      authService.signup(signupRequest("newuser", "password123", "새유저"));
+
+      // then
+      InOrder inOrder = inOrder(passwordEncoder, transactionTemplate, userRepository);
+      inOrder.verify(passwordEncoder).encode("password123");
+      inOrder.verify(transactionTemplate).executeWithoutResult(any());
+      inOrder.verify(userRepository).save(any(User.class));
+
+      ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+      then(userRepository).should().save(saved.capture());
+      assertThat(saved.getValue().getPassword()).isEqualTo("hashed");
+      then(userNameFilter).should().register("newuser", "새유저");
+    }
+
+    @Test
+    @DisplayName("닉네임 unique 제약에 걸리면 DUPLICATE_NICKNAME 으로 응답한다")
+    void duplicateNicknameByConstraintName() {
+      // given: MySQL 은 제약 이름 앞에 테이블 이름을 붙인다
+      runHashingInline();
+      given(userRepository.save(any(User.class)))
+          .willThrow(uniqueViolation("users." + User.UK_NICKNAME));
+      runTransactionInline();
+
+      // when & then
+      assertThatThrownBy(() -> authService.signup(signupRequest("newuser", "password123", "새유저")))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.DUPLICATE_NICKNAME);
+      then(userNameFilter).should(never()).register(any(), any());
+    }
+
+    @Test
+    @DisplayName("사용자 ID unique 제약에 걸리면 DUPLICATE_USERNAME 으로 응답한다")
+    void duplicateUsernameByConstraintName() {
+      // given: H2 는 스키마 이름과 제약을 받치는 인덱스 번호를 붙인다
+      runHashingInline();
+      given(userRepository.save(any(User.class)))
+          .willThrow(uniqueViolation("PUBLIC.UK_USERS_USERNAME_INDEX_4"));
+      runTransactionInline();
+
+      // when & then
+      assertThatThrownBy(() -> authService.signup(signupRequest("newuser", "password123", "새유저")))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.DUPLICATE_USERNAME);
+    }
+
+    @Test
+    @DisplayName("사용자 제약이 아닌 무결성 위반은 중복으로 바꾸지 않고 그대로 던진다")
+    void otherViolationIsRethrown() {
+      // given
+      runHashingInline();
+      DataIntegrityViolationException violation = uniqueViolation("users.fk_something");
+      given(userRepository.save(any(User.class))).willThrow(violation);
+      runTransactionInline();
+
+      // when & then
+      assertThatThrownBy(() -> authService.signup(signupRequest("newuser", "password123", "새유저")))
+          .isSameAs(violation);
+    }
+
+    @Test
+    @DisplayName("해싱 대기열이 가득 차면 트랜잭션을 열지 않고 AUTH_SERVER_BUSY 로 거절한다")
+    void rejectedWhenHashingQueueIsFull() {
+      // given
+      given(passwordHashingExecutor.execute(any()))
+          .willThrow(new DagachiException(ErrorCode.AUTH_SERVER_BUSY, 1L));
+
+      // when & then
+      assertThatThrownBy(() -> authService.signup(signupRequest("newuser", "password123", "새유저")))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.AUTH_SERVER_BUSY);
+      then(transactionTemplate).shouldHaveNoInteractions();
+      then(userRepository).should(never()).save(any());
+    }
+  }
+
+  @Nested
+  @DisplayName("login 메서드")
+  class LoginTest {
+
+    @Test
+    @DisplayName("비밀번호 검증은 해싱 실행기에서 하고 토큰을 발급한다")
+    void authenticatesOnHashingExecutor() {
+      // given
+      runHashingInline();
+      CustomUserDetails principal = CustomUserDetails.of(1L, "user", "사용자", Role.USER);
+      given(authenticationManager.authenticate(any()))
+          .willReturn(
+              new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+      given(jwtTokenProvider.generateToken(principal)).willReturn("access");
+      given(refreshTokenService.issue(1L)).willReturn("refresh");
+
+      // when
+      TokenResponseDto response =
+          authService.login(
+              OBJECT_MAPPER.convertValue(
+                  Map.of("username", "user", "password", "password123"), LoginRequestDto.class));
+
+      // then
+      assertThat(response.getAccessToken()).isEqualTo("access");
+      assertThat(response.getRefreshToken()).isEqualTo("refresh");
+      then(passwordHashingExecutor).should().execute(any());
+      SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("해싱 대기열이 가득 차면 로그인 실패가 아니라 AUTH_SERVER_BUSY 로 응답한다")
+    void rejectedWhenHashingQueueIsFull() {
+      // given
+      given(passwordHashingExecutor.execute(any()))
+          .willThrow(new DagachiException(ErrorCode.AUTH_SERVER_BUSY, 1L));
+
+      // when & then
+      assertThatThrownBy(
+              () ->
+                  authService.login(
+                      OBJECT_MAPPER.convertValue(
+                          Map.of("username", "user", "password", "password123"),
+                          LoginRequestDto.class)))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.AUTH_SERVER_BUSY);
+      then(authenticationManager).shouldHaveNoInteractions();
+    }
+  }
+
+  @Nested
+  @DisplayName("refresh 메서드")
+  class RefreshTest {
+
+    @Test
+    @DisplayName("refresh token 을 쓰면 폐기하고 새 access/refresh token 을 발급한다")
+    void rotatesRefreshToken() {
+      // given
+      User user =
+          User.builder()
+              .username("user")
+              .password("hashed")
+              .role(Role.ADMIN)
+              .nickname("바뀐닉네임")
+              .build();
+      ReflectionTestUtils.setField(user, "id", 1L);
+      given(refreshTokenService.consume("old")).willReturn(Optional.of(1L));
+      given(userRepository.findById(1L)).willReturn(Optional.of(user));
+      given(jwtTokenProvider.generateToken(any(CustomUserDetails.class))).willReturn("access");
+      given(refreshTokenService.issue(1L)).willReturn("new");
+
+      // when
+      TokenResponseDto response = authService.refresh("old");
+
+      // then
+      assertThat(response.getAccessToken()).isEqualTo("access");
+      assertThat(response.getRefreshToken()).isEqualTo("new");
+      // 역할/닉네임 변경이 새 access token 에 반영되도록 사용자를 다시 읽는다.
+      ArgumentCaptor<CustomUserDetails> principal =
+          ArgumentCaptor.forClass(CustomUserDetails.class);
+      then(jwtTokenProvider).should().generateToken(principal.capture());
+      assertThat(principal.getValue().getRole()).isEqualTo(Role.ADMIN);
+      assertThat(principal.getValue().getNickname()).isEqualTo("바뀐닉네임");
+    }
+
+    @Test
+    @DisplayName("이미 사용했거나 만료된 refresh token 은 거부하고 새 토큰을 발급하지 않는다")
+    void rejectsReusedRefreshToken() {
+      // given
+      given(refreshTokenService.consume("used")).willReturn(Optional.empty());
+
+      // when & then
+      assertThatThrownBy(() -> authService.refresh("used"))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.INVALID_REFRESH_TOKEN);
+      then(refreshTokenService).should(never()).issue(anyLong());
+      then(jwtTokenProvider).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("refresh token 이 없으면 거부한다")
+    void rejectsMissingRefreshToken() {
+      // when & then
+      assertThatThrownBy(() -> authService.refresh(null))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.INVALID_REFRESH_TOKEN);
+      then(refreshTokenService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("탈퇴한 사용자의 refresh token 은 거부한다")
+    void rejectsDeletedUser() {
+      // given
+      given(refreshTokenService.consume("old")).willReturn(Optional.of(1L));
+      given(userRepository.findById(1L)).willReturn(Optional.empty());
+
+      // when & then
+      assertThatThrownBy(() -> authService.refresh("old"))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.INVALID_REFRESH_TOKEN);
+      then(refreshTokenService).should(never()).issue(anyLong());
+    }
+  }
+
+  @Nested
+  @DisplayName("logout 메서드")
+  class LogoutTest {
+
+    @Test
+    @DisplayName("refresh token 을 폐기하고 access token 의 jti 를 무효화한다")
+    void revokesBothTokens() {
+      // when
+      authService.logout("access", "refresh");
+
+      // then
+      then(refreshTokenService).should().revoke("refresh");
+      then(jwtTokenProvider).should().revoke("access");
+    }
+
+    @Test
+    @DisplayName("전달되지 않은 토큰은 건너뛴다")
+    void skipsMissingTokens() {
+      // when
+      authService.logout(null, null);
+
+      // then
+      then(refreshTokenService).shouldHaveNoInteractions();
+      then(jwtTokenProvider).shouldHaveNoInteractions();
+    }
+  }
+}
@@ -0,0 +1,74 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.repository.UserRepository;
+import java.util.Optional;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomUserDetailsService 단위 테스트")
+class CustomUserDetailsServiceTest {
+
+  @Mock private UserRepository userRepository;
+
+  @InjectMocks private CustomUserDetailsService customUserDetailsService;
+
+  @Test
+  @DisplayName("저장된 해시의 강도가 설정보다 낮으면 로그인 성공 시 새 강도로 다시 해싱한다")
+  void rehashesWeakerHashOnLogin() {
+    // given
+    User user =
+        User.builder()
+            .username("user")
+            .password(new BCryptPasswordEncoder(4).encode("password123"))
+            .role(Role.USER)
+            .nickname("사용자")
+            .build();
+    given(userRepository.findByUsername("user")).willReturn(Optional.of(user));
+
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailsService);
+    BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(5);
+    provider.setPasswordEncoder(encoder);
+    provider.setUserDetailsPasswordService(customUserDetailsService);
+
+    // when
+    provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password123"));
+
+    // then
+    assertThat(user.getPassword()).startsWith("$2a$05$");
+    assertThat(encoder.matches("password123", user.getPassword())).isTrue();
+  }
+
+  @Test
+  @DisplayName("저장된 해시가 이미 설정 강도면 다시 해싱하지 않는다")
+  void keepsCurrentHash() {
+    // given
+    String hash = new BCryptPasswordEncoder(5).encode("password123");
+    User user =
+        User.builder().username("user").password(hash).role(Role.USER).nickname("사용자").build();
+    given(userRepository.findByUsername("user")).willReturn(Optional.of(user));
+
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(customUserDetailsService);
+    provider.setPasswordEncoder(new BCryptPasswordEncoder(5));
+    provider.setUserDetailsPasswordService(customUserDetailsService);
+
+    // when
+    provider.authenticate(new UsernamePasswordAuthenticationToken("user", "password123"));
+
+    // then
+    assertThat(user.getPassword()).isEqualTo(hash);
+    then(userRepository).should(times(1)).findByUsername("user");
+  }
+}
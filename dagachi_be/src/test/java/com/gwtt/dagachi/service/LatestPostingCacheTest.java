@@ -0,0 +1,176 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.repository.PostingRepository;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LatestPostingCache 단위 테스트")
+class LatestPostingCacheTest {
+  private static final String KEY = "posting:latest:ANY:RECRUITING";
+
+  @Mock private PostingRepository postingRepository;
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ZSetOperations<String, String> zSetOperations;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @InjectMocks private LatestPostingCache latestPostingCache;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(latestPostingCache, "size", 3);
+    ReflectionTestUtils.setField(latestPostingCache, "ttl", Duration.ofMinutes(10));
+  }
+
+  private static PostingRepository.PostingRecency recency(Long id) {
+    LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(id);
+    return new PostingRepository.PostingRecency() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public LocalDateTime getCreatedAt() {
+        return createdAt;
+      }
+    };
+  }
+
+  @Test
+  @DisplayName("목록이 가득 차 있으면 DB 를 읽지 않고 id 를 돌려준다")
+  void answersFromFullList() {
+    // given
+    given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+    given(zSetOperations.reverseRange(KEY, 0, 1))
+        .willReturn(new LinkedHashSet<>(List.of("9", "8")));
+
+    // when
+    List<Long> ids = latestPostingCache.findIds(null, PostingStatus.RECRUITING, 0, 2);
+
+    // then
+    assertThat(ids).containsExactly(9L, 8L);
+    then(postingRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("전부 담긴 목록은 end 표시 앞까지만 돌려준다")
+  void answersFromCompleteList() {
+    // given
+    given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+    given(zSetOperations.reverseRange(KEY, 0, 2))
+        .willReturn(new LinkedHashSet<>(List.of("9", "end")));
+
+    // when
+    List<Long> ids = latestPostingCache.findIds(null, PostingStatus.RECRUITING, 0, 3);
+
+    // then
+    assertThat(ids).containsExactly(9L);
+    then(postingRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("목록이 없으면 DB 를 읽기 전에 rebuilding 표시를 두고, 그 토큰으로 목록을 바꾼다")
+  void marksRebuildBeforeReadingDatabase() {
+    // given
+    given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+    given(zSetOperations.reverseRange(KEY, 0, 1)).willReturn(Set.of());
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(
+            valueOperations.setIfAbsent(
+                eq(KEY + ":rebuilding"), anyString(), eq(Duration.ofMinutes(1))))
+        .willReturn(true);
+    given(postingRepository.findLatest(eq(null), eq(PostingStatus.RECRUITING), any(Pageable.class)))
+        .willReturn(List.of(recency(2L), recency(1L)));
+
+    // when
+    List<Long> ids = latestPostingCache.findIds(null, PostingStatus.RECRUITING, 0, 2);
+
+    // then
+    assertThat(ids).isNull();
+    ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+    ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+    InOrder inOrder = inOrder(valueOperations, postingRepository, redisTemplate);
+    then(valueOperations)
+        .should(inOrder)
+        .setIfAbsent(eq(KEY + ":rebuilding"), token.capture(), eq(Duration.ofMinutes(1)));
+    then(postingRepository).should(inOrder).findLatest(any(), any(), any());
+    then(redisTemplate)
+        .should(inOrder)
+        .execute(any(RedisScript.class), eq(List.of(KEY)), args.capture());
+    assertThat(args.getValue())
+        .startsWith("600", "1", token.getValue(), "3")
+        .contains("2", "1")
+        .hasSize(8);
+  }
+
+  @Test
+  @DisplayName("rebuilding 표시를 두지 못하면 목록을 다시 채우지 않는다")
+  void skipsRebuildWhenMarkerFails() {
+    // given
+    given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+    given(zSetOperations.reverseRange(KEY, 0, 1)).willReturn(Set.of());
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class)))
+        .willThrow(new RedisConnectionFailureException("down"));
+
+    // when
+    List<Long> ids = latestPostingCache.findIds(null, PostingStatus.RECRUITING, 0, 2);
+
+    // then
+    assertThat(ids).isNull();
+    then(postingRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("다른 요청이 이미 다시 채우고 있으면 DB 를 읽지 않고 DB 조회로 넘긴다")
+  void skipsRebuildWhileAnotherRequestHoldsMarker() {
+    // given
+    given(redisTemplate.opsForZSet()).willReturn(zSetOperations);
+    given(zSetOperations.reverseRange(KEY, 0, 1)).willReturn(Set.of());
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(valueOperations.setIfAbsent(eq(KEY + ":rebuilding"), anyString(), any(Duration.class)))
+        .willReturn(false);
+
+    // when
+    List<Long> ids = latestPostingCache.findIds(null, PostingStatus.RECRUITING, 0, 2);
+
+    // then
+    assertThat(ids).isNull();
+    then(postingRepository).shouldHaveNoInteractions();
+    then(redisTemplate).should(never()).execute(any(RedisScript.class), anyList(), any());
+  }
+
+  @Test
+  @DisplayName("창 크기를 넘는 요청은 목록을 보지 않고 DB 로 넘긴다")
+  void beyondWindowFallsBack() {
+    // when & then
+    assertThat(latestPostingCache.findIds(PostingType.STUDY, null, 2, 2)).isNull();
+    then(zSetOperations).shouldHaveNoInteractions();
+  }
+}
@@ -0,0 +1,129 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.ParticipationStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.repository.ParticipationRepository;
+import com.gwtt.dagachi.repository.PostingRepository;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParticipationAdmission 단위 테스트")
+class ParticipationAdmissionTest {
+  private static final List<String> ADMIT_KEYS =
+      List.of("participation:gate:1", "participation:members:1");
+  private static final String SEED_LOCK_KEY = "participation:gate-seed:1";
+
+  @Mock private PostingRepository postingRepository;
+  @Mock private ParticipationRepository participationRepository;
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @InjectMocks private ParticipationAdmission participationAdmission;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(participationAdmission, "pendingLimit", 200);
+    ReflectionTestUtils.setField(participationAdmission, "ttl", Duration.ofMinutes(10));
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+  }
+
+  @Test
+  @DisplayName("목록이 없으면 채우기 잠금을 잡은 요청만 DB 에서 읽어 채우고 다시 확인한다")
+  void seedsOnceWithLock() {
+    // given
+    givenAdmitResults("miss", "admitted");
+    given(valueOperations.setIfAbsent(eq(SEED_LOCK_KEY), anyString(), any(Duration.class)))
+        .willReturn(true);
+    givenPosting();
+
+    // when
+    boolean admitted = participationAdmission.admit(1L, 2L);
+
+    // then
+    assertThat(admitted).isTrue();
+    then(postingRepository).should().findById(1L);
+    then(redisTemplate).should().delete(SEED_LOCK_KEY);
+  }
+
+  @Test
+  @DisplayName("다른 요청이 채우는 중이면 DB 를 읽지 않고 목록이 채워지기를 기다린다")
+  void waitsForOtherSeeder() {
+    // given
+    givenAdmitResults("miss", "miss", "admitted");
+    given(valueOperations.setIfAbsent(eq(SEED_LOCK_KEY), anyString(), any(Duration.class)))
+        .willReturn(false);
+
+    // when
+    boolean admitted = participationAdmission.admit(1L, 2L);
+
+    // then
+    assertThat(admitted).isTrue();
+    then(postingRepository).shouldHaveNoInteractions();
+    then(participationRepository).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("기다려도 목록이 채워지지 않으면 거르지 않고 DB 에 맡긴다")
+  void fallsBackWhenSeedDoesNotFinish() {
+    // given
+    givenAdmitResults("miss");
+    given(valueOperations.setIfAbsent(eq(SEED_LOCK_KEY), anyString(), any(Duration.class)))
+        .willReturn(false);
+
+    // when
+    boolean admitted = participationAdmission.admit(1L, 2L);
+
+    // then
+    assertThat(admitted).isFalse();
+    then(postingRepository).shouldHaveNoInteractions();
+  }
+
+  @SuppressWarnings("unchecked")
+  private void givenAdmitResults(String first, String... rest) {
+    given(redisTemplate.execute(any(RedisScript.class), eq(ADMIT_KEYS), any(), any()))
+        .willReturn(first, (Object[]) rest);
+  }
+
+  private void givenPosting() {
+    User author =
+        User.builder()
+            .username("author")
+            .password("password")
+            .role(Role.USER)
+            .nickname("작성자")
+            .build();
+    ReflectionTestUtils.setField(author, "id", 3L);
+    Posting posting =
+        Posting.builder()
+            .title("테스트 포스팅")
+            .description("설명")
+            .type(PostingType.PROJECT)
+            .maxCapacity(5)
+            .author(author)
+            .build();
+    given(postingRepository.findById(1L)).willReturn(Optional.of(posting));
+    given(participationRepository.countByPostingIdAndStatus(1L, ParticipationStatus.PENDING))
+        .willReturn(0);
+    given(participationRepository.findParticipantIdsByPostingId(1L)).willReturn(List.of());
+  }
+}
@@ -10,6 +10,8 @@ import com.gwtt.dagachi.constants.Role;
 import com.gwtt.dagachi.entity.Participation;
 import com.gwtt.dagachi.entity.Posting;
 import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.ParticipationRepository;
 import com.gwtt.dagachi.repository.PostingRepository;
 import com.gwtt.dagachi.repository.UserRepository;
@@ -22,6 +24,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
@@ -33,6 +37,7 @@ import org.springframework.transaction.annotation.Transactional;
 @ActiveProfiles("test")
 @DisplayName("ParticipationService 동시성 테스트")
 class ParticipationConcurrencyTest {
+  private static final Logger log = LoggerFactory.getLogger(ParticipationConcurrencyTest.class);
 
   @Autowired private ParticipationService participationService;
   @Autowired private UserRepository userRepository;
@@ -86,6 +91,50 @@ class ParticipationConcurrencyTest {
     }
   }
 
+  @Test
+  @DisplayName("1000명이 동시에 두 번씩 신청해도 한 명당 한 번만 저장된다")
+  void concurrentJoinWithDuplicates() throws InterruptedException {
+    // given
+    ExecutorService executorService = Executors.newFixedThreadPool(200);
+    CountDownLatch latch = new CountDownLatch(participants.size() * 2);
+    AtomicInteger joinSuccess = new AtomicInteger(0);
+    AtomicInteger alreadyJoined = new AtomicInteger(0);
+
+    // when
+    long startedAt = System.nanoTime();
+    for (int attempt = 0; attempt < 2; attempt++) {
+      for (User participant : participants) {
+        executorService.submit(
+            () -> {
+              try {
+                participationService.joinPosting(participant.getId(), posting.getId());
+                joinSuccess.incrementAndGet();
+              } catch (DagachiException e) {
+                if (e.getErrorCode() == ErrorCode.PARTICIPATION_ALREADY_JOINED) {
+                  alreadyJoined.incrementAndGet();
+                }
+              } finally {
+                latch.countDown();
+              }
+            });
+      }
+    }
+    latch.await();
+    long elapsedMillis = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000);
+    executorService.shutdown();
+    log.info(
+        "joins: {} in {} ms ({} joins/s)",
+        joinSuccess.get(),
+        elapsedMillis,
+        joinSuccess.get() * 1000L / elapsedMillis);
+
+    // then
+    assertThat(joinSuccess.get()).isEqualTo(participants.size());
+    assertThat(alreadyJoined.get()).isEqualTo(participants.size());
+    assertThat(participationRepository.findByPostingId(posting.getId()))
+        .hasSize(participants.size());
+  }
+
   @Test
   @DisplayName("동시에 승인과 취소가 일어나도 데이터 정합성이 유지된다")
   void concurrentApproveAndLeave() throws InterruptedException {
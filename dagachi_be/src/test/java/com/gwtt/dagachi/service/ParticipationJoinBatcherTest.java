@@ -0,0 +1,260 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.repository.UserRepository;
+import com.gwtt.dagachi.service.ParticipationJoinBatcher.JoinRequest;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParticipationJoinBatcher 단위 테스트")
+class ParticipationJoinBatcherTest {
+
+  @Mock private PostingRepository postingRepository;
+  @Mock private UserRepository userRepository;
+  @Mock private JdbcTemplate jdbcTemplate;
+  @Mock private TransactionTemplate transactionTemplate;
+
+  @InjectMocks private ParticipationJoinBatcher participationJoinBatcher;
+
+  private User author;
+  private User participant;
+  private Posting posting;
+
+  @BeforeEach
+  void setUp() {
+    author =
+        User.builder()
+            .username("author")
+            .password("password")
+            .role(Role.USER)
+            .nickname("작성자")
+            .build();
+    setId(author, 1L);
+
+    participant =
+        User.builder()
+            .username("participant")
+            .password("password")
+            .role(Role.USER)
+            .nickname("참가자")
+            .build();
+    setId(participant, 2L);
+
+    posting =
+        Posting.builder()
+            .title("테스트 포스팅")
+            .description("설명")
+            .type(PostingType.PROJECT)
+            .maxCapacity(5)
+            .author(author)
+            .build();
+    setId(posting, 1L);
+  }
+
+  @Test
+  @DisplayName("통과한 신청을 한 번에 저장한다")
+  void persist() {
+    // given
+    JoinRequest request = request(2L);
+    givenLoaded(List.of(participant));
+
+    // when
+    Map<JoinRequest, DagachiException> rejected =
+        participationJoinBatcher.persist(List.of(request));
+
+    // then
+    assertThat(rejected).isEmpty();
+    ArgumentCaptor<List<JoinRequest>> saved = ArgumentCaptor.captor();
+    then(jdbcTemplate)
+        .should()
+        .batchUpdate(
+            anyString(), saved.capture(), eq(1), any(ParameterizedPreparedStatementSetter.class));
+    assertThat(saved.getValue()).containsExactly(request);
+  }
+
+  @Test
+  @DisplayName("본인 게시글에는 참가할 수 없다")
+  void cannotJoinOwnPosting() {
+    // given
+    JoinRequest request = request(1L);
+    givenLoaded(List.of(author));
+
+    // when
+    Map<JoinRequest, DagachiException> rejected =
+        participationJoinBatcher.persist(List.of(request));
+
+    // then
+    assertThat(rejected.get(request).getErrorCode()).isEqualTo(ErrorCode.USER_NOT_AUTHORIZED);
+    then(jdbcTemplate).shouldHaveNoInteractions();
+  }
+
+  @Test
+  @DisplayName("같은 묶음 안의 중복 신청은 저장하기 전에 거절한다")
+  void cannotJoinTwice() {
+    // given
+    JoinRequest first = request(2L);
+    JoinRequest second = request(2L);
+    givenLoaded(List.of(participant));
+
+    // when
+    Map<JoinRequest, DagachiException> rejected =
+        participationJoinBatcher.persist(List.of(first, second));
+
+    // then
+    assertThat(rejected).containsOnlyKeys(second);
+    assertThat(rejected.get(second).getErrorCode())
+        .isEqualTo(ErrorCode.PARTICIPATION_ALREADY_JOINED);
+  }
+
+  @Test
+  @DisplayName("완료된 게시글에는 참가할 수 없다")
+  void cannotJoinCompletedPosting() {
+    // given
+    posting.setStatus(PostingStatus.COMPLETED);
+    JoinRequest request = request(2L);
+    givenLoaded(List.of(participant));
+
+    // when
+    Map<JoinRequest, DagachiException> rejected =
+        participationJoinBatcher.persist(List.of(request));
+
+    // then
+    assertThat(rejected.get(request).getErrorCode()).isEqualTo(ErrorCode.POSTING_ALREADY_RECRUITED);
+  }
+
+  @Test
+  @DisplayName("이미 저장된 신청과 겹쳐 묶음이 실패하면 하나씩 다시 넣어 중복된 신청만 거절한다")
+  void retryEachOnDuplicateKey() {
+    // given
+    User other =
+        User.builder()
+            .username("other")
+            .password("password")
+            .role(Role.USER)
+            .nickname("다른 참가자")
+            .build();
+    setId(other, 3L);
+    JoinRequest saved = request(2L);
+    JoinRequest duplicate = request(3L);
+    givenLoaded(List.of(participant, other));
+    given(transactionTemplate.execute(any()))
+        .willAnswer(
+            invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    given(
+            jdbcTemplate.batchUpdate(
+                anyString(),
+                anyCollection(),
+                anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+        .willAnswer(
+            invocation -> {
+              if (invocation.<Collection<?>>getArgument(1).contains(duplicate)) {
+                throw new DuplicateKeyException("uk_participations_active");
+              }
+              return new int[0][];
+            });
+
+    // when
+    participationJoinBatcher.write(List.of(saved, duplicate));
+
+    // then
+    assertThat(saved.result()).isCompleted();
+    assertThatThrownBy(() -> duplicate.result().join())
+        .hasCauseInstanceOf(DagachiException.class)
+        .cause()
+        .extracting("errorCode")
+        .isEqualTo(ErrorCode.PARTICIPATION_ALREADY_JOINED);
+  }
+
+  @Test
+  @DisplayName("큐가 가득 차면 기다리지 않고 PARTICIPATION_JOIN_BUSY 로 거절한다")
+  void rejectsWhenQueueIsFull() {
+    // given: 쓰기 스레드 없이 한 칸짜리 큐가 찼다
+    BlockingQueue<JoinRequest> queue = new LinkedBlockingQueue<>(1);
+    queue.add(request(3L));
+    givenWriterQueue(queue, Duration.ofSeconds(5));
+
+    // when & then
+    assertThatThrownBy(() -> participationJoinBatcher.join(2L, 1L))
+        .isInstanceOf(DagachiException.class)
+        .satisfies(
+            e -> {
+              DagachiException exception = (DagachiException) e;
+              assertThat(exception.getErrorCode()).isEqualTo(ErrorCode.PARTICIPATION_JOIN_BUSY);
+              assertThat(exception.getRetryAfterSeconds()).isEqualTo(1);
+            });
+    assertThat(queue).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("제한 시간 안에 저장되지 않으면 저장 여부를 모른다고 돌려주고 신청은 건너뛰도록 취소된다")
+  void timesOutAndCancelsRequest() {
+    // given: 쓰기 스레드가 신청을 꺼내지 않는다
+    BlockingQueue<JoinRequest> queue = new LinkedBlockingQueue<>(1);
+    givenWriterQueue(queue, Duration.ofMillis(50));
+
+    // when
+    boolean saved = participationJoinBatcher.join(2L, 1L);
+
+    // then
+    assertThat(saved).isFalse();
+    assertThat(queue.peek().result()).isCancelled();
+  }
+
+  private void givenWriterQueue(BlockingQueue<JoinRequest> queue, Duration timeout) {
+    ReflectionTestUtils.setField(participationJoinBatcher, "queue", queue);
+    ReflectionTestUtils.setField(participationJoinBatcher, "timeout", timeout);
+    ReflectionTestUtils.setField(participationJoinBatcher, "running", true);
+  }
+
+  private JoinRequest request(Long userId) {
+    return new JoinRequest(userId, 1L, new CompletableFuture<>());
+  }
+
+  private void givenLoaded(List<User> users) {
+    given(postingRepository.findAllById(anyIterable())).willReturn(List.of(posting));
+    given(userRepository.findAllById(anyIterable())).willReturn(users);
+  }
+
+  // Reflection으로 ID 설정하는 헬퍼 메서드
+  private void setId(Object entity, Long id) {
+    try {
+      var idField = entity.getClass().getDeclaredField("id");
+      idField.setAccessible(true);
+      idField.set(entity, id);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
@@ -4,17 +4,25 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 
+import com.gwtt.dagachi.constants.ParticipationDecision;
 import com.gwtt.dagachi.constants.ParticipationStatus;
 import com.gwtt.dagachi.constants.PostingStatus;
 import com.gwtt.dagachi.constants.PostingType;
 import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.ParticipationDecisionRequestDto;
+import com.gwtt.dagachi.dto.ParticipationDecisionResponseDto;
+import com.gwtt.dagachi.dto.ParticipationDecisionsResponseDto;
 import com.gwtt.dagachi.entity.Participation;
 import com.gwtt.dagachi.entity.Posting;
 import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.exception.DagachiException;
+import com.gwtt.dagachi.exception.ErrorCode;
 import com.gwtt.dagachi.repository.ParticipationRepository;
 import com.gwtt.dagachi.repository.PostingRepository;
 import com.gwtt.dagachi.repository.UserRepository;
+import java.util.List;
 import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -23,6 +31,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @DisplayName("ParticipationService 단위 테스트")
@@ -31,6 +40,12 @@ class ParticipationServiceTest {
   @Mock private UserRepository userRepository;
   @Mock private PostingRepository postingRepository;
   @Mock private ParticipationRepository participationRepository;
+  @Mock private PostingGeoIndex postingGeoIndex;
+  @Mock private PostingSearchIndex postingSearchIndex;
+  @Mock private LatestPostingCache latestPostingCache;
+  @Mock private PostingSearchResultCache postingSearchResultCache;
+  @Mock private ParticipationAdmission participationAdmission;
+  @Mock private ParticipationJoinBatcher participationJoinBatcher;
 
   @InjectMocks private ParticipationService participationService;
 
@@ -75,63 +90,79 @@ class ParticipationServiceTest {
   class JoinPostingTest {
 
     @Test
-    @DisplayName("정상적으로 참가 신청을 처리한다")
+    @DisplayName("Redis 를 통과한 신청을 저장 쪽에 넘긴다")
     void success() {
       // given
-      given(userRepository.findById(2L)).willReturn(Optional.of(participant));
-      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
-      given(participationRepository.existsByParticipantAndPosting(participant, posting))
-          .willReturn(false);
+      given(participationAdmission.admit(1L, 2L)).willReturn(true);
+      given(participationJoinBatcher.join(2L, 1L)).willReturn(true);
 
       // when
-      participationService.joinPosting(2L, 1L);
+      boolean saved = participationService.joinPosting(2L, 1L);
 
       // then
-      then(participationRepository).should().save(any(Participation.class));
+      assertThat(saved).isTrue();
+      then(participationJoinBatcher).should().join(2L, 1L);
+      then(participationAdmission).should(never()).release(anyLong(), anyLong());
     }
 
     @Test
-    @DisplayName("본인 게시글에는 참가할 수 없다")
-    void cannotJoinOwnPosting() {
+    @DisplayName("기다리다 시간이 다 되면 저장되었을 수 있으므로 Redis 자리를 돌려놓지 않고 false 를 돌려준다")
+    void keepsAdmissionOnTimeout() {
       // given
-      given(userRepository.findById(1L)).willReturn(Optional.of(author));
-      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
+      given(participationAdmission.admit(1L, 2L)).willReturn(true);
+      given(participationJoinBatcher.join(2L, 1L)).willReturn(false);
+
+      // when
+      boolean saved = participationService.joinPosting(2L, 1L);
+
+      // then
+      assertThat(saved).isFalse();
+      then(participationAdmission).should(never()).release(anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Redis 에서 걸러진 신청은 저장하지 않는다")
+    void rejectedByAdmission() {
+      // given
+      given(participationAdmission.admit(1L, 2L))
+          .willThrow(new DagachiException(ErrorCode.PARTICIPATION_ALREADY_JOINED));
 
       // when & then
-      assertThatThrownBy(() -> participationService.joinPosting(1L, 1L))
-          .isInstanceOf(RuntimeException.class)
-          .hasMessage("본인이 참여할 수 없습니다.");
+      assertThatThrownBy(() -> participationService.joinPosting(2L, 1L))
+          .isInstanceOf(DagachiException.class)
+          .extracting("errorCode")
+          .isEqualTo(ErrorCode.PARTICIPATION_ALREADY_JOINED);
+      then(participationJoinBatcher).shouldHaveNoInteractions();
     }
 
     @Test
-    @DisplayName("이미 참가한 게시글에는 중복 참가할 수 없다")
-    void cannotJoinTwice() {
+    @DisplayName("저장 쪽에서 거절되면 Redis 에 잡아 둔 자리를 돌려놓는다")
+    void releaseWhenRejectedByDatabase() {
       // given
-      given(userRepository.findById(2L)).willReturn(Optional.of(participant));
-      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
-      given(participationRepository.existsByParticipantAndPosting(participant, posting))
-          .willReturn(true);
+      given(participationAdmission.admit(1L, 2L)).willReturn(true);
+      willThrow(new DagachiException(ErrorCode.POSTING_ALREADY_RECRUITED))
+          .given(participationJoinBatcher)
+          .join(2L, 1L);
 
       // when & then
       assertThatThrownBy(() -> participationService.joinPosting(2L, 1L))
-          .isInstanceOf(RuntimeException.class)
-          .hasMessage("이미 해당 게시글에 참여했습니다.");
+          .isInstanceOf(DagachiException.class);
+      then(participationAdmission).should().release(1L, 2L);
     }
 
     @Test
-    @DisplayName("완료된 게시글에는 참가할 수 없다")
-    void cannotJoinCompletedPosting() {
+    @DisplayName("Redis 를 쓸 수 없으면 걸러내지 않고 저장 쪽에 맡긴다")
+    void admissionUnavailable() {
       // given
-      posting.setStatus(PostingStatus.COMPLETED);
-      given(userRepository.findById(2L)).willReturn(Optional.of(participant));
-      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
-      given(participationRepository.existsByParticipantAndPosting(participant, posting))
-          .willReturn(false);
+      given(participationAdmission.admit(1L, 2L)).willReturn(false);
+      willThrow(new DagachiException(ErrorCode.PARTICIPATION_ALREADY_JOINED))
+          .given(participationJoinBatcher)
+          .join(2L, 1L);
 
       // when & then
       assertThatThrownBy(() -> participationService.joinPosting(2L, 1L))
-          .isInstanceOf(RuntimeException.class)
-          .hasMessage("해당 게시글의 참여가 종료되었습니다.");
+          .isInstanceOf(DagachiException.class);
+      then(participationAdmission).should(never()).release(anyLong(), anyLong());
     }
   }
 
@@ -204,26 +235,32 @@ class ParticipationServiceTest {
 
     @BeforeEach
     void setUp() {
+      // 승인은 캐시 정리를 커밋 후로 미루므로 트랜잭션 동기화를 켠다.
+      TransactionSynchronizationManager.initSynchronization();
       participation = Participation.builder().posting(posting).participant(participant).build();
       setId(participation, 1L);
     }
 
+    @AfterEach
+    void tearDown() {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
     @Test
     @DisplayName("정상적으로 참가를 승인한다")
     void success() {
       // given
       given(userRepository.findById(1L)).willReturn(Optional.of(author));
-      given(participationRepository.findByIdWithPostingForUpdate(1L))
-          .willReturn(Optional.of(participation));
-      given(participationRepository.countByPostingAndStatus(posting, ParticipationStatus.APPROVED))
-          .willReturn(0);
+      given(participationRepository.findByIdForUpdate(1L)).willReturn(Optional.of(participation));
+      given(postingRepository.incrementApprovedCount(eq(1L), any())).willReturn(1);
+      given(postingRepository.findByIdFetched(1L)).willReturn(Optional.of(posting));
 
       // when
       participationService.approveUser(1L, 1L);
 
       // then
       assertThat(participation.getStatus()).isEqualTo(ParticipationStatus.APPROVED);
-      then(participationRepository).should().save(participation);
+      then(postingRepository).should().incrementApprovedCount(eq(1L), any());
     }
 
     @Test
@@ -231,8 +268,7 @@ class ParticipationServiceTest {
     void cannotApproveIfNotAuthor() {
       // given
       given(userRepository.findById(2L)).willReturn(Optional.of(participant));
-      given(participationRepository.findByIdWithPostingForUpdate(1L))
-          .willReturn(Optional.of(participation));
+      given(participationRepository.findByIdForUpdate(1L)).willReturn(Optional.of(participation));
 
       // when & then
       assertThatThrownBy(() -> participationService.approveUser(2L, 1L))
@@ -245,10 +281,8 @@ class ParticipationServiceTest {
     void cannotApproveExceedMaxCapacity() {
       // given
       given(userRepository.findById(1L)).willReturn(Optional.of(author));
-      given(participationRepository.findByIdWithPostingForUpdate(1L))
-          .willReturn(Optional.of(participation));
-      given(participationRepository.countByPostingAndStatus(posting, ParticipationStatus.APPROVED))
-          .willReturn(5);
+      given(participationRepository.findByIdForUpdate(1L)).willReturn(Optional.of(participation));
+      given(postingRepository.incrementApprovedCount(eq(1L), any())).willReturn(0);
 
       // when & then
       assertThatThrownBy(() -> participationService.approveUser(1L, 1L))
@@ -262,8 +296,7 @@ class ParticipationServiceTest {
       // given
       participation.setStatus(ParticipationStatus.APPROVED);
       given(userRepository.findById(1L)).willReturn(Optional.of(author));
-      given(participationRepository.findByIdWithPostingForUpdate(1L))
-          .willReturn(Optional.of(participation));
+      given(participationRepository.findByIdForUpdate(1L)).willReturn(Optional.of(participation));
 
       // when & then
       assertThatThrownBy(() -> participationService.approveUser(1L, 1L))
@@ -272,6 +305,114 @@ class ParticipationServiceTest {
     }
   }
 
+  @Nested
+  @DisplayName("decide 메서드")
+  class DecideTest {
+
+    private Participation approved;
+    private Participation first;
+    private Participation second;
+    private Participation third;
+
+    @BeforeEach
+    void setUp() {
+      // 커밋 후 작업은 등록만 확인한다.
+      TransactionSynchronizationManager.initSynchronization();
+
+      approved = Participation.builder().posting(posting).participant(participant).build();
+      approved.setStatus(ParticipationStatus.APPROVED);
+      setId(approved, 1L);
+      first = Participation.builder().posting(posting).participant(participant).build();
+      setId(first, 2L);
+      second = Participation.builder().posting(posting).participant(participant).build();
+      setId(second, 3L);
+      third = Participation.builder().posting(posting).participant(participant).build();
+      setId(third, 4L);
+    }
+
+    @AfterEach
+    void tearDown() {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("거절로 생긴 자리를 먼저 신청한 참가부터 채우고 항목별 결과를 요청 순서대로 돌려준다")
+    void rejectsFirstThenApprovesInApplicationOrder() {
+      // given
+      setField(posting, "approvedCount", 4);
+      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
+      given(participationRepository.findAllByIdInAndPostingIdForUpdate(anyCollection(), eq(1L)))
+          .willReturn(List.of(approved, first, second, third));
+      given(postingRepository.findByIdFetched(1L)).willReturn(Optional.of(posting));
+
+      // when
+      ParticipationDecisionsResponseDto response =
+          participationService.decide(
+              1L,
+              1L,
+              List.of(
+                  new ParticipationDecisionRequestDto(4L, ParticipationDecision.APPROVE),
+                  new ParticipationDecisionRequestDto(3L, ParticipationDecision.APPROVE),
+                  new ParticipationDecisionRequestDto(2L, ParticipationDecision.APPROVE),
+                  new ParticipationDecisionRequestDto(1L, ParticipationDecision.REJECT),
+                  new ParticipationDecisionRequestDto(9L, ParticipationDecision.REJECT)));
+
+      // then
+      assertThat(response.getPostingStatus()).isEqualTo(PostingStatus.RECRUITED);
+      assertThat(response.getSeatsLeft()).isZero();
+      assertThat(response.getResults())
+          .extracting(
+              ParticipationDecisionResponseDto::getParticipationId,
+              ParticipationDecisionResponseDto::isApplied,
+              ParticipationDecisionResponseDto::getCode)
+          .containsExactly(
+              tuple(4L, false, ErrorCode.POSTING_ALREADY_RECRUITED.name()),
+              tuple(3L, true, null),
+              tuple(2L, true, null),
+              tuple(1L, true, null),
+              tuple(9L, false, ErrorCode.PARTICIPATION_NOT_FOUND.name()));
+      then(participationRepository)
+          .should()
+          .updateStatusByIdIn(eq(List.of(2L, 3L)), eq(ParticipationStatus.APPROVED), any());
+      then(participationRepository)
+          .should()
+          .updateStatusByIdIn(eq(List.of(1L)), eq(ParticipationStatus.REJECTED), any());
+      then(postingRepository)
+          .should()
+          .updateApprovedCount(eq(1L), eq(5), eq(PostingStatus.RECRUITED), any());
+      then(participationAdmission).should().decidedAfterCommit(1L, 2, PostingStatus.RECRUITED);
+    }
+
+    @Test
+    @DisplayName("작성자가 아니면 아무것도 처리하지 않는다")
+    void cannotDecideIfNotAuthor() {
+      // given
+      given(postingRepository.findByIdForUpdate(1L)).willReturn(Optional.of(posting));
+
+      // when & then
+      assertThatThrownBy(
+              () ->
+                  participationService.decide(
+                      2L,
+                      1L,
+                      List.of(
+                          new ParticipationDecisionRequestDto(2L, ParticipationDecision.APPROVE))))
+          .isInstanceOf(DagachiException.class)
+          .hasMessage(ErrorCode.POSTING_NOT_AUTHORIZED.getMessage());
+      then(participationRepository).shouldHaveNoInteractions();
+    }
+  }
+
+  private void setField(Object entity, String name, Object value) {
+    try {
+      var field = entity.getClass().getDeclaredField(name);
+      field.setAccessible(true);
+      field.set(entity, value);
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   // Reflection으로 ID 설정하는 헬퍼 메서드
   private void setId(Object entity, Long id) {
     try {
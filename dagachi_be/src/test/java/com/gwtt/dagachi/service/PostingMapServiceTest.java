@@ -0,0 +1,291 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.PostingMapClusterDto;
+import com.gwtt.dagachi.dto.PostingMapResponseDto;
+import com.gwtt.dagachi.entity.Location;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.repository.PostingMapCellCount;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.util.MapGrid;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingMapService 단위 테스트")
+class PostingMapServiceTest {
+  private static final int PIN_ZOOM = 15;
+  private static final int ZOOM = 10;
+  // 시청 근처의 2 x 4 칸
+  private static final String BBOX = "126.9,37.5,127.1,37.6";
+  private static final double LATITUDE = 37.5665;
+  private static final double LONGITUDE = 126.9780;
+
+  @Mock private PostingRepository postingRepository;
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+  @Mock private RedisConnection connection;
+  @Mock private RedisStringCommands stringCommands;
+
+  private PostingMapService postingMapService;
+
+  // Redis 에 저장된 칸 집계 대신
+  private final Map<String, String> cells = new HashMap<>();
+  private final List<Expiration> expirations = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    postingMapService = new PostingMapService(postingRepository, redisTemplate, new ObjectMapper());
+    ReflectionTestUtils.setField(postingMapService, "pinZoom", PIN_ZOOM);
+    ReflectionTestUtils.setField(postingMapService, "maxCells", 1024);
+    ReflectionTestUtils.setField(postingMapService, "maxPins", 500);
+    ReflectionTestUtils.setField(postingMapService, "cellTtl", Duration.ofMinutes(10));
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private void givenCellStore() {
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(valueOperations.multiGet(anyCollection()))
+        .willAnswer(
+            invocation ->
+                invocation.<Collection<String>>getArgument(0).stream().map(cells::get).toList());
+    lenient()
+        .when(redisTemplate.executePipelined(any(RedisCallback.class)))
+        .thenAnswer(
+            invocation -> {
+              invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+              return List.of();
+            });
+    lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+    lenient()
+        .when(stringCommands.set(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              cells.put(
+                  new String(invocation.<byte[]>getArgument(0), StandardCharsets.UTF_8),
+                  new String(invocation.<byte[]>getArgument(1), StandardCharsets.UTF_8));
+              expirations.add(invocation.getArgument(2));
+              return true;
+            });
+  }
+
+  private static int row(double latitude) {
+    return MapGrid.row(latitude, ZOOM);
+  }
+
+  private static int column(double longitude) {
+    return MapGrid.column(longitude, ZOOM);
+  }
+
+  private static String cellKey(int zoom, double latitude, double longitude) {
+    return "posting:map:"
+        + zoom
+        + ":"
+        + MapGrid.row(latitude, zoom)
+        + ":"
+        + MapGrid.column(longitude, zoom);
+  }
+
+  private static PostingMapCellCount cityHall(long count) {
+    return new PostingMapCellCount(
+        row(LATITUDE),
+        column(LONGITUDE),
+        PostingType.PROJECT,
+        count,
+        LATITUDE * count,
+        LONGITUDE * count);
+  }
+
+  @Test
+  @DisplayName("캐시에 없는 칸은 한 번에 집계해 게시글이 없는 칸까지 TTL 을 붙여 칸마다 캐시한다")
+  void loadsAndCachesEveryCell() {
+    // given
+    givenCellStore();
+    given(postingRepository.countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt()))
+        .willReturn(List.of(cityHall(2)));
+
+    // when
+    PostingMapResponseDto response = postingMapService.getMap(BBOX, ZOOM);
+
+    // then
+    assertThat(response.getPins()).isEmpty();
+    assertThat(response.getClusters())
+        .singleElement()
+        .satisfies(
+            cluster -> {
+              assertThat(cluster.getCount()).isEqualTo(2);
+              assertThat(cluster.getLatitude()).isCloseTo(LATITUDE, within(1e-9));
+              assertThat(cluster.getLongitude()).isCloseTo(LONGITUDE, within(1e-9));
+              assertThat(cluster.getTypeCounts()).containsEntry(PostingType.PROJECT, 2L);
+            });
+    assertThat(cells).hasSize(8).containsKey(cellKey(ZOOM, LATITUDE, LONGITUDE));
+    assertThat(cells.values()).filteredOn(value -> value.contains("\"count\":0")).hasSize(7);
+    assertThat(expirations)
+        .hasSize(8)
+        .allSatisfy(
+            expiration -> assertThat(expiration.getExpirationTimeInSeconds()).isEqualTo(600));
+  }
+
+  @Test
+  @DisplayName("모든 칸이 캐시에 있으면 게시글이 없는 칸까지 DB 를 다시 조회하지 않는다")
+  void answersFromCachedCells() {
+    // given
+    givenCellStore();
+    given(postingRepository.countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt()))
+        .willReturn(List.of(cityHall(2)));
+    List<PostingMapClusterDto> first = postingMapService.getMap(BBOX, ZOOM).getClusters();
+
+    // when
+    List<PostingMapClusterDto> second = postingMapService.getMap(BBOX, ZOOM).getClusters();
+
+    // then
+    assertThat(second).usingRecursiveFieldByFieldElementComparator().isEqualTo(first);
+    then(postingRepository)
+        .should(times(1))
+        .countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  @DisplayName("일부 칸만 캐시에 있으면 빠진 칸을 덮는 범위만 집계한다")
+  void loadsOnlyMissingCells() {
+    // given: 아래쪽 줄은 캐시되어 있다
+    givenCellStore();
+    given(postingRepository.countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt()))
+        .willReturn(List.of());
+    postingMapService.getMap("126.9,37.5,127.1,37.5", ZOOM);
+    int bottom = row(37.5);
+
+    // when
+    postingMapService.getMap(BBOX, ZOOM);
+
+    // then
+    then(postingRepository)
+        .should()
+        .countByMapCell(
+            MapGrid.cellDegrees(ZOOM), bottom + 1, bottom + 1, column(126.9), column(127.1));
+    assertThat(cells).hasSize(8);
+  }
+
+  @Test
+  @DisplayName("pin-zoom 부터는 칸 집계 대신 화면 안의 게시글 핀을 돌려준다")
+  void switchesToPinsAtPinZoom() {
+    // given
+    Posting posting =
+        Posting.builder()
+            .title("시청 스터디")
+            .description("설명")
+            .type(PostingType.STUDY)
+            .maxCapacity(5)
+            .location(Location.of(LATITUDE, LONGITUDE))
+            .build();
+    given(postingRepository.findInViewport(any(), eq(500))).willReturn(List.of(posting));
+
+    // when
+    PostingMapResponseDto pins = postingMapService.getMap(BBOX, PIN_ZOOM);
+
+    // then
+    assertThat(pins.getClusters()).isEmpty();
+    assertThat(pins.getPins()).singleElement().extracting("title").isEqualTo("시청 스터디");
+    then(redisTemplate).shouldHaveNoInteractions();
+    then(postingRepository)
+        .should(never())
+        .countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt());
+  }
+
+  @Test
+  @DisplayName("pin-zoom 바로 아래까지는 칸 집계를 돌려준다")
+  void returnsClustersBelowPinZoom() {
+    // given
+    givenCellStore();
+    given(postingRepository.countByMapCell(anyDouble(), anyInt(), anyInt(), anyInt(), anyInt()))
+        .willReturn(List.of());
+
+    // when
+    PostingMapResponseDto response =
+        postingMapService.getMap("126.977,37.566,126.978,37.567", PIN_ZOOM - 1);
+
+    // then
+    assertThat(response.getPins()).isEmpty();
+    then(postingRepository).should(never()).findInViewport(any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("게시글을 옮기면 커밋 후에 이전 좌표와 새 좌표의 칸을 모든 확대 수준에서 지운다")
+  void evictsOldAndNewCellsAfterCommit() {
+    // given
+    Location previous = Location.of(LATITUDE, LONGITUDE);
+    Location moved = Location.of(35.1798, 129.0750);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    postingMapService.evictAfterCommit(previous, moved);
+
+    // then: 커밋 전에는 지우지 않는다
+    then(redisTemplate).should(never()).delete(anyCollection());
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.captor();
+    then(redisTemplate).should().delete(keys.capture());
+    // 낮은 확대 수준에서는 두 좌표가 같은 칸에 들어 한 번만 지운다.
+    assertThat(keys.getValue())
+        .containsExactlyInAnyOrderElementsOf(
+            IntStream.range(0, PIN_ZOOM)
+                .boxed()
+                .flatMap(
+                    zoom ->
+                        Stream.of(
+                            cellKey(zoom, LATITUDE, LONGITUDE), cellKey(zoom, 35.1798, 129.0750)))
+                .distinct()
+                .toList());
+  }
+
+  @Test
+  @DisplayName("게시글을 지우면 그 좌표의 칸을 모든 확대 수준에서 지우고, 좌표가 없으면 아무것도 지우지 않는다")
+  void evictsDeletedPostingCells() {
+    // when
+    postingMapService.evictAfterCommit(Location.of(LATITUDE, LONGITUDE));
+    postingMapService.evictAfterCommit((Location) null);
+
+    // then
+    ArgumentCaptor<Collection<String>> keys = ArgumentCaptor.captor();
+    then(redisTemplate).should(times(1)).delete(keys.capture());
+    assertThat(keys.getValue())
+        .hasSize(PIN_ZOOM)
+        .contains(cellKey(0, LATITUDE, LONGITUDE), cellKey(PIN_ZOOM - 1, LATITUDE, LONGITUDE));
+  }
+}
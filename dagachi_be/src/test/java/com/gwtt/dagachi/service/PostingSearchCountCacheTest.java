@@ -0,0 +1,158 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingSearchCountCache 단위 테스트")
+class PostingSearchCountCacheTest {
+  private static final Duration TTL = Duration.ofSeconds(30);
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  private PostingSearchCountCache postingSearchCountCache;
+  private final AtomicInteger counted = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    postingSearchCountCache = new PostingSearchCountCache(redisTemplate);
+    ReflectionTestUtils.setField(postingSearchCountCache, "ttl", TTL);
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+  }
+
+  // DB 의 count 쿼리 대신
+  private long count() {
+    counted.incrementAndGet();
+    return 42L;
+  }
+
+  // 조건으로 조회한 캐시 키
+  private String keyOf(PostingSearchCondition condition) {
+    postingSearchCountCache.get(condition, this::count);
+    ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+    then(valueOperations).should(atLeastOnce()).get(key.capture());
+    return key.getValue();
+  }
+
+  @Test
+  @DisplayName("캐시에 없으면 직접 세고 TTL 을 붙여 저장한다")
+  void countsAndStoresOnMiss() {
+    // given
+    PostingSearchCondition condition = PostingSearchCondition.builder().title("스터디").build();
+
+    // when
+    long count = postingSearchCountCache.get(condition, this::count);
+
+    // then
+    assertThat(count).isEqualTo(42L);
+    assertThat(counted).hasValue(1);
+    then(valueOperations).should().set(startsWith("posting:search-count:"), eq("42"), eq(TTL));
+  }
+
+  @Test
+  @DisplayName("캐시에 있으면 세지 않고 저장된 값을 돌려준다")
+  void answersFromCache() {
+    // given
+    given(valueOperations.get(anyString())).willReturn("7");
+
+    // when
+    long count = postingSearchCountCache.get(PostingSearchCondition.builder().build(), this::count);
+
+    // then
+    assertThat(count).isEqualTo(7L);
+    assertThat(counted).hasValue(0);
+    then(valueOperations).should(never()).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  @DisplayName("검색어와 닉네임의 앞뒤 공백은 무시하고, 공백뿐인 값은 조건이 없는 것과 같다")
+  void normalizesKeywords() {
+    // given
+    String key = keyOf(PostingSearchCondition.builder().title("스터디").authorNickname("닉").build());
+
+    // when & then
+    assertThat(keyOf(PostingSearchCondition.builder().title("  스터디 ").authorNickname(" 닉").build()))
+        .isEqualTo(key);
+    assertThat(keyOf(PostingSearchCondition.builder().title("  ").build()))
+        .isEqualTo(keyOf(PostingSearchCondition.builder().build()));
+  }
+
+  @Test
+  @DisplayName("결과 집합을 바꾸는 조건만 키에 넣는다")
+  void keyDependsOnFilterOnly() {
+    // given
+    PostingSearchCondition condition =
+        PostingSearchCondition.builder().title("스터디").type(PostingType.STUDY).build();
+    String key = keyOf(condition);
+
+    // when & then
+    assertThat(keyOf(condition.toBuilder().sortByDistance(true).build())).isEqualTo(key);
+    assertThat(keyOf(condition.toBuilder().type(PostingType.PROJECT).build())).isNotEqualTo(key);
+    assertThat(keyOf(condition.toBuilder().openSeatsOnly(true).build())).isNotEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("반경 검색은 중심 좌표와 반경을 키에 넣고, 반경이 없으면 좌표를 무시한다")
+  void keyIncludesRadiusAndCenter() {
+    // given
+    PostingSearchCondition nearby =
+        PostingSearchCondition.builder()
+            .userLatitude(37.5665)
+            .userLongitude(126.9780)
+            .radiusKm(3.0)
+            .build();
+    String key = keyOf(nearby);
+
+    // when & then
+    assertThat(keyOf(nearby.toBuilder().radiusKm(5.0).build())).isNotEqualTo(key);
+    assertThat(keyOf(nearby.toBuilder().userLatitude(35.1798).build())).isNotEqualTo(key);
+    assertThat(keyOf(nearby.toBuilder().radiusKm(null).build()))
+        .isEqualTo(keyOf(PostingSearchCondition.builder().build()));
+  }
+
+  @Test
+  @DisplayName("Redis 에서 읽을 수 없으면 직접 센 값을 저장하지 않고 돌려준다")
+  void countsWhenRedisReadFails() {
+    // given
+    given(valueOperations.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+
+    // when
+    long count = postingSearchCountCache.get(PostingSearchCondition.builder().build(), this::count);
+
+    // then
+    assertThat(count).isEqualTo(42L);
+    assertThat(counted).hasValue(1);
+    then(valueOperations).should(never()).set(anyString(), anyString(), any(Duration.class));
+  }
+
+  @Test
+  @DisplayName("Redis 에 저장할 수 없어도 센 값을 돌려준다")
+  void returnsCountWhenRedisWriteFails() {
+    // given
+    willThrow(new RedisConnectionFailureException("down"))
+        .given(valueOperations)
+        .set(anyString(), anyString(), any(Duration.class));
+
+    // when & then
+    assertThat(postingSearchCountCache.get(PostingSearchCondition.builder().build(), this::count))
+        .isEqualTo(42L);
+  }
+}
@@ -0,0 +1,237 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.constants.Role;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.entity.Posting;
+import com.gwtt.dagachi.entity.User;
+import com.gwtt.dagachi.repository.PostingRepository;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingSearchIndex 단위 테스트")
+class PostingSearchIndexTest {
+  private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+  @TempDir private Path path;
+  @Mock private PostingRepository postingRepository;
+  @Mock private StringRedisTemplate redisTemplate;
+
+  private PostingSearchIndex postingSearchIndex;
+  private User author;
+
+  @BeforeEach
+  void setUp() {
+    author =
+        User.builder()
+            .username("author")
+            .password("password")
+            .role(Role.USER)
+            .nickname("작성자")
+            .build();
+    ReflectionTestUtils.setField(author, "id", 1L);
+    postingSearchIndex = newIndex();
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    postingSearchIndex.close();
+  }
+
+  private PostingSearchIndex newIndex() {
+    PostingSearchIndex index = new PostingSearchIndex(postingRepository, redisTemplate);
+    ReflectionTestUtils.setField(index, "enabled", true);
+    ReflectionTestUtils.setField(index, "path", path);
+    // 주기 작업은 테스트에서 직접 부른다.
+    ReflectionTestUtils.setField(index, "refreshIntervalMillis", 3_600_000L);
+    ReflectionTestUtils.setField(index, "commitIntervalMillis", 3_600_000L);
+    ReflectionTestUtils.setField(index, "catchUpIntervalMillis", 3_600_000L);
+    ReflectionTestUtils.setField(index, "maxResultWindow", 10_000);
+    return index;
+  }
+
+  private Posting posting(Long id, String title, LocalDateTime updatedAt) {
+    Posting posting =
+        Posting.builder()
+            .title(title)
+            .description("설명")
+            .type(PostingType.STUDY)
+            .maxCapacity(5)
+            .author(author)
+            .build();
+    ReflectionTestUtils.setField(posting, "id", id);
+    ReflectionTestUtils.setField(posting, "createdAt", T0);
+    ReflectionTestUtils.setField(posting, "updatedAt", updatedAt);
+    return posting;
+  }
+
+  private static PostingRepository.PostingDeletion deletion(Long id, LocalDateTime deletedAt) {
+    return new PostingRepository.PostingDeletion() {
+      @Override
+      public Long getId() {
+        return id;
+      }
+
+      @Override
+      public LocalDateTime getDeletedAt() {
+        return deletedAt;
+      }
+    };
+  }
+
+  private List<Long> search(String keyword) throws IOException {
+    postingSearchIndex.refresh();
+    return postingSearchIndex
+        .search(PostingSearchCondition.builder().title(keyword).build(), 0, 10)
+        .ids();
+  }
+
+  @Test
+  @DisplayName("커밋 후 색인, 수정, 삭제가 검색에 반영되고 다른 인스턴스에 알린다")
+  void indexUpdateDelete() throws IOException {
+    // given
+    given(postingRepository.findActiveAfterId(eq(0L), any(Pageable.class))).willReturn(List.of());
+    postingSearchIndex.open();
+
+    // when & then
+    postingSearchIndex.indexAfterCommit(posting(10L, "스터디 모집", T0));
+    assertThat(search("스터디")).containsExactly(10L);
+
+    postingSearchIndex.indexAfterCommit(posting(10L, "프로젝트 모집", T0));
+    assertThat(search("스터디")).isEmpty();
+    assertThat(search("프로젝트")).containsExactly(10L);
+
+    postingSearchIndex.deleteAfterCommit(10L);
+    assertThat(search("프로젝트")).isEmpty();
+
+    then(redisTemplate)
+        .should(times(3))
+        .convertAndSend(eq(PostingSearchIndex.CHANGED_CHANNEL), endsWith(":10"));
+  }
+
+  @Test
+  @DisplayName("다른 인스턴스의 변경 알림을 받으면 게시글을 DB 에서 다시 읽어 반영하고, 자기 알림은 무시한다")
+  void appliesRemoteChanges() throws IOException {
+    // given
+    given(postingRepository.findActiveAfterId(eq(0L), any(Pageable.class))).willReturn(List.of());
+    postingSearchIndex.open();
+    given(postingRepository.findAllActiveByIdIn(List.of(7L)))
+        .willReturn(List.of(posting(7L, "스터디 모집", T0)))
+        .willReturn(List.of());
+    String instanceId = (String) ReflectionTestUtils.getField(postingSearchIndex, "instanceId");
+
+    // when & then
+    postingSearchIndex.onMessage(message("other-instance:7"), null);
+    assertThat(search("스터디")).containsExactly(7L);
+
+    postingSearchIndex.onMessage(message(instanceId + ":7"), null);
+    then(postingRepository).should(times(1)).findAllActiveByIdIn(List.of(7L));
+
+    postingSearchIndex.onMessage(message("other-instance:7"), null);
+    assertThat(search("스터디")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("따라잡기는 DB 에서 읽은 가장 늦은 수정/삭제 시각으로 watermark 를 옮기고, 다시 열면 그 시각부터 따라잡는다")
+  void catchUpAdvancesWatermarkFromDatabase() throws IOException {
+    // given
+    given(postingRepository.findActiveAfterId(eq(0L), any(Pageable.class)))
+        .willReturn(List.of(posting(1L, "스터디 모집", T0)));
+    postingSearchIndex.open();
+    LocalDateTime updatedAt = T0.plusMinutes(10);
+    LocalDateTime deletedAt = T0.plusMinutes(20);
+    given(postingRepository.findActiveUpdatedSince(T0.minusMinutes(5)))
+        .willReturn(List.of(posting(2L, "스터디 구함", updatedAt)));
+    given(postingRepository.findDeletedSince(T0.minusMinutes(5)))
+        .willReturn(List.of(deletion(1L, deletedAt)));
+
+    // when
+    postingSearchIndex.catchUp();
+
+    // then
+    assertThat(search("스터디")).containsExactly(2L);
+    assertThat(ReflectionTestUtils.getField(postingSearchIndex, "watermark")).isEqualTo(deletedAt);
+
+    // when: 재시작
+    postingSearchIndex.close();
+    postingSearchIndex = newIndex();
+    postingSearchIndex.open();
+
+    // then
+    then(postingRepository).should().findActiveUpdatedSince(deletedAt.minusMinutes(5));
+    assertThat(search("스터디")).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("재색인이 읽은 뒤 지워진 게시글은 재색인이 끝나면 인덱스에서 빠진다")
+  void rebuildDoesNotResurrectDeletedPosting() throws IOException {
+    // given: 재색인이 게시글을 읽은 직후 삭제가 커밋된다
+    Posting stale = posting(1L, "스터디 모집", T0);
+    given(postingRepository.findActiveAfterId(eq(0L), any(Pageable.class)))
+        .willReturn(List.of())
+        .willAnswer(
+            invocation -> {
+              postingSearchIndex.deleteAfterCommit(1L);
+              return List.of(stale);
+            });
+    given(postingRepository.findAllActiveByIdIn(anyCollection())).willReturn(List.of());
+    postingSearchIndex.open();
+
+    // when
+    postingSearchIndex.rebuild();
+
+    // then
+    assertThat(search("스터디")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("재색인이 읽은 뒤 수정된 게시글은 재색인이 끝나면 수정된 내용으로 남는다")
+  void rebuildKeepsLaterUpdate() throws IOException {
+    // given: 재색인이 게시글을 읽은 직후 수정이 커밋된다
+    Posting stale = posting(1L, "스터디 모집", T0);
+    Posting updated = posting(1L, "프로젝트 모집", T0.plusMinutes(1));
+    given(postingRepository.findActiveAfterId(eq(0L), any(Pageable.class)))
+        .willReturn(List.of())
+        .willAnswer(
+            invocation -> {
+              postingSearchIndex.indexAfterCommit(updated);
+              return List.of(stale);
+            });
+    given(postingRepository.findAllActiveByIdIn(anyCollection())).willReturn(List.of(updated));
+    postingSearchIndex.open();
+
+    // when
+    long indexed = postingSearchIndex.rebuild();
+
+    // then
+    assertThat(indexed).isEqualTo(1);
+    assertThat(search("스터디")).isEmpty();
+    assertThat(search("프로젝트")).containsExactly(1L);
+  }
+
+  private static DefaultMessage message(String body) {
+    return new DefaultMessage(
+        PostingSearchIndex.CHANGED_CHANNEL.getBytes(StandardCharsets.UTF_8),
+        body.getBytes(StandardCharsets.UTF_8));
+  }
+}
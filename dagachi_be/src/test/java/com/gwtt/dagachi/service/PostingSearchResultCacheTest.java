@@ -0,0 +1,230 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gwtt.dagachi.constants.PostingStatus;
+import com.gwtt.dagachi.constants.PostingType;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingSearchResultCache 단위 테스트")
+class PostingSearchResultCacheTest {
+  private static final Pageable PAGE = PageRequest.of(0, 10);
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  private PostingSearchResultCache postingSearchResultCache;
+
+  // Redis 의 버전 번호 대신
+  private final Map<String, Long> versions = new HashMap<>();
+
+  @BeforeEach
+  void setUp() {
+    postingSearchResultCache = new PostingSearchResultCache(redisTemplate, new ObjectMapper());
+    ReflectionTestUtils.setField(postingSearchResultCache, "ttl", Duration.ofSeconds(30));
+    ReflectionTestUtils.setField(postingSearchResultCache, "coordinateCellDegrees", 0.005);
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  private void givenVersionStore() {
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(valueOperations.multiGet(anyCollection()))
+        .willAnswer(
+            invocation ->
+                invocation.<List<String>>getArgument(0).stream()
+                    .map(key -> versions.containsKey(key) ? versions.get(key).toString() : null)
+                    .toList());
+    lenient()
+        .when(valueOperations.increment(anyString()))
+        .thenAnswer(invocation -> versions.merge(invocation.getArgument(0), 1L, Long::sum));
+  }
+
+  private static PostingSearchCondition condition(PostingType type, PostingStatus status) {
+    return PostingSearchCondition.builder().title("스터디").type(type).status(status).build();
+  }
+
+  @Test
+  @DisplayName("조건에 든 유형/상태 조합의 게시글이 바뀌면 커밋 후 키가 달라진다")
+  void keyChangesAfterInvalidation() {
+    // given
+    givenVersionStore();
+    PostingSearchCondition condition = condition(PostingType.STUDY, null);
+    String before = postingSearchResultCache.keyFor(condition, PAGE);
+
+    // when
+    postingSearchResultCache.invalidateAfterCommit(PostingType.STUDY, PostingStatus.RECRUITING);
+
+    // then
+    assertThat(postingSearchResultCache.keyFor(condition, PAGE)).isNotEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("조건에 들지 않는 조합의 게시글이 바뀌면 키는 그대로다")
+  void keyKeptForUnrelatedInvalidation() {
+    // given
+    givenVersionStore();
+    PostingSearchCondition condition = condition(PostingType.STUDY, PostingStatus.RECRUITING);
+    String before = postingSearchResultCache.keyFor(condition, PAGE);
+
+    // when
+    postingSearchResultCache.invalidateAfterCommit(PostingType.PROJECT, PostingStatus.RECRUITING);
+
+    // then
+    assertThat(postingSearchResultCache.keyFor(condition, PAGE)).isEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안에서는 커밋된 뒤에야 버전을 올린다")
+  void bumpsOnlyAfterCommit() {
+    // given
+    givenVersionStore();
+    PostingSearchCondition condition = condition(PostingType.STUDY, PostingStatus.RECRUITING);
+    String before = postingSearchResultCache.keyFor(condition, PAGE);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // when
+    postingSearchResultCache.invalidateAfterCommit(PostingType.STUDY, PostingStatus.RECRUITING);
+
+    // then: 커밋 전에는 같은 키, 커밋 후에는 새 키
+    assertThat(postingSearchResultCache.keyFor(condition, PAGE)).isEqualTo(before);
+    then(valueOperations).should(never()).increment(anyString());
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertThat(postingSearchResultCache.keyFor(condition, PAGE)).isNotEqualTo(before);
+  }
+
+  @Test
+  @DisplayName("유형/상태 조건이 없으면 모든 조합의 버전을 키에 넣는다")
+  void readsEveryCombinationWithoutFilter() {
+    // given
+    givenVersionStore();
+
+    // when
+    postingSearchResultCache.keyFor(condition(null, null), PAGE);
+
+    // then
+    ArgumentCaptor<List<String>> keys = ArgumentCaptor.captor();
+    then(valueOperations).should().multiGet(keys.capture());
+    assertThat(keys.getValue())
+        .hasSize(PostingType.values().length * PostingStatus.values().length)
+        .contains("posting:search-version:STUDY:RECRUITING");
+  }
+
+  @Test
+  @DisplayName("페이지가 다르면 키도 다르다")
+  void keyDependsOnPage() {
+    // given
+    givenVersionStore();
+    PostingSearchCondition condition = condition(PostingType.STUDY, null);
+
+    // when & then
+    assertThat(postingSearchResultCache.keyFor(condition, PAGE))
+        .isNotEqualTo(postingSearchResultCache.keyFor(condition, PageRequest.of(1, 10)));
+  }
+
+  @Test
+  @DisplayName("사용자 좌표를 격자 칸의 중심으로 맞춰 가까운 사용자가 같은 키를 쓴다")
+  void snapsCoordinatesToCellCenter() {
+    // given
+    PostingSearchCondition near =
+        PostingSearchCondition.builder().userLatitude(37.5011).userLongitude(127.0391).build();
+    PostingSearchCondition nearer =
+        PostingSearchCondition.builder().userLatitude(37.5049).userLongitude(127.0351).build();
+
+    // when
+    PostingSearchCondition first = postingSearchResultCache.normalize(near);
+    PostingSearchCondition second = postingSearchResultCache.normalize(nearer);
+
+    // then
+    assertThat(first.getUserLatitude()).isCloseTo(37.5025, within(1e-9));
+    assertThat(first.getUserLongitude()).isCloseTo(127.0375, within(1e-9));
+    assertThat(second.getUserLatitude()).isEqualTo(first.getUserLatitude());
+    assertThat(second.getUserLongitude()).isEqualTo(first.getUserLongitude());
+  }
+
+  @Test
+  @DisplayName("좌표가 없으면 조건을 그대로 돌려준다")
+  void keepsConditionWithoutCoordinates() {
+    // given
+    PostingSearchCondition condition = condition(PostingType.STUDY, null);
+
+    // when & then
+    assertThat(postingSearchResultCache.normalize(condition)).isSameAs(condition);
+  }
+
+  @Test
+  @DisplayName("저장한 결과를 같은 키로 다시 읽는다")
+  void putAndGet() {
+    // given
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    PostingSearchResultCache.Entry entry = new PostingSearchResultCache.Entry(List.of(3L, 1L), 7);
+    ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+
+    // when
+    postingSearchResultCache.put("key", entry);
+
+    // then
+    then(valueOperations).should().set(eq("key"), stored.capture(), eq(Duration.ofSeconds(30)));
+    given(valueOperations.get("key")).willReturn(stored.getValue());
+    assertThat(postingSearchResultCache.get("key")).isEqualTo(entry);
+  }
+
+  @Test
+  @DisplayName("Redis 에 접근할 수 없으면 키를 만들지 않아 캐시를 건너뛴다")
+  void bypassesWhenRedisIsDown() {
+    // given
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    given(valueOperations.multiGet(anyCollection()))
+        .willThrow(new RedisConnectionFailureException("down"));
+    given(valueOperations.get(anyString())).willThrow(new RedisConnectionFailureException("down"));
+    willThrow(new RedisConnectionFailureException("down"))
+        .given(valueOperations)
+        .set(anyString(), anyString(), any(Duration.class));
+    given(valueOperations.increment(anyString()))
+        .willThrow(new RedisConnectionFailureException("down"));
+
+    // when & then
+    assertThat(postingSearchResultCache.keyFor(condition(PostingType.STUDY, null), PAGE)).isNull();
+    assertThat(postingSearchResultCache.get("key")).isNull();
+    assertThatCode(
+            () ->
+                postingSearchResultCache.put(
+                    "key", new PostingSearchResultCache.Entry(List.of(1L), 1)))
+        .doesNotThrowAnyException();
+    assertThatCode(
+            () ->
+                postingSearchResultCache.invalidateAfterCommit(
+                    PostingType.STUDY, PostingStatus.RECRUITING))
+        .doesNotThrowAnyException();
+  }
+}
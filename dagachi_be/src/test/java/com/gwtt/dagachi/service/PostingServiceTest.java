@@ -0,0 +1,175 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.dto.PostingResponseDto;
+import com.gwtt.dagachi.dto.PostingSearchCondition;
+import com.gwtt.dagachi.dto.PostingSimpleResponseDto;
+import com.gwtt.dagachi.repository.PostingRepository;
+import com.gwtt.dagachi.repository.UserRepository;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PostingService 단위 테스트")
+class PostingServiceTest {
+  private static final Pageable PAGE = PageRequest.of(0, 10);
+  private static final PostingSearchCondition CONDITION =
+      PostingSearchCondition.builder().title("스터디").build();
+
+  @Mock private PostingRepository postingRepository;
+  @Mock private UserRepository userRepository;
+  @Mock private PostingSearchCountCache postingSearchCountCache;
+  @Mock private PostingGeoIndex postingGeoIndex;
+  @Mock private PostingMapService postingMapService;
+  @Mock private PostingSearchIndex postingSearchIndex;
+  @Mock private PostingHydrator postingHydrator;
+  @Mock private SearchSuggestService searchSuggestService;
+  @Mock private LatestPostingCache latestPostingCache;
+  @Mock private PostingSearchResultCache postingSearchResultCache;
+  @Mock private ParticipationAdmission participationAdmission;
+
+  @InjectMocks private PostingService postingService;
+
+  private static PostingSimpleResponseDto simple(Long id) {
+    return PostingSimpleResponseDto.builder().id(id).build();
+  }
+
+  @Nested
+  @DisplayName("searchPostings 메서드의 결과 캐시")
+  class SearchResultCacheTest {
+
+    @Test
+    @DisplayName("캐시 키의 버전은 DB 조회보다 먼저 읽고, 찾은 결과를 그 키로 저장한다")
+    void readsVersionsBeforeQuery() {
+      // given
+      given(postingSearchResultCache.normalize(CONDITION)).willReturn(CONDITION);
+      given(postingSearchResultCache.keyFor(CONDITION, PAGE)).willReturn("key");
+      given(postingRepository.searchSimplePostingsSlice(CONDITION, PAGE))
+          .willReturn(new SliceImpl<>(List.of(simple(2L), simple(1L)), PAGE, false));
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, PAGE);
+
+      // then
+      assertThat(page.getContent()).extracting("id").containsExactly(2L, 1L);
+      InOrder inOrder = inOrder(postingSearchResultCache, postingRepository);
+      then(postingSearchResultCache).should(inOrder).keyFor(CONDITION, PAGE);
+      then(postingRepository).should(inOrder).searchSimplePostingsSlice(CONDITION, PAGE);
+      then(postingSearchResultCache)
+          .should(inOrder)
+          .put("key", new PostingSearchResultCache.Entry(List.of(2L, 1L), 2));
+    }
+
+    @Test
+    @DisplayName("캐시에 있으면 DB 를 조회하지 않고 저장된 id 를 채워 돌려준다")
+    void answersFromCache() {
+      // given
+      given(postingSearchResultCache.normalize(CONDITION)).willReturn(CONDITION);
+      given(postingSearchResultCache.keyFor(CONDITION, PAGE)).willReturn("key");
+      given(postingSearchResultCache.get("key"))
+          .willReturn(new PostingSearchResultCache.Entry(List.of(5L), 31));
+      given(postingHydrator.hydrate(List.of(5L)))
+          .willReturn(List.of(PostingResponseDto.builder().id(5L).build()));
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, PAGE);
+
+      // then
+      assertThat(page.getContent()).extracting("id").containsExactly(5L);
+      assertThat(page.getTotalElements()).isEqualTo(31);
+      then(postingRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("Redis 를 쓸 수 없어 키가 없으면 캐시를 건너뛰고 DB 로 찾는다")
+    void bypassesCacheWithoutKey() {
+      // given
+      given(postingSearchResultCache.normalize(CONDITION)).willReturn(CONDITION);
+      given(postingSearchResultCache.keyFor(CONDITION, PAGE)).willReturn(null);
+      given(postingRepository.searchSimplePostingsSlice(CONDITION, PAGE))
+          .willReturn(new SliceImpl<>(List.of(simple(1L)), PAGE, false));
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, PAGE);
+
+      // then
+      assertThat(page.getContent()).extracting("id").containsExactly(1L);
+      then(postingSearchResultCache).should(never()).get(any());
+      then(postingSearchResultCache).should(never()).put(any(), any());
+    }
+  }
+
+  @Nested
+  @DisplayName("searchPostings 메서드의 전체 개수")
+  class SearchCountTest {
+    private static final Pageable THIRD_PAGE = PageRequest.of(2, 10);
+
+    private static List<PostingSimpleResponseDto> fullPage() {
+      return LongStream.rangeClosed(1, 10).mapToObj(PostingServiceTest::simple).toList();
+    }
+
+    private void givenDatabaseSearch(List<PostingSimpleResponseDto> content, boolean hasNext) {
+      given(postingSearchResultCache.normalize(CONDITION)).willReturn(CONDITION);
+      given(postingRepository.searchSimplePostingsSlice(CONDITION, THIRD_PAGE))
+          .willReturn(new SliceImpl<>(content, THIRD_PAGE, hasNext));
+    }
+
+    @Test
+    @DisplayName("캐시된 개수가 지금 본 페이지보다 작으면 페이지가 증명하는 개수로 올린다")
+    void clampsStaleCountToSeenRows() {
+      // given: 캐시된 뒤 게시글이 늘어 다음 페이지까지 있다
+      givenDatabaseSearch(fullPage(), true);
+      given(postingSearchCountCache.get(eq(CONDITION), any())).willReturn(5L);
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, THIRD_PAGE);
+
+      // then
+      assertThat(page.getTotalElements()).isEqualTo(31);
+      assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("캐시된 개수가 더 크면 그 값을 쓴다")
+    void usesLargerCachedCount() {
+      // given
+      givenDatabaseSearch(fullPage(), true);
+      given(postingSearchCountCache.get(eq(CONDITION), any())).willReturn(100L);
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, THIRD_PAGE);
+
+      // then
+      assertThat(page.getTotalElements()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지면 개수를 세지 않고 페이지 내용으로 정한다")
+    void skipsCountOnLastPage() {
+      // given
+      givenDatabaseSearch(List.of(simple(1L), simple(2L), simple(3L)), false);
+
+      // when
+      Page<PostingSimpleResponseDto> page = postingService.searchPostings(CONDITION, THIRD_PAGE);
+
+      // then
+      assertThat(page.getTotalElements()).isEqualTo(23);
+      then(postingSearchCountCache).shouldHaveNoInteractions();
+    }
+  }
+}
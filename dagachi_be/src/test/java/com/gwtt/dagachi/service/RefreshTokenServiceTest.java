@@ -0,0 +1,84 @@
+package com.gwtt.dagachi.service;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import com.gwtt.dagachi.util.HashUtils;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService 단위 테스트")
+class RefreshTokenServiceTest {
+
+  @Mock private StringRedisTemplate redisTemplate;
+  @Mock private ValueOperations<String, String> valueOperations;
+
+  @InjectMocks private RefreshTokenService refreshTokenService;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationTime", 60_000L);
+  }
+
+  @Test
+  @DisplayName("발급한 토큰은 원문이 아니라 해시를 키로 만료 시간과 함께 저장한다")
+  void issueStoresHashedKeyWithTtl() {
+    // given
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+    // when
+    String token = refreshTokenService.issue(1L);
+
+    // then
+    ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+    then(valueOperations).should().set(key.capture(), eq("1"), eq(Duration.ofMillis(60_000L)));
+    assertThat(key.getValue())
+        .isEqualTo("auth:refresh:" + HashUtils.sha256Hex(token))
+        .doesNotContain(token);
+  }
+
+  @Test
+  @DisplayName("매번 다른 토큰을 발급한다")
+  void issueReturnsDistinctTokens() {
+    // given
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+
+    // when & then
+    assertThat(refreshTokenService.issue(1L)).isNotEqualTo(refreshTokenService.issue(1L));
+  }
+
+  @Test
+  @DisplayName("사용한 토큰은 GETDEL 로 꺼내므로 같은 토큰을 다시 쓰면 거부된다")
+  void consumeIsSingleUse() {
+    // given
+    given(redisTemplate.opsForValue()).willReturn(valueOperations);
+    String key = "auth:refresh:" + HashUtils.sha256Hex("token");
+    given(valueOperations.getAndDelete(key)).willReturn("1").willReturn(null);
+
+    // when & then
+    assertThat(refreshTokenService.consume("token")).contains(1L);
+    assertThat(refreshTokenService.consume("token")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("폐기하면 저장된 토큰을 지운다")
+  void revokeDeletesKey() {
+    // when
+    refreshTokenService.revoke("token");
+
+    // then
+    then(redisTemplate).should().delete("auth:refresh:" + HashUtils.sha256Hex("token"));
+  }
+}
@@ -0,0 +1,82 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveConcurrencyLimit 테스트")
+class AdaptiveConcurrencyLimitTest {
+  private static final long MILLIS = 1_000_000L;
+
+  @Test
+  @DisplayName("한도만큼 처리 중이면 추가 요청은 바로 거절된다")
+  void rejectsAboveLimit() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10);
+
+    // when & then
+    assertThat(limit.tryAcquire()).isTrue();
+    assertThat(limit.tryAcquire()).isTrue();
+    assertThat(limit.tryAcquire()).isFalse();
+    assertThat(limit.getRejected()).isEqualTo(1);
+
+    limit.release(10 * MILLIS, false);
+    assertThat(limit.tryAcquire()).isTrue();
+  }
+
+  @Test
+  @DisplayName("응답 시간이 일정하고 한도가 꽉 차 있으면 한도가 늘어난다")
+  void growsWhenLatencyIsStable() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      limit.update(10 * MILLIS, limit.getLimit(), false);
+    }
+
+    // then
+    assertThat(limit.getLimit()).isGreaterThan(10);
+  }
+
+  @Test
+  @DisplayName("응답 시간이 크게 늘어나면 한도가 줄어든다")
+  void shrinksWhenLatencyRises() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(50, 1, 100);
+    for (int i = 0; i < 50; i++) {
+      limit.update(10 * MILLIS, limit.getLimit(), false);
+    }
+    int before = limit.getLimit();
+
+    // when
+    for (int i = 0; i < 50; i++) {
+      limit.update(100 * MILLIS, limit.getLimit(), false);
+    }
+
+    // then
+    assertThat(limit.getLimit()).isLessThan(before);
+  }
+
+  @Test
+  @DisplayName("과부하 신호가 오면 최소 한도까지 곱셈으로 줄어든다")
+  void backsOffOnOverload() {
+    // given
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+
+    // when
+    limit.update(10 * MILLIS, 20, true);
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(18);
+
+    // when
+    for (int i = 0; i < 100; i++) {
+      limit.update(10 * MILLIS, 20, true);
+    }
+
+    // then
+    assertThat(limit.getLimit()).isEqualTo(5);
+  }
+}
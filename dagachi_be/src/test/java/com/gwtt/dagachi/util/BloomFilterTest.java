@@ -0,0 +1,56 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BloomFilter 테스트")
+class BloomFilterTest {
+
+  @Test
+  @DisplayName("추가한 값은 항상 포함되어 있다고 답한다")
+  void noFalseNegatives() {
+    // given
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i);
+    }
+
+    // when & then
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(filter.mightContain("user" + i)).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("추가하지 않은 값의 오탐률은 설정값 근처로 유지된다")
+  void falsePositiveRate() {
+    // given
+    BloomFilter filter = new BloomFilter(10_000, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      filter.put("user" + i);
+    }
+
+    // when
+    int falsePositives = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (filter.mightContain("other" + i)) {
+        falsePositives++;
+      }
+    }
+
+    // then
+    assertThat(falsePositives).isLessThan(300);
+  }
+
+  @Test
+  @DisplayName("비어 있는 filter 는 아무것도 포함하지 않는다")
+  void emptyFilter() {
+    // given
+    BloomFilter filter = new BloomFilter(100, 0.01);
+
+    // when & then
+    assertThat(filter.mightContain("닉네임")).isFalse();
+  }
+}
@@ -0,0 +1,126 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.util.GeoGridIndex.Neighbor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GeoGridIndex 테스트")
+class GeoGridIndexTest {
+  private static final double CENTER_LATITUDE = 37.5663;
+  private static final double CENTER_LONGITUDE = 126.9779;
+
+  private GeoGridIndex index;
+  private double[][] points;
+
+  @BeforeEach
+  void setUp() {
+    // 서울시청 주변 약 ±50km 에 점 2000개를 흩뿌린다. tag 는 짝수/홀수 id 로 나눈다.
+    index = new GeoGridIndex(0.02);
+    Random random = new Random(42);
+    points = new double[2000][];
+    for (int i = 0; i < points.length; i++) {
+      double latitude = CENTER_LATITUDE + (random.nextDouble() - 0.5) * 0.9;
+      double longitude = CENTER_LONGITUDE + (random.nextDouble() - 0.5) * 1.1;
+      points[i] = new double[] {latitude, longitude};
+      index.put(i, latitude, longitude, i % 2);
+    }
+  }
+
+  @Test
+  @DisplayName("반경 검색 결과는 전체를 직접 계산한 결과와 같다")
+  void withinRadius() {
+    // when
+    List<Neighbor> result =
+        index.withinRadius(CENTER_LATITUDE, CENTER_LONGITUDE, 7, GeoGridIndex.ANY_TAG, 1000);
+
+    // then
+    List<Neighbor> expected = bruteForce(7, GeoGridIndex.ANY_TAG);
+    assertThat(result).isNotEmpty();
+    assertThat(result).extracting(Neighbor::id).containsExactlyElementsOf(ids(expected));
+  }
+
+  @Test
+  @DisplayName("가까운 k 개 검색 결과는 전체를 직접 계산한 결과와 같다")
+  void nearest() {
+    // when
+    List<Neighbor> result =
+        index.nearest(CENTER_LATITUDE, CENTER_LONGITUDE, 20, GeoGridIndex.ANY_TAG, 100);
+
+    // then
+    List<Neighbor> expected = bruteForce(100, GeoGridIndex.ANY_TAG).subList(0, 20);
+    assertThat(result).extracting(Neighbor::id).containsExactlyElementsOf(ids(expected));
+  }
+
+  @Test
+  @DisplayName("tag 를 지정하면 같은 tag 의 항목만 돌려준다")
+  void filterByTag() {
+    // when
+    List<Neighbor> result = index.nearest(CENTER_LATITUDE, CENTER_LONGITUDE, 10, 1, 100);
+
+    // then
+    assertThat(result).hasSize(10);
+    assertThat(result).allSatisfy(neighbor -> assertThat(neighbor.id() % 2).isEqualTo(1));
+    assertThat(result)
+        .extracting(Neighbor::id)
+        .containsExactlyElementsOf(ids(bruteForce(100, 1).subList(0, 10)));
+  }
+
+  @Test
+  @DisplayName("삭제하거나 옮긴 항목은 예전 위치에서 찾히지 않는다")
+  void removeAndMove() {
+    // given
+    Neighbor closest =
+        index.nearest(CENTER_LATITUDE, CENTER_LONGITUDE, 1, GeoGridIndex.ANY_TAG, 100).get(0);
+    Neighbor second =
+        index.nearest(CENTER_LATITUDE, CENTER_LONGITUDE, 2, GeoGridIndex.ANY_TAG, 100).get(1);
+
+    // when
+    index.remove(closest.id());
+    index.put(second.id(), 35.1798, 129.0750, (int) (second.id() % 2));
+
+    // then
+    assertThat(index.size()).isEqualTo(points.length - 1);
+    assertThat(index.withinRadius(CENTER_LATITUDE, CENTER_LONGITUDE, 50, -1, 5000))
+        .extracting(Neighbor::id)
+        .doesNotContain(closest.id(), second.id());
+    assertThat(index.nearest(35.1798, 129.0750, 1, GeoGridIndex.ANY_TAG, 1).get(0).id())
+        .isEqualTo(second.id());
+  }
+
+  @Test
+  @DisplayName("최대 반경 안에 항목이 없으면 빈 결과를 돌려준다")
+  void nearestOutOfRange() {
+    // when
+    List<Neighbor> result = index.nearest(0, 0, 5, GeoGridIndex.ANY_TAG, 100);
+
+    // then
+    assertThat(result).isEmpty();
+  }
+
+  private List<Neighbor> bruteForce(double radiusKm, int tag) {
+    List<Neighbor> result = new ArrayList<>();
+    for (int i = 0; i < points.length; i++) {
+      if (tag != GeoGridIndex.ANY_TAG && i % 2 != tag) {
+        continue;
+      }
+      double distance =
+          GeoUtils.haversineKm(CENTER_LATITUDE, CENTER_LONGITUDE, points[i][0], points[i][1]);
+      if (distance <= radiusKm) {
+        result.add(new Neighbor(i, distance));
+      }
+    }
+    result.sort(Comparator.comparingDouble(Neighbor::distanceKm).thenComparingLong(Neighbor::id));
+    return result;
+  }
+
+  private List<Long> ids(List<Neighbor> neighbors) {
+    return neighbors.stream().map(Neighbor::id).toList();
+  }
+}
@@ -0,0 +1,66 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.util.GeoUtils.BoundingBox;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("GeoUtils 테스트")
+class GeoUtilsTest {
+
+  @Test
+  @DisplayName("서울시청과 부산시청 사이 거리는 약 325km 이다")
+  void haversineKm() {
+    // when
+    double distance = GeoUtils.haversineKm(37.5663, 126.9779, 35.1798, 129.0750);
+
+    // then
+    assertThat(distance).isCloseTo(325, within(5.0));
+  }
+
+  @Test
+  @DisplayName("반경 안의 점은 모두 사각형 안에 들어간다")
+  void boundingBoxContainsRadius() {
+    // given
+    double latitude = 37.5663;
+    double longitude = 126.9779;
+    double radiusKm = 10;
+    BoundingBox box = GeoUtils.boundingBox(latitude, longitude, radiusKm);
+
+    // when & then
+    for (int degree = 0; degree < 360; degree += 5) {
+      double[] point = destination(latitude, longitude, degree, radiusKm * 0.999);
+      assertThat(box.contains(point[0], point[1])).isTrue();
+    }
+  }
+
+  @Test
+  @DisplayName("날짜변경선을 넘으면 경도는 전 범위로 둔다")
+  void boundingBoxAcrossAntimeridian() {
+    // when
+    BoundingBox box = GeoUtils.boundingBox(0, 179.95, 20);
+
+    // then
+    assertThat(box.minLongitude()).isEqualTo(-180);
+    assertThat(box.maxLongitude()).isEqualTo(180);
+  }
+
+  // 중심에서 방위각 bearing 으로 distanceKm 만큼 떨어진 지점
+  private double[] destination(
+      double latitude, double longitude, double bearingDegree, double distanceKm) {
+    double angular = distanceKm / GeoUtils.EARTH_RADIUS_KM;
+    double bearing = Math.toRadians(bearingDegree);
+    double lat1 = Math.toRadians(latitude);
+    double lat2 =
+        Math.asin(
+            Math.sin(lat1) * Math.cos(angular)
+                + Math.cos(lat1) * Math.sin(angular) * Math.cos(bearing));
+    double lon2 =
+        Math.toRadians(longitude)
+            + Math.atan2(
+                Math.sin(bearing) * Math.sin(angular) * Math.cos(lat1),
+                Math.cos(angular) - Math.sin(lat1) * Math.sin(lat2));
+    return new double[] {Math.toDegrees(lat2), Math.toDegrees(lon2)};
+  }
+}
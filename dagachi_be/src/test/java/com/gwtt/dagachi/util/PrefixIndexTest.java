@@ -0,0 +1,84 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.gwtt.dagachi.util.PrefixIndex.Match;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PrefixIndex 테스트")
+class PrefixIndexTest {
+  private PrefixIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new PrefixIndex(3);
+    index.put(1, "스프링 스터디 모집", 100);
+    index.put(2, "Spring Boot 프로젝트", 200);
+    index.put(3, "스팀 게임 같이 해요", 300);
+    index.put(4, "알고리즘 스터디", 400);
+  }
+
+  @Test
+  @DisplayName("접두어로 시작하는 단어가 있는 항목을 점수 순으로 돌려준다")
+  void search() {
+    // when & then
+    assertThat(index.search("스", 10)).extracting(Match::id).containsExactly(4L, 3L, 1L);
+    assertThat(index.search("스터", 10)).extracting(Match::id).containsExactly(4L, 1L);
+    assertThat(index.search("spr", 10)).extracting(Match::text).containsExactly("Spring Boot 프로젝트");
+  }
+
+  @Test
+  @DisplayName("한글을 자모 단위로 입력하는 중간에도 일치한다")
+  void jamoPrefix() {
+    // when & then
+    assertThat(index.search("스ㅍ", 10)).extracting(Match::id).containsExactly(1L);
+    assertThat(index.search("알고ㄹ", 10)).extracting(Match::id).containsExactly(4L);
+  }
+
+  @Test
+  @DisplayName("limit 보다 많이 일치하면 점수가 높은 순으로 자른다")
+  void limit() {
+    // when & then
+    assertThat(index.search("스", 2)).extracting(Match::id).containsExactly(4L, 3L);
+  }
+
+  @Test
+  @DisplayName("지운 항목 대신 top 목록 밖에 있던 항목이 올라온다")
+  void remove() {
+    // given
+    index.put(5, "스위치 게임", 50);
+
+    // when
+    index.remove(4);
+
+    // then
+    assertThat(index.search("스", 10)).extracting(Match::id).containsExactly(3L, 1L, 5L);
+    assertThat(index.size()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("같은 id 로 다시 넣으면 예전 텍스트로는 찾을 수 없다")
+  void update() {
+    // when
+    index.put(1, "리액트 스터디", 100);
+
+    // then
+    assertThat(index.search("스프", 10)).isEmpty();
+    assertThat(index.search("리액", 10)).extracting(Match::id).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("trie 깊이보다 긴 접두어는 원문과 다시 비교한다")
+  void longPrefix() {
+    // given
+    index.put(6, "abcdefghijklmnopqrstuvwxyz-one", 10);
+    index.put(7, "abcdefghijklmnopqrstuvwxyz-two", 20);
+
+    // when & then
+    assertThat(index.search("abcdefghijklmnopqrstuvwxyz-o", 10))
+        .extracting(Match::id)
+        .containsExactly(6L);
+  }
+}
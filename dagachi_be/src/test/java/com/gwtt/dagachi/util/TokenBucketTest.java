@@ -0,0 +1,53 @@
+package com.gwtt.dagachi.util;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenBucket 테스트")
+class TokenBucketTest {
+  private static final long SECOND = 1_000_000_000L;
+
+  @Test
+  @DisplayName("용량만큼 소비하면 이후 요청은 거절된다")
+  void rejectsWhenEmpty() {
+    // given
+    TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+    // when & then
+    assertThat(bucket.tryConsume(0)).isTrue();
+    assertThat(bucket.tryConsume(0)).isTrue();
+    assertThat(bucket.tryConsume(0)).isTrue();
+    assertThat(bucket.tryConsume(0)).isFalse();
+    assertThat(bucket.getRemaining(0)).isZero();
+  }
+
+  @Test
+  @DisplayName("시간이 지나면 설정한 속도로 다시 채워진다")
+  void refillsOverTime() {
+    // given
+    TokenBucket bucket = new TokenBucket(3, 2, 0);
+    for (int i = 0; i < 3; i++) {
+      bucket.tryConsume(0);
+    }
+
+    // when & then
+    assertThat(bucket.tryConsume(SECOND / 4)).isFalse();
+    assertThat(bucket.tryConsume(SECOND / 2)).isTrue();
+    assertThat(bucket.tryConsume(SECOND / 2)).isFalse();
+  }
+
+  @Test
+  @DisplayName("오래 쉬어도 용량 이상으로 쌓이지 않는다")
+  void doesNotExceedCapacity() {
+    // given
+    TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+    // when
+    long remaining = bucket.getRemaining(60 * SECOND);
+
+    // then
+    assertThat(remaining).isEqualTo(3);
+  }
+}
@@ -7,8 +7,28 @@ const api = axios.create({
   headers: {
     'Content-Type': 'application/json',
   },
+  // refresh token 은 HttpOnly 쿠키로 주고받는다
+  withCredentials: true,
 })
 
+// 동시에 여러 요청이 401 을 받아도 refresh 는 한 번만 보낸다
+let refreshPromise: Promise<string> | null = null
+
+const refreshAccessToken = (): Promise<string> => {
+  if (!refreshPromise) {
+    refreshPromise = axios
+      .post<string>(`${API_BASE_URL}/api/auth/refresh`, null, { withCredentials: true })
+      .then((response) => {
+        localStorage.setItem('token', response.data)
+        return response.data
+      })
+      .finally(() => {
+        refreshPromise = null
+      })
+  }
+  return refreshPromise
+}
+
 // 요청 인터셉터 - 토큰 자동 추가
 api.interceptors.request.use(
   (config) => {
@@ -29,7 +49,27 @@ api.interceptors.response.use(
     // 성공 응답은 그대로 반환
     return response
   },
-  (error) => {
+  async (error) => {
+    // access token 만료 시 refresh token 으로 한 번만 재발급 후 원래 요청을 재시도
+    const original = error.config
+    if (
+      error.response &&
+      error.response.status === 401 &&
+      original &&
+      !original._retry &&
+      !original.url?.startsWith('/api/auth/') &&
+      localStorage.getItem('token')
+    ) {
+      original._retry = true
+      try {
+        const token = await refreshAccessToken()
+        original.headers.Authorization = `Bearer ${token}`
+        return api(original)
+      } catch {
+        // refresh 실패 시 아래 만료 처리로 넘어간다
+      }
+    }
+
     // 401 Unauthorized 또는 403 Forbidden
     if (error.response && (error.response.status === 401 || error.response.status === 403)) {
       // 토큰이 만료되었거나 유효하지 않음
@@ -77,9 +117,16 @@ export const login = async (data: LoginRequest): Promise<string> => {
   return response.data
 }
 
-// 로그아웃
-export const logout = (): void => {
-  localStorage.removeItem('token')
+// 로그아웃 - 서버의 refresh token 과 access token 을 폐기한 뒤 로컬 토큰을 지운다
+// 요청 인터셉터가 Authorization 헤더를 붙일 수 있도록 응답을 기다린 다음에 토큰을 지운다
+export const logout = async (): Promise<void> => {
+  try {
+    await api.post('/api/auth/logout')
+  } catch {
+    // 서버 폐기에 실패해도 로컬에서는 로그아웃한다
+  } finally {
+    localStorage.removeItem('token')
+  }
 }
 
 export const getCurrentNickname = (): string | null => {
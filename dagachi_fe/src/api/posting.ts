@@ -1,5 +1,5 @@
 import api from './auth'
-import type { Posting, Participation, ParticipationSimple, PageResponse, PostingSimple } from '../types'
+import type { Posting, Participation, ParticipationSimple, ParticipationDecision, ParticipationDecisionsResponse, PageResponse, PostingSimple, CursorPageResponse, PostingMapResponse, PostingSuggestResponse } from '../types'
 
 export interface CreatePostingRequest {
   title: string
@@ -30,6 +30,10 @@ export interface SearchPostingParams {
   userLatitude?: number
   userLongitude?: number
   sortByDistance?: boolean
+  // 반경 검색 (km). 사용자 위치와 함께 보내야 한다
+  radiusKm?: number
+  // 남은 자리가 있는 게시글만
+  openSeatsOnly?: boolean
 }
 
 // 모든 포스팅 목록 조회 (페이징)
@@ -54,13 +58,87 @@ export const searchPostings = async (params: SearchPostingParams, size: number =
     authorNickname: params.authorNickname || undefined,
     userLatitude: params.userLatitude,
     userLongitude: params.userLongitude,
-    sortByDistance: params.sortByDistance || false
+    sortByDistance: params.sortByDistance || false,
+    radiusKm: params.radiusKm,
+    openSeatsOnly: params.openSeatsOnly || false
   }
   
   const response = await api.post<PageResponse<PostingSimple>>(`/api/postings/search?${queryParams.toString()}`, searchBody)
   return response.data
 }
 
+// 포스팅 목록 조회 (커서 기반, 무한 스크롤용) - 다음 페이지는 응답의 nextCursor 를 넘긴다
+export const getPostingsByCursor = async (cursor?: string | null, size: number = 5): Promise<CursorPageResponse<PostingSimple>> => {
+  const queryParams = new URLSearchParams({ size: String(size) })
+  if (cursor) {
+    queryParams.append('cursor', cursor)
+  }
+  const response = await api.get<CursorPageResponse<PostingSimple>>(`/api/postings/cursor?${queryParams.toString()}`)
+  return response.data
+}
+
+// 포스팅 검색 (커서 기반, 최신순)
+export const searchPostingsByCursor = async (
+  params: SearchPostingParams,
+  cursor?: string | null,
+  size: number = 5
+): Promise<CursorPageResponse<PostingSimple>> => {
+  const queryParams = new URLSearchParams({ size: String(size) })
+  if (cursor) {
+    queryParams.append('cursor', cursor)
+  }
+  const searchBody = {
+    title: params.title || undefined,
+    type: params.type || undefined,
+    status: params.status || undefined,
+    authorNickname: params.authorNickname || undefined,
+  }
+  const response = await api.post<CursorPageResponse<PostingSimple>>(`/api/postings/search/cursor?${queryParams.toString()}`, searchBody)
+  return response.data
+}
+
+// 내 주변 포스팅 검색 (커서 기반, 가까운 순)
+export const searchNearbyPostings = async (
+  params: SearchPostingParams & { userLatitude: number; userLongitude: number; radiusKm: number },
+  cursor?: string | null,
+  size: number = 5
+): Promise<CursorPageResponse<PostingSimple>> => {
+  const queryParams = new URLSearchParams({ size: String(size) })
+  if (cursor) {
+    queryParams.append('cursor', cursor)
+  }
+  const searchBody = {
+    title: params.title || undefined,
+    type: params.type || undefined,
+    status: params.status || undefined,
+    authorNickname: params.authorNickname || undefined,
+    userLatitude: params.userLatitude,
+    userLongitude: params.userLongitude,
+    radiusKm: params.radiusKm,
+    openSeatsOnly: params.openSeatsOnly || false
+  }
+  const response = await api.post<CursorPageResponse<PostingSimple>>(`/api/postings/search/nearby?${queryParams.toString()}`, searchBody)
+  return response.data
+}
+
+// 지도 화면 범위의 포스팅 클러스터/핀 조회
+export const getPostingMap = async (
+  bounds: { minLongitude: number; minLatitude: number; maxLongitude: number; maxLatitude: number },
+  zoom: number
+): Promise<PostingMapResponse> => {
+  const bbox = [bounds.minLongitude, bounds.minLatitude, bounds.maxLongitude, bounds.maxLatitude].join(',')
+  const queryParams = new URLSearchParams({ bbox, zoom: String(zoom) })
+  const response = await api.get<PostingMapResponse>(`/api/postings/map?${queryParams.toString()}`)
+  return response.data
+}
+
+// 검색창 자동완성 (포스팅 제목, 닉네임)
+export const getSuggestions = async (q: string, size: number = 5): Promise<PostingSuggestResponse> => {
+  const queryParams = new URLSearchParams({ q, size: String(size) })
+  const response = await api.get<PostingSuggestResponse>(`/api/postings/suggest?${queryParams.toString()}`)
+  return response.data
+}
+
 // 특정 포스팅 상세 조회
 export const getPostingById = async (id: number): Promise<Posting> => {
   const response = await api.get<Posting>(`/api/postings/${id}`)
@@ -90,9 +168,10 @@ export const checkParticipation = async (postingId: number): Promise<Participati
   return response.data
 }
 
-// 포스팅 참가
-export const joinPosting = async (postingId: number): Promise<void> => {
-  await api.post(`/api/participation/${postingId}`)
+// 포스팅 참가 - 서버가 제한 시간 안에 저장을 끝내지 못하면 202 를 주므로 false 를 돌려주고, 호출한 쪽에서 참가 여부를 다시 확인한다
+export const joinPosting = async (postingId: number): Promise<boolean> => {
+  const response = await api.post(`/api/participation/${postingId}`)
+  return response.status !== 202
 }
 
 // 포스팅 참가 취소
@@ -122,6 +201,18 @@ export const rejectParticipation = async (postingId: number, participationId: nu
   await api.delete(`/api/participation/${postingId}/user/${participationId}`)
 }
 
+// 여러 참가자를 한 번에 승인/거절. 항목별 결과를 요청 순서대로 돌려준다
+export const decideParticipations = async (
+  postingId: number,
+  decisions: ParticipationDecision[]
+): Promise<ParticipationDecisionsResponse> => {
+  const response = await api.post<ParticipationDecisionsResponse>(
+    `/api/participation/${postingId}/decisions`,
+    { decisions }
+  )
+  return response.data
+}
+
 // 참가자 승인 취소 (승인된 참가자를 거절 처리)
 export const cancelApproval = async (postingId: number, participationId: number): Promise<void> => {
   await api.delete(`/api/participation/${postingId}/user/${participationId}`)
@@ -7,8 +7,8 @@ function NavBar() {
   const navigate = useNavigate()
   const isLoggedIn = !!localStorage.getItem('token')
 
-  const handleLogout = () => {
-    logout()
+  const handleLogout = async () => {
+    await logout()
     navigate('/')
     window.location.reload()
   }
@@ -136,7 +136,11 @@ function PostingDetailPage() {
 
     setJoining(true)
     try {
-      await joinPosting(Number(id))
+      const saved = await joinPosting(Number(id))
+      if (!saved && (await checkParticipation(Number(id))).participationId === -1) {
+        showToast('참가 신청을 처리하고 있습니다. 잠시 후 다시 확인해주세요.', 'info')
+        return
+      }
       showToast('참가 신청이 완료되었습니다! 🎉', 'success')
       setParticipationStatus('PENDING')
       // 게시글 정보 새로고침 (참가자 수 업데이트 등을 위해)
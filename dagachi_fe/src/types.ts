@@ -5,6 +5,7 @@ export interface Posting {
   type: string
   status: string
   maxCapacity: number
+  seatsLeft: number
   createdAt: string
   updatedAt: string
   latitude: number
@@ -21,6 +22,7 @@ export interface PostingSimple {
   latitude: number
   longitude: number
   maxCapacity: number
+  seatsLeft: number
   createdAt: string
   updatedAt: string
   authorNickname: string
@@ -49,6 +51,64 @@ export interface ParticipationSimple {
   createdAt: string | null
 }
 
+export interface ParticipationDecision {
+  participationId: number
+  decision: 'APPROVE' | 'REJECT'
+}
+
+export interface ParticipationDecisionResult extends ParticipationDecision {
+  applied: boolean
+  status: 'APPROVED' | 'REJECTED' | null
+  code: string | null
+  message: string | null
+}
+
+export interface ParticipationDecisionsResponse {
+  postingStatus: 'RECRUITING' | 'RECRUITED' | 'COMPLETED'
+  seatsLeft: number
+  results: ParticipationDecisionResult[]
+}
+
+export interface CursorPageResponse<T> {
+  content: T[]
+  size: number
+  hasNext: boolean
+  nextCursor: string | null
+}
+
+export interface PostingMapCluster {
+  latitude: number
+  longitude: number
+  count: number
+  typeCounts: Partial<Record<'PROJECT' | 'STUDY', number>>
+}
+
+export interface PostingMapPin {
+  id: number
+  title: string
+  type: 'PROJECT' | 'STUDY'
+  status: 'RECRUITING' | 'RECRUITED' | 'COMPLETED'
+  latitude: number
+  longitude: number
+}
+
+// 확대 수준이 낮으면 clusters 만, 높으면 pins 만 채워진다
+export interface PostingMapResponse {
+  zoom: number
+  clusters: PostingMapCluster[]
+  pins: PostingMapPin[]
+}
+
+export interface PostingTitleSuggestion {
+  id: number
+  title: string
+}
+
+export interface PostingSuggestResponse {
+  titles: PostingTitleSuggestion[]
+  nicknames: string[]
+}
+
 export interface PageResponse<T> {
   content: T[]
   pageable: {